@@ -0,0 +1,80 @@
+package jmri;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compare the JSON results of two JMH runs, e.g. of two releases, listing the
+ * change in each benchmark's score and flagging those that got worse by more
+ * than the error of both measurements.
+ * <p>
+ * Usage: {@code BenchmarkComparison old.json new.json}
+ */
+public final class BenchmarkComparison {
+
+    private BenchmarkComparison() {
+    }
+
+    private static final class Result {
+
+        final double score;
+        final double error;
+        final String unit;
+        final boolean higherIsBetter;
+
+        Result(JsonNode node) {
+            JsonNode metric = node.get("primaryMetric");
+            score = metric.get("score").asDouble();
+            double e = metric.get("scoreError").asDouble();
+            error = Double.isNaN(e) ? 0 : e;
+            unit = metric.get("scoreUnit").asText();
+            // throughput is in ops per time, the other modes in time per op
+            higherIsBetter = "thrpt".equals(node.get("mode").asText());
+        }
+    }
+
+    private static Map<String, Result> read(String file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode node : new ObjectMapper().readTree(new File(file))) {
+            String name = node.get("benchmark").asText();
+            JsonNode params = node.get("params");
+            if (params != null) {
+                name = name + " " + params.toString();
+            }
+            results.put(name, new Result(node));
+        }
+        return results;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("usage: BenchmarkComparison old.json new.json");
+            System.exit(2);
+        }
+        Map<String, Result> before = read(args[0]);
+        Map<String, Result> after = read(args[1]);
+        int regressions = 0;
+        for (Map.Entry<String, Result> e : after.entrySet()) {
+            Result b = before.get(e.getKey());
+            Result a = e.getValue();
+            if (b == null || !b.unit.equals(a.unit)) {
+                System.out.printf("%-100s %14.3f %s (new)%n", e.getKey(), a.score, a.unit);
+                continue;
+            }
+            double change = (a.score - b.score) / b.score * 100.0;
+            double worse = a.higherIsBetter ? b.score - a.score : a.score - b.score;
+            boolean regression = worse > a.error + b.error;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-100s %14.3f -> %14.3f %s %+7.1f%%%s%n",
+                    e.getKey(), b.score, a.score, a.unit, change, regression ? "  REGRESSION" : "");
+        }
+        System.out.printf("%d of %d benchmarks regressed%n", regressions, after.size());
+    }
+
+}
@@ -0,0 +1,73 @@
+package jmri;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read the messages a benchmark runs against.
+ * <p>
+ * A corpus is a text file with one message per line; blank lines and lines
+ * starting with # are skipped. The corpora of the benchmarks are kept beside
+ * them, and a recording can be used instead by passing its path as the
+ * benchmark's {@code corpus} parameter.
+ */
+public final class BenchmarkCorpus {
+
+    private BenchmarkCorpus() {
+    }
+
+    /**
+     * Read a corpus.
+     *
+     * @param benchmark the benchmark, whose package holds its corpora
+     * @param name      a path to a file, or the name of a corpus in the
+     *                  benchmark's package
+     * @return the lines of the corpus
+     * @throws IOException if the corpus can't be read
+     */
+    public static List<String> load(Class<?> benchmark, String name) throws IOException {
+        File file = new File(name);
+        InputStream stream = file.isFile() ? new FileInputStream(file) : benchmark.getResourceAsStream(name);
+        if (stream == null) {
+            throw new FileNotFoundException(name);
+        }
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(stream, StandardCharsets.US_ASCII))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && line.charAt(0) != '#') {
+                    lines.add(line);
+                }
+            }
+        }
+        if (lines.isEmpty()) {
+            throw new IOException("No messages in " + name);
+        }
+        return lines;
+    }
+
+    /**
+     * Parse a line of hex bytes separated by spaces.
+     *
+     * @param line the line
+     * @return the bytes
+     */
+    public static int[] hexBytes(String line) {
+        String[] hex = line.trim().split("\\s+");
+        int[] bytes = new int[hex.length];
+        for (int i = 0; i < hex.length; i++) {
+            bytes[i] = Integer.parseInt(hex[i], 16);
+        }
+        return bytes;
+    }
+
+}
@@ -0,0 +1,102 @@
+package jmri;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measure encoding the DCC packets sent most during operation: speed,
+ * function and accessory packets.
+ * <p>
+ * Each operation is one packet of the corpus, taken in turn.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NmraPacketBenchmark {
+
+    private static final int SPEED_128 = 0;
+    private static final int SPEED_28 = 1;
+    private static final int FUNCTION_0 = 2;
+    private static final int FUNCTION_5 = 3;
+    private static final int ACCESSORY = 4;
+
+    /**
+     * Encoders and their arguments, one per line.
+     */
+    @Param("nmra-session.txt")
+    public String corpus;
+
+    private int[] types;
+    private int[] addresses;
+    private boolean[] longAddresses;
+    private int[] speeds;
+    private boolean[][] flags;
+    private int next = 0;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<String> lines = BenchmarkCorpus.load(NmraPacketBenchmark.class, corpus);
+        int n = lines.size();
+        types = new int[n];
+        addresses = new int[n];
+        longAddresses = new boolean[n];
+        speeds = new int[n];
+        flags = new boolean[n][];
+        for (int i = 0; i < n; i++) {
+            String[] f = lines.get(i).split("\\s+");
+            addresses[i] = Integer.parseInt(f[1]);
+            int first; // first flag
+            switch (f[0]) {
+                case "S128":
+                case "S28":
+                    types[i] = f[0].equals("S128") ? SPEED_128 : SPEED_28;
+                    longAddresses[i] = f[2].equals("L");
+                    speeds[i] = Integer.parseInt(f[3]);
+                    first = 4;
+                    break;
+                case "F0":
+                case "F5":
+                    types[i] = f[0].equals("F0") ? FUNCTION_0 : FUNCTION_5;
+                    longAddresses[i] = f[2].equals("L");
+                    first = 3;
+                    break;
+                case "ACC":
+                    types[i] = ACCESSORY;
+                    first = 2;
+                    break;
+                default:
+                    throw new IOException("Unknown encoder: " + lines.get(i));
+            }
+            flags[i] = new boolean[f.length - first];
+            for (int j = first; j < f.length; j++) {
+                flags[i][j - first] = f[j].equals("1");
+            }
+        }
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        int i = next;
+        next = (i + 1 == types.length) ? 0 : i + 1;
+        boolean[] b = flags[i];
+        switch (types[i]) {
+            case SPEED_128:
+                return NmraPacket.speedStep128Packet(addresses[i], longAddresses[i], speeds[i], b[0]);
+            case SPEED_28:
+                return NmraPacket.speedStep28Packet(addresses[i], longAddresses[i], speeds[i], b[0]);
+            case FUNCTION_0:
+                return NmraPacket.function0Through4Packet(addresses[i], longAddresses[i], b[0], b[1], b[2], b[3], b[4]);
+            case FUNCTION_5:
+                return NmraPacket.function5Through8Packet(addresses[i], longAddresses[i], b[0], b[1], b[2], b[3]);
+            default:
+                return NmraPacket.accDecoderPkt(addresses[i], b[0]);
+        }
+    }
+
+}
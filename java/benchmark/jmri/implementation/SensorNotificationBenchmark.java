@@ -0,0 +1,69 @@
+package jmri.implementation;
+
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
+import java.util.concurrent.TimeUnit;
+
+import jmri.JmriException;
+import jmri.Sensor;
+import jmri.jmrix.internal.InternalSensorManager;
+import jmri.jmrix.internal.InternalSystemConnectionMemo;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measure the cost of a sensor changing state and its listeners being told,
+ * for different numbers of listeners, compared with firing the same change
+ * through java.beans.PropertyChangeSupport.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SensorNotificationBenchmark {
+
+    @Param({"0", "1", "10", "100"})
+    public int listeners;
+
+    private InternalSensorManager manager;
+    private Sensor sensor;
+    private PropertyChangeSupport javaBeansSupport;
+    private int state = Sensor.INACTIVE;
+
+    @Setup
+    public void setUp(Blackhole bh) {
+        manager = new InternalSensorManager(new InternalSystemConnectionMemo("I", "Internal"));
+        sensor = manager.provideSensor("IS1");
+        javaBeansSupport = new PropertyChangeSupport(sensor);
+        for (int i = 0; i < listeners; i++) {
+            PropertyChangeListener l = e -> bh.consume(e.getNewValue());
+            sensor.addPropertyChangeListener(l);
+            javaBeansSupport.addPropertyChangeListener(l);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        manager.dispose();
+    }
+
+    private int nextState() {
+        state = state == Sensor.ACTIVE ? Sensor.INACTIVE : Sensor.ACTIVE;
+        return state;
+    }
+
+    @Benchmark
+    public void sensorStateChange() throws JmriException {
+        sensor.setKnownState(nextState());
+    }
+
+    @Benchmark
+    public void javaBeansFire() {
+        int old = state;
+        javaBeansSupport.firePropertyChange("KnownState", old, nextState());
+    }
+
+}
@@ -0,0 +1,68 @@
+package jmri.jmrit.decoderdefn;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measure the time to identify a decoder in the decoder index distributed
+ * with JMRI, as done by DecoderPro's "Identify", compared with checking every
+ * entry in turn.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DecoderIdentifyBenchmark {
+
+    private DecoderIndexFile index;
+    private String mfgID;
+    private String versionID;
+    private String productID;
+
+    @Setup
+    public void setUp() throws Exception {
+        index = new DecoderIndexFile();
+        index.readFile(DecoderIndexFile.DECODER_INDEX_FILE_NAME);
+        // identify a decoder partway through the index, as a reply would
+        for (int i = index.numDecoders() / 2; i < index.numDecoders(); i++) {
+            DecoderFile d = index.decoderList.get(i);
+            if (d.getModelElement() != null && d.getProductID() != null && d.getMfgID() != null) {
+                for (int v = 0; v < 256; v++) {
+                    if (d.isVersion(v)) {
+                        mfgID = d.getMfgID();
+                        versionID = Integer.toString(v);
+                        productID = d.getProductID().split(",")[0];
+                        return;
+                    }
+                }
+            }
+        }
+        throw new IllegalStateException("no decoder to identify");
+    }
+
+    @Benchmark
+    public List<DecoderFile> identifyByVersion() {
+        return index.matchingDecoderList(null, null, mfgID, versionID, null, null);
+    }
+
+    @Benchmark
+    public List<DecoderFile> identifyByProduct() {
+        return index.matchingDecoderList(null, null, mfgID, versionID, productID, null);
+    }
+
+    @Benchmark
+    public List<DecoderFile> scanByProduct() {
+        List<DecoderFile> l = new ArrayList<>();
+        for (int i = 0; i < index.numDecoders(); i++) {
+            if (index.checkEntry(i, null, null, mfgID, versionID, productID, null, null)) {
+                l.add(index.decoderList.get(i));
+            }
+        }
+        return l;
+    }
+}
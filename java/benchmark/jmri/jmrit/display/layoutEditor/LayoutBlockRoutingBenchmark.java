@@ -0,0 +1,107 @@
+package jmri.jmrit.display.layoutEditor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import jmri.InstanceManager;
+import jmri.jmrit.display.layoutEditor.LayoutBlockConnectivityTools.Metric;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measure building the routing graph of a generated 2,000 block layout, and
+ * finding routes across it, with and without blocks to avoid.
+ * <p>
+ * The layout is a double track main line of 1,000 blocks each way, with a
+ * crossover between the tracks every 10 blocks. The second track is costed
+ * as a siding, so routes keep to the first unless it's blocked.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LayoutBlockRoutingBenchmark {
+
+    private static final int LENGTH = 1000;
+
+    private final List<LayoutBlock[]> paths = new ArrayList<>();
+    private LayoutBlock[] up;
+    private LayoutBlock[] down;
+    private LayoutBlockRoutingGraph graph;
+    private final Set<LayoutBlock> occupied = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    @Setup
+    public void setUp() {
+        LayoutBlockManager lbm = InstanceManager.getDefault(LayoutBlockManager.class);
+        up = new LayoutBlock[LENGTH];
+        down = new LayoutBlock[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            up[i] = lbm.createNewLayoutBlock(null, "Up " + i);
+            down[i] = lbm.createNewLayoutBlock(null, "Down " + i);
+            up[i].initializeLayoutBlock();
+            down[i].initializeLayoutBlock();
+            up[i].setBlockMetric(50);
+            down[i].setBlockMetric(200);
+        }
+        for (int i = 1; i < LENGTH - 1; i++) {
+            both(up[i], up[i - 1], up[i + 1]);
+            both(down[i], down[i - 1], down[i + 1]);
+            if (i % 10 == 5) {
+                both(up[i], up[i - 1], down[i]);
+                both(up[i], down[i], up[i + 1]);
+                both(down[i], down[i - 1], up[i]);
+                both(down[i], up[i], down[i + 1]);
+            }
+        }
+        graph = build();
+        // a train in every 50th block of the first track
+        for (int i = 25; i < LENGTH; i += 50) {
+            occupied.add(up[i]);
+        }
+    }
+
+    private void both(LayoutBlock block, LayoutBlock a, LayoutBlock b) {
+        paths.add(new LayoutBlock[]{block, a, b});
+        paths.add(new LayoutBlock[]{block, b, a});
+    }
+
+    private LayoutBlockRoutingGraph build() {
+        LayoutBlockRoutingGraph g = new LayoutBlockRoutingGraph();
+        for (LayoutBlock[] p : paths) {
+            g.addThroughPath(p[0], p[1], p[2]);
+        }
+        return g;
+    }
+
+    @Benchmark
+    public int buildGraph() {
+        return build().getBlockCount();
+    }
+
+    @Benchmark
+    public List<LayoutBlock> routeAcrossLayout() {
+        return graph.getRoute(up[0], up[1], up[LENGTH - 1], Metric.METRIC, null);
+    }
+
+    @Benchmark
+    public List<LayoutBlock> routeAroundOccupiedBlocks() {
+        return graph.getRoute(up[0], up[1], up[LENGTH - 1], Metric.METRIC,
+                (previous, current, next) -> !occupied.contains(next));
+    }
+
+    @Benchmark
+    public List<LayoutBlock> routeNearby() {
+        return graph.getRoute(up[500], up[501], down[520], Metric.METRIC, null);
+    }
+
+    @Benchmark
+    public int hopCount() {
+        return graph.getHopCount(up[0], up[1], down[LENGTH - 2]);
+    }
+}
@@ -0,0 +1,76 @@
+package jmri.jmrix.can.cbus;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jmri.BenchmarkCorpus;
+import jmri.jmrix.can.CanReply;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measure the per-frame work on CBUS traffic: decoding the opcode, node and
+ * event of a frame, as the event managers do for every frame received, and
+ * decoding it for the monitor.
+ * <p>
+ * Each operation is one frame of the corpus, taken in turn.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CbusMessageBenchmark {
+
+    /**
+     * The opcode and data bytes of each frame, in hex.
+     */
+    @Param("cbus-session.txt")
+    public String corpus;
+
+    private int[][] contents;
+    private CanReply[] frames;
+    private int next = 0;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<String> lines = BenchmarkCorpus.load(CbusMessageBenchmark.class, corpus);
+        contents = new int[lines.size()][];
+        frames = new CanReply[lines.size()];
+        for (int i = 0; i < frames.length; i++) {
+            contents[i] = BenchmarkCorpus.hexBytes(lines.get(i));
+            frames[i] = new CanReply(contents[i], 0x7A);
+        }
+    }
+
+    private int next() {
+        int i = next;
+        next = (i + 1 == frames.length) ? 0 : i + 1;
+        return i;
+    }
+
+    @Benchmark
+    public CanReply construct() {
+        return new CanReply(contents[next()], 0x7A);
+    }
+
+    @Benchmark
+    public void decode(Blackhole bh) {
+        CanReply r = frames[next()];
+        bh.consume(CbusMessage.getOpcode(r));
+        if (CbusMessage.isEvent(r)) {
+            bh.consume(CbusMessage.getNodeNumber(r));
+            bh.consume(CbusMessage.getEvent(r));
+            bh.consume(CbusMessage.getEventType(r));
+        }
+    }
+
+    @Benchmark
+    public String fullDecode() {
+        return CbusOpCodes.fullDecode(frames[next()]);
+    }
+
+}
@@ -0,0 +1,80 @@
+package jmri.jmrix.cmri.serial;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jmri.BenchmarkCorpus;
+import jmri.jmrix.cmri.CMRISystemConnectionMemo;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measure handling a reply to a C/MRI poll: building the SerialReply from
+ * the bytes received, finding its node, and updating the node's sensors from
+ * the input bits.
+ * <p>
+ * Each operation is one reply of the corpus, taken in turn, for eight SMINI
+ * nodes with all 24 inputs in use.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerialReplyBenchmark {
+
+    private static final int NODES = 8;
+
+    /**
+     * The bytes of each reply in hex: node address, R and input bytes.
+     */
+    @Param("cmri-polls.txt")
+    public String corpus;
+
+    private int[][] contents;
+    private int next = 0;
+    private CMRISystemConnectionMemo memo;
+    private SerialTrafficControlScaffold tc;
+    private SerialSensorManager manager;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<String> lines = BenchmarkCorpus.load(SerialReplyBenchmark.class, corpus);
+        contents = new int[lines.size()][];
+        for (int i = 0; i < contents.length; i++) {
+            contents[i] = BenchmarkCorpus.hexBytes(lines.get(i));
+        }
+        memo = new CMRISystemConnectionMemo();
+        tc = new SerialTrafficControlScaffold();
+        memo.setTrafficController(tc);
+        manager = new SerialSensorManager(memo);
+        for (int n = 0; n < NODES; n++) {
+            new SerialNode(n, SerialNode.SMINI, tc);
+            for (int bit = 1; bit <= 24; bit++) {
+                manager.provideSensor("CS" + (n * 1000 + bit));
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        manager.dispose();
+        tc.terminateThreads();
+    }
+
+    @Benchmark
+    public SerialReply reply() {
+        int i = next;
+        next = (i + 1 == contents.length) ? 0 : i + 1;
+        int[] bytes = contents[i];
+        SerialReply r = new SerialReply();
+        for (int j = 0; j < bytes.length; j++) {
+            r.setElement(j, bytes[j]);
+        }
+        manager.reply(r);
+        return r;
+    }
+
+}
@@ -0,0 +1,92 @@
+package jmri.jmrix.dccpp;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import jmri.BenchmarkCorpus;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compare parsing a mix of DCC++ replies and reading their data elements with
+ * the DCCppReply parser against doing the same with a Regex compiled on every
+ * match, as the parser used to.
+ * <p>
+ * Each operation is one reply of the corpus, taken in turn.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DCCppReplyBenchmark {
+
+    /**
+     * Replies without the enclosing angle brackets: throttle, turnout,
+     * sensor, output, current and programming replies.
+     */
+    @Param("dccpp-session.txt")
+    public String corpus;
+
+    private String[] replies;
+    private int next = 0;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<String> lines = BenchmarkCorpus.load(DCCppReplyBenchmark.class, corpus);
+        replies = lines.toArray(new String[lines.size()]);
+    }
+
+    private String next() {
+        int i = next;
+        next = (i + 1 == replies.length) ? 0 : i + 1;
+        return replies[i];
+    }
+
+    @Benchmark
+    public void parseReply(Blackhole bh) {
+        DCCppReply r = DCCppReply.parseDCCppReply(next());
+        bh.consume(r.getValueInt(1));
+        bh.consume(r.getValueString(1));
+    }
+
+    private static final String[] REGEXES = {
+        DCCppConstants.THROTTLE_REPLY_REGEX,
+        DCCppConstants.TURNOUT_DEF_REPLY_REGEX,
+        DCCppConstants.TURNOUT_REPLY_REGEX,
+        DCCppConstants.SENSOR_DEF_REPLY_REGEX,
+        DCCppConstants.SENSOR_ACTIVE_REPLY_REGEX,
+        DCCppConstants.SENSOR_INACTIVE_REPLY_REGEX,
+        DCCppConstants.OUTPUT_LIST_REPLY_REGEX,
+        DCCppConstants.OUTPUT_REPLY_REGEX,
+        DCCppConstants.CURRENT_REPLY_REGEX,
+        DCCppConstants.PROGRAM_BIT_REPLY_REGEX,
+        DCCppConstants.PROGRAM_REPLY_REGEX,
+    };
+
+    @Benchmark
+    public void compileEachMatch(Blackhole bh) {
+        String s = next();
+        // find the Regex with String.matches, then compile it again for
+        // each data element read
+        String regex = null;
+        for (String re : REGEXES) {
+            if (s.matches(re)) {
+                regex = re;
+                break;
+            }
+        }
+        for (int i = 0; i < 2; i++) {
+            Matcher m = Pattern.compile(regex).matcher(s);
+            if (m.matches()) {
+                bh.consume(m.group(1));
+            }
+        }
+    }
+
+}
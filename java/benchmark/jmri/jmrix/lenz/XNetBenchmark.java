@@ -0,0 +1,95 @@
+package jmri.jmrix.lenz;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jmri.BenchmarkCorpus;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measure the per-message work on XpressNet traffic: parsing commands and
+ * replies from their bytes, reading the fields of a reply that the managers
+ * and throttles use, and interpreting it for the monitor.
+ * <p>
+ * Each operation is one command or reply of the corpus, taken in turn.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class XNetBenchmark {
+
+    /**
+     * Commands prefixed by M and replies prefixed by R, in hex.
+     */
+    @Param("xnet-session.txt")
+    public String corpus;
+
+    private String[] commands;
+    private String[] replyStrings;
+    private XNetReply[] replies;
+    private int nextCommand = 0;
+    private int nextReply = 0;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<String> c = new ArrayList<>();
+        List<String> r = new ArrayList<>();
+        for (String line : BenchmarkCorpus.load(XNetBenchmark.class, corpus)) {
+            (line.charAt(0) == 'M' ? c : r).add(line.substring(1).trim());
+        }
+        commands = c.toArray(new String[c.size()]);
+        replyStrings = r.toArray(new String[r.size()]);
+        replies = new XNetReply[replyStrings.length];
+        for (int i = 0; i < replies.length; i++) {
+            replies[i] = new XNetReply(replyStrings[i]);
+        }
+    }
+
+    private int nextReply() {
+        int i = nextReply;
+        nextReply = (i + 1 == replies.length) ? 0 : i + 1;
+        return i;
+    }
+
+    @Benchmark
+    public XNetMessage parseMessage() {
+        int i = nextCommand;
+        nextCommand = (i + 1 == commands.length) ? 0 : i + 1;
+        return new XNetMessage(commands[i]);
+    }
+
+    @Benchmark
+    public XNetReply parseReply() {
+        return new XNetReply(replyStrings[nextReply()]);
+    }
+
+    @Benchmark
+    public void decodeReply(Blackhole bh) {
+        XNetReply r = replies[nextReply()];
+        if (r.isFeedbackBroadcastMessage()) {
+            int items = r.getFeedbackMessageItems();
+            for (int i = 1; i <= items; i++) {
+                bh.consume(r.getFeedbackEncoderMsgAddr(2 * i - 1));
+                bh.consume(r.getFeedbackMessageType(2 * i - 1));
+            }
+        } else if (r.isThrottleMessage()) {
+            bh.consume(r.getThrottleMsgAddr());
+        } else {
+            bh.consume(r.isOkMessage());
+            bh.consume(r.isServiceModeResponse());
+        }
+    }
+
+    @Benchmark
+    public String interpretReply() {
+        return replies[nextReply()].toMonitorString();
+    }
+
+}
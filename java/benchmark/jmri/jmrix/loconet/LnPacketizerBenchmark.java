@@ -0,0 +1,227 @@
+package jmri.jmrix.loconet;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compare receiving LocoNet traffic a byte at a time, framing each message in
+ * a LocoNetMessage as it's read, as LnPacketizer used to, with reading it in
+ * bulk and framing it with an LnFrameDecoder; and writing each message with
+ * its own write and flush with copying waiting messages into one buffer and
+ * writing that.
+ * <p>
+ * The traffic is the mix seen on a busy layout: sensor and turnout reports,
+ * throttle speed and function commands, and slot reads. It's delivered in
+ * 64 byte reads, the size of a USB packet.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LnPacketizerBenchmark {
+
+    private static final int MESSAGES = 1000;
+    private static final int READ_SIZE = 64;
+
+    private byte[] traffic;
+    private List<byte[]> messages;
+    private final byte[] readBuffer = new byte[1];
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        messages = new ArrayList<>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < MESSAGES; i++) {
+            int[] m;
+            switch (random.nextInt(6)) {
+                case 0:
+                case 1:
+                    m = new int[]{LnConstants.OPC_INPUT_REP, random.nextInt(0x80), 0x40 | random.nextInt(0x40), 0};
+                    break;
+                case 2:
+                    m = new int[]{LnConstants.OPC_SW_REP, random.nextInt(0x80), 0x30 | random.nextInt(0x10), 0};
+                    break;
+                case 3:
+                    m = new int[]{LnConstants.OPC_LOCO_SPD, 1 + random.nextInt(20), random.nextInt(0x80), 0};
+                    break;
+                case 4:
+                    m = new int[]{LnConstants.OPC_LOCO_DIRF, 1 + random.nextInt(20), random.nextInt(0x40), 0};
+                    break;
+                default:
+                    m = new int[]{LnConstants.OPC_SL_RD_DATA, 0x0E, 1 + random.nextInt(20), 0x33,
+                        random.nextInt(0x80), random.nextInt(0x80), 0x20, 0x07, 0x00, 0x00, 0x00, 0x00, 0x00, 0};
+                    break;
+            }
+            LocoNetMessage msg = new LocoNetMessage(m);
+            msg.setParity();
+            byte[] b = new byte[msg.getNumDataElements()];
+            for (int j = 0; j < b.length; j++) {
+                b[j] = (byte) msg.getElement(j);
+            }
+            messages.add(b);
+            out.write(b, 0, b.length);
+        }
+        traffic = out.toByteArray();
+    }
+
+    /**
+     * Delivers a byte array in reads of at most READ_SIZE bytes.
+     */
+    private static class PacketStream extends ByteArrayInputStream {
+
+        PacketStream(byte[] bytes) {
+            super(bytes);
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            return super.read(b, off, Math.min(len, READ_SIZE));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void receiveByteAtATime(Blackhole bh) throws IOException {
+        DataInputStream stream = new DataInputStream(new PacketStream(traffic));
+        for (int i = 0; i < MESSAGES; i++) {
+            bh.consume(readMessage(stream));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void receiveBulk(Blackhole bh) throws IOException {
+        InputStream stream = new PacketStream(traffic);
+        LnFrameDecoder decoder = new LnFrameDecoder();
+        while (decoder.read(stream) > 0) {
+            decoder.decode(bh::consume);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void writeEach(Blackhole bh) throws IOException {
+        OutputStream stream = new BlackholeStream(bh);
+        for (byte[] msg : messages) {
+            stream.write(msg);
+            stream.flush();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void writeBatched(Blackhole bh) throws IOException {
+        OutputStream stream = new BlackholeStream(bh);
+        byte[] buffer = new byte[LnPacketizer.XMT_BUFFER_SIZE];
+        int len = 0;
+        for (byte[] msg : messages) {
+            if (len + msg.length > buffer.length) {
+                stream.write(buffer, 0, len);
+                stream.flush();
+                len = 0;
+            }
+            System.arraycopy(msg, 0, buffer, len, msg.length);
+            len += msg.length;
+        }
+        stream.write(buffer, 0, len);
+        stream.flush();
+    }
+
+    /**
+     * Counts each write and flush, as a serial port would make a system call
+     * for each.
+     */
+    private static class BlackholeStream extends OutputStream {
+
+        private final Blackhole bh;
+
+        BlackholeStream(Blackhole bh) {
+            this.bh = bh;
+        }
+
+        @Override
+        public void write(int b) {
+            bh.consume(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bh.consume(b);
+            Blackhole.consumeCPU(50);
+        }
+
+        @Override
+        public void flush() {
+            Blackhole.consumeCPU(50);
+        }
+    }
+
+    private byte readByte(DataInputStream stream) throws IOException {
+        while (true) {
+            if (stream.read(readBuffer, 0, 1) > 0) {
+                return readBuffer[0];
+            }
+        }
+    }
+
+    /**
+     * The framing LnPacketizer.RcvHandler did before LnFrameDecoder, without
+     * the logging.
+     */
+    private LocoNetMessage readMessage(DataInputStream stream) throws IOException {
+        int opCode;
+        while (((opCode = (readByte(stream) & 0xFF)) & 0x80) == 0) {
+            // skip
+        }
+        LocoNetMessage msg = null;
+        while (msg == null) {
+            int byte2 = readByte(stream) & 0xFF;
+            int len;
+            switch ((opCode & 0x60) >> 5) {
+                case 0:
+                    len = 2;
+                    break;
+                case 1:
+                    len = 4;
+                    break;
+                case 2:
+                    len = 6;
+                    break;
+                default:
+                    len = byte2;
+                    break;
+            }
+            msg = new LocoNetMessage(len);
+            msg.setOpCode(opCode);
+            msg.setElement(1, byte2);
+            for (int i = 2; i < len; i++) {
+                int b = readByte(stream) & 0xFF;
+                if ((b & 0x80) != 0) {
+                    opCode = b;
+                    msg = null;
+                    break;
+                }
+                msg.setElement(i, b);
+            }
+        }
+        if (!msg.checkParity()) {
+            return null;
+        }
+        return msg;
+    }
+
+}
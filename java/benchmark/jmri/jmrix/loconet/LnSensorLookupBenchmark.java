@@ -0,0 +1,71 @@
+package jmri.jmrix.loconet;
+
+import java.util.concurrent.TimeUnit;
+
+import jmri.Sensor;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compare finding the Sensor for an OPC_INPUT_REP message through an
+ * LnSensorAddress and its system name with decoding the address from the
+ * message bytes and using the manager's address index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LnSensorLookupBenchmark {
+
+    private LocoNetSystemConnectionMemo memo;
+    private LnSensorManager manager;
+    private int[] sw1;
+    private int[] sw2;
+
+    @Setup
+    public void setUp() {
+        memo = new LocoNetSystemConnectionMemo();
+        memo.setLnTrafficController(new LocoNetInterfaceScaffold(memo));
+        manager = new LnSensorManager(memo);
+        for (int i = 1; i <= 4096; i++) {
+            manager.provideSensor("LS" + i);
+        }
+        // 1024 different sensor reports spread over the address space
+        sw1 = new int[1024];
+        sw2 = new int[1024];
+        for (int i = 0; i < sw1.length; i++) {
+            int n = (i * 4) % 4096;
+            sw1[i] = (n >> 1) & 0x7F;
+            sw2[i] = ((n >> 8) & 0x0F) | ((n & 0x01) != 0 ? 0x20 : 0x00) | 0x10;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        manager.dispose();
+        memo.dispose();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1024)
+    public void bySystemName(Blackhole bh) {
+        for (int i = 0; i < sw1.length; i++) {
+            LnSensorAddress a = new LnSensorAddress(sw1[i], sw2[i], "L");
+            Sensor s = manager.getBySystemName(a.getNumericAddress());
+            bh.consume(s);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1024)
+    public void byAddress(Blackhole bh) {
+        for (int i = 0; i < sw1.length; i++) {
+            Sensor s = manager.getByAddress(LnSensorManager.address(sw1[i], sw2[i]));
+            bh.consume(s);
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+package jmri.jmrix.loconet;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jmri.BenchmarkCorpus;
+import jmri.jmrix.MonitorStore;
+import jmri.jmrix.loconet.messageinterp.LocoNetMessageInterpret;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measure the per-message work on LocoNet traffic: constructing a
+ * LocoNetMessage from its bytes, computing and checking its checksum, and
+ * interpreting it for the monitor; and what the monitor does with each message
+ * it receives, formatting it as text or keeping it in a MonitorStore.
+ * <p>
+ * Each operation is one message of the corpus, taken in turn.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocoNetMessageBenchmark {
+
+    /**
+     * Messages in LnCaptureWriter format, or plain hex.
+     */
+    @Param("loconet-session.txt")
+    public String corpus;
+
+    private int[][] contents;
+    private LocoNetMessage[] messages;
+    private int next = 0;
+    private final MonitorStore store = new MonitorStore();
+
+    @Setup
+    public void setUp() throws IOException {
+        List<String> lines = BenchmarkCorpus.load(LocoNetMessageBenchmark.class, corpus);
+        contents = new int[lines.size()][];
+        messages = new LocoNetMessage[lines.size()];
+        for (int i = 0; i < contents.length; i++) {
+            String line = lines.get(i);
+            if (line.charAt(0) == '@') {
+                line = line.substring(line.indexOf(' ') + 1);
+            }
+            contents[i] = BenchmarkCorpus.hexBytes(line);
+            messages[i] = new LocoNetMessage(contents[i]);
+        }
+    }
+
+    private int next() {
+        int i = next;
+        next = (i + 1 == contents.length) ? 0 : i + 1;
+        return i;
+    }
+
+    @Benchmark
+    public LocoNetMessage construct() {
+        return new LocoNetMessage(contents[next()]);
+    }
+
+    @Benchmark
+    public LocoNetMessage setParity() {
+        LocoNetMessage msg = messages[next()];
+        msg.setParity();
+        return msg;
+    }
+
+    @Benchmark
+    public boolean checkParity() {
+        return messages[next()].checkParity();
+    }
+
+    @Benchmark
+    public String interpret() {
+        return LocoNetMessageInterpret.interpretMessage(messages[next()], "LT", "LS", "LR");
+    }
+
+    @Benchmark
+    public String monitorText() {
+        LocoNetMessage msg = messages[next()];
+        return msg.toString() + msg.toMonitorString("L");
+    }
+
+    @Benchmark
+    public long monitorStore() {
+        return store.add(System.currentTimeMillis(), messages[next()]);
+    }
+
+}
@@ -0,0 +1,71 @@
+package jmri.jmrix.loconet.messageinterp;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jmri.BenchmarkCorpus;
+import jmri.jmrix.loconet.LocoNetMessage;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compare building the monitor text of every LocoNet message, as
+ * LocoNetMessageInterpret did before keeping recent interpretations, with
+ * getting the text of a kept interpretation, and with only classifying the
+ * message.
+ * <p>
+ * Each operation is one message of the corpus, taken in turn.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocoNetMessageInterpretBenchmark {
+
+    /**
+     * Messages in LnCaptureWriter format, or plain hex.
+     */
+    @Param({"/jmri/jmrix/loconet/loconet-session.txt", "loconet-polling.txt"})
+    public String corpus;
+
+    private LocoNetMessage[] messages;
+    private int next = 0;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<String> lines = BenchmarkCorpus.load(LocoNetMessageInterpretBenchmark.class, corpus);
+        messages = new LocoNetMessage[lines.size()];
+        for (int i = 0; i < messages.length; i++) {
+            String line = lines.get(i);
+            if (line.charAt(0) == '@') {
+                line = line.substring(line.indexOf(' ') + 1);
+            }
+            messages[i] = new LocoNetMessage(BenchmarkCorpus.hexBytes(line));
+        }
+    }
+
+    private LocoNetMessage next() {
+        int i = next;
+        next = (i + 1 == messages.length) ? 0 : i + 1;
+        return messages[i];
+    }
+
+    @Benchmark
+    public String format() {
+        return LocoNetMessageInterpret.formatMessage(next(), "LT", "LS", "LR");
+    }
+
+    @Benchmark
+    public String interpretMessage() {
+        return LocoNetMessageInterpret.interpretMessage(next(), "LT", "LS", "LR");
+    }
+
+    @Benchmark
+    public LocoNetInterpretation.Category classify() {
+        return LocoNetMessageInterpret.interpret(next(), "LT", "LS", "LR").getCategory();
+    }
+
+}
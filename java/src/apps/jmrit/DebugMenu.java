@@ -39,6 +39,9 @@ public class DebugMenu extends JMenu {
         add(new jmri.util.swing.JmriNamedPaneAction(Bundle.getMessage("MenuItemLogTreeAction"),
                 new jmri.util.swing.sdi.JmriJFrameInterface(),
                 "jmri.jmrit.log.Log4JTreePane"));
+        add(new jmri.util.swing.JmriNamedPaneAction(Bundle.getMessage("MenuItemConnectionTelemetry"),
+                new jmri.util.swing.sdi.JmriJFrameInterface(),
+                "jmri.jmrix.swing.ConnectionTelemetryPane"));
         add(new JSeparator());
         JMenu vsdMenu = new JMenu(Bundle.getMessage("MenuItemVSDecoder"));
         vsdMenu.add(new jmri.jmrit.vsdecoder.VSDecoderCreationAction(Bundle.getMessage("MenuItemVSDecoderManager")));
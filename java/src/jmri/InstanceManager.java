@@ -15,6 +15,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
@@ -61,6 +63,11 @@ import jmri.util.ThreadingUtil;
  * objects need to be initialized after the default instance has been
  * constructed and registered with the InstanceManager. This will allow
  * references to the default instance during initialization to work as expected.
+ * <p>
+ * The default object of each type is cached once found, so that
+ * {@link #getDefault} for a type that has a default doesn't lock; the cache
+ * entry is dropped whenever the objects of the type change through this
+ * class.
  * <hr>
  * This file is part of JMRI.
  * <p>
@@ -82,6 +89,12 @@ public final class InstanceManager {
     private final Map<Class<?>, List<Object>> managerLists = Collections.synchronizedMap(new HashMap<>());
     private final HashMap<Class<?>, InstanceInitializer> initializers = new HashMap<>();
     private final HashMap<Class<?>, StateHolder> initState = new HashMap<>();
+    // the current default of each type, once found; only changed while
+    // synchronized on the type, so that a default being replaced isn't cached
+    private final Map<Class<?>, Object> defaults = new ConcurrentHashMap<>();
+    private final LongAdder cachedLookups = new LongAdder();
+    private final LongAdder lockedLookups = new LongAdder();
+    private final LongAdder lockWaitNanos = new LongAdder();
 
     /**
      * Store an object of a particular type for later retrieval via
@@ -99,9 +112,15 @@ public final class InstanceManager {
             log.error("Should not store null value of type {}", type.getName());
             throw npe;
         }
-        List<T> l = getList(type);
-        l.add(item);
-        getDefault().pcs.fireIndexedPropertyChange(getListPropertyName(type), l.indexOf(item), null, item);
+        InstanceManager im = getDefault();
+        List<T> l = im.getInstances(type);
+        int index;
+        synchronized (type) {
+            l.add(item);
+            im.defaults.remove(type);
+            index = l.indexOf(item);
+        }
+        im.pcs.fireIndexedPropertyChange(getListPropertyName(type), index, null, item);
     }
 
     /**
@@ -157,10 +176,16 @@ public final class InstanceManager {
      */
     public <T> void remove(@Nonnull T item, @Nonnull Class<T> type) {
         log.debug("Remove item type {}", type.getName());
-        List<T> l = getList(type);
-        int index = l.indexOf(item);
+        List<T> l = getInstances(type);
+        int index;
+        synchronized (type) {
+            index = l.indexOf(item);
+            if (index != -1) {
+                l.remove(item);
+                defaults.remove(type);
+            }
+        }
         if (index != -1) { // -1 means items was not in list, and therefor, not registered
-            l.remove(item);
             if (item instanceof Disposable) {
                 dispose((Disposable) item);
             }
@@ -254,7 +279,28 @@ public final class InstanceManager {
      * @see #getOptionalDefault(java.lang.Class)
      */
     @CheckForNull
+    @SuppressWarnings("unchecked") // the cast here is protected by the structure of the defaults
     public <T> T getInstance(@Nonnull Class<T> type) {
+        Object cached = defaults.get(type);
+        if (cached != null) {
+            cachedLookups.increment();
+            return (T) cached;
+        }
+        lockedLookups.increment();
+        long start = System.nanoTime();
+        synchronized (type) {
+            lockWaitNanos.add(System.nanoTime() - start);
+            T instance = findInstance(type);
+            if (instance != null) {
+                defaults.put(type, instance);
+            }
+            return instance;
+        }
+    }
+
+    // find or create the default
+    @CheckForNull
+    private <T> T findInstance(@Nonnull Class<T> type) {
         log.trace("getOptionalDefault of type {}", type.getName());
         synchronized (type) {
             List<T> l = getInstances(type);
@@ -400,9 +446,13 @@ public final class InstanceManager {
             throw npe;
         }
         Object oldDefault = containsDefault(type) ? getNullableDefault(type) : null;
-        List<T> l = getList(type);
-        l.remove(item);
-        l.add(item);
+        InstanceManager im = getDefault();
+        List<T> l = im.getInstances(type);
+        synchronized (type) {
+            l.remove(item);
+            l.add(item);
+            im.defaults.remove(type);
+        }
         if (oldDefault == null || !oldDefault.equals(item)) {
             getDefault().pcs.firePropertyChange(getDefaultsPropertyName(type), oldDefault, item);
         }
@@ -762,7 +812,43 @@ public final class InstanceManager {
         List<T> toClear = new ArrayList<>(getInstances(type));
         toClear.forEach(o -> remove(o, type));
         setInitializationState(type, InitializationState.NOTSET); // initialization will have to be redone
-        managerLists.put(type, new ArrayList<>());
+        synchronized (type) {
+            managerLists.put(type, new ArrayList<>());
+            defaults.remove(type);
+        }
+    }
+
+    /**
+     * Get the number of lookups of a default, e.g. by {@link #getDefault},
+     * answered from the cache of defaults without locking.
+     *
+     * @return the number of lookups
+     */
+    public long getCachedLookupCount() {
+        return cachedLookups.sum();
+    }
+
+    /**
+     * Get the number of lookups of a default that locked the type to find,
+     * or create, the default, as it wasn't cached. Many of these for the same
+     * types suggests defaults are being replaced or removed while in use, or
+     * a type is being looked up that has no default.
+     *
+     * @return the number of lookups
+     */
+    public long getLockedLookupCount() {
+        return lockedLookups.sum();
+    }
+
+    /**
+     * Get the total time lookups spent waiting for the lock on a type, which
+     * is held by other lookups of the type and while the objects of the type
+     * change.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getLockWaitTime() {
+        return lockWaitNanos.sum();
     }
 
     /**
@@ -772,7 +858,7 @@ public final class InstanceManager {
      */
     private static class LazyInstanceManager {
 
-        private static InstanceManager instanceManager = new InstanceManager();
+        private static volatile InstanceManager instanceManager = new InstanceManager();
 
         /**
          * Get the InstanceManager.
@@ -0,0 +1,241 @@
+package jmri.beans;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeListenerProxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Property change support for objects that fire many property changes, such as
+ * the {@link jmri.NamedBean}s representing layout hardware, that behaves like
+ * {@link java.beans.PropertyChangeSupport} but costs less per change.
+ * <p>
+ * Listeners are held in arrays that are replaced, not changed, when a listener
+ * is added or removed, with one array for listeners to all properties and one
+ * per property with listeners. Firing a change reads those arrays without
+ * locking or copying them, and no {@link PropertyChangeEvent} is created when
+ * no listener would receive it. Changes are fired as by
+ * java.beans.PropertyChangeSupport: not at all if the old and new values are
+ * equal and not null, and to the listeners to all properties before those to
+ * the property changed.
+ * <p>
+ * This class is thread safe.
+ */
+@ThreadSafe
+public final class LightweightPropertyChangeSupport {
+
+    private static final PropertyChangeListener[] NONE = new PropertyChangeListener[0];
+
+    private final Object source;
+    // listeners to all properties
+    private volatile PropertyChangeListener[] listeners = NONE;
+    // listeners to one property; an entry is removed when its last listener is
+    private final Map<String, PropertyChangeListener[]> propertyListeners = new ConcurrentHashMap<>();
+
+    /**
+     * Create support for a source of property changes.
+     *
+     * @param source the source of the events fired
+     */
+    public LightweightPropertyChangeSupport(@Nonnull Object source) {
+        this.source = source;
+    }
+
+    /**
+     * Add a listener to all properties. A listener wrapped in a
+     * {@link PropertyChangeListenerProxy} is added as a listener to the
+     * proxy's property.
+     *
+     * @param listener the listener; ignored if null
+     */
+    public synchronized void addPropertyChangeListener(@CheckForNull PropertyChangeListener listener) {
+        if (listener instanceof PropertyChangeListenerProxy) {
+            PropertyChangeListenerProxy proxy = (PropertyChangeListenerProxy) listener;
+            addPropertyChangeListener(proxy.getPropertyName(), proxy.getListener());
+        } else if (listener != null) {
+            listeners = add(listeners, listener);
+        }
+    }
+
+    /**
+     * Add a listener to one property.
+     *
+     * @param propertyName the property
+     * @param listener     the listener; ignored if it or propertyName is null
+     */
+    public synchronized void addPropertyChangeListener(@CheckForNull String propertyName,
+            @CheckForNull PropertyChangeListener listener) {
+        if (propertyName != null && listener != null) {
+            propertyListeners.put(propertyName, add(propertyListeners.getOrDefault(propertyName, NONE), listener));
+        }
+    }
+
+    /**
+     * Remove a listener to all properties, or to the property of a
+     * {@link PropertyChangeListenerProxy}. A listener added more than once is
+     * removed once.
+     *
+     * @param listener the listener; ignored if null
+     */
+    public synchronized void removePropertyChangeListener(@CheckForNull PropertyChangeListener listener) {
+        if (listener instanceof PropertyChangeListenerProxy) {
+            PropertyChangeListenerProxy proxy = (PropertyChangeListenerProxy) listener;
+            removePropertyChangeListener(proxy.getPropertyName(), proxy.getListener());
+        } else if (listener != null) {
+            listeners = remove(listeners, listener);
+        }
+    }
+
+    /**
+     * Remove a listener to one property. A listener added more than once is
+     * removed once.
+     *
+     * @param propertyName the property
+     * @param listener     the listener; ignored if it or propertyName is null
+     */
+    public synchronized void removePropertyChangeListener(@CheckForNull String propertyName,
+            @CheckForNull PropertyChangeListener listener) {
+        if (propertyName != null && listener != null) {
+            PropertyChangeListener[] current = propertyListeners.get(propertyName);
+            if (current != null) {
+                PropertyChangeListener[] remaining = remove(current, listener);
+                if (remaining.length == 0) {
+                    propertyListeners.remove(propertyName);
+                } else {
+                    propertyListeners.put(propertyName, remaining);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get all listeners. As with java.beans.PropertyChangeSupport, listeners to
+     * one property are wrapped in a {@link PropertyChangeListenerProxy}.
+     *
+     * @return the listeners; may be empty
+     */
+    @Nonnull
+    public synchronized PropertyChangeListener[] getPropertyChangeListeners() {
+        List<PropertyChangeListener> all = new ArrayList<>(Arrays.asList(listeners));
+        propertyListeners.forEach((name, array) -> {
+            for (PropertyChangeListener l : array) {
+                all.add(new PropertyChangeListenerProxy(name, l));
+            }
+        });
+        return all.toArray(NONE);
+    }
+
+    /**
+     * Get the listeners to one property, not including those to all
+     * properties.
+     *
+     * @param propertyName the property
+     * @return the listeners; may be empty
+     */
+    @Nonnull
+    public PropertyChangeListener[] getPropertyChangeListeners(@CheckForNull String propertyName) {
+        PropertyChangeListener[] array = propertyName == null ? null : propertyListeners.get(propertyName);
+        return array == null ? NONE : array.clone();
+    }
+
+    /**
+     * Get the number of listeners, counting each registration of a listener.
+     *
+     * @return the number of listeners
+     */
+    public synchronized int getListenerCount() {
+        int count = listeners.length;
+        for (PropertyChangeListener[] array : propertyListeners.values()) {
+            count += array.length;
+        }
+        return count;
+    }
+
+    /**
+     * Check if any listener would be told of a change to a property.
+     *
+     * @param propertyName the property; null to only check for listeners to
+     *                     all properties
+     * @return true if there are listeners to all properties or to propertyName
+     */
+    public boolean hasListeners(@CheckForNull String propertyName) {
+        return listeners.length > 0 || (propertyName != null && propertyListeners.containsKey(propertyName));
+    }
+
+    /**
+     * Fire a change to the listeners to all properties and to the property
+     * changed. Nothing is fired if the old and new values are equal and not
+     * null.
+     *
+     * @param propertyName the property changed
+     * @param oldValue     the old value
+     * @param newValue     the new value
+     */
+    public void firePropertyChange(@CheckForNull String propertyName, @CheckForNull Object oldValue,
+            @CheckForNull Object newValue) {
+        PropertyChangeListener[] common = listeners;
+        PropertyChangeListener[] named = propertyName == null ? null : propertyListeners.get(propertyName);
+        if (common.length == 0 && named == null) {
+            return;
+        }
+        if (oldValue != null && newValue != null && oldValue.equals(newValue)) {
+            return;
+        }
+        fire(common, named, new PropertyChangeEvent(source, propertyName, oldValue, newValue));
+    }
+
+    /**
+     * Fire an event to the listeners to all properties and to the event's
+     * property. Nothing is fired if the old and new values are equal and not
+     * null.
+     *
+     * @param event the event
+     */
+    public void firePropertyChange(@Nonnull PropertyChangeEvent event) {
+        Object oldValue = event.getOldValue();
+        Object newValue = event.getNewValue();
+        if (oldValue != null && newValue != null && oldValue.equals(newValue)) {
+            return;
+        }
+        String propertyName = event.getPropertyName();
+        fire(listeners, propertyName == null ? null : propertyListeners.get(propertyName), event);
+    }
+
+    private static void fire(PropertyChangeListener[] common, @CheckForNull PropertyChangeListener[] named,
+            PropertyChangeEvent event) {
+        for (PropertyChangeListener l : common) {
+            l.propertyChange(event);
+        }
+        if (named != null) {
+            for (PropertyChangeListener l : named) {
+                l.propertyChange(event);
+            }
+        }
+    }
+
+    private static PropertyChangeListener[] add(PropertyChangeListener[] array, PropertyChangeListener listener) {
+        PropertyChangeListener[] result = Arrays.copyOf(array, array.length + 1);
+        result[array.length] = listener;
+        return result;
+    }
+
+    private static PropertyChangeListener[] remove(PropertyChangeListener[] array, PropertyChangeListener listener) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i].equals(listener)) {
+                PropertyChangeListener[] result = new PropertyChangeListener[array.length - 1];
+                System.arraycopy(array, 0, result, 0, i);
+                System.arraycopy(array, i + 1, result, i, array.length - i - 1);
+                return result.length == 0 ? NONE : result;
+            }
+        }
+        return array;
+    }
+
+}
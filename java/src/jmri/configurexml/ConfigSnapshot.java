@@ -0,0 +1,337 @@
+package jmri.configurexml;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import jmri.jmrit.XmlFile;
+import jmri.util.FileUtil;
+import org.jdom2.Attribute;
+import org.jdom2.AttributeType;
+import org.jdom2.CDATA;
+import org.jdom2.Comment;
+import org.jdom2.Content;
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.jdom2.JDOMFactory;
+import org.jdom2.Namespace;
+import org.jdom2.ProcessingInstruction;
+import org.jdom2.Text;
+import org.jdom2.UncheckedJDOMFactory;
+
+/**
+ * A cache of the parsed contents of configuration files, kept in a compact
+ * binary form that is much quicker to read than parsing and validating the
+ * XML again.
+ * <p>
+ * Each snapshot is keyed by a hash of the contents of the file it was parsed
+ * from, the validation used and the JMRI version. The XML file remains the
+ * source of truth: a snapshot is only used if its key matches the file as it
+ * is now, and is deleted when it doesn't.
+ * <p>
+ * A snapshot holds the root element as returned by the parser, i.e. with
+ * schema default attributes filled in and processing instructions applied,
+ * so it must be taken before the element is changed by loading. The snapshot
+ * of a file just stored holds the root element it was written from instead,
+ * as that has the attributes the schema would otherwise fill in.
+ *
+ * @see ConfigXmlManager#setSnapshot(ConfigSnapshot)
+ */
+public class ConfigSnapshot {
+
+    private static final int MAGIC = 0x4a4d5253; // "JMRS"
+    private static final int FORMAT = 1;
+    private static final String SUFFIX = ".snapshot";
+
+    // content tags
+    private static final byte ELEMENT = 1;
+    private static final byte TEXT = 2;
+    private static final byte CDATA_TEXT = 3;
+    private static final byte COMMENT = 4;
+    private static final byte INSTRUCTION = 5;
+
+    private final File directory;
+
+    /**
+     * Create a cache of snapshots in a directory.
+     *
+     * @param directory the directory; created if needed
+     */
+    public ConfigSnapshot(@Nonnull File directory) {
+        this.directory = directory;
+    }
+
+    @Nonnull
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Get the key of a file's contents, which changes if the contents, the
+     * validation or the JMRI version change.
+     *
+     * @param content  the contents of the file
+     * @param validate the validation used to parse the file
+     * @return the key
+     */
+    @Nonnull
+    public static String key(@Nonnull byte[] content, @Nonnull XmlFile.Validate validate) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(content);
+            digest.update(validate.name().getBytes(StandardCharsets.UTF_8));
+            digest.update(jmri.Version.name().getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder();
+            for (byte b : digest.digest()) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Read the snapshot of a file.
+     *
+     * @param source the file the snapshot was taken from
+     * @param key    the key of the file as it is now
+     * @return the root element, or null if there's no snapshot for the file
+     *         as it is now
+     */
+    @CheckForNull
+    public Element read(@Nonnull URL source, @Nonnull String key) {
+        File file = snapshotFile(source);
+        if (!file.isFile()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() == MAGIC && in.readInt() == FORMAT && key.equals(in.readUTF())) {
+                Element root = new Reader(in).readElement();
+                new Document(root); // as a parsed root is
+                log.debug("read snapshot of {} from {}", source, file);
+                return root;
+            }
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Unable to read snapshot {}, parsing {} instead", file, source, ex);
+        }
+        log.debug("discarding out of date snapshot of {}", source);
+        FileUtil.delete(file);
+        return null;
+    }
+
+    /**
+     * Write the snapshot of a file, replacing any earlier snapshot.
+     *
+     * @param source the file
+     * @param key    the key of the file
+     * @param root   the root element parsed from the file
+     */
+    public void write(@Nonnull URL source, @Nonnull String key, @Nonnull Element root) {
+        File file = snapshotFile(source);
+        FileUtil.createDirectory(directory);
+        File temp = new File(directory, file.getName() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT);
+                out.writeUTF(key);
+                new Writer(out).writeElement(root);
+            }
+            // replace in one step, so a reader never sees part of a snapshot
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            log.debug("wrote snapshot of {} to {}", source, file);
+        } catch (IOException ex) {
+            log.warn("Unable to write snapshot of {}", source, ex);
+            FileUtil.delete(temp);
+        }
+    }
+
+    /**
+     * Delete the snapshot of a file.
+     *
+     * @param source the file
+     */
+    public void discard(@Nonnull URL source) {
+        FileUtil.delete(snapshotFile(source));
+    }
+
+    // one snapshot per file; named for the file so its owner is apparent
+    @Nonnull
+    File snapshotFile(@Nonnull URL source) {
+        String path = source.toString();
+        String name = path.substring(path.lastIndexOf('/') + 1).replaceAll("[^A-Za-z0-9._-]", "_");
+        return new File(directory, name + "-" + Integer.toHexString(path.hashCode()) + SUFFIX);
+    }
+
+    /*
+     * Strings are written once, as UTF-8 preceded by their length, and
+     * afterwards as their index in the order first written; element and
+     * attribute names and many values repeat throughout a configuration.
+     */
+    private static final class Writer {
+
+        private final DataOutputStream out;
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        Writer(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void writeString(String s) throws IOException {
+            if (s == null) {
+                out.writeInt(-1);
+                return;
+            }
+            Integer index = strings.get(s);
+            if (index != null) {
+                out.writeInt(index);
+                return;
+            }
+            strings.put(s, strings.size());
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(-2 - bytes.length);
+            out.write(bytes);
+        }
+
+        void writeNamespace(Namespace ns) throws IOException {
+            writeString(ns.getPrefix());
+            writeString(ns.getURI());
+        }
+
+        void writeElement(Element element) throws IOException {
+            writeString(element.getName());
+            writeNamespace(element.getNamespace());
+            List<Namespace> additional = element.getAdditionalNamespaces();
+            out.writeInt(additional.size());
+            for (Namespace ns : additional) {
+                writeNamespace(ns);
+            }
+            List<Attribute> attributes = element.hasAttributes() ? element.getAttributes() : new ArrayList<>();
+            out.writeInt(attributes.size());
+            for (Attribute a : attributes) {
+                writeString(a.getName());
+                writeNamespace(a.getNamespace());
+                writeString(a.getValue());
+                out.writeByte(a.getAttributeType().ordinal());
+                out.writeBoolean(a.isSpecified());
+            }
+            List<Content> contents = element.getContent();
+            out.writeInt(contents.size());
+            for (Content c : contents) {
+                if (c instanceof Element) {
+                    out.writeByte(ELEMENT);
+                    writeElement((Element) c);
+                } else if (c instanceof CDATA) {
+                    out.writeByte(CDATA_TEXT);
+                    writeString(((CDATA) c).getText());
+                } else if (c instanceof Text) {
+                    out.writeByte(TEXT);
+                    writeString(((Text) c).getText());
+                } else if (c instanceof Comment) {
+                    out.writeByte(COMMENT);
+                    writeString(((Comment) c).getText());
+                } else if (c instanceof ProcessingInstruction) {
+                    out.writeByte(INSTRUCTION);
+                    writeString(((ProcessingInstruction) c).getTarget());
+                    writeString(((ProcessingInstruction) c).getData());
+                } else {
+                    // entity references and doctypes aren't left by the parser
+                    throw new IOException("Unexpected content " + c);
+                }
+            }
+        }
+    }
+
+    private static final class Reader {
+
+        // the snapshot was checked when written, so skip checking it again
+        private final JDOMFactory factory = new UncheckedJDOMFactory();
+        private final DataInputStream in;
+        private final List<String> strings = new ArrayList<>();
+
+        Reader(DataInputStream in) {
+            this.in = in;
+        }
+
+        String readString() throws IOException {
+            int i = in.readInt();
+            if (i == -1) {
+                return null;
+            }
+            if (i >= 0) {
+                return strings.get(i);
+            }
+            byte[] bytes = new byte[-2 - i];
+            in.readFully(bytes);
+            String s = new String(bytes, StandardCharsets.UTF_8);
+            strings.add(s);
+            return s;
+        }
+
+        Namespace readNamespace() throws IOException {
+            String prefix = readString();
+            return Namespace.getNamespace(prefix, readString());
+        }
+
+        Element readElement() throws IOException {
+            String name = readString();
+            Element element = factory.element(name, readNamespace());
+            for (int i = in.readInt(); i > 0; i--) {
+                element.addNamespaceDeclaration(readNamespace());
+            }
+            for (int i = in.readInt(); i > 0; i--) {
+                String attributeName = readString();
+                Namespace ns = readNamespace();
+                String value = readString();
+                Attribute a = factory.attribute(attributeName, value, AttributeType.values()[in.readByte()], ns);
+                a.setSpecified(in.readBoolean());
+                factory.setAttribute(element, a);
+            }
+            for (int i = in.readInt(); i > 0; i--) {
+                byte tag = in.readByte();
+                switch (tag) {
+                    case ELEMENT:
+                        factory.addContent(element, readElement());
+                        break;
+                    case TEXT:
+                        factory.addContent(element, factory.text(readString()));
+                        break;
+                    case CDATA_TEXT:
+                        factory.addContent(element, factory.cdata(readString()));
+                        break;
+                    case COMMENT:
+                        factory.addContent(element, factory.comment(readString()));
+                        break;
+                    case INSTRUCTION:
+                        String target = readString();
+                        factory.addContent(element, factory.processingInstruction(target, readString()));
+                        break;
+                    default:
+                        throw new IOException("Unexpected content tag " + tag);
+                }
+            }
+            return element;
+        }
+    }
+
+    private final static org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(ConfigSnapshot.class);
+
+}
@@ -1,19 +1,40 @@
 package jmri.configurexml;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
 import jmri.InstanceManager;
+import jmri.Manager;
 import jmri.jmrit.XmlFile;
 import jmri.jmrit.revhistory.FileHistory;
+import jmri.managers.configurexml.AbstractNamedBeanManagerConfigXML;
+import jmri.profile.ProfileManager;
+import jmri.profile.ProfileUtils;
 import jmri.util.FileUtil;
 import org.jdom2.Attribute;
 import org.jdom2.Document;
 import org.jdom2.Element;
+import org.jdom2.JDOMException;
 import org.jdom2.ProcessingInstruction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -351,6 +372,7 @@ public class ConfigXmlManager extends jmri.jmrit.XmlFile
             storeVersion(root);
 
             writeXML(file, doc);
+            snapshotStored(file, root);
         } catch (java.io.FileNotFoundException ex3) {
             storingErrorEncountered(null, "storing to file " + file.getName(),
                     "File not found " + file.getName(), null, null, ex3);
@@ -560,7 +582,8 @@ public class ConfigXmlManager extends jmri.jmrit.XmlFile
      * Handles problems locally to the extent that it can, by routing them to
      * the creationErrorEncountered method.
      * <p>
-     * Always processes on Swing thread
+     * Always processes on Swing thread, except for manager sections loaded in
+     * parallel; see {@link #setParallelLoad(boolean)}.
      *
      * @param url              URL of file to load
      * @param registerDeferred true to register objects to defer
@@ -590,6 +613,46 @@ public class ConfigXmlManager extends jmri.jmrit.XmlFile
 
     private XmlFile.Validate validate = XmlFile.Validate.CheckDtdThenSchema;
 
+    /**
+     * System property that, when true, makes loads parallel by default.
+     *
+     * @see #setParallelLoad(boolean)
+     */
+    public static final String PARALLEL_LOAD_PROPERTY = "jmri.configurexml.parallelLoad";
+
+    /**
+     * The load orders of the manager sections that can be loaded in parallel,
+     * each with the load orders of the sections it depends on. Turnouts may
+     * refer to feedback sensors, and lights are activated as they are loaded,
+     * so need their control sensors and turnouts.
+     */
+    private static final Map<Integer, Set<Integer>> INDEPENDENT_SECTIONS = new HashMap<>();
+
+    static {
+        INDEPENDENT_SECTIONS.put(Manager.SENSORS, Collections.emptySet());
+        INDEPENDENT_SECTIONS.put(Manager.TURNOUTS, Collections.singleton(Manager.SENSORS));
+        INDEPENDENT_SECTIONS.put(Manager.LIGHTS, new HashSet<>(Arrays.asList(Manager.SENSORS, Manager.TURNOUTS)));
+        INDEPENDENT_SECTIONS.put(Manager.REPORTERS, Collections.emptySet());
+        INDEPENDENT_SECTIONS.put(Manager.MEMORIES, Collections.emptySet());
+    }
+
+    private boolean parallelLoad = Boolean.getBoolean(PARALLEL_LOAD_PROPERTY);
+
+    /**
+     * System property that, when true, makes loads use snapshots of the files
+     * loaded.
+     *
+     * @see #setSnapshot(ConfigSnapshot)
+     */
+    public static final String SNAPSHOT_PROPERTY = "jmri.configurexml.snapshot";
+
+    private ConfigSnapshot snapshot = null;
+    private boolean snapshotSet = false;
+    // the key and unchanged root of a file parsed by the load in progress
+    private String snapshotKey = null;
+    private Element snapshotRoot = null;
+    private final Map<String, Long> loadTimes = new ConcurrentHashMap<>();
+
     /** {@inheritDoc} */
     @Override
     public void setValidate(XmlFile.Validate v) {
@@ -606,6 +669,8 @@ public class ConfigXmlManager extends jmri.jmrit.XmlFile
     private Boolean loadOnSwingThread(URL url, boolean registerDeferred) throws JmriConfigureXmlException {
         boolean result = true;
         Element root = null;
+        String parsedKey = null;
+        Element parsedRoot = null;
         /* We will put all the elements into a load list, along with the load order
          As XML files prior to 2.13.1 had no order to the store, beans would be stored/loaded
          before beans that they were dependant upon had been stored/loaded
@@ -614,7 +679,12 @@ public class ConfigXmlManager extends jmri.jmrit.XmlFile
 
         try {
             setValidate(validate);
-            root = super.rootFromURL(url);
+            snapshotKey = null;
+            snapshotRoot = null;
+            root = readRoot(url);
+            // keep the file's snapshot in case loading loads other files
+            parsedKey = snapshotKey;
+            parsedRoot = snapshotRoot;
             // get the objects to load
             List<Element> items = root.getChildren();
             for (Element item : items) {
@@ -637,41 +707,17 @@ public class ConfigXmlManager extends jmri.jmrit.XmlFile
             List<Map.Entry<Element, Integer>> l = new ArrayList<>(loadlist.entrySet());
             Collections.sort(l, (Map.Entry<Element, Integer> o1, Map.Entry<Element, Integer> o2) -> o1.getValue().compareTo(o2.getValue()));
 
-            for (Map.Entry<Element, Integer> elementIntegerEntry : l) {
-                Element item = elementIntegerEntry.getKey();
-                String adapterName = item.getAttribute("class").getValue();
-                adapterName = currentClassName(adapterName);
-                log.debug("load {} via {}", item, adapterName);
-                XmlAdapter adapter = null;
-                try {
-                    adapter = (XmlAdapter) Class.forName(adapterName).getDeclaredConstructor().newInstance();
-
-                    // get version info
-                    // loadVersion(root, adapter);
-                    // and do it
-                    if (adapter.loadDeferred() && registerDeferred) {
-                        // register in the list for deferred load
-                        loadDeferredList.add(item);
-                        log.debug("deferred load registered for {} {}", item, adapterName);
-                    } else {
-                        boolean loadStatus = adapter.load(item, item);
-                        log.debug("load status for {} {} is {}", item, adapterName, loadStatus);
-
-                        // if any adaptor load fails, then the entire load has failed
-                        if (!loadStatus) {
-                            result = false;
-                        }
+            loadTimes.clear();
+            if (parallelLoad) {
+                result = loadInParallel(l, url, registerDeferred);
+            } else {
+                for (Map.Entry<Element, Integer> elementIntegerEntry : l) {
+                    if (!loadItem(elementIntegerEntry.getKey(), url, registerDeferred)) {
+                        result = false;
                     }
-                } catch (Exception e) {
-                    creationErrorEncountered(adapter, "load(" + url.getFile() + ")", "Unexpected error (Exception)", null, null, e);
-
-                    result = false;  // keep going, but return false to signal problem
-                } catch (Throwable et) {
-                    creationErrorEncountered(adapter, "in load(" + url.getFile() + ")", "Unexpected error (Throwable)", null, null, et);
-
-                    result = false;  // keep going, but return false to signal problem
                 }
             }
+            logLoadTimes(url);
 
         } catch (java.io.FileNotFoundException e1) {
             // this returns false to indicate un-success, but not enough
@@ -712,6 +758,11 @@ public class ConfigXmlManager extends jmri.jmrit.XmlFile
             handler.done();
         }
 
+        ConfigSnapshot snapshot = getSnapshot();
+        if (result && snapshot != null && parsedKey != null && parsedRoot != null) {
+            snapshot.write(url, parsedKey, parsedRoot);
+        }
+
         // loading complete, as far as it got, make history entry
         FileHistory r = InstanceManager.getNullableDefault(FileHistory.class);
         if (r != null) {
@@ -729,6 +780,257 @@ public class ConfigXmlManager extends jmri.jmrit.XmlFile
         return result;
     }
 
+    /**
+     * Get the root element of a file, from its snapshot if the file hasn't
+     * changed since the snapshot was taken. Otherwise the file is parsed, and
+     * a copy of the root is kept to be written as a snapshot once loaded.
+     *
+     * @param url the file
+     * @return the root element
+     * @throws JDOMException if the file can't be parsed
+     * @throws IOException   if the file can't be read
+     */
+    private Element readRoot(URL url) throws JDOMException, IOException {
+        ConfigSnapshot snapshot = getSnapshot();
+        if (snapshot == null) {
+            return super.rootFromURL(url);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (InputStream stream = url.openStream()) {
+            byte[] buffer = new byte[65536];
+            for (int n = stream.read(buffer); n >= 0; n = stream.read(buffer)) {
+                bytes.write(buffer, 0, n);
+            }
+        }
+        byte[] content = bytes.toByteArray();
+        String key = ConfigSnapshot.key(content, getValidate());
+        Element root = snapshot.read(url, key);
+        if (root != null) {
+            return root;
+        }
+        root = super.rootFromInputStream(new ByteArrayInputStream(content));
+        snapshotKey = key;
+        snapshotRoot = root.clone();
+        return root;
+    }
+
+    // replace the snapshot of a file just stored with the root it was
+    // written from, rather than parsing and validating the file again
+    private void snapshotStored(File file, Element root) {
+        ConfigSnapshot snapshot = getSnapshot();
+        if (snapshot == null) {
+            return;
+        }
+        URL url = FileUtil.fileToURL(file);
+        try {
+            byte[] content = Files.readAllBytes(file.toPath());
+            snapshot.write(url, ConfigSnapshot.key(content, getValidate()), root);
+        } catch (IOException ex) {
+            log.warn("Unable to take snapshot of {}", file, ex);
+            snapshot.discard(url);
+        }
+    }
+
+    /**
+     * Set the snapshots used to avoid parsing files that haven't changed
+     * since they were last loaded or stored. By default, snapshots are only
+     * used if the {@value #SNAPSHOT_PROPERTY} system property is true, in
+     * which case they are kept in the cache directory of the active profile.
+     *
+     * @param snapshot the snapshots, or null to always parse files
+     */
+    public void setSnapshot(@CheckForNull ConfigSnapshot snapshot) {
+        this.snapshot = snapshot;
+        snapshotSet = true;
+    }
+
+    /**
+     * Get the snapshots used to avoid parsing files.
+     *
+     * @return the snapshots, or null if files are always parsed
+     * @see #setSnapshot(ConfigSnapshot)
+     */
+    @CheckForNull
+    public ConfigSnapshot getSnapshot() {
+        if (!snapshotSet) {
+            if (Boolean.getBoolean(SNAPSHOT_PROPERTY)) {
+                snapshot = new ConfigSnapshot(ProfileUtils.getCacheDirectory(
+                        ProfileManager.getDefault().getActiveProfile(), ConfigXmlManager.class));
+            }
+            snapshotSet = true;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Load one top-level element, or register it for deferred loading.
+     *
+     * @param item             the element
+     * @param url              the file being loaded, for error reports
+     * @param registerDeferred true to register elements to defer
+     * @return true if no problems loading the element
+     */
+    private boolean loadItem(Element item, URL url, boolean registerDeferred) {
+        boolean result = true;
+        String adapterName = item.getAttribute("class").getValue();
+        adapterName = currentClassName(adapterName);
+        log.debug("load {} via {}", item, adapterName);
+        XmlAdapter adapter = null;
+        long start = System.nanoTime();
+        try {
+            adapter = (XmlAdapter) Class.forName(adapterName).getDeclaredConstructor().newInstance();
+
+            // get version info
+            // loadVersion(root, adapter);
+            // and do it
+            if (adapter.loadDeferred() && registerDeferred) {
+                // register in the list for deferred load
+                synchronized (loadDeferredList) {
+                    loadDeferredList.add(item);
+                }
+                log.debug("deferred load registered for {} {}", item, adapterName);
+            } else {
+                boolean loadStatus = adapter.load(item, item);
+                log.debug("load status for {} {} is {}", item, adapterName, loadStatus);
+
+                // if any adaptor load fails, then the entire load has failed
+                if (!loadStatus) {
+                    result = false;
+                }
+            }
+        } catch (Exception e) {
+            creationErrorEncountered(adapter, "load(" + url.getFile() + ")", "Unexpected error (Exception)", null, null, e);
+
+            result = false;  // keep going, but return false to signal problem
+        } catch (Throwable et) {
+            creationErrorEncountered(adapter, "in load(" + url.getFile() + ")", "Unexpected error (Throwable)", null, null, et);
+
+            result = false;  // keep going, but return false to signal problem
+        }
+        loadTimes.merge(adapterName, System.nanoTime() - start, Long::sum);
+        return result;
+    }
+
+    /**
+     * Load the elements of a file, loading the manager sections that don't
+     * depend on each other at the same time.
+     * <p>
+     * Each element waits for the elements it depends on to be loaded. A
+     * manager section listed in {@link #INDEPENDENT_SECTIONS} depends only on
+     * the sections listed there for its load order, and on earlier sections
+     * with its own load order, and is loaded on a pool thread. Sections of
+     * one type, such as the sensors of several connections, are loaded one
+     * after another as they all add to the same proxy manager; only sections
+     * of different types are loaded at the same time. Any other
+     * element depends on every element before it, as in a sequential load,
+     * and is loaded on the calling thread.
+     *
+     * @param items            the elements and their load order, sorted by
+     *                         load order
+     * @param url              the file being loaded, for error reports
+     * @param registerDeferred true to register elements to defer
+     * @return true if no problems loading the elements
+     */
+    private boolean loadInParallel(List<Map.Entry<Element, Integer>> items, URL url, boolean registerDeferred) {
+        AtomicBoolean result = new AtomicBoolean(true);
+        ForkJoinPool pool = new ForkJoinPool();
+        try {
+            // the sections loading or loaded in the pool since the last
+            // element loaded on this thread
+            List<CompletableFuture<Void>> pending = new ArrayList<>();
+            // the last section of each load order; each section waits for
+            // the one before it with its load order
+            Map<Integer, CompletableFuture<Void>> byOrder = new HashMap<>();
+            for (Map.Entry<Element, Integer> entry : items) {
+                Element item = entry.getKey();
+                String adapterName = currentClassName(item.getAttribute("class").getValue());
+                Set<Integer> prerequisites = INDEPENDENT_SECTIONS.get(entry.getValue());
+                if (prerequisites == null || !isManagerSection(adapterName)) {
+                    CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).join();
+                    pending.clear();
+                    byOrder.clear();
+                    if (!loadItem(item, url, registerDeferred)) {
+                        result.set(false);
+                    }
+                    continue;
+                }
+                List<CompletableFuture<Void>> before = new ArrayList<>();
+                for (Integer order : prerequisites) {
+                    if (byOrder.containsKey(order)) {
+                        before.add(byOrder.get(order));
+                    }
+                }
+                if (byOrder.containsKey(entry.getValue())) {
+                    before.add(byOrder.get(entry.getValue()));
+                }
+                log.debug("load {} via {} in parallel after {} sections", item, adapterName, before.size());
+                CompletableFuture<Void> section = CompletableFuture.allOf(before.toArray(new CompletableFuture<?>[0]))
+                        .thenRunAsync(() -> {
+                            if (!loadItem(item, url, registerDeferred)) {
+                                result.set(false);
+                            }
+                        }, pool);
+                pending.add(section);
+                byOrder.put(entry.getValue(), section);
+            }
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).join();
+        } finally {
+            pool.shutdown();
+        }
+        return result.get();
+    }
+
+    private static boolean isManagerSection(String adapterName) {
+        try {
+            return AbstractNamedBeanManagerConfigXML.class.isAssignableFrom(Class.forName(adapterName));
+        } catch (ClassNotFoundException e) {
+            return false; // loadItem() reports it
+        }
+    }
+
+    private void logLoadTimes(URL url) {
+        if (log.isDebugEnabled()) {
+            getLoadTimes().forEach((adapter, time) -> log.debug("{} loaded in {} ms", adapter, time));
+            log.debug("{} loaded {}", url.getFile(), parallelLoad ? "in parallel" : "sequentially");
+        }
+    }
+
+    /**
+     * Get the time each adapter took to load its elements in the last call to
+     * {@link #load(URL, boolean)}, longest first. Deferred loads are not
+     * included.
+     *
+     * @return the times in milliseconds, by adapter class name
+     */
+    @Nonnull
+    public Map<String, Long> getLoadTimes() {
+        List<Map.Entry<String, Long>> times = new ArrayList<>(loadTimes.entrySet());
+        times.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        Map<String, Long> result = new LinkedHashMap<>();
+        times.forEach(e -> result.put(e.getKey(), TimeUnit.NANOSECONDS.toMillis(e.getValue())));
+        return result;
+    }
+
+    /**
+     * Set whether {@link #load(URL, boolean)} loads manager sections that
+     * don't depend on each other at the same time. The default is false,
+     * unless the {@value #PARALLEL_LOAD_PROPERTY} system property is true.
+     * <p>
+     * Sections loaded in parallel are loaded on pool threads while the Swing
+     * thread waits for them, so their beans must not wait for the Swing
+     * thread while being created.
+     *
+     * @param parallelLoad true to load in parallel; false to load each
+     *                     element in turn
+     */
+    public void setParallelLoad(boolean parallelLoad) {
+        this.parallelLoad = parallelLoad;
+    }
+
+    public boolean isParallelLoad() {
+        return parallelLoad;
+    }
+
     /** {@inheritDoc} */
     @Override
     public boolean loadDeferred(File fi) {
@@ -1,7 +1,6 @@
 package jmri.implementation;
 
 import java.beans.PropertyChangeListener;
-import java.beans.PropertyChangeSupport;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Objects;
@@ -12,6 +11,7 @@ import javax.annotation.CheckForNull;
 import javax.annotation.OverridingMethodsMustInvokeSuper;
 import jmri.NamedBean;
 import jmri.beans.BeanUtil;
+import jmri.beans.LightweightPropertyChangeSupport;
 
 /**
  * Abstract base for the NamedBean interface.
@@ -130,8 +130,9 @@ public abstract class AbstractNamedBean implements NamedBean {
     //      Object newValue)
     // _once_ if anything has changed state
     // since we can't do a "super(this)" in the ctor to inherit from PropertyChangeSupport, we'll
-    // reflect to it
-    private final PropertyChangeSupport pcs = new PropertyChangeSupport(this);
+    // reflect to it; a bean may fire many changes, often with nobody listening,
+    // so use support that does nothing for a change without listeners
+    private final LightweightPropertyChangeSupport pcs = new LightweightPropertyChangeSupport(this);
     protected final HashMap<PropertyChangeListener, String> register = new HashMap<>();
     protected final HashMap<PropertyChangeListener, String> listenerRefs = new HashMap<>();
 
@@ -236,7 +237,7 @@ public abstract class AbstractNamedBean implements NamedBean {
      */
     @Override
     public synchronized int getNumPropertyChangeListeners() {
-        return pcs.getPropertyChangeListeners().length;
+        return pcs.getListenerCount();
     }
 
     @Override
@@ -0,0 +1,78 @@
+package jmri.jmrit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.concurrent.ThreadSafe;
+import org.apache.xerces.xni.grammars.Grammar;
+import org.apache.xerces.xni.grammars.XMLGrammarDescription;
+import org.apache.xerces.xni.grammars.XMLGrammarPool;
+
+/**
+ * Keeps the schemas compiled while validating files, so each schema is read
+ * and compiled once rather than for every file that refers to it.
+ * <p>
+ * Schemas are kept by schema URL, as resolved against the referring file.
+ * Xerces' own pool keeps them by namespace, which would mix up the JMRI
+ * schemas, as they're all in no namespace. DTDs aren't kept, as they're only
+ * used by old files.
+ */
+@ThreadSafe
+final class SchemaCache implements XMLGrammarPool {
+
+    private final Map<String, Grammar> grammars = new ConcurrentHashMap<>();
+
+    // keyed by the resolved URL, as files in different places can use the
+    // same relative URL for different schemas
+    private static String key(XMLGrammarDescription description) {
+        if (!XMLGrammarDescription.XML_SCHEMA.equals(description.getGrammarType())) {
+            return null;
+        }
+        String systemId = description.getExpandedSystemId() != null
+                ? description.getExpandedSystemId() : description.getLiteralSystemId();
+        if (systemId == null) {
+            return null;
+        }
+        return description.getNamespace() + " " + systemId;
+    }
+
+    @Override
+    public Grammar[] retrieveInitialGrammarSet(String grammarType) {
+        // the validator asks for each schema as a file refers to it
+        return new Grammar[0];
+    }
+
+    @Override
+    public void cacheGrammars(String grammarType, Grammar[] grammarList) {
+        for (Grammar grammar : grammarList) {
+            String key = key(grammar.getGrammarDescription());
+            if (key != null) {
+                grammars.putIfAbsent(key, grammar);
+            }
+        }
+    }
+
+    @Override
+    public Grammar retrieveGrammar(XMLGrammarDescription description) {
+        String key = key(description);
+        return key == null ? null : grammars.get(key);
+    }
+
+    @Override
+    public void lockPool() {
+        // grammars are added as they're compiled
+    }
+
+    @Override
+    public void unlockPool() {
+        // grammars are added as they're compiled
+    }
+
+    @Override
+    public void clear() {
+        grammars.clear();
+    }
+
+    int size() {
+        return grammars.size();
+    }
+}
@@ -9,21 +9,33 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.ArrayDeque;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
 import javax.annotation.Nonnull;
 import javax.swing.JFileChooser;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import jmri.util.FileUtil;
 import jmri.util.JmriLocalEntityResolver;
 import jmri.util.NoArchiveFileFilter;
+import org.jdom2.CDATA;
 import org.jdom2.Comment;
 import org.jdom2.Content;
 import org.jdom2.DocType;
 import org.jdom2.Document;
 import org.jdom2.Element;
 import org.jdom2.JDOMException;
+import org.jdom2.Namespace;
 import org.jdom2.ProcessingInstruction;
+import org.jdom2.Text;
 import org.jdom2.input.SAXBuilder;
+import org.jdom2.input.StAXStreamBuilder;
 import org.jdom2.output.Format;
 import org.jdom2.output.XMLOutputter;
 import org.slf4j.Logger;
@@ -147,6 +159,114 @@ public abstract class XmlFile {
         }
     }
 
+    /**
+     * Handles the elements streamed by
+     * {@link #rootFromFile(File, String, StreamHandler)}.
+     */
+    @FunctionalInterface
+    public interface StreamHandler {
+
+        /**
+         * Handle an element as soon as it has been read.
+         *
+         * @param root    the root element of the file, holding everything read
+         *                so far except the elements already streamed
+         * @param element the element read, not part of a document
+         */
+        void element(@Nonnull Element root, @Nonnull Element element);
+    }
+
+    /**
+     * Read a File as XML in a single pass, without building a document of
+     * all of it. Each child of the top-level element named {@code streamed}
+     * is built on its own and handed to the handler as soon as it's read,
+     * rather than being added to the document, so that a long list of items
+     * doesn't have to be held in memory before being walked once.
+     * <p>
+     * The file is not validated, and processing instructions before and after
+     * the root element are ignored.
+     *
+     * @param file     File to be parsed
+     * @param streamed name of the element, a child of the root, whose
+     *                 children are streamed
+     * @param handler  handler for the streamed elements
+     * @throws org.jdom2.JDOMException       if the file is not well formed
+     * @throws java.io.FileNotFoundException if file not found
+     * @return root element from the file, holding everything in the file
+     *         except the streamed elements
+     */
+    public Element rootFromFile(File file, String streamed, StreamHandler handler) throws JDOMException, IOException {
+        log.debug("streaming xml from file: {}", file.getPath());
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        try (InputStream stream = new BufferedInputStream(new FileInputStream(file))) {
+            XMLStreamReader reader = factory.createXMLStreamReader(stream);
+            try {
+                StAXStreamBuilder builder = new StAXStreamBuilder();
+                Deque<Element> open = new ArrayDeque<>();
+                Element root = null;
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        if (open.size() == 2 && open.peek().getName().equals(streamed)) {
+                            // leaves the reader at the end of the element
+                            handler.element(root, (Element) builder.fragment(reader));
+                            continue;
+                        }
+                        Element element = startElement(reader);
+                        if (root == null) {
+                            root = element;
+                            new Document(root);
+                        } else {
+                            open.peek().addContent(element);
+                        }
+                        open.push(element);
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        open.pop();
+                    } else if (open.isEmpty()) {
+                        // outside the root element
+                    } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.SPACE) {
+                        open.peek().addContent(new Text(reader.getText()));
+                    } else if (event == XMLStreamConstants.CDATA) {
+                        open.peek().addContent(new CDATA(reader.getText()));
+                    } else if (event == XMLStreamConstants.COMMENT) {
+                        open.peek().addContent(new Comment(reader.getText()));
+                    } else if (event == XMLStreamConstants.PROCESSING_INSTRUCTION) {
+                        open.peek().addContent(new ProcessingInstruction(reader.getPITarget(), reader.getPIData()));
+                    }
+                }
+                if (root == null) {
+                    throw new JDOMException("No root element in " + file);
+                }
+                return root;
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException ex) {
+            throw new JDOMException("Unable to read " + file, ex);
+        }
+    }
+
+    // an element with the attributes and namespaces of the current start tag
+    private static Element startElement(XMLStreamReader reader) {
+        Element element = new Element(reader.getLocalName(),
+                Namespace.getNamespace(emptyIfNull(reader.getPrefix()), emptyIfNull(reader.getNamespaceURI())));
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            element.addNamespaceDeclaration(Namespace.getNamespace(
+                    emptyIfNull(reader.getNamespacePrefix(i)), emptyIfNull(reader.getNamespaceURI(i))));
+        }
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            element.setAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i),
+                    Namespace.getNamespace(emptyIfNull(reader.getAttributePrefix(i)), emptyIfNull(reader.getAttributeNamespace(i))));
+        }
+        return element;
+    }
+
+    private static String emptyIfNull(String s) {
+        return s == null ? "" : s;
+    }
+
     /**
      * Read an {@link java.io.InputStream} as XML, and return the root object.
      * <p>
@@ -191,7 +311,7 @@ public abstract class XmlFile {
     protected Element getRoot(InputStream stream) throws JDOMException, IOException {
         log.trace("getRoot from stream");
 
-        SAXBuilder builder = getBuilder(getValidate());
+        SAXBuilder builder = getThreadBuilder(getValidate());
         Document doc = builder.build(new BufferedInputStream(stream));
         doc = processInstructions(doc);  // handle any process instructions
         // find root
@@ -502,7 +622,7 @@ public abstract class XmlFile {
         }
 
         // read the XSLT transform into a Document to get XInclude done
-        SAXBuilder builder = getBuilder(Validate.None);
+        SAXBuilder builder = getThreadBuilder(Validate.None);
         Document xdoc = builder.build(new BufferedInputStream(new FileInputStream(findFile(href))));
         org.jdom2.transform.XSLTransformer transformer = new org.jdom2.transform.XSLTransformer(xdoc);
         return transformer.transform(doc);
@@ -661,6 +781,48 @@ public abstract class XmlFile {
         return fc;
     }
 
+    // compiled schemas, shared by all builders
+    private static final SchemaCache schemaCache = new SchemaCache();
+
+    // builders keep their parser between builds, so are reused, but only by
+    // the thread that created them
+    private static final ThreadLocal<Map<Validate, SAXBuilder>> threadBuilders
+            = ThreadLocal.withInitial(() -> new EnumMap<>(Validate.class));
+
+    /**
+     * Get a builder for the calling thread to use. Unlike
+     * {@link #getBuilder(Validate)}, this returns the same builder each time
+     * it's called by a thread, so the builder must not be changed or passed
+     * to another thread.
+     * <p>
+     * Only a non-validating builder keeps its parser between files, as a
+     * validating Xerces parser keeps the grammar of one file for the next
+     * if both have no namespace; validating builders get their compiled
+     * schemas from the schema cache instead.
+     *
+     * @param validate the validation
+     * @return the builder
+     */
+    protected static SAXBuilder getThreadBuilder(Validate validate) {
+        return threadBuilders.get().computeIfAbsent(validate, v -> {
+            SAXBuilder builder = getBuilder(v);
+            builder.setReuseParser(v == Validate.None);
+            return builder;
+        });
+    }
+
+    /**
+     * Forget the compiled schemas, so that they're read again when next
+     * needed.
+     */
+    static public void clearSchemaCache() {
+        schemaCache.clear();
+    }
+
+    static int getSchemaCacheSize() {
+        return schemaCache.size();
+    }
+
     @SuppressWarnings("deprecation") // wait for updated Xerxes before coding substitute for SAXBuilder(String, boolean)
     public static SAXBuilder getBuilder(Validate validate) {  // should really be a Verify enum
         SAXBuilder builder;
@@ -694,6 +856,9 @@ public abstract class XmlFile {
         // allow Java character encodings
         builder.setFeature("http://apache.org/xml/features/allow-java-encodings", true);
 
+        // reuse schemas compiled for earlier files
+        builder.setProperty("http://apache.org/xml/properties/internal/grammar-pool", schemaCache);
+
         return builder;
     }
     // initialize logging
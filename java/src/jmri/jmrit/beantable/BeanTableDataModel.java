@@ -55,6 +55,7 @@ import jmri.NamedBean.DisplayOptions;
 import jmri.jmrit.display.layoutEditor.LayoutBlock;
 import jmri.jmrit.display.layoutEditor.LayoutBlockManager;
 import jmri.swing.JTablePersistenceManager;
+import jmri.util.LayoutEventBus;
 import jmri.util.davidflanagan.HardcopyWriter;
 import jmri.util.swing.XTableColumnModel;
 import jmri.util.table.ButtonEditor;
@@ -81,6 +82,8 @@ abstract public class BeanTableDataModel<T extends NamedBean> extends AbstractTa
     boolean noWarnDelete = false;
     NamedBeanHandleManager nbMan = InstanceManager.getDefault(NamedBeanHandleManager.class);
     protected final List<NamedBeanPropertyDescriptor<?>> propertyColumns;
+    // if set, changes of the beans come through this, merged once per tick
+    private final LayoutEventBus eventBus = LayoutEventBus.isEnabled() ? new LayoutEventBus() : null;
 
     public BeanTableDataModel() {
         super();
@@ -111,7 +114,7 @@ abstract public class BeanTableDataModel<T extends NamedBean> extends AbstractTa
                 // if object has been deleted, it's not here; ignore it
                 T b = getBySystemName(sysNameList.get(i));
                 if (b != null) {
-                    b.removePropertyChangeListener(this);
+                    removeBeanListener(b);
                 }
             }
         }
@@ -121,11 +124,37 @@ abstract public class BeanTableDataModel<T extends NamedBean> extends AbstractTa
             // if object has been deleted, it's not here; ignore it
             T b = getBySystemName(sysNameList.get(i));
             if (b != null) {
-                b.addPropertyChangeListener(this);
+                addBeanListener(b);
             }
         }
     }
 
+    /**
+     * Listen to the changes of a bean shown in the table, through a
+     * {@link LayoutEventBus} if {@link LayoutEventBus#isEnabled()}.
+     *
+     * @param b the bean
+     */
+    protected void addBeanListener(T b) {
+        if (eventBus != null) {
+            eventBus.subscribe(b, this);
+        } else {
+            b.addPropertyChangeListener(this);
+        }
+    }
+
+    /**
+     * Stop listening to the changes of a bean.
+     *
+     * @param b the bean
+     */
+    protected void removeBeanListener(T b) {
+        if (eventBus != null) {
+            eventBus.unsubscribe(b, this);
+        }
+        b.removePropertyChangeListener(this);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -500,7 +529,7 @@ abstract public class BeanTableDataModel<T extends NamedBean> extends AbstractTa
             for (int i = 0; i < sysNameList.size(); i++) {
                 T b = getBySystemName(sysNameList.get(i));
                 if (b != null) {
-                    b.removePropertyChangeListener(this);
+                    removeBeanListener(b);
                 }
             }
         }
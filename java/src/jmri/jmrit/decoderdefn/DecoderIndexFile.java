@@ -5,10 +5,16 @@ import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.annotation.Nonnull;
 import javax.swing.JComboBox;
 import jmri.InstanceInitializer;
@@ -16,6 +22,7 @@ import jmri.InstanceManager;
 import jmri.implementation.AbstractInstanceInitializer;
 import jmri.jmrit.XmlFile;
 import jmri.util.FileUtil;
+import jmri.util.ThreadingUtil;
 import org.jdom2.Attribute;
 import org.jdom2.Document;
 import org.jdom2.Element;
@@ -118,7 +125,9 @@ public class DecoderIndexFile extends XmlFile {
             String decoderMfgID, String decoderVersionID,
             String decoderProductID, String model, String developerID) {
         List<DecoderFile> l = new ArrayList<>();
-        for (int i = 0; i < numDecoders(); i++) {
+        // narrow down with the index, then check each remaining entry fully
+        BitSet candidates = getIndex().candidates(mfg, family, decoderMfgID, decoderVersionID, decoderProductID, model);
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
             if (checkEntry(i, mfg, family, decoderMfgID, decoderVersionID, decoderProductID, model, developerID)) {
                 l.add(decoderList.get(i));
             }
@@ -126,6 +135,123 @@ public class DecoderIndexFile extends XmlFile {
         return l;
     }
 
+    private volatile Index index = null;
+
+    /**
+     * Get the index of the decoder entries, building it if entries have been
+     * added since it was last built.
+     *
+     * @return the index
+     */
+    private Index getIndex() {
+        Index i = index;
+        if (i == null || i.size != decoderList.size()) {
+            synchronized (this) {
+                i = index;
+                if (i == null || i.size != decoderList.size()) {
+                    i = new Index(decoderList);
+                    index = i;
+                }
+            }
+        }
+        return i;
+    }
+
+    /**
+     * Entries by each of the properties decoders are looked up by, so a
+     * query only checks the entries that might match rather than every
+     * entry. Each entry is listed by its position in the decoder list, so
+     * matches are found in the order of the list.
+     */
+    private static final class Index {
+
+        final int size;
+        final Map<String, BitSet> byMfg = new HashMap<>();
+        final Map<String, BitSet> byFamily = new HashMap<>();
+        final Map<String, BitSet> byMfgID = new HashMap<>();
+        final Map<String, BitSet> byModel = new HashMap<>();
+        final Map<String, BitSet> byProductID = new HashMap<>();
+        final BitSet withoutModel = new BitSet();
+        final BitSet[] byVersion = new BitSet[256];
+
+        Index(List<DecoderFile> decoders) {
+            size = decoders.size();
+            for (int v = 0; v < byVersion.length; v++) {
+                byVersion[v] = new BitSet(size);
+            }
+            for (int i = 0; i < size; i++) {
+                DecoderFile r = decoders.get(i);
+                add(byMfg, r.getMfg(), i);
+                add(byFamily, r.getFamily(), i);
+                add(byMfgID, r.getMfgID(), i);
+                add(byModel, r.getModel(), i);
+                // an entry can list several product IDs, separated by commas
+                if (r.getModelElement() != null) {
+                    for (String id : String.valueOf(r.getProductID()).split(",", -1)) {
+                        add(byProductID, id, i);
+                    }
+                } else {
+                    // no product ID to index; left to checkEntry
+                    withoutModel.set(i);
+                }
+                for (int v = 0; v < byVersion.length; v++) {
+                    if (r.isVersion(v)) {
+                        byVersion[v].set(i);
+                    }
+                }
+            }
+        }
+
+        private static void add(Map<String, BitSet> map, String key, int i) {
+            map.computeIfAbsent(key, k -> new BitSet()).set(i);
+        }
+
+        /**
+         * Get the entries that might match a query; a null value matches
+         * every entry.
+         */
+        BitSet candidates(String mfg, String family, String mfgID, String versionID,
+                String productID, String model) {
+            BitSet result = new BitSet(size);
+            result.set(0, size);
+            and(result, byMfg, mfg);
+            and(result, byFamily, family);
+            and(result, byMfgID, mfgID);
+            and(result, byModel, model);
+            if (productID != null && !productID.contains(",")) {
+                BitSet entries = (BitSet) withoutModel.clone();
+                BitSet withID = byProductID.get(productID);
+                if (withID != null) {
+                    entries.or(withID);
+                }
+                result.and(entries);
+            }
+            if (versionID != null) {
+                // leave anything unexpected to checkEntry, as before
+                try {
+                    int v = Integer.parseInt(versionID);
+                    if (v >= 0 && v < byVersion.length) {
+                        result.and(byVersion[v]);
+                    }
+                } catch (NumberFormatException e) {
+                    // checked by checkEntry
+                }
+            }
+            return result;
+        }
+
+        private static void and(BitSet result, Map<String, BitSet> map, String key) {
+            if (key != null) {
+                BitSet entries = map.get(key);
+                if (entries == null) {
+                    result.clear();
+                } else {
+                    result.and(entries);
+                }
+            }
+        }
+    }
+
     /**
      * Get a JComboBox representing the choices that match some information.
      *
@@ -607,25 +733,33 @@ public class DecoderIndexFile extends XmlFile {
             }
         }
 
-        // add family list by scanning files
+        // add family list by scanning files, parsing them in parallel as
+        // each is independent, but keeping the families in file order
         Element familyList = new Element("familyList");
-        for (String fileName : files) {
-            DecoderFile d = new DecoderFile();
-            try {
-                Element droot = d.rootFromName(DecoderFile.fileLocation + fileName);
-                Element family = droot.getChild("decoder").getChild("family").clone();
-                family.setAttribute("file", fileName);
-                familyList.addContent(family);
-            } catch (org.jdom2.JDOMException exj) {
-                log.error("could not parse {}: {}", fileName, exj.getMessage());
-            } catch (java.io.FileNotFoundException exj) {
-                log.error("could not read {}: {}", fileName, exj.getMessage());
-            } catch (IOException exj) {
-                log.error("other exception while dealing with {}: {}", fileName, exj.getMessage());
-            } catch (Exception exq) {
-                log.error("exception reading {}", fileName, exq);
-                throw exq;
+        ExecutorService pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                r -> ThreadingUtil.newThread(r, "Decoder index"));
+        try {
+            List<Future<Element>> families = new ArrayList<>();
+            for (String fileName : files) {
+                families.add(pool.submit(() -> readFamilyElement(fileName)));
             }
+            for (Future<Element> family : families) {
+                Element el = family.get();
+                if (el != null) {
+                    familyList.addContent(el);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading decoder files", ex);
+        } catch (ExecutionException ex) {
+            // readFamilyElement has logged it
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new IOException(ex.getCause());
+        } finally {
+            pool.shutdownNow();
         }
 
         index.addContent(mfgList);
@@ -637,6 +771,33 @@ public class DecoderIndexFile extends XmlFile {
         resetInstance();
     }
 
+    /**
+     * Get the family element of a decoder file for the index.
+     *
+     * @param fileName the name of the decoder file
+     * @return the family element, with the file name added, or null if the
+     *         file can't be read
+     */
+    private static Element readFamilyElement(String fileName) {
+        DecoderFile d = new DecoderFile();
+        try {
+            Element droot = d.rootFromName(DecoderFile.fileLocation + fileName);
+            Element family = droot.getChild("decoder").getChild("family").clone();
+            family.setAttribute("file", fileName);
+            return family;
+        } catch (org.jdom2.JDOMException exj) {
+            log.error("could not parse {}: {}", fileName, exj.getMessage());
+        } catch (java.io.FileNotFoundException exj) {
+            log.error("could not read {}: {}", fileName, exj.getMessage());
+        } catch (IOException exj) {
+            log.error("other exception while dealing with {}: {}", fileName, exj.getMessage());
+        } catch (Exception exq) {
+            log.error("exception reading {}", fileName, exq);
+            throw exq;
+        }
+        return null;
+    }
+
     String nmraListDate = null;
     String updated = null;
     String lastAdd = null;
@@ -26,6 +26,7 @@ import java.awt.event.WindowEvent;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
 import java.beans.PropertyVetoException;
 import java.beans.VetoableChangeListener;
 import java.lang.reflect.InvocationTargetException;
@@ -35,6 +36,7 @@ import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.List;
+import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 import javax.swing.AbstractAction;
 import javax.swing.BorderFactory;
@@ -82,6 +84,7 @@ import jmri.jmrit.roster.RosterEntry;
 import jmri.jmrit.roster.swing.RosterEntrySelectorPanel;
 import jmri.util.DnDStringImportHandler;
 import jmri.util.JmriJFrame;
+import jmri.util.LayoutEventBus;
 import jmri.util.swing.JmriColorChooser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -214,6 +217,9 @@ abstract public class Editor extends JmriJFrame implements MouseListener, MouseM
     // store panelMenu state so preference is retained on headless systems
     private boolean panelMenuIsVisible = true;
 
+    // if set, items on the panel listen to their beans through this
+    private final LayoutEventBus eventBus = LayoutEventBus.isEnabled() ? new LayoutEventBus() : null;
+
     public Editor() {
     }
 
@@ -2548,6 +2554,48 @@ abstract public class Editor extends JmriJFrame implements MouseListener, MouseM
         return (selectedValue == JOptionPane.YES_OPTION);
     }
 
+    /**
+     * Get the bus items on this panel listen to their beans through, so that a
+     * burst of changes is drawn once per tick.
+     *
+     * @return the bus, or null if items listen to their beans directly
+     * @see LayoutEventBus#isEnabled()
+     */
+    @CheckForNull
+    public LayoutEventBus getEventBus() {
+        return eventBus;
+    }
+
+    /**
+     * Listen to the changes of a bean shown by an item on this panel, through
+     * the panel's {@link #getEventBus() bus} if it has one.
+     *
+     * @param bean     the bean
+     * @param listener the item
+     * @param name     the name the item refers to the bean by
+     * @param ref      where the listener is, e.g. "SensorIcon on Panel"
+     */
+    public void addBeanListener(@Nonnull NamedBean bean, @Nonnull PropertyChangeListener listener, String name, String ref) {
+        if (eventBus != null) {
+            eventBus.subscribe(bean, listener, name, ref);
+        } else {
+            bean.addPropertyChangeListener(listener, name, ref);
+        }
+    }
+
+    /**
+     * Stop listening to the changes of a bean shown by an item on this panel.
+     *
+     * @param bean     the bean
+     * @param listener the item
+     */
+    public void removeBeanListener(@Nonnull NamedBean bean, @Nonnull PropertyChangeListener listener) {
+        if (eventBus != null) {
+            eventBus.unsubscribe(bean, listener);
+        }
+        bean.removePropertyChangeListener(listener);
+    }
+
     /**
      * Dispose of the editor.
      */
@@ -127,7 +127,7 @@ public class SensorIcon extends PositionableIcon implements java.beans.PropertyC
      */
     public void setSensor(NamedBeanHandle<Sensor> s) {
         if (namedSensor != null) {
-            getSensor().removePropertyChangeListener(this);
+            _editor.removeBeanListener(getSensor(), this);
         }
 
         namedSensor = s;
@@ -135,7 +135,7 @@ public class SensorIcon extends PositionableIcon implements java.beans.PropertyC
             if (_iconMap == null) {
                 makeIconMap();
             }
-            getSensor().addPropertyChangeListener(this, s.getName(), "SensorIcon on Panel " + _editor.getName());
+            _editor.addBeanListener(getSensor(), this, s.getName(), "SensorIcon on Panel " + _editor.getName());
             setName(namedSensor.getName());  // Swing name for e.g. tests
         }
         setAttributes();
@@ -629,7 +629,11 @@ public class SensorIcon extends PositionableIcon implements java.beans.PropertyC
     @Override
     public void dispose() {
         if (namedSensor != null) {
-            getSensor().removePropertyChangeListener(this);
+            if (_editor != null) {
+                _editor.removeBeanListener(getSensor(), this);
+            } else {
+                getSensor().removePropertyChangeListener(this);
+            }
         }
         namedSensor = null;
         _iconMap = null;
@@ -66,13 +66,25 @@ public class SignalMastIcon extends PositionableIcon implements java.beans.Prope
      */
     public void setSignalMast(NamedBeanHandle<SignalMast> sh) {
         if (namedMast != null) {
-            getSignalMast().removePropertyChangeListener(this);
+            removeMastListener();
         }
         namedMast = sh;
         if (namedMast != null) {
             getIcons();
             displayState(mastState());
-            getSignalMast().addPropertyChangeListener(this, namedMast.getName(), "SignalMast Icon");
+            if (_editor != null) {
+                _editor.addBeanListener(getSignalMast(), this, namedMast.getName(), "SignalMast Icon");
+            } else {
+                getSignalMast().addPropertyChangeListener(this, namedMast.getName(), "SignalMast Icon");
+            }
+        }
+    }
+
+    private void removeMastListener() {
+        if (_editor != null) {
+            _editor.removeBeanListener(getSignalMast(), this);
+        } else {
+            getSignalMast().removePropertyChangeListener(this);
         }
     }
 
@@ -604,7 +616,7 @@ public class SignalMastIcon extends PositionableIcon implements java.beans.Prope
 
     @Override
     public void dispose() {
-        getSignalMast().removePropertyChangeListener(this);
+        removeMastListener();
         super.dispose();
     }
 
@@ -1507,6 +1507,7 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
         } else {
             Adjacencies adj = new Adjacencies(addBlock, direction, workingDirection);
             neighbours.add(adj);
+            routingTopologyChanged();
 
             // Add the neighbour to our routing table.
             LayoutBlock blk = InstanceManager.getDefault(LayoutBlockManager.class).getLayoutBlock(addBlock);
@@ -1699,6 +1700,7 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
                             log.info("From {} removed throughpath {} {}", this.getDisplayName(), throughPaths.get(j).getSourceBlock().getDisplayName(), throughPaths.get(j).getDestinationBlock().getDisplayName());
                         }
                         throughPaths.remove(j);
+                        routingTopologyChanged();
                     }
                 }
                 RoutingPacket newUpdate = new RoutingPacket(REMOVAL, block, -1, -1, -1, -1, getNextPacketID());
@@ -1902,6 +1904,7 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
                 }
                 getAdjacency(neighbours.get(i).getBlock()).dispose();
                 neighbours.remove(i);
+                routingTopologyChanged();
                 layoutBlockToNotify.notifiedNeighbourNoLongerMutual(this);
             }
         }
@@ -1914,6 +1917,7 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
                         log.info("remove {} to {}", throughPaths.get(i).getSourceBlock().getDisplayName(), throughPaths.get(i).getDestinationBlock().getDisplayName());
                     }
                     throughPaths.remove(i);
+                    routingTopologyChanged();
                 }
             } else if (throughPaths.get(i).getDestinationBlock() == removedBlock) {
                 // only mark for removal if the destination isn't in the adjcency table
@@ -1922,6 +1926,7 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
                         log.info("remove {} to {}", throughPaths.get(i).getSourceBlock().getDisplayName(), throughPaths.get(i).getDestinationBlock().getDisplayName());
                     }
                     throughPaths.remove(i);
+                    routingTopologyChanged();
                 }
             }
         }
@@ -2049,6 +2054,7 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
             for (int i = throughPaths.size() - 1; i > -1; i--) {
                 if (throughPaths.get(i).getDestinationBlock() == neighBlock) {
                     throughPaths.remove(i);
+                    routingTopologyChanged();
                     firePropertyChange("through-path-removed", null, null);
                 }
             }
@@ -2065,6 +2071,7 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
             for (int i = throughPaths.size() - 1; i > -1; i--) {
                 if (throughPaths.get(i).getSourceBlock() == neighBlock) {
                     throughPaths.remove(i);
+                    routingTopologyChanged();
                     firePropertyChange("through-path-removed", null, null);
                 }
             }
@@ -2593,6 +2600,7 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
             log.info("From {} added Throughpath {} {}", this.getDisplayName(), path.getSourceBlock().getDisplayName(), path.getDestinationBlock().getDisplayName());
         }
         throughPaths.add(path);
+        routingTopologyChanged();
         firePropertyChange("through-path-added", null, null);
 
         // update our neighbours of the new valid paths;
@@ -3709,6 +3717,11 @@ public class LayoutBlock extends AbstractNamedBean implements PropertyChangeList
         return Path.NONE;
     }
 
+    // the routing graph is built again after neighbours or through paths change
+    private void routingTopologyChanged() {
+        InstanceManager.getDefault(LayoutBlockManager.class).routingTopologyChanged();
+    }
+
     Adjacencies getAdjacency(Block blk) {
         for (Adjacencies neighbour : neighbours) {
             if (neighbour.getBlock() == blk) {
@@ -304,7 +304,7 @@ final public class LayoutBlockConnectivityTools {
             }
         }
         if ((destBlock != null) && (currentBlock != null) && (nextBlock != null)) {
-            if (!currentBlock.isRouteToDestValid(nextBlock.getBlock(), destBlock.getBlock())) {
+            if (!isRouteToDestValid(currentBlock, nextBlock, destBlock)) {
                 log.debug("Route to dest not valid");
                 return false;
             }
@@ -321,8 +321,8 @@ final public class LayoutBlockConnectivityTools {
             int proCount = 0;
             int desCount = 0;
             if (!destBlockn1.isEmpty()) {
-                desCount = currentBlock.getBlockHopCount(destBlock.getBlock(), nextBlock.getBlock());
-                proCount = currentBlock.getBlockHopCount(destBlockn1.get(0).getBlock(), nextBlock.getBlock());
+                desCount = getBlockHopCount(currentBlock, nextBlock, destBlock);
+                proCount = getBlockHopCount(currentBlock, nextBlock, destBlockn1.get(0));
                 if (log.isDebugEnabled()) {
                     log.debug("dest {} protecting {}", desCount, proCount);
                 }
@@ -381,6 +381,22 @@ final public class LayoutBlockConnectivityTools {
         throw new jmri.JmriException("BlockIsNull");
     }
 
+    private boolean isRouteToDestValid(LayoutBlock currentBlock, LayoutBlock nextBlock, LayoutBlock destBlock) {
+        if (LayoutBlockManager.isGraphRouting()) {
+            return InstanceManager.getDefault(LayoutBlockManager.class).getRoutingGraph()
+                    .isRouteToDestValid(currentBlock, nextBlock, destBlock);
+        }
+        return currentBlock.isRouteToDestValid(nextBlock.getBlock(), destBlock.getBlock());
+    }
+
+    private int getBlockHopCount(LayoutBlock currentBlock, LayoutBlock nextBlock, LayoutBlock destBlock) {
+        if (LayoutBlockManager.isGraphRouting()) {
+            return InstanceManager.getDefault(LayoutBlockManager.class).getRoutingGraph()
+                    .getHopCount(currentBlock, nextBlock, destBlock);
+        }
+        return currentBlock.getBlockHopCount(destBlock.getBlock(), nextBlock.getBlock());
+    }
+
     /**
      * This uses the layout editor to check if the destination location is
      * reachable from the source location.<br>
@@ -492,6 +508,10 @@ final public class LayoutBlockConnectivityTools {
             return returnBlocks;
         }
 
+        if (LayoutBlockManager.isGraphRouting()) {
+            return getLayoutBlocksFromGraph(sourceLayoutBlock, destinationLayoutBlock, protectingLayoutBlock, validateOnly, pathMethod);
+        }
+
         BlocksTested bt = blocksInRoute.get(blocksInRoute.size() - 1);
 
         int ttl = 1;
@@ -587,6 +607,32 @@ final public class LayoutBlockConnectivityTools {
         throw new jmri.JmriException(lastErrorMessage);
     }
 
+    /**
+     * Find the blocks of a route with the {@link LayoutBlockRoutingGraph},
+     * with the same checks on each hop as {@link #findBestHop}.
+     */
+    private List<LayoutBlock> getLayoutBlocksFromGraph(LayoutBlock sourceLayoutBlock, LayoutBlock destinationLayoutBlock,
+            LayoutBlock protectingLayoutBlock, boolean validateOnly, Routing pathMethod) throws jmri.JmriException {
+        List<LayoutBlock> returnBlocks = InstanceManager.getDefault(LayoutBlockManager.class).getRoutingGraph()
+                .getRoute(sourceLayoutBlock, protectingLayoutBlock, destinationLayoutBlock, Metric.METRIC,
+                        (previous, current, next) -> {
+                            if (!validateOnly && !(checkForDoubleCrossover(previous.getBlock(), current, next.getBlock())
+                                    && checkForLevelCrossing(current) && canLBlockBeUsed(next))) {
+                                return false;
+                            }
+                            return getFacingBean(current.getBlock(), next.getBlock(), pathMethod) == null;
+                        });
+        if (returnBlocks == null) {
+            lastErrorMessage = "No valid free path found";
+            log.debug("will throw {}", lastErrorMessage);
+            throw new jmri.JmriException(lastErrorMessage);
+        }
+        if (!validateOnly && !checkForLevelCrossing(destinationLayoutBlock)) {
+            throw new jmri.JmriException("Destination block is in conflict on a crossover");
+        }
+        return returnBlocks;
+    }
+
     static class BlocksTested {
 
         LayoutBlock block;
@@ -671,27 +717,7 @@ final public class LayoutBlockConnectivityTools {
                         log.debug("  current {} {}", currentBlock.getDisplayName(), block.getDisplayName());
                     }
 
-                    jmri.NamedBean foundBean = null;
-                    /* We change the logging level to fatal in the layout block manager as we are testing to make sure that no signalhead/mast exists
-                     this would generate an error message that is expected.*/
-                    MDC.put("loggingDisabled", LayoutBlockManager.class.getName());
-                    switch (pathMethod) {
-                        case MASTTOMAST:
-                            foundBean = InstanceManager.getDefault(LayoutBlockManager.class).getFacingSignalMast(currentBlock, blocktoCheck);
-                            break;
-                        case HEADTOHEAD:
-                            foundBean = InstanceManager.getDefault(LayoutBlockManager.class).getFacingSignalHead(currentBlock, blocktoCheck);
-                            break;
-                        case SENSORTOSENSOR:
-                            foundBean = InstanceManager.getDefault(LayoutBlockManager.class).getFacingSensor(currentBlock, blocktoCheck, null);
-                            break;
-                        case NONE:
-                            break;
-                        default:
-                            foundBean = InstanceManager.getDefault(LayoutBlockManager.class).getFacingNamedBean(currentBlock, blocktoCheck, null);
-                            break;
-                    }
-                    MDC.remove("loggingDisabled");
+                    jmri.NamedBean foundBean = getFacingBean(currentBlock, blocktoCheck, pathMethod);
                     if (foundBean == null) {
                         log.debug("No object found so okay to return");
                         return result;
@@ -716,6 +742,31 @@ final public class LayoutBlockConnectivityTools {
         return -1;
     }
 
+    private NamedBean getFacingBean(Block currentBlock, Block nextBlock, Routing pathMethod) {
+        NamedBean foundBean = null;
+        /* We change the logging level to fatal in the layout block manager as we are testing to make sure that no signalhead/mast exists
+         this would generate an error message that is expected.*/
+        MDC.put("loggingDisabled", LayoutBlockManager.class.getName());
+        switch (pathMethod) {
+            case MASTTOMAST:
+                foundBean = InstanceManager.getDefault(LayoutBlockManager.class).getFacingSignalMast(currentBlock, nextBlock);
+                break;
+            case HEADTOHEAD:
+                foundBean = InstanceManager.getDefault(LayoutBlockManager.class).getFacingSignalHead(currentBlock, nextBlock);
+                break;
+            case SENSORTOSENSOR:
+                foundBean = InstanceManager.getDefault(LayoutBlockManager.class).getFacingSensor(currentBlock, nextBlock, null);
+                break;
+            case NONE:
+                break;
+            default:
+                foundBean = InstanceManager.getDefault(LayoutBlockManager.class).getFacingNamedBean(currentBlock, nextBlock, null);
+                break;
+        }
+        MDC.remove("loggingDisabled");
+        return foundBean;
+    }
+
     private boolean checkForDoubleCrossover(Block prevBlock, LayoutBlock curBlock, Block nextBlock) {
         LayoutEditor le = curBlock.getMaxConnectedPanel();
         ConnectivityUtil ct = le.getConnectivityUtil();
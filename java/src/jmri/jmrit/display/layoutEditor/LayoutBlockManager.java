@@ -3,6 +3,7 @@ package jmri.jmrit.display.layoutEditor;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.CheckForNull;
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
@@ -2516,6 +2517,58 @@ public class LayoutBlockManager extends AbstractManager<LayoutBlock> implements
 
     LayoutBlockConnectivityTools lbct = new LayoutBlockConnectivityTools();
 
+    /**
+     * Name of the system property that, if "true", has the
+     * {@link LayoutBlockConnectivityTools} find routes with the
+     * {@link LayoutBlockRoutingGraph} instead of the routing tables. {@value #GRAPH_ROUTING_PROPERTY}
+     */
+    public static final String GRAPH_ROUTING_PROPERTY = "jmri.layoutblock.graphRouting"; // NOI18N
+    private static volatile boolean graphRouting = Boolean.getBoolean(GRAPH_ROUTING_PROPERTY);
+
+    /**
+     * @return true if routes are found with the routing graph
+     * @see #setGraphRouting(boolean)
+     */
+    public static boolean isGraphRouting() {
+        return graphRouting;
+    }
+
+    /**
+     * Set if the {@link LayoutBlockConnectivityTools} find routes with the
+     * {@link LayoutBlockRoutingGraph}, searching one graph of the whole
+     * layout, instead of the routing tables the layout blocks pass between
+     * neighbours. Advanced routing must still be enabled, as each layout block
+     * works out its neighbours and through paths with it.
+     * <p>
+     * Defaults to the value of the {@value #GRAPH_ROUTING_PROPERTY} system
+     * property.
+     *
+     * @param graph true to find routes with the routing graph
+     */
+    public static void setGraphRouting(boolean graph) {
+        graphRouting = graph;
+    }
+
+    private final AtomicLong routingTopologyVersion = new AtomicLong();
+    private final LayoutBlockRoutingGraph routingGraph = new LayoutBlockRoutingGraph(this);
+
+    /**
+     * @return the graph of routes between the layout blocks
+     */
+    @Nonnull
+    public LayoutBlockRoutingGraph getRoutingGraph() {
+        return routingGraph;
+    }
+
+    // called by layout blocks as their neighbours or through paths change
+    void routingTopologyChanged() {
+        routingTopologyVersion.incrementAndGet();
+    }
+
+    long getRoutingTopologyVersion() {
+        return routingTopologyVersion.get();
+    }
+
     private long lastRoutingChange;
 
     void setLastRoutingChange() {
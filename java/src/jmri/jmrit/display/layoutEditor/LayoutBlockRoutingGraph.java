@@ -0,0 +1,360 @@
+package jmri.jmrit.display.layoutEditor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import jmri.Block;
+
+/**
+ * A single graph of how trains can move between layout blocks, used to find
+ * routes with a shortest path search instead of the routing tables the
+ * layout blocks build up by passing routes from neighbour to neighbour.
+ * <p>
+ * The graph is built from the neighbours and through paths each layout block
+ * works out for itself, and is built again only when they change. A train's
+ * position in the graph is the block it is in together with the block it came
+ * from, as the through paths of a block, and so where the train can go next,
+ * depend on which way it entered the block.
+ * <p>
+ * Block occupancy and reservations are not part of the graph; they're checked
+ * as each route is searched for, so changes to them cost nothing.
+ *
+ * @see LayoutBlockManager#isGraphRouting()
+ */
+@ThreadSafe
+public class LayoutBlockRoutingGraph {
+
+    /**
+     * Decides whether a train can move on from one block into the next.
+     */
+    @FunctionalInterface
+    public interface HopCheck {
+
+        /**
+         * Check a hop from a block into the next.
+         *
+         * @param previous the block the train entered current from
+         * @param current  the block the train is in
+         * @param next     the block the train would enter
+         * @return true if the train can move into next
+         */
+        boolean canUse(@Nonnull LayoutBlock previous, @Nonnull LayoutBlock current, @Nonnull LayoutBlock next);
+    }
+
+    private final LayoutBlockManager manager;
+    // through paths added by hand, as {block, source, destination}
+    private final List<LayoutBlock[]> addedPaths = new ArrayList<>();
+    private volatile long addedVersion = 0;
+    private volatile Graph graph = null;
+
+    /**
+     * Create a graph of the layout blocks of a manager.
+     *
+     * @param manager the manager
+     */
+    public LayoutBlockRoutingGraph(@Nonnull LayoutBlockManager manager) {
+        this.manager = manager;
+    }
+
+    /**
+     * Create a graph with only the through paths added with
+     * {@link #addThroughPath}, for layouts without panels.
+     */
+    LayoutBlockRoutingGraph() {
+        this.manager = null;
+    }
+
+    /**
+     * Add a through path to the graph, as if block had found it from its
+     * panels.
+     *
+     * @param block       the block the path goes through
+     * @param source      the block the path comes from
+     * @param destination the block the path leads to
+     */
+    synchronized void addThroughPath(@Nonnull LayoutBlock block, @Nonnull LayoutBlock source, @Nonnull LayoutBlock destination) {
+        addedPaths.add(new LayoutBlock[]{block, source, destination});
+        addedVersion++;
+    }
+
+    /**
+     * Find the best route from a block to a destination, leaving the block
+     * through a given neighbour.
+     *
+     * @param source      the block to start from
+     * @param protecting  the neighbour of source the route starts through
+     * @param destination the block to get to
+     * @param metric      what makes one route better than another
+     * @param check       check on each hop after protecting, or null to
+     *                    allow all hops
+     * @return the blocks of the route, from source to destination; or null if
+     *         there's no route
+     */
+    @CheckForNull
+    public List<LayoutBlock> getRoute(@Nonnull LayoutBlock source, @Nonnull LayoutBlock protecting,
+            @Nonnull LayoutBlock destination, @Nonnull LayoutBlockConnectivityTools.Metric metric,
+            @CheckForNull HopCheck check) {
+        List<LayoutBlock> route = new ArrayList<>();
+        route.add(source);
+        route.add(protecting);
+        if (protecting == destination) {
+            return route;
+        }
+        Graph g = getGraph();
+        int start = g.arc(source, protecting);
+        if (start < 0) {
+            return null;
+        }
+        int[] from = new int[g.arcCount()];
+        int end = g.search(start, destination, metric, check, from);
+        if (end < 0) {
+            return null;
+        }
+        List<LayoutBlock> rest = new ArrayList<>();
+        for (int a = end; a != start; a = from[a]) {
+            rest.add(g.arcTo[a]);
+        }
+        for (int i = rest.size() - 1; i >= 0; i--) {
+            route.add(rest.get(i));
+        }
+        return route;
+    }
+
+    /**
+     * Get the number of blocks to a destination going through a neighbouring
+     * block, as {@link LayoutBlock#getBlockHopCount(Block, Block)} does from
+     * the routing tables.
+     *
+     * @param current     the block to start from
+     * @param next        the neighbour of current to go through
+     * @param destination the block to get to
+     * @return the number of blocks after current up to and including
+     *         destination, or -1 if there's no route
+     */
+    public int getHopCount(@Nonnull LayoutBlock current, @Nonnull LayoutBlock next, @Nonnull LayoutBlock destination) {
+        if (next == destination) {
+            return current.isValidNeighbour(next.getBlock()) || getGraph().arc(current, next) >= 0 ? 1 : -1;
+        }
+        List<LayoutBlock> route = getRoute(current, next, destination, LayoutBlockConnectivityTools.Metric.HOPCOUNT, null);
+        return route == null ? -1 : route.size() - 1;
+    }
+
+    /**
+     * Check if there's a route to a destination going through a neighbouring
+     * block, as {@link LayoutBlock#isRouteToDestValid(Block, Block)} does from
+     * the routing tables.
+     *
+     * @param current     the block to start from
+     * @param next        the neighbour of current to go through
+     * @param destination the block to get to
+     * @return true if there's a route
+     */
+    public boolean isRouteToDestValid(@Nonnull LayoutBlock current, @Nonnull LayoutBlock next, @Nonnull LayoutBlock destination) {
+        return getHopCount(current, next, destination) != -1;
+    }
+
+    /**
+     * Get the number of blocks in the graph.
+     *
+     * @return the number of blocks with through paths
+     */
+    public int getBlockCount() {
+        return getGraph().blockCount;
+    }
+
+    @Nonnull
+    private Graph getGraph() {
+        long version = manager != null ? manager.getRoutingTopologyVersion() : 0;
+        int count = manager != null ? manager.getObjectCount() : 0;
+        Graph g = graph;
+        if (g == null || !g.isFor(version, addedVersion, count)) {
+            synchronized (this) {
+                g = graph;
+                if (g == null || !g.isFor(version, addedVersion, count)) {
+                    g = new Graph(version, addedVersion, count);
+                    if (manager != null) {
+                        addManagerPaths(g);
+                    }
+                    for (LayoutBlock[] path : addedPaths) {
+                        g.addThroughPath(path[0], path[1], path[2]);
+                    }
+                    g.freeze();
+                    graph = g;
+                    log.debug("built routing graph of {} blocks and {} moves", g.blockCount, g.arcCount());
+                }
+            }
+        }
+        return g;
+    }
+
+    private void addManagerPaths(Graph g) {
+        Map<Block, LayoutBlock> byBlock = new IdentityHashMap<>();
+        for (LayoutBlock lb : manager.getNamedBeanSet()) {
+            if (lb.getBlock() != null) {
+                byBlock.put(lb.getBlock(), lb);
+            }
+        }
+        for (LayoutBlock lb : byBlock.values()) {
+            for (int i = 0; i < lb.getNumberOfThroughPaths(); i++) {
+                LayoutBlock source = byBlock.get(lb.getThroughPathSource(i));
+                LayoutBlock destination = byBlock.get(lb.getThroughPathDestination(i));
+                if (source != null && destination != null) {
+                    g.addThroughPath(lb, source, destination);
+                }
+            }
+        }
+    }
+
+    /*
+     * Each arc is a train having moved from one block into the next; the arcs
+     * after it are the through paths of that block from the block it came
+     * from. The route search runs over arcs, so the through paths are kept.
+     */
+    private static final class Graph {
+
+        final long version;
+        final long addedVersion;
+        final int managerCount;
+        int blockCount;
+        private final Map<LayoutBlock, Map<LayoutBlock, Integer>> arcs = new IdentityHashMap<>();
+        private final List<LayoutBlock> arcFromList = new ArrayList<>();
+        private final List<LayoutBlock> arcToList = new ArrayList<>();
+        private final List<int[]> successorList = new ArrayList<>();
+        private final List<Integer> successorCount = new ArrayList<>();
+        LayoutBlock[] arcFrom;
+        LayoutBlock[] arcTo;
+        int[][] successors;
+
+        Graph(long version, long addedVersion, int managerCount) {
+            this.version = version;
+            this.addedVersion = addedVersion;
+            this.managerCount = managerCount;
+        }
+
+        boolean isFor(long version, long addedVersion, int managerCount) {
+            return this.version == version && this.addedVersion == addedVersion && this.managerCount == managerCount;
+        }
+
+        int arcCount() {
+            return arcTo != null ? arcTo.length : arcToList.size();
+        }
+
+        int arc(LayoutBlock from, LayoutBlock to) {
+            Map<LayoutBlock, Integer> m = arcs.get(from);
+            Integer a = m == null ? null : m.get(to);
+            return a == null ? -1 : a;
+        }
+
+        private int addArc(LayoutBlock from, LayoutBlock to) {
+            Map<LayoutBlock, Integer> m = arcs.computeIfAbsent(from, k -> new IdentityHashMap<>());
+            return m.computeIfAbsent(to, k -> {
+                arcFromList.add(from);
+                arcToList.add(to);
+                successorList.add(new int[2]);
+                successorCount.add(0);
+                return arcToList.size() - 1;
+            });
+        }
+
+        void addThroughPath(LayoutBlock block, LayoutBlock source, LayoutBlock destination) {
+            if (source == destination || source == block || destination == block) {
+                return;
+            }
+            int in = addArc(source, block);
+            int out = addArc(block, destination);
+            int n = successorCount.get(in);
+            int[] s = successorList.get(in);
+            for (int i = 0; i < n; i++) {
+                if (s[i] == out) {
+                    return;
+                }
+            }
+            if (n == s.length) {
+                s = Arrays.copyOf(s, n * 2);
+                successorList.set(in, s);
+            }
+            s[n] = out;
+            successorCount.set(in, n + 1);
+        }
+
+        void freeze() {
+            arcFrom = arcFromList.toArray(new LayoutBlock[arcFromList.size()]);
+            arcTo = arcToList.toArray(new LayoutBlock[arcToList.size()]);
+            successors = new int[arcTo.length][];
+            for (int a = 0; a < arcTo.length; a++) {
+                successors[a] = Arrays.copyOf(successorList.get(a), successorCount.get(a));
+            }
+            arcFromList.clear();
+            arcToList.clear();
+            successorList.clear();
+            successorCount.clear();
+            Map<LayoutBlock, Boolean> blocks = new IdentityHashMap<>(arcs.size() * 2);
+            for (int a = 0; a < arcTo.length; a++) {
+                blocks.put(arcFrom[a], Boolean.TRUE);
+                blocks.put(arcTo[a], Boolean.TRUE);
+            }
+            blockCount = blocks.size();
+        }
+
+        private static long cost(LayoutBlock block, LayoutBlockConnectivityTools.Metric metric) {
+            switch (metric) {
+                case HOPCOUNT:
+                    return 1;
+                case DISTANCE:
+                    return Math.max(0, Math.round(block.getBlock().getLengthMm()));
+                default:
+                    return Math.max(0, block.getBlockMetric());
+            }
+        }
+
+        /**
+         * Dijkstra's search from an arc to the first arc into destination.
+         *
+         * @return the arc into destination, or -1 if none can be reached;
+         *         from holds the arc before each arc reached
+         */
+        int search(int start, LayoutBlock destination, LayoutBlockConnectivityTools.Metric metric,
+                HopCheck check, int[] from) {
+            long[] cost = new long[arcTo.length];
+            Arrays.fill(cost, Long.MAX_VALUE);
+            cost[start] = 0;
+            // each entry is a cost and an arc; a route can cost more than an
+            // int, as each block's metric or length can be up to one
+            PriorityQueue<long[]> queue = new PriorityQueue<>(Comparator.comparingLong((long[] e) -> e[0]));
+            queue.add(new long[]{0, start});
+            while (!queue.isEmpty()) {
+                long[] head = queue.poll();
+                long c = head[0];
+                int a = (int) head[1];
+                if (c > cost[a]) {
+                    continue; // already reached more cheaply
+                }
+                LayoutBlock current = arcTo[a];
+                if (current == destination) {
+                    return a;
+                }
+                for (int b : successors[a]) {
+                    LayoutBlock next = arcTo[b];
+                    long nc = c + cost(next, metric);
+                    if (nc >= cost[b] || (check != null && !check.canUse(arcFrom[a], current, next))) {
+                        continue;
+                    }
+                    cost[b] = nc;
+                    from[b] = a;
+                    queue.add(new long[]{nc, b});
+                }
+            }
+            return -1;
+        }
+    }
+
+    private final static org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(LayoutBlockRoutingGraph.class);
+
+}
@@ -212,7 +212,7 @@ public class WarrantManager extends AbstractManager<Warrant>
     }
 
     private boolean okToRemove(String name, String message) {
-        if (!ThreadingUtil.isLayoutThread()) {  //need GUI
+        if (!ThreadingUtil.isGUIThread()) {  //need GUI
             log.warn("Cannot delete portal \"{}\" from this thread", name);
             return false;
         }
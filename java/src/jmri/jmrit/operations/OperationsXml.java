@@ -149,6 +149,37 @@ public abstract class OperationsXml extends XmlFile {
 
     private static String fileLocation = FileUtil.getUserFilesPath();
 
+    /**
+     * System property that, when true, makes the large operations files be
+     * streamed by default.
+     *
+     * @see #setStreamingRead(boolean)
+     */
+    public static final String STREAMING_READ_PROPERTY = "jmri.operations.streamingRead";
+
+    private static boolean streamingRead = Boolean.getBoolean(STREAMING_READ_PROPERTY);
+
+    /**
+     * Set whether the car, engine and location files are read in a single
+     * streaming pass, creating each car, engine or location as soon as it's
+     * read, rather than being read into a document that's then walked. This
+     * uses much less memory for large files. Streamed files are not
+     * validated.
+     * <p>
+     * Default is false, unless the {@value #STREAMING_READ_PROPERTY} system
+     * property is true.
+     *
+     * @param streaming true to stream files
+     * @see XmlFile#rootFromFile(File, String, XmlFile.StreamHandler)
+     */
+    public static void setStreamingRead(boolean streaming) {
+        streamingRead = streaming;
+    }
+
+    public static boolean isStreamingRead() {
+        return streamingRead;
+    }
+
     /**
      * Convert standard string to xml string one character at a time expect when
      * a \n is found. In that case, insert a {@literal "<?p?>"}.
@@ -61,11 +61,18 @@ public class LocationManagerXml extends OperationsXml implements InstanceManager
             log.debug("{} file could not be found", name);
             return;
         }
-        // find root
-        Element root = rootFromName(name);
-        if (root == null) {
-            log.debug("{} file could not be read", name);
-            return;
+        Element root;
+        if (isStreamingRead()) {
+            LocationManager manager = InstanceManager.getDefault(LocationManager.class);
+            root = rootFromFile(findFile(name), Xml.LOCATIONS,
+                    (partial, location) -> manager.register(new Location(location)));
+        } else {
+            // find root
+            root = rootFromName(name);
+            if (root == null) {
+                log.debug("{} file could not be read", name);
+                return;
+            }
         }
 
         InstanceManager.getDefault(LocationManager.class).load(root);
@@ -1,6 +1,7 @@
 package jmri.jmrit.operations.rollingstock.cars;
 
 import java.io.File;
+import java.util.concurrent.atomic.AtomicBoolean;
 import jmri.InstanceManager;
 import jmri.InstanceManagerAutoDefault;
 import jmri.InstanceManagerAutoInitialize;
@@ -71,13 +72,38 @@ public class CarManagerXml extends OperationsXml implements InstanceManagerAutoD
             log.debug("{} file could not be found", name);
             return;
         }
-        // find root
-        Element root = rootFromName(name);
-        if (root == null) {
-            log.debug("{} file could not be read", name);
-            return;
+        if (isStreamingRead()) {
+            // load everything before the cars, then each car as it's read
+            CarManager manager = InstanceManager.getDefault(CarManager.class);
+            AtomicBoolean loaded = new AtomicBoolean(false);
+            Element root = rootFromFile(findFile(name), Xml.CARS, (partial, car) -> {
+                if (!loaded.getAndSet(true)) {
+                    load(partial);
+                }
+                manager.register(new Car(car));
+            });
+            if (!loaded.get()) {
+                load(root);
+            }
+        } else {
+            // find root
+            Element root = rootFromName(name);
+            if (root == null) {
+                log.debug("{} file could not be read", name);
+                return;
+            }
+            load(root);
         }
 
+        log.debug("Cars have been loaded!");
+        InstanceManager.getDefault(RollingStockLogger.class).enableCarLogging(Setup.isCarLoggerEnabled());
+        // clear dirty bit
+        setDirty(false);
+        // clear location dirty flag, locations get modified during the loading of cars and locos
+        InstanceManager.getDefault(LocationManagerXml.class).setDirty(false);
+    }
+
+    private void load(Element root) {
         InstanceManager.getDefault(CarRoads.class).load(root);
         InstanceManager.getDefault(CarTypes.class).load(root);
         InstanceManager.getDefault(CarColors.class).load(root);
@@ -85,13 +111,6 @@ public class CarManagerXml extends OperationsXml implements InstanceManagerAutoD
         InstanceManager.getDefault(CarOwners.class).load(root);
         InstanceManager.getDefault(CarLoads.class).load(root);
         InstanceManager.getDefault(CarManager.class).load(root);
-
-        log.debug("Cars have been loaded!");
-        InstanceManager.getDefault(RollingStockLogger.class).enableCarLogging(Setup.isCarLoggerEnabled());
-        // clear dirty bit
-        setDirty(false);
-        // clear location dirty flag, locations get modified during the loading of cars and locos
-        InstanceManager.getDefault(LocationManagerXml.class).setDirty(false);
     }
 
     @Override
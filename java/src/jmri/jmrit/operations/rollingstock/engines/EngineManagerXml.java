@@ -1,6 +1,7 @@
 package jmri.jmrit.operations.rollingstock.engines;
 
 import java.io.File;
+import java.util.concurrent.atomic.AtomicBoolean;
 import jmri.InstanceManager;
 import jmri.InstanceManagerAutoDefault;
 import jmri.InstanceManagerAutoInitialize;
@@ -66,18 +67,29 @@ public class EngineManagerXml extends OperationsXml implements InstanceManagerAu
             log.debug("{} file could not be found", name);
             return;
         }
-        // find root
-        Element root = rootFromName(name);
-        if (root == null) {
-            log.debug("{} file could not be read", name);
-            return;
+        if (isStreamingRead()) {
+            // load everything before the engines, then each engine as it's read
+            EngineManager manager = InstanceManager.getDefault(EngineManager.class);
+            AtomicBoolean loaded = new AtomicBoolean(false);
+            Element root = rootFromFile(findFile(name), Xml.ENGINES, (partial, engine) -> {
+                if (!loaded.getAndSet(true)) {
+                    load(partial);
+                }
+                manager.register(new Engine(engine));
+            });
+            if (!loaded.get()) {
+                load(root);
+            }
+        } else {
+            // find root
+            Element root = rootFromName(name);
+            if (root == null) {
+                log.debug("{} file could not be read", name);
+                return;
+            }
+            load(root);
         }
 
-        InstanceManager.getDefault(EngineModels.class).load(root);
-        InstanceManager.getDefault(EngineTypes.class).load(root);
-        InstanceManager.getDefault(EngineLengths.class).load(root);
-        InstanceManager.getDefault(EngineManager.class).load(root);
-
         log.debug("Engines have been loaded!");
         InstanceManager.getDefault(RollingStockLogger.class).enableEngineLogging(Setup.isEngineLoggerEnabled());
         // clear dirty bit
@@ -86,6 +98,13 @@ public class EngineManagerXml extends OperationsXml implements InstanceManagerAu
         InstanceManager.getDefault(LocationManagerXml.class).setDirty(false);
     }
 
+    private void load(Element root) {
+        InstanceManager.getDefault(EngineModels.class).load(root);
+        InstanceManager.getDefault(EngineTypes.class).load(root);
+        InstanceManager.getDefault(EngineLengths.class).load(root);
+        InstanceManager.getDefault(EngineManager.class).load(root);
+    }
+
     @Override
     public void setOperationsFileName(String name) {
         operationsFileName = name;
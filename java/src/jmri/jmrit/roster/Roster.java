@@ -11,8 +11,12 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
@@ -51,7 +55,10 @@ import org.jdom2.ProcessingInstruction;
  * is fired every time that changes.
  * <p>
  * The entries are stored in an ArrayList, sorted alphabetically. That sort is
- * done manually each time an entry is added.
+ * done manually each time an entry is added. Entries are also indexed by ID,
+ * DCC address and attribute, so lookups don't search the whole roster; the
+ * index is rebuilt as needed when entries are added, removed or change one of
+ * those properties. Any number of threads can read the roster at once.
  * <p>
  * The roster is stored in a "Roster Index", which can be read or written. Each
  * individual entry (once stored) contains a filename which can be used to
@@ -76,6 +83,12 @@ public class Roster extends XmlFile implements RosterGroupSelector, PropertyChan
      * List of contained {@link RosterEntry} elements.
      */
     private final List<RosterEntry> _list = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Index index = null;
+    private final Object indexLock = new Object();
+    private long indexVersion = 0;
+    // the stored form of entries that haven't changed since last stored
+    private final Map<RosterEntry, Element> storedEntries = new ConcurrentHashMap<>();
     private boolean dirty = false;
     /*
      * This should always be a real path, changes in the UserFiles location are
@@ -140,6 +153,13 @@ public class Roster extends XmlFile implements RosterGroupSelector, PropertyChan
      * rely on being able to store this value.
      */
     public static final String ALLENTRIES = Bundle.getMessage("ALLENTRIES"); // NOI18N
+    /**
+     * Name of the system property that, if "true", leaves the function and
+     * sound labels of entries read from the roster index to be read from each
+     * entry's own file when first needed. {@value #LAZY_DETAIL_PROPERTY}
+     */
+    public static final String LAZY_DETAIL_PROPERTY = "jmri.roster.lazyDetail"; // NOI18N
+    private static volatile boolean lazyDetail = Boolean.getBoolean(LAZY_DETAIL_PROPERTY);
 
     /**
      * Create a roster with default contents.
@@ -212,7 +232,8 @@ public class Roster extends XmlFile implements RosterGroupSelector, PropertyChan
      */
     public void addEntry(RosterEntry e) {
         log.debug("Add entry {}", e);
-        synchronized (_list) {
+        lock.writeLock().lock();
+        try {
             int i = _list.size() - 1; // Last valid index
             while (i >= 0) {
                 if (e.getId().compareToIgnoreCase(_list.get(i).getId()) > 0) {
@@ -222,6 +243,9 @@ public class Roster extends XmlFile implements RosterGroupSelector, PropertyChan
                 i--;
             }
             _list.add(i + 1, e);
+            invalidateIndex();
+        } finally {
+            lock.writeLock().unlock();
         }
         e.addPropertyChangeListener(this);
         this.addRosterGroups(e.getGroups(this));
@@ -237,9 +261,14 @@ public class Roster extends XmlFile implements RosterGroupSelector, PropertyChan
      */
     public void removeEntry(RosterEntry e) {
         log.debug("Remove entry {}", e);
-        synchronized (_list) {
+        lock.writeLock().lock();
+        try {
             _list.remove(e);
+            invalidateIndex();
+        } finally {
+            lock.writeLock().unlock();
         }
+        storedEntries.remove(e);
         e.removePropertyChangeListener(this);
         setDirty(true);
         firePropertyChange(REMOVE, e, null);
@@ -249,8 +278,11 @@ public class Roster extends XmlFile implements RosterGroupSelector, PropertyChan
      * @return number of entries in the roster
      */
     public int numEntries() {
-        synchronized (_list) {
+        lock.readLock().lock();
+        try {
             return _list.size();
+        } finally {
+            lock.readLock().unlock();
         }
     }
 
@@ -278,12 +310,15 @@ public class Roster extends XmlFile implements RosterGroupSelector, PropertyChan
      * @return The matching RosterEntry or null
      */
     public RosterEntry entryFromTitle(String title) {
-        synchronized (_list) {
+        lock.readLock().lock();
+        try {
             for (RosterEntry re : _list) {
                 if (re.titleString().equals(title)) {
                     return re;
                 }
             }
+        } finally {
+            lock.readLock().unlock();
         }
         return null;
     }
@@ -295,14 +330,8 @@ public class Roster extends XmlFile implements RosterGroupSelector, PropertyChan
      * @return The matching RosterEntry or null
      */
     public RosterEntry getEntryForId(String id) {
-        synchronized (_list) {
-            for (RosterEntry re : _list) {
-                if (re.getId().equals(id)) {
-                    return re;
-                }
-            }
-        }
-        return null;
+        List<RosterEntry> l = getIndex().byId.get(id);
+        return l != null ? l.get(0) : null;
     }
 
     /**
@@ -313,11 +342,7 @@ public class Roster extends XmlFile implements RosterGroupSelector, PropertyChan
      */
     @Nonnull
     public List<RosterEntry> getEntriesByDccAddress(String a) {
-        return findMatchingEntries(
-                (RosterEntry r) -> {
-                    return r.getDccAddress().equals(a);
-                }
-        );
+        return new ArrayList<>(getIndex().byAddress.getOrDefault(a, Collections.emptyList()));
     }
 
     /**
@@ -328,8 +353,11 @@ public class Roster extends XmlFile implements RosterGroupSelector, PropertyChan
      */
     @Nonnull
     public RosterEntry getEntry(int i) {
-        synchronized (_list) {
+        lock.readLock().lock();
+        try {
             return _list.get(i);
+        } finally {
+            lock.readLock().unlock();
         }
     }
 
@@ -412,36 +440,19 @@ public class Roster extends XmlFile implements RosterGroupSelector, PropertyChan
     }
 
     public List<RosterEntry> getEntriesWithAttributeKey(String key) {
-        ArrayList<RosterEntry> result = new ArrayList<>();
-        synchronized (_list) {
-            _list.stream().filter((r) -> (r.getAttribute(key) != null)).forEachOrdered((r) -> {
-                result.add(r);
-            });
-        }
-        return result;
+        return new ArrayList<>(getIndex().byAttribute.getOrDefault(key, Collections.emptyList()));
     }
 
     public List<RosterEntry> getEntriesWithAttributeKeyValue(String key, String value) {
-        ArrayList<RosterEntry> result = new ArrayList<>();
-        synchronized (_list) {
-            _list.stream().forEach((r) -> {
-                String v = r.getAttribute(key);
-                if (v != null && v.equals(value)) {
-                    result.add(r);
-                }
-            });
+        if (value == null) {
+            return new ArrayList<>();
         }
-        return result;
+        return new ArrayList<>(getIndex().byAttributeValue.getOrDefault(key, Collections.emptyMap())
+                .getOrDefault(value, Collections.emptyList()));
     }
 
     public Set<String> getAllAttributeKeys() {
-        Set<String> result = new TreeSet<>();
-        synchronized (_list) {
-            _list.stream().forEach((r) -> {
-                result.addAll(r.getAttributes());
-            });
-        }
-        return result;
+        return new TreeSet<>(getIndex().attributeKeys);
     }
 
     public List<RosterEntry> getEntriesInGroup(String group) {
@@ -467,14 +478,36 @@ public class Roster extends XmlFile implements RosterGroupSelector, PropertyChan
      */
     private List<RosterEntry> findMatchingEntries(RosterComparator c) {
         List<RosterEntry> l = new ArrayList<>();
-        synchronized (_list) {
+        lock.readLock().lock();
+        try {
             _list.stream().filter((r) -> (c.check(r))).forEachOrdered((r) -> {
                 l.add(r);
             });
+        } finally {
+            lock.readLock().unlock();
         }
         return l;
     }
 
+    /**
+     * Get the entries that might match some criteria from the index, or null
+     * if the criteria can't be looked up in the index.
+     */
+    @CheckForNull
+    private List<RosterEntry> indexedEntries(String dccAddress, String id, String group) {
+        if (id != null) {
+            return getIndex().byId.getOrDefault(id, Collections.emptyList());
+        }
+        if (dccAddress != null) {
+            return getIndex().byAddress.getOrDefault(dccAddress, Collections.emptyList());
+        }
+        if (group != null && !Roster.ALLENTRIES.equals(group)) {
+            return getIndex().byAttributeValue.getOrDefault(Roster.getRosterGroupProperty(group), Collections.emptyMap())
+                    .getOrDefault("yes", Collections.emptyList()); // NOI18N
+        }
+        return null;
+    }
+
     /**
      * Get a List of {@link RosterEntry} objects in Roster matching some
      * information. The list will be empty if there are no matches.
@@ -492,6 +525,13 @@ public class Roster extends XmlFile implements RosterGroupSelector, PropertyChan
     @Nonnull
     public List<RosterEntry> getEntriesMatchingCriteria(String roadName, String roadNumber, String dccAddress,
             String mfg, String decoderModel, String decoderFamily, String id, String group) {
+        List<RosterEntry> candidates = indexedEntries(dccAddress, id, group);
+        if (candidates != null) {
+            List<RosterEntry> l = new ArrayList<>();
+            candidates.stream().filter((r) -> checkEntry(r, roadName, roadNumber, dccAddress,
+                    mfg, decoderModel, decoderFamily, id, group)).forEachOrdered(l::add);
+            return l;
+        }
         return findMatchingEntries(
                 (RosterEntry r) -> {
                     return checkEntry(r, roadName, roadNumber, dccAddress,
@@ -674,64 +714,18 @@ public class Roster extends XmlFile implements RosterGroupSelector, PropertyChan
 
         String newLocoString = SymbolicProgBundle.getMessage("LabelNewDecoder");
 
-        //Check the Comment and Decoder Comment fields for line breaks and
-        //convert them to a processor directive for storage in XML
-        //Note: this is also done in the LocoFile.java class to do
-        //the same thing in the indidvidual locomotive roster files
-        //Note: these changes have to be undone after writing the file
-        //since the memory version of the roster is being changed to the
-        //file version for writing
-        synchronized (_list) {
-            _list.forEach((entry) -> {
-                //Extract the RosterEntry at this index and inspect the Comment and
-                //Decoder Comment fields to change any \n characters to <?p?> processor
-                //directives so they can be stored in the xml file and converted
-                //back when the file is read.
-                if (!entry.getId().equals(newLocoString)) {
-                    String tempComment = entry.getComment();
-                    StringBuilder xmlComment = new StringBuilder();
-
-                    //transfer tempComment to xmlComment one character at a time, except
-                    //when \n is found.  In that case, insert <?p?>
-                    for (int k = 0; k < tempComment.length(); k++) {
-                        if (tempComment.startsWith("\n", k)) { // NOI18N
-                            xmlComment.append("<?p?>"); // NOI18N
-                        } else {
-                            xmlComment.append(tempComment.substring(k, k + 1));
-                        }
-                    }
-                    entry.setComment(xmlComment.toString());
-
-                    //Now do the same thing for the decoderComment field
-                    String tempDecoderComment = entry.getDecoderComment();
-                    StringBuilder xmlDecoderComment = new StringBuilder();
-
-                    for (int k = 0; k < tempDecoderComment.length(); k++) {
-                        if (tempDecoderComment.startsWith("\n", k)) { // NOI18N
-                            xmlDecoderComment.append("<?p?>"); // NOI18N
-                        } else {
-                            xmlDecoderComment.append(tempDecoderComment.substring(k, k + 1));
-                        }
-                    }
-                    entry.setDecoderComment(xmlDecoderComment.toString());
-                } else {
-                    log.debug("skip unsaved roster entry with default name {}", entry.getId());
-                }
-            }); //All Comments and Decoder Comment line feeds have been changed to processor directives
-        }
         // add top-level elements
         Element values = new Element("roster"); // NOI18N
         root.addContent(values);
-        // add entries
-        synchronized (_list) {
-            _list.stream().forEach((entry) -> {
-                if (!entry.getId().equals(newLocoString)) {
-                    values.addContent(entry.store());
-                } else {
-                    log.debug("skip unsaved roster entry with default name {}", entry.getId());
-                }
-            });
-        }
+        // add entries, reusing the stored form of unchanged entries; storing
+        // an entry can fire property changes, so don't hold the lock
+        getAllEntries().stream().forEach((entry) -> {
+            if (!entry.getId().equals(newLocoString)) {
+                values.addContent(storedEntry(entry).clone());
+            } else {
+                log.debug("skip unsaved roster entry with default name {}", entry.getId());
+            }
+        });
         if (!this.rosterGroups.isEmpty()) {
             Element rosterGroup = new Element("rosterGroup"); // NOI18N
             rosterGroups.keySet().stream().forEach((name) -> {
@@ -746,48 +740,47 @@ public class Roster extends XmlFile implements RosterGroupSelector, PropertyChan
 
         writeXML(file, doc);
 
-        //Now that the roster has been rewritten in file form we need to
-        //restore the RosterEntry object to its normal \n state for the
-        //Comment and Decoder comment fields, otherwise it can cause problems in
-        //other parts of the program (e.g. in copying a roster)
-        synchronized (_list) {
-            _list.stream().forEach((entry) -> {
-                if (!entry.getId().equals(newLocoString)) {
-                    String xmlComment = entry.getComment();
-                    StringBuilder tempComment = new StringBuilder();
-
-                    for (int k = 0; k < xmlComment.length(); k++) {
-                        if (xmlComment.startsWith("<?p?>", k)) { // NOI18N
-                            tempComment.append("\n"); // NOI18N
-                            k = k + 4;
-                        } else {
-                            tempComment.append(xmlComment.substring(k, k + 1));
-                        }
-                    }
-                    entry.setComment(tempComment.toString());
-
-                    String xmlDecoderComment = entry.getDecoderComment();
-                    StringBuilder tempDecoderComment = new StringBuilder(); // NOI18N
-
-                    for (int k = 0; k < xmlDecoderComment.length(); k++) {
-                        if (xmlDecoderComment.startsWith("<?p?>", k)) { // NOI18N
-                            tempDecoderComment.append("\n"); // NOI18N
-                            k = k + 4;
-                        } else {
-                            tempDecoderComment.append(xmlDecoderComment.substring(k, k + 1));
-                        }
-                    }
-                    entry.setDecoderComment(tempDecoderComment.toString());
-                } else {
-                    log.debug("skip unsaved roster entry with default name {}", entry.getId());
-                }
-            });
-        }
         // done - roster now stored, so can't be dirty
         setDirty(false);
         firePropertyChange(SAVED, false, true);
     }
 
+    /**
+     * Get the stored form of an entry, storing the entry only if it has
+     * changed since it was last stored.
+     * <p>
+     * Line breaks in the Comment and Decoder Comment fields are stored as
+     * {@code <?p?>} processor directives. This is also done in the LocoFile
+     * class for the individual locomotive roster files.
+     *
+     * @param entry the entry
+     * @return the stored form; clone it before adding it to a document
+     */
+    private Element storedEntry(RosterEntry entry) {
+        Element e = storedEntries.get(entry);
+        if (e == null) {
+            e = entry.store();
+            e.setAttribute("comment", encodeLineBreaks(entry.getComment())); // NOI18N
+            Element d = e.getChild("decoder"); // NOI18N
+            if (d != null) {
+                d.setAttribute("comment", encodeLineBreaks(entry.getDecoderComment())); // NOI18N
+            }
+            // a speed profile changes without telling its entry
+            if (entry.getSpeedProfile() == null) {
+                storedEntries.put(entry, e);
+            }
+        }
+        return e;
+    }
+
+    private static String encodeLineBreaks(String s) {
+        return s.replace("\n", "<?p?>"); // NOI18N
+    }
+
+    private static String decodeLineBreaks(String s) {
+        return s.replace("<?p?>", "\n"); // NOI18N
+    }
+
     /**
      * Name a valid roster entry filename from an entry name.
      * <ul>
@@ -845,47 +838,15 @@ public class Roster extends XmlFile implements RosterGroupSelector, PropertyChan
             if (log.isDebugEnabled()) {
                 log.debug("readFile sees {} children", l.size());
             }
+            Roster detailRoster = lazyDetail ? this : null;
             l.stream().forEach((e) -> {
-                addEntry(new RosterEntry(e));
+                RosterEntry entry = new RosterEntry(e, detailRoster);
+                // change any <?p?> processor directives in the Comment and
+                // Decoder Comment fields back to \n characters
+                entry.setComment(decodeLineBreaks(entry.getComment()));
+                entry.setDecoderComment(decodeLineBreaks(entry.getDecoderComment()));
+                addEntry(entry);
             });
-
-            //Scan the object to check the Comment and Decoder Comment fields for
-            //any <?p?> processor directives and change them to back \n characters
-            synchronized (_list) {
-                _list.stream().map((entry) -> {
-                    //Extract the Comment field and create a new string for output
-                    String tempComment = entry.getComment();
-                    StringBuilder xmlComment = new StringBuilder();
-                    //transfer tempComment to xmlComment one character at a time, except
-                    //when <?p?> is found.  In that case, insert a \n and skip over those
-                    //characters in tempComment.
-                    for (int k = 0; k < tempComment.length(); k++) {
-                        if (tempComment.startsWith("<?p?>", k)) { // NOI18N
-                            xmlComment.append("\n"); // NOI18N
-                            k = k + 4;
-                        } else {
-                            xmlComment.append(tempComment.substring(k, k + 1));
-                        }
-                    }
-                    entry.setComment(xmlComment.toString());
-                    return entry;
-                }).forEachOrdered((r) -> {
-                    //Now do the same thing for the decoderComment field
-                    String tempDecoderComment = r.getDecoderComment();
-                    StringBuilder xmlDecoderComment = new StringBuilder();
-
-                    for (int k = 0; k < tempDecoderComment.length(); k++) {
-                        if (tempDecoderComment.startsWith("<?p?>", k)) { // NOI18N
-                            xmlDecoderComment.append("\n"); // NOI18N
-                            k = k + 4;
-                        } else {
-                            xmlDecoderComment.append(tempDecoderComment.substring(k, k + 1));
-                        }
-                    }
-
-                    r.setDecoderComment(xmlDecoderComment.toString());
-                });
-            }
         } else {
             log.error("Unrecognized roster file contents in file: {}", name);
         }
@@ -973,10 +934,14 @@ public class Roster extends XmlFile implements RosterGroupSelector, PropertyChan
      */
     public void reloadRosterFile() {
         // clear existing
-        synchronized (_list) {
-
+        lock.writeLock().lock();
+        try {
             _list.clear();
+            invalidateIndex();
+        } finally {
+            lock.writeLock().unlock();
         }
+        storedEntries.clear();
         this.rosterGroups.clear();
         // and read new
         try {
@@ -1095,8 +1060,12 @@ public class Roster extends XmlFile implements RosterGroupSelector, PropertyChan
      */
     public void entryIdChanged(RosterEntry r) {
         log.debug("EntryIdChanged");
-        synchronized (_list) {
+        lock.writeLock().lock();
+        try {
             Collections.sort(_list, (RosterEntry o1, RosterEntry o2) -> o1.getId().compareToIgnoreCase(o2.getId()));
+            invalidateIndex();
+        } finally {
+            lock.writeLock().unlock();
         }
         firePropertyChange(CHANGE, null, r);
     }
@@ -1380,8 +1349,132 @@ public class Roster extends XmlFile implements RosterGroupSelector, PropertyChan
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
         if (evt.getSource() instanceof RosterEntry) {
-            if (evt.getPropertyName().equals(RosterEntry.ID)) {
+            storedEntries.remove((RosterEntry) evt.getSource());
+            String name = evt.getPropertyName();
+            if (name.equals(RosterEntry.ID)) {
                 this.entryIdChanged((RosterEntry) evt.getSource());
+            } else if (name.equals(RosterEntry.DCC_ADDRESS)
+                    || name.startsWith(RosterEntry.ATTRIBUTE_UPDATED)
+                    || name.equals(RosterEntry.ATTRIBUTE_DELETED)) {
+                invalidateIndex();
+            }
+        }
+    }
+
+    /**
+     * Check if function and sound labels of entries read from a roster index
+     * are left to be read from each entry's own file when first needed.
+     *
+     * @return true if read when needed; false if read with the roster index
+     */
+    public static boolean isLazyDetail() {
+        return lazyDetail;
+    }
+
+    /**
+     * Set if function and sound labels of entries read from a roster index
+     * are left to be read from each entry's own file when first needed, so
+     * that a large roster reads more quickly. If an entry's file can't be
+     * read, the labels are read from the roster index instead.
+     * <p>
+     * Defaults to the value of the {@value #LAZY_DETAIL_PROPERTY} system
+     * property. Applies to rosters read afterwards.
+     *
+     * @param lazy true to read labels when needed; false to read them with
+     *             the roster index
+     */
+    public static void setLazyDetail(boolean lazy) {
+        lazyDetail = lazy;
+    }
+
+    /**
+     * Read the locomotive element of an entry read from this roster's index,
+     * from the entry's own file or, failing that, from the roster index.
+     *
+     * @param entry the entry
+     * @return the element, or null if it can't be read
+     */
+    @CheckForNull
+    Element readEntryElement(RosterEntry entry) {
+        try {
+            File file = new File(getRosterFilesLocation() + entry.getFileName());
+            if (file.isFile()) {
+                Element loco = new LocoFile().rootFromFile(file).getChild("locomotive"); // NOI18N
+                if (loco != null) {
+                    return loco;
+                }
+            }
+            log.warn("Unable to read {}, reading roster entry \"{}\" from {}", file, entry.getId(), getRosterIndexPath());
+            Element roster = rootFromName(getRosterIndexPath()).getChild("roster"); // NOI18N
+            if (roster != null) {
+                for (Element loco : roster.getChildren("locomotive")) { // NOI18N
+                    if (entry.getId().equals(loco.getAttributeValue("id"))) { // NOI18N
+                        return loco;
+                    }
+                }
+            }
+        } catch (IOException | JDOMException ex) {
+            log.error("Unable to read roster entry \"{}\"", entry.getId(), ex);
+        }
+        return null;
+    }
+
+    private void invalidateIndex() {
+        synchronized (indexLock) {
+            indexVersion++;
+            index = null;
+        }
+    }
+
+    private Index getIndex() {
+        Index i = index;
+        if (i == null) {
+            long version;
+            synchronized (indexLock) {
+                version = indexVersion;
+            }
+            lock.readLock().lock();
+            try {
+                i = new Index(_list);
+            } finally {
+                lock.readLock().unlock();
+            }
+            synchronized (indexLock) {
+                // don't keep an index that changed while it was built
+                if (version == indexVersion) {
+                    index = i;
+                }
+            }
+        }
+        return i;
+    }
+
+    /**
+     * Entries by ID, DCC address and attribute, each list in roster order.
+     * An index isn't changed once built; it's replaced when the roster
+     * changes.
+     */
+    private static final class Index {
+
+        final Map<String, List<RosterEntry>> byId = new HashMap<>();
+        final Map<String, List<RosterEntry>> byAddress = new HashMap<>();
+        final Map<String, List<RosterEntry>> byAttribute = new HashMap<>();
+        final Map<String, Map<String, List<RosterEntry>>> byAttributeValue = new HashMap<>();
+        final Set<String> attributeKeys = new TreeSet<>();
+
+        Index(List<RosterEntry> entries) {
+            for (RosterEntry r : entries) {
+                byId.computeIfAbsent(r.getId(), k -> new ArrayList<>()).add(r);
+                byAddress.computeIfAbsent(r.getDccAddress(), k -> new ArrayList<>()).add(r);
+                for (String key : r.getAttributes()) {
+                    attributeKeys.add(key);
+                    String value = r.getAttribute(key);
+                    if (value != null) {
+                        byAttribute.computeIfAbsent(key, k -> new ArrayList<>()).add(r);
+                        byAttributeValue.computeIfAbsent(key, k -> new HashMap<>())
+                                .computeIfAbsent(value, k -> new ArrayList<>()).add(r);
+                    }
+                }
             }
         }
     }
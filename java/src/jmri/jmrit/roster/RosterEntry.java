@@ -91,6 +91,8 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
     public static final String SHUNTING_FUNCTION = "IsShuntingOn"; // NOI18N
     public static final String SPEED_PROFILE = "speedprofile"; // NOI18N
     public static final String SOUND_LABEL = "soundlabel"; // NOI18N
+    public static final String FUNCTION_LABELS = "functionlabels"; // NOI18N
+    public static final String SOUND_LABELS = "soundlabels"; // NOI18N
 
     // members to remember all the info
     protected String _fileName = null;
@@ -205,6 +207,7 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
         _URL = pEntry._URL;
         _maxSpeedPCT = pEntry._maxSpeedPCT;
         _isShuntingOn = pEntry._isShuntingOn;
+        pEntry.loadDetail();
 
         if (pEntry.functionLabels != null) {
             pEntry.functionLabels.forEach((key, value) -> {
@@ -634,6 +637,19 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
      * @param e Locomotive XML element
      */
     public RosterEntry(Element e) {
+        this(e, null);
+    }
+
+    /**
+     * Construct this Entry from XML, optionally leaving the function and sound
+     * labels to be read from the entry's own file when first needed.
+     *
+     * @param e      Locomotive XML element
+     * @param roster the roster to read the labels through when needed, or
+     *               null to read them from e now
+     * @see Roster#setLazyDetail(boolean)
+     */
+    RosterEntry(Element e, @CheckForNull Roster roster) {
         functionLabels = Collections.synchronizedMap(new HashMap<>());
         soundLabels = Collections.synchronizedMap(new HashMap<>());
         functionSelectedImages = Collections.synchronizedMap(new HashMap<>());
@@ -765,8 +781,14 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
             }
         }
 
-        loadFunctions(e.getChild("functionlabels"), "RosterEntry");
-        loadSounds(e.getChild("soundlabels"), "RosterEntry");
+        Element functions = e.getChild("functionlabels");
+        Element sounds = e.getChild("soundlabels");
+        if (roster != null && _fileName != null && (functions != null || sounds != null)) {
+            detailRoster = roster;
+        } else {
+            loadFunctions(functions, "RosterEntry");
+            loadSounds(sounds, "RosterEntry");
+        }
         loadAttributes(e.getChild("attributepairs"));
 
         if (e.getChild(RosterEntry.SPEED_PROFILE) != null) {
@@ -776,6 +798,36 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
 
     }
 
+    // the roster to read function and sound labels through, until read
+    private volatile Roster detailRoster = null;
+    private boolean loadingDetail = false;
+    private final Object detailLock = new Object();
+
+    /**
+     * Read the function and sound labels, if they were left to be read when
+     * first needed.
+     */
+    private void loadDetail() {
+        if (detailRoster == null) {
+            return;
+        }
+        synchronized (detailLock) {
+            Roster roster = detailRoster;
+            if (roster == null || loadingDetail) {
+                return;
+            }
+            loadingDetail = true;
+            try {
+                Element loco = roster.readEntryElement(this);
+                loadFunctions(loco != null ? loco.getChild("functionlabels") : null, "RosterEntry");
+                loadSounds(loco != null ? loco.getChild("soundlabels") : null, "RosterEntry");
+            } finally {
+                loadingDetail = false;
+                detailRoster = null;
+            }
+        }
+    }
+
     boolean loadedOnce = false;
 
     /**
@@ -798,6 +850,7 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
      *               source is the roster entry itself
      */
     public void loadFunctions(Element e3, String source) {
+        loadDetail();
         /*
          * Load flag once, means that when the roster entry is edited only the
          * first set of function labels are displayed ie those saved in the
@@ -857,6 +910,10 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
         if (source.equalsIgnoreCase("RosterEntry")) {
             loadedOnce = true;
         }
+        if (e3 != null) {
+            // labels may have changed, so the roster stores this entry afresh
+            firePropertyChange(RosterEntry.FUNCTION_LABELS, null, null);
+        }
     }
 
     boolean soundLoadedOnce = false;
@@ -870,6 +927,7 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
      *               source is the roster entry itself
      */
     public void loadSounds(Element e3, String source) {
+        loadDetail();
         /*
          * Load flag once, means that when the roster entry is edited only the
          * first set of sound labels are displayed ie those saved in the roster
@@ -896,6 +954,9 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
         if (source.equalsIgnoreCase("RosterEntry")) {
             soundLoadedOnce = true;
         }
+        if (e3 != null) {
+            firePropertyChange(RosterEntry.SOUND_LABELS, null, null);
+        }
     }
 
     /**
@@ -921,6 +982,7 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
      * @param label the label to use
      */
     public void setFunctionLabel(int fn, String label) {
+        loadDetail();
         if (functionLabels == null) {
             functionLabels = Collections.synchronizedMap(new HashMap<>());
         }
@@ -937,6 +999,7 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
      * @return function label or null if not defined
      */
     public String getFunctionLabel(int fn) {
+        loadDetail();
         if (functionLabels == null) {
             return null;
         }
@@ -950,6 +1013,7 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
      * @param label display label for the sound function
      */
     public void setSoundLabel(int fn, String label) {
+        loadDetail();
         if (soundLabels == null) {
             soundLabels = Collections.synchronizedMap(new HashMap<>());
         }
@@ -966,6 +1030,7 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
      * @return sound label or null
      */
     public String getSoundLabel(int fn) {
+        loadDetail();
         if (soundLabels == null) {
             return null;
         }
@@ -973,6 +1038,7 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
     }
 
     public void setFunctionImage(int fn, String s) {
+        loadDetail();
         if (functionImages == null) {
             functionImages = Collections.synchronizedMap(new HashMap<>());
         }
@@ -982,6 +1048,7 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
     }
 
     public String getFunctionImage(int fn) {
+        loadDetail();
         if (functionImages == null) {
             return null;
         }
@@ -989,6 +1056,7 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
     }
 
     public void setFunctionSelectedImage(int fn, String s) {
+        loadDetail();
         if (functionSelectedImages == null) {
             functionSelectedImages = Collections.synchronizedMap(new HashMap<>());
         }
@@ -998,6 +1066,7 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
     }
 
     public String getFunctionSelectedImage(int fn) {
+        loadDetail();
         if (functionSelectedImages == null) {
             return null;
         }
@@ -1011,6 +1080,7 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
      * @param lockable true if function is continuous; false if momentary
      */
     public void setFunctionLockable(int fn, boolean lockable) {
+        loadDetail();
         if (functionLockables == null) {
             functionLockables = Collections.synchronizedMap(new HashMap<>());
             functionLockables.put(fn, true);
@@ -1027,6 +1097,7 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
      * @return true if function is lockable
      */
     public boolean getFunctionLockable(int fn) {
+        loadDetail();
         if (functionLockables == null) {
             return true;
         }
@@ -1136,6 +1207,7 @@ public class RosterEntry extends ArbitraryBean implements RosterObject, BasicRos
      */
     @Override
     public Element store() {
+        loadDetail();
         Element e = new Element("locomotive");
         e.setAttribute("id", getId());
         e.setAttribute("fileName", getFileName());
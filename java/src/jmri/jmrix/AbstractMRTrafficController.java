@@ -305,8 +305,86 @@ public abstract class AbstractMRTrafficController {
     /**
      * Messages to be transmitted.
      */
-    protected LinkedList<AbstractMRMessage> msgQueue = new LinkedList<>();
-    protected LinkedList<AbstractMRListener> listenerQueue = new LinkedList<>();
+    protected final TransmitQueue transmitQueue = new TransmitQueue();
+
+    /**
+     * Traffic statistics for this connection.
+     */
+    protected final ConnectionTelemetry telemetry = new ConnectionTelemetry();
+
+    /**
+     * Get the traffic statistics for this connection.
+     *
+     * @return the statistics
+     */
+    public ConnectionTelemetry getTelemetry() {
+        return telemetry;
+    }
+
+    /**
+     * Get the queue of messages waiting to be transmitted, e.g. to display the
+     * depth of and wait time in each lane.
+     *
+     * @return the transmit queue
+     */
+    public TransmitQueue getTransmitQueue() {
+        return transmitQueue;
+    }
+
+    /**
+     * Get the lane of the transmit queue a message waits in. Messages in a
+     * higher priority lane are sent before those queued earlier in a lower
+     * priority lane.
+     * <p>
+     * By default all messages go in the {@link TransmitQueue.Lane#ACCESSORY}
+     * lane, so are sent in the order they are queued. Override to give e.g.
+     * emergency stop and throttle messages priority.
+     *
+     * @param m the message, which may be null
+     * @return the lane
+     */
+    protected TransmitQueue.Lane getTransmitLane(AbstractMRMessage m) {
+        return TransmitQueue.Lane.ACCESSORY;
+    }
+
+    /**
+     * Get the key used to coalesce a message with those waiting to be sent.
+     * <p>
+     * If a message with the same key is still waiting in the transmit queue,
+     * the new message replaces it, keeping its place in the queue. This is
+     * meant for messages that completely supersede earlier ones, like a speed
+     * and direction setting for a locomotive, which may otherwise pile up on a
+     * slow connection while a throttle slider is dragged.
+     * <p>
+     * By default no messages are coalesced. Override to opt in the message
+     * types that can be, e.g. by returning the locomotive address for speed
+     * and direction messages only.
+     *
+     * @param m the message, which may be null
+     * @return the key, or null if the message must not be coalesced
+     */
+    protected Object getCoalescingKey(AbstractMRMessage m) {
+        return null;
+    }
+
+    /**
+     * Get the coalescing key of the {@link TransmitQueue.Lane#THROTTLE} lane
+     * messages a message supersedes.
+     * <p>
+     * A message waiting in the throttle lane with this key is dropped when
+     * the message is queued. This is meant for messages sent in a higher
+     * priority lane that would otherwise be overtaken by, and so undone by,
+     * an older message, like an emergency stop for a locomotive that still
+     * has a speed setting waiting to be sent.
+     * <p>
+     * By default no messages are dropped.
+     *
+     * @param m the message, which may be null
+     * @return the key, or null if the message supersedes no other messages
+     */
+    protected Object getSupersededKey(AbstractMRMessage m) {
+        return null;
+    }
 
     /**
      * Forward message to the port. Messages are queued and then the
@@ -316,9 +394,18 @@ public abstract class AbstractMRTrafficController {
      * @param m the message to send
      * @param reply the Listener sending the message, often provided as 'this'
      */
-    protected synchronized void sendMessage(AbstractMRMessage m, AbstractMRListener reply) {
-        msgQueue.addLast(m);
-        listenerQueue.addLast(reply);
+    protected void sendMessage(AbstractMRMessage m, AbstractMRListener reply) {
+        Object superseded = getSupersededKey(m);
+        if (superseded != null && transmitQueue.remove(TransmitQueue.Lane.THROTTLE, superseded)) {
+            log.debug("message {} dropped a waiting throttle message", m);
+        }
+        if (transmitQueue.add(getTransmitLane(m), m, reply, getCoalescingKey(m))) {
+            telemetry.recordCoalesced();
+            log.debug("message {} replaced a waiting message", m);
+            return;
+        }
+        telemetry.recordQueued();
+        telemetry.recordQueueDepth(transmitQueue.getDepth());
         synchronized (xmtRunnable) {
             if (mCurrentState == IDLESTATE) {
                 mCurrentState = NOTIFIEDSTATE;
@@ -341,16 +428,13 @@ public abstract class AbstractMRTrafficController {
             AbstractMRMessage m = null;
             AbstractMRListener l = null;
             // check for something to do
-            synchronized (this) {
-                if (!msgQueue.isEmpty()) {
-                    // yes, something to do
-                    m = msgQueue.getFirst();
-                    msgQueue.removeFirst();
-                    l = listenerQueue.getFirst();
-                    listenerQueue.removeFirst();
-                    mCurrentState = WAITMSGREPLYSTATE;
-                    log.debug("transmit loop has something to do: {}", m);
-                }  // release lock here to proceed in parallel
+            TransmitQueue.Entry entry = transmitQueue.poll();
+            if (entry != null) {
+                // yes, something to do
+                m = entry.getMessage();
+                l = entry.getListener();
+                mCurrentState = WAITMSGREPLYSTATE;
+                log.debug("transmit loop has something to do: {}", m);
             }
             // if a message has been extracted, process it
             if (m != null) {
@@ -382,6 +466,7 @@ public abstract class AbstractMRTrafficController {
                     if (modeMsg != null) {
                         checkReplyInDispatch();
                         if (mCurrentState != OKSENDMSGSTATE) {
+                            telemetry.recordTimeout();
                             handleTimeout(modeMsg, l);
                         }
                         mCurrentState = WAITMSGREPLYSTATE;
@@ -393,6 +478,7 @@ public abstract class AbstractMRTrafficController {
                     }
                 }
                 forwardToPort(m, l);
+                telemetry.recordQueueLatency(System.nanoTime() - entry.getQueuedTime());
                 // reply expected?
                 if (m.replyExpected()) {
                     log.debug("reply expected is true for message {}",m);
@@ -400,11 +486,12 @@ public abstract class AbstractMRTrafficController {
                     transmitWait(m.getTimeout(), WAITMSGREPLYSTATE, "transmitLoop interrupted");
                     checkReplyInDispatch();
                     if (mCurrentState == WAITMSGREPLYSTATE) {
+                        telemetry.recordTimeout();
                         handleTimeout(m, l);
                     } else if (mCurrentState == AUTORETRYSTATE) {
                         log.info("Message added back to queue: {}", m);
-                        msgQueue.addFirst(m);
-                        listenerQueue.addFirst(l);
+                        telemetry.recordRetransmit();
+                        transmitQueue.addFirst(entry);
                         synchronized (xmtRunnable) {
                             mCurrentState = IDLESTATE;
                         }
@@ -462,6 +549,7 @@ public abstract class AbstractMRTrafficController {
                         // exit program mode timeout?
                         if (mCurrentState == WAITREPLYINNORMMODESTATE) {
                             // entering normal mode via timeout
+                            telemetry.recordTimeout();
                             handleTimeout(msg, l);
                             mCurrentMode = NORMALMODE;
                         }
@@ -481,6 +569,7 @@ public abstract class AbstractMRTrafficController {
                         checkReplyInDispatch();
                         // and go around again
                         if (mCurrentState == WAITMSGREPLYSTATE) {
+                            telemetry.recordTimeout();
                             handleTimeout(msg, l);
                         } else {
                             resetTimeout(msg);
@@ -692,6 +781,8 @@ public abstract class AbstractMRTrafficController {
                     if (portReadyToSend(controller)) {
                         ostream.write(msg);
                         ostream.flush();
+                        lastSentTime = System.nanoTime();
+                        telemetry.recordSent(msg.length);
                         log.debug("written, msg timeout: {} mSec", m.getTimeout());
                         break;
                     } else if (m.getRetries() >= 0) {
@@ -721,6 +812,9 @@ public abstract class AbstractMRTrafficController {
         }
     }
 
+    // when the last message was written to the port, to measure reply latency
+    private volatile long lastSentTime;
+
     protected void connectionWarn() {
         log.warn("sendMessage: no connection established for {}", this.getClass().getName(), new Exception());
     }
@@ -1059,7 +1153,8 @@ public abstract class AbstractMRTrafficController {
         loadChars(msg, istream);
 
         if (threadStopRequest) return;
-        
+        telemetry.recordReceived(msg.getNumDataElements());
+
         // message is complete, dispatch it !!
         replyInDispatch = true;
         log.debug("dispatch reply of length {} contains \"{}\", state {}", msg.getNumDataElements(), msg, mCurrentState);
@@ -1074,6 +1169,7 @@ public abstract class AbstractMRTrafficController {
             // effect on transmit:
             switch (mCurrentState) {
                 case WAITMSGREPLYSTATE: {
+                    telemetry.recordReplyLatency(System.nanoTime() - lastSentTime);
                     // check to see if the response was an error message we want
                     // to automatically handle by re-queueing the last sent
                     // message, otherwise go on to the next message
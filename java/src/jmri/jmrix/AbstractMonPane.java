@@ -6,9 +6,13 @@ import java.awt.event.ActionEvent;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
 import javax.swing.BoxLayout;
 import javax.swing.JButton;
 import javax.swing.JCheckBox;
@@ -17,10 +21,14 @@ import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
+import javax.swing.JTable;
 import javax.swing.JTextArea;
 import javax.swing.JTextField;
 import javax.swing.JToggleButton;
+import javax.swing.ListSelectionModel;
 import javax.swing.SwingUtilities;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.text.AbstractDocument;
 import javax.swing.text.AttributeSet;
 import javax.swing.text.BadLocationException;
@@ -29,6 +37,7 @@ import jmri.InstanceManager;
 import jmri.UserPreferencesManager;
 import jmri.util.FileUtil;
 import jmri.util.JmriJFrame;
+import jmri.util.StringUtil;
 import jmri.util.swing.JmriPanel;
 import jmri.util.swing.TextAreaFIFO;
 import org.slf4j.Logger;
@@ -37,6 +46,13 @@ import org.slf4j.LoggerFactory;
 /**
  * Abstract base class for JPanels displaying communications monitor
  * information.
+ * <p>
+ * By default each message is formatted as it's received, and the most recent
+ * lines are shown in a text area. A monitor can instead keep the raw traffic
+ * in a {@link MonitorStore} by overriding {@link #createMessageStore()} and
+ * passing messages to {@link #nextMessage(Message)}; entries are then only
+ * formatted, by {@link #formatMessage(byte[])}, when shown in a table or
+ * logged, and far more history is kept.
  *
  * @author Bob Jacobsen Copyright (C) 2001, 2003, 2010
  */
@@ -67,6 +83,10 @@ public abstract class AbstractMonPane extends JmriPanel {
         pm.setSimplePreferenceState(alwaysOnTopCheck, alwaysOnTopCheckBox.isSelected());
         pm.setSimplePreferenceState(autoScrollCheck, !autoScrollCheckBox.isSelected());
         pm.setProperty(filterFieldCheck, filterFieldCheck, filterField.getText());
+        if (refreshTimer != null) {
+            refreshTimer.stop();
+            refreshTimer = null;
+        }
         monTextPane.dispose();
         super.dispose();
     }
@@ -89,6 +109,8 @@ public abstract class AbstractMonPane extends JmriPanel {
     protected JButton openFileChooserButton = new JButton();
     protected JTextField entryField = new JTextField();
     protected JButton enterButton = new JButton();
+    protected JTextField findField = new JTextField();
+    protected JButton findButton = new JButton();
     String rawDataCheck = this.getClass().getName() + ".RawData"; // NOI18N
     String timeStampCheck = this.getClass().getName() + ".TimeStamp"; // NOI18N
     String alwaysOnTopCheck = this.getClass().getName() + ".AlwaysOnTop"; // NOI18N
@@ -102,6 +124,31 @@ public abstract class AbstractMonPane extends JmriPanel {
         super();
     }
 
+    /**
+     * Create the store that keeps the traffic shown by the monitor. Called
+     * once by {@link #initComponents()}.
+     * <p>
+     * By default there's no store, and lines are formatted and added to the
+     * text area as they're received. Monitors that return a store should pass
+     * messages to {@link #nextMessage(Message)}.
+     *
+     * @return the store, or null to show traffic in the text area
+     */
+    @CheckForNull
+    protected MonitorStore createMessageStore() {
+        return null;
+    }
+
+    /**
+     * Get the store keeping the traffic shown by the monitor.
+     *
+     * @return the store, or null if traffic is shown in the text area
+     */
+    @CheckForNull
+    public final MonitorStore getMessageStore() {
+        return messageStore;
+    }
+
     /**
      * By default, create just one place (one data pane) to put trace data.
      */
@@ -148,7 +195,11 @@ public abstract class AbstractMonPane extends JmriPanel {
         int x = jScrollPane1.getPreferredSize().width + t.getPreferredSize().width;
         int y = jScrollPane1.getPreferredSize().height + getInitialPreferredLineCount() * t.getPreferredSize().height;
 
-        jScrollPane1.getViewport().add(monTextPane);
+        if (messageTable != null) {
+            jScrollPane1.getViewport().add(messageTable);
+        } else {
+            jScrollPane1.getViewport().add(monTextPane);
+        }
         jScrollPane1.setPreferredSize(new Dimension(x, y));
         jScrollPane1.setVisible(true);
 
@@ -179,6 +230,10 @@ public abstract class AbstractMonPane extends JmriPanel {
         enterButton.setVisible(true);
         enterButton.setToolTipText(Bundle.getMessage("TooltipAddMessage")); // NOI18N
 
+        messageStore = createMessageStore();
+        if (messageStore != null) {
+            createMessageTable();
+        }
         createDataPanes();
 
         entryField.setToolTipText(Bundle.getMessage("TooltipEntryPane")); // NOI18N
@@ -197,29 +252,7 @@ public abstract class AbstractMonPane extends JmriPanel {
             // leave blank if previous value not retrieved
         }
         //automatically uppercase input in filterField, and only accept spaces and valid hex characters
-        ((AbstractDocument) filterField.getDocument()).setDocumentFilter(new DocumentFilter() {
-            final private static String PATTERN = "[0-9a-fA-F ]*+"; // typing inserts individual characters
-
-            @Override
-            public void insertString(DocumentFilter.FilterBypass fb, int offset, String text,
-                    AttributeSet attrs) throws BadLocationException {
-                if (text.matches(PATTERN)) { // NOI18N
-                    fb.insertString(offset, text.toUpperCase(), attrs);
-                } else {
-                    fb.insertString(offset, "", attrs);
-                }
-            }
-
-            @Override
-            public void replace(DocumentFilter.FilterBypass fb, int offset, int length, String text,
-                    AttributeSet attrs) throws BadLocationException {
-                if (text.matches(PATTERN)) { // NOI18N
-                    fb.replace(offset, length, text.toUpperCase(), attrs);
-                } else {
-                    fb.replace(offset, length, "", attrs);
-                }
-            }
-        });
+        ((AbstractDocument) filterField.getDocument()).setDocumentFilter(new HexDocumentFilter());
 
         startLogButton.setText(Bundle.getMessage("ButtonStartLogging")); // NOI18N
         startLogButton.setVisible(true);
@@ -316,6 +349,17 @@ public abstract class AbstractMonPane extends JmriPanel {
         pane3.add(entryField);
         paneA.add(pane3);
 
+        if (messageTable != null) {
+            JPanel pane4 = new JPanel();
+            pane4.setLayout(new BoxLayout(pane4, BoxLayout.X_AXIS));
+            JLabel findLabel = new JLabel(Bundle.getMessage("LabelFindBytes"), JLabel.LEFT); // NOI18N
+            findLabel.setLabelFor(findField);
+            pane4.add(findLabel);
+            pane4.add(findField);
+            pane4.add(findButton);
+            paneA.add(pane4);
+        }
+
         add(paneA);
 
         // connect actions to buttons
@@ -346,6 +390,33 @@ public abstract class AbstractMonPane extends JmriPanel {
             monTextPane.setAutoScroll(autoScrollCheckBox.isSelected());
         });
 
+        if (messageTable != null) {
+            rawCheckBox.addActionListener((ActionEvent e) -> messageModel.invalidate());
+            timeCheckBox.addActionListener((ActionEvent e) -> messageModel.invalidate());
+            findButton.addActionListener((ActionEvent e) -> findButtonActionPerformed(e));
+            findField.addActionListener((ActionEvent e) -> findButtonActionPerformed(e));
+            filterField.getDocument().addDocumentListener(new DocumentListener() {
+                @Override
+                public void insertUpdate(DocumentEvent e) {
+                    updateMessageFilter();
+                }
+
+                @Override
+                public void removeUpdate(DocumentEvent e) {
+                    updateMessageFilter();
+                }
+
+                @Override
+                public void changedUpdate(DocumentEvent e) {
+                    updateMessageFilter();
+                }
+            });
+            freezeButton.addActionListener((ActionEvent e) -> refreshMessageTable());
+            updateMessageFilter();
+            refreshTimer = new javax.swing.Timer(REFRESH_INTERVAL, (ActionEvent e) -> refreshMessageTable());
+            refreshTimer.setRepeats(false);
+        }
+
         // set file chooser to a default
         logFileChooser.setSelectedFile(new File("monitorLog.txt"));
 
@@ -354,6 +425,96 @@ public abstract class AbstractMonPane extends JmriPanel {
 
     }
 
+    /**
+     * Create the table showing the message store, and the controls to search
+     * it.
+     */
+    private void createMessageTable() {
+        messageModel = new MonitorTableModel(messageStore, this::formatEntry);
+        messageTable = new JTable(messageModel);
+        messageTable.setTableHeader(null);
+        messageTable.setShowGrid(false);
+        messageTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        messageTable.setToolTipText(Bundle.getMessage("TooltipMonTextPane")); // NOI18N
+
+        findField.setToolTipText(Bundle.getMessage("TooltipFind")); // NOI18N
+        findField.setMaximumSize(new Dimension(findField.getMaximumSize().width, findField.getPreferredSize().height));
+        ((AbstractDocument) findField.getDocument()).setDocumentFilter(new HexDocumentFilter());
+        findButton.setText(Bundle.getMessage("ButtonFindNext")); // NOI18N
+        findButton.setToolTipText(Bundle.getMessage("TooltipFind")); // NOI18N
+    }
+
+    /**
+     * Show the traffic received since the last refresh, unless frozen.
+     */
+    private void refreshMessageTable() {
+        refreshPending.set(false);
+        if (messageModel == null || freezeButton.isSelected()) {
+            return;
+        }
+        if (messageModel.refresh() > 0 && autoScrollCheckBox.isSelected()) {
+            int last = messageModel.getRowCount() - 1;
+            messageTable.scrollRectToVisible(messageTable.getCellRect(last, 0, true));
+        }
+    }
+
+    /**
+     * Hide the messages with the opcodes in the filter field.
+     */
+    private void updateMessageFilter() {
+        boolean[] hidden = new boolean[256];
+        boolean any = false;
+        for (String s : filterField.getText().trim().split(" +")) {
+            if (s.length() == 2) {
+                hidden[Integer.parseInt(s, 16)] = true;
+                any = true;
+            }
+        }
+        hiddenOpCodes = hidden;
+        messageModel.setFilter(any ? (long seq) -> !isFiltered(messageStore, seq) : null);
+    }
+
+    /**
+     * Check if an entry of the message store is hidden by the filter.
+     * <p>
+     * By default, messages with the first byte in the filter field are
+     * hidden. Called while synchronized on the store.
+     *
+     * @param store the store
+     * @param seq   the sequence number of the entry
+     * @return true if the entry is hidden
+     */
+    protected boolean isFiltered(@Nonnull MonitorStore store, long seq) {
+        return store.getKind(seq) == MonitorStore.MESSAGE && store.getLength(seq) > 0
+                && hiddenOpCodes[store.getByte(seq, 0)];
+    }
+
+    /**
+     * Select the next shown message containing the bytes in the find field.
+     *
+     * @param e the event that requested the search
+     */
+    public void findButtonActionPerformed(java.awt.event.ActionEvent e) {
+        String[] hex = findField.getText().trim().split(" +");
+        if (messageModel == null || hex[0].isEmpty()) {
+            return;
+        }
+        byte[] pattern = new byte[hex.length];
+        for (int i = 0; i < hex.length; i++) {
+            if (hex[i].length() > 2) {
+                return;
+            }
+            pattern[i] = (byte) Integer.parseInt(hex[i], 16);
+        }
+        int row = messageModel.find(messageTable.getSelectedRow() + 1, pattern);
+        if (row < 0) {
+            java.awt.Toolkit.getDefaultToolkit().beep();
+            return;
+        }
+        messageTable.setRowSelectionInterval(row, row);
+        messageTable.scrollRectToVisible(messageTable.getCellRect(row, 0, true));
+    }
+
     /**
      * Expand the display with additional options specific to the hardware.
      * @param parent a Panel (with vertical BoxLayout); overrides should add a new Panel with horizontal BoxLayout to hold the additional options.
@@ -369,6 +530,9 @@ public abstract class AbstractMonPane extends JmriPanel {
      */
     public void setFixedWidthFont() {
         monTextPane.setFont(new java.awt.Font("Monospaced", java.awt.Font.PLAIN, monTextPane.getFont().getSize()));
+        if (messageTable != null) {
+            messageTable.setFont(new java.awt.Font("Monospaced", java.awt.Font.PLAIN, messageTable.getFont().getSize()));
+        }
     }
 
     /**
@@ -432,6 +596,14 @@ public abstract class AbstractMonPane extends JmriPanel {
      */
     public void nextLineWithTime(Date timestamp, String line, String raw) {
 
+        if (messageStore != null) {
+            byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+            long seq = messageStore.add(timestamp.getTime(), MonitorStore.NOTE, bytes, 0, bytes.length);
+            logEntry(seq);
+            requestRefresh();
+            return;
+        }
+
         StringBuilder sb = new StringBuilder(120);
 
         // display the timestamp if requested
@@ -451,25 +623,7 @@ public abstract class AbstractMonPane extends JmriPanel {
         }
 
         // if requested, log to a file.
-        if (logStream != null) {
-            synchronized (logStream) {
-                String logLine = sb.toString();
-                if (!newline.equals("\n")) { // NOI18N
-                    // have to massage the line-ends
-                    int lim = sb.length();
-                    StringBuilder out = new StringBuilder(sb.length() + 10);  // arbitrary guess at space
-                    for (int i = 0; i < lim; i++) {
-                        if (sb.charAt(i) == '\n') { // NOI18N
-                            out.append(newline);
-                        } else {
-                            out.append(sb.charAt(i));
-                        }
-                    }
-                    logLine = out.toString();
-                }
-                logStream.print(logLine);
-            }
-        }
+        logLine(sb);
 
         // if frozen, exit without adding to the Swing thread
         if (freezeButton.isSelected()) {
@@ -489,6 +643,106 @@ public abstract class AbstractMonPane extends JmriPanel {
         });
     }
 
+    /**
+     * Add a message to the message store, to be formatted only when shown or
+     * logged. Only for monitors that create a store.
+     *
+     * @param message the message; ignored if the store hasn't been created
+     *                yet by {@link #initComponents()}
+     * @see #createMessageStore()
+     */
+    public void nextMessage(@Nonnull Message message) {
+        if (messageStore != null) {
+            logEntry(messageStore.add(System.currentTimeMillis(), message));
+            requestRefresh();
+        }
+    }
+
+    // show new traffic soon, once however much arrives in the meantime
+    private void requestRefresh() {
+        javax.swing.Timer t = refreshTimer;
+        if (t != null && !refreshPending.get() && !refreshPending.getAndSet(true)) {
+            t.start();
+        }
+    }
+
+    /**
+     * Format a message from the store for display.
+     * <p>
+     * Only used by monitors that create a store. The default shows the bytes
+     * of the message in hex.
+     *
+     * @param bytes the bytes of the message
+     * @return the text, ending with \n
+     */
+    @Nonnull
+    protected String formatMessage(@Nonnull byte[] bytes) {
+        return StringUtil.hexStringFromBytes(bytes).trim() + "\n";
+    }
+
+    /**
+     * Format an entry of the store as a line in the text area would be,
+     * with the timestamp and raw data if requested. Called while synchronized
+     * on the store.
+     *
+     * @param store the store
+     * @param seq   the sequence number of the entry
+     * @return the text
+     */
+    @Nonnull
+    private String formatEntry(@Nonnull MonitorStore store, long seq) {
+        StringBuilder sb = new StringBuilder(120);
+        if (timeCheckBox.isSelected()) {
+            synchronized (df) {
+                sb.append(df.format(new Date(store.getTime(seq)))).append(": ");
+            }
+        }
+        byte[] bytes = store.getBytes(seq);
+        if (store.getKind(seq) == MonitorStore.NOTE) {
+            sb.append(new String(bytes, StandardCharsets.UTF_8));
+        } else {
+            if (rawCheckBox.isSelected()) {
+                sb.append('[').append(StringUtil.hexStringFromBytes(bytes).trim()).append("]  "); // NOI18N
+            }
+            sb.append(formatMessage(bytes));
+        }
+        return sb.toString();
+    }
+
+    // log an entry of the message store, if logging
+    private void logEntry(long seq) {
+        if (logStream != null) {
+            synchronized (messageStore) {
+                if (messageStore.contains(seq)) {
+                    logLine(formatEntry(messageStore, seq));
+                }
+            }
+        }
+    }
+
+    private void logLine(CharSequence sb) {
+        PrintStream stream = logStream;
+        if (stream != null) {
+            synchronized (stream) {
+                String logLine = sb.toString();
+                if (!newline.equals("\n")) { // NOI18N
+                    // have to massage the line-ends
+                    int lim = sb.length();
+                    StringBuilder out = new StringBuilder(sb.length() + 10);  // arbitrary guess at space
+                    for (int i = 0; i < lim; i++) {
+                        if (sb.charAt(i) == '\n') { // NOI18N
+                            out.append(newline);
+                        } else {
+                            out.append(sb.charAt(i));
+                        }
+                    }
+                    logLine = out.toString();
+                }
+                stream.print(logLine);
+            }
+        }
+    }
+
     /**
      * Default filtering implementation, more of an example than anything else,
      * not clear it really works for any system. Override this in
@@ -547,6 +801,10 @@ public abstract class AbstractMonPane extends JmriPanel {
             linesBuffer.setLength(0);
             monTextPane.setText("");
         }
+        if (messageStore != null) {
+            messageStore.clear();
+            messageModel.refresh();
+        }
     }
 
     public String getFilePathAndName() {
@@ -626,13 +884,30 @@ public abstract class AbstractMonPane extends JmriPanel {
         nextLine(entryField.getText() + "\n", null); // NOI18N
     }
 
+    /**
+     * Get the text shown by the monitor.
+     * <p>
+     * For a monitor with a message store, this formats every entry shown, so
+     * can be slow with a lot of history.
+     *
+     * @return the text
+     */
     public synchronized String getFrameText() {
+        if (messageModel != null) {
+            refreshMessageTable();
+            StringBuilder sb = new StringBuilder();
+            for (int row = 0; row < messageModel.getRowCount(); row++) {
+                sb.append(messageModel.getText(row));
+            }
+            return sb.toString();
+        }
         return monTextPane.getText();
     }
 
     /**
      * Get access to the main text area. This is intended for use in e.g.
-     * scripting to extend the behavior of the window.
+     * scripting to extend the behavior of the window. Not shown by monitors
+     * with a message store.
      *
      * @return the main text area
      */
@@ -656,6 +931,42 @@ public abstract class AbstractMonPane extends JmriPanel {
     protected StringBuffer linesBuffer = new StringBuffer();
     private static final int MAX_LINES = 500;
 
+    private volatile MonitorStore messageStore = null;
+    private MonitorTableModel messageModel = null;
+    private JTable messageTable = null;
+    private volatile javax.swing.Timer refreshTimer = null;
+    private final AtomicBoolean refreshPending = new AtomicBoolean(false);
+    private boolean[] hiddenOpCodes = new boolean[256];
+    private static final int REFRESH_INTERVAL = 100; // milliseconds
+
+    /**
+     * Convert input to upper case, and only accept spaces and hex characters.
+     */
+    private static class HexDocumentFilter extends DocumentFilter {
+
+        final private static String PATTERN = "[0-9a-fA-F ]*+"; // typing inserts individual characters
+
+        @Override
+        public void insertString(DocumentFilter.FilterBypass fb, int offset, String text,
+                AttributeSet attrs) throws BadLocationException {
+            if (text.matches(PATTERN)) { // NOI18N
+                fb.insertString(offset, text.toUpperCase(), attrs);
+            } else {
+                fb.insertString(offset, "", attrs);
+            }
+        }
+
+        @Override
+        public void replace(DocumentFilter.FilterBypass fb, int offset, int length, String text,
+                AttributeSet attrs) throws BadLocationException {
+            if (text.matches(PATTERN)) { // NOI18N
+                fb.replace(offset, length, text.toUpperCase(), attrs);
+            } else {
+                fb.replace(offset, length, "", attrs);
+            }
+        }
+    }
+
     private static final Logger log = LoggerFactory.getLogger(AbstractMonPane.class);
 
 }
@@ -0,0 +1,257 @@
+package jmri.jmrix;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Traffic statistics for a connection to the layout, to find out e.g. which
+ * bus is saturated during an operating session.
+ * <p>
+ * A traffic controller keeps one of these and records each message queued,
+ * sent and received, the time messages wait to be sent and for their replies,
+ * retransmissions and timeouts. The traffic controller stores it in its
+ * {@link jmri.SystemConnectionMemo}, from where displays get it with
+ * {@code memo.get(ConnectionTelemetry.class)}.
+ * <p>
+ * All the record methods are thread safe and don't allocate or lock, so they
+ * can be called for every message.
+ */
+public class ConnectionTelemetry {
+
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder sentBytes = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder receivedBytes = new LongAdder();
+    private final LongAdder retransmits = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final AtomicInteger queueHighWater = new AtomicInteger();
+    private final LatencyHistogram queueLatency = new LatencyHistogram();
+    private final LatencyHistogram replyLatency = new LatencyHistogram();
+
+    // rates are measured over the last complete interval of at least RATE_INTERVAL
+    private static final long RATE_INTERVAL = 1000000000L;
+    private long rateIntervalStart = System.nanoTime();
+    private long[] rateIntervalCounts = new long[4];
+    private final double[] rates = new double[4];
+
+    /**
+     * Record a message queued to be sent.
+     */
+    public void recordQueued() {
+        queued.increment();
+    }
+
+    /**
+     * Record a message that replaced one waiting to be sent, instead of being
+     * queued.
+     */
+    public void recordCoalesced() {
+        coalesced.increment();
+    }
+
+    /**
+     * Record the number of messages waiting to be sent.
+     *
+     * @param depth the number of messages waiting
+     */
+    public void recordQueueDepth(int depth) {
+        if (depth > queueHighWater.get()) {
+            queueHighWater.accumulateAndGet(depth, Math::max);
+        }
+    }
+
+    /**
+     * Record a message written to the connection.
+     *
+     * @param bytes the number of bytes written
+     */
+    public void recordSent(int bytes) {
+        sent.increment();
+        sentBytes.add(bytes);
+    }
+
+    /**
+     * Record a message received from the connection.
+     *
+     * @param bytes the number of bytes received
+     */
+    public void recordReceived(int bytes) {
+        received.increment();
+        receivedBytes.add(bytes);
+    }
+
+    /**
+     * Record the time from a message being queued to it being written to the
+     * connection.
+     *
+     * @param nanos the time in nanoseconds
+     */
+    public void recordQueueLatency(long nanos) {
+        queueLatency.record(nanos);
+    }
+
+    /**
+     * Record the time from a message being written to the connection to its
+     * reply being received.
+     *
+     * @param nanos the time in nanoseconds
+     */
+    public void recordReplyLatency(long nanos) {
+        replyLatency.record(nanos);
+    }
+
+    /**
+     * Record a message being sent again, e.g. after an error reply.
+     */
+    public void recordRetransmit() {
+        retransmits.increment();
+    }
+
+    /**
+     * Record a timeout waiting for a reply.
+     */
+    public void recordTimeout() {
+        timeouts.increment();
+    }
+
+    public long getQueuedCount() {
+        return queued.sum();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    public long getSentCount() {
+        return sent.sum();
+    }
+
+    public long getSentBytes() {
+        return sentBytes.sum();
+    }
+
+    public long getReceivedCount() {
+        return received.sum();
+    }
+
+    public long getReceivedBytes() {
+        return receivedBytes.sum();
+    }
+
+    public long getRetransmitCount() {
+        return retransmits.sum();
+    }
+
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    /**
+     * Get the largest number of messages that have been waiting to be sent.
+     *
+     * @return the queue depth high-water mark
+     */
+    public int getQueueHighWater() {
+        return queueHighWater.get();
+    }
+
+    /**
+     * Get the times from messages being queued to being written to the
+     * connection.
+     *
+     * @return the histogram of times
+     */
+    public LatencyHistogram getQueueLatency() {
+        return queueLatency;
+    }
+
+    /**
+     * Get the times from messages being written to the connection to their
+     * replies being received.
+     *
+     * @return the histogram of times
+     */
+    public LatencyHistogram getReplyLatency() {
+        return replyLatency;
+    }
+
+    /**
+     * Get the number of messages written to the connection per second.
+     *
+     * @return the rate over the last interval of at least a second
+     */
+    public double getSentRate() {
+        return getRate(0);
+    }
+
+    /**
+     * Get the number of bytes written to the connection per second.
+     *
+     * @return the rate over the last interval of at least a second
+     */
+    public double getSentByteRate() {
+        return getRate(1);
+    }
+
+    /**
+     * Get the number of messages received from the connection per second.
+     *
+     * @return the rate over the last interval of at least a second
+     */
+    public double getReceivedRate() {
+        return getRate(2);
+    }
+
+    /**
+     * Get the number of bytes received from the connection per second.
+     *
+     * @return the rate over the last interval of at least a second
+     */
+    public double getReceivedByteRate() {
+        return getRate(3);
+    }
+
+    private synchronized double getRate(int index) {
+        long now = System.nanoTime();
+        long elapsed = now - rateIntervalStart;
+        if (elapsed >= RATE_INTERVAL) {
+            long[] counts = counts();
+            for (int i = 0; i < counts.length; i++) {
+                rates[i] = (counts[i] - rateIntervalCounts[i]) * 1e9 / elapsed;
+            }
+            rateIntervalCounts = counts;
+            rateIntervalStart = now;
+        }
+        return rates[index];
+    }
+
+    private long[] counts() {
+        return new long[]{sent.sum(), sentBytes.sum(), received.sum(), receivedBytes.sum()};
+    }
+
+    /**
+     * Reset all counts, high-water marks, histograms and rates.
+     */
+    public void reset() {
+        queued.reset();
+        coalesced.reset();
+        sent.reset();
+        sentBytes.reset();
+        received.reset();
+        receivedBytes.reset();
+        retransmits.reset();
+        timeouts.reset();
+        queueHighWater.set(0);
+        queueLatency.reset();
+        replyLatency.reset();
+        synchronized (this) {
+            rateIntervalStart = System.nanoTime();
+            rateIntervalCounts = new long[4];
+            Arrays.fill(rates, 0.0);
+        }
+    }
+
+}
@@ -0,0 +1,145 @@
+package jmri.jmrix;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of latencies in nanoseconds, for finding e.g. the median and 99th
+ * percentile of the time messages spend waiting to be sent.
+ * <p>
+ * Like an HDR histogram, values are counted in log-linear buckets: each power
+ * of two range is split into {@value #SUB_BUCKETS} equal buckets, so any value
+ * from zero to {@link Long#MAX_VALUE} is kept with a relative error of at most
+ * 1/{@value #SUB_BUCKETS}, in a fixed number of buckets.
+ * <p>
+ * Recording a value doesn't allocate or lock, so it can be done from the
+ * transmit and receive threads of a connection for every message. Reading the
+ * histogram while values are being recorded gives a consistent enough view
+ * for display.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    /**
+     * The number of buckets each power of two range is split into.
+     */
+    static final int SUB_BUCKETS = 1 << (SUB_BUCKET_BITS - 1);
+
+    // the first 2*SUB_BUCKETS values have a bucket each, then SUB_BUCKETS for
+    // each following power of two
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    static int bucketIndex(long value) {
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        if (msb < SUB_BUCKET_BITS) {
+            return (int) value;
+        }
+        int shift = msb - SUB_BUCKET_BITS + 1;
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    static long bucketLowestValue(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        return (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+    }
+
+    static long bucketHighestValue(int index) {
+        if (index == BUCKETS - 1) {
+            return Long.MAX_VALUE;
+        }
+        return bucketLowestValue(index + 1) - 1;
+    }
+
+    /**
+     * Record a latency.
+     *
+     * @param nanos the latency in nanoseconds; negative values are recorded as
+     *              zero
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(bucketIndex(value));
+        count.increment();
+        sum.add(value);
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * Get the number of latencies recorded.
+     *
+     * @return the number recorded
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Get the mean of the latencies recorded.
+     *
+     * @return the mean in nanoseconds, or 0 if none have been recorded
+     */
+    public long getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : sum.sum() / n;
+    }
+
+    /**
+     * Get the largest latency recorded.
+     *
+     * @return the maximum in nanoseconds, or 0 if none have been recorded
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Get the latency at a percentile of those recorded.
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the highest latency in the bucket containing the percentile, in
+     *         nanoseconds; never more than the maximum recorded; 0 if none
+     *         have been recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += buckets.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100.0, Math.max(0.0, percentile)) / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(bucketHighestValue(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Remove all recorded latencies.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+}
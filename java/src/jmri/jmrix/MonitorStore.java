@@ -0,0 +1,369 @@
+package jmri.jmrix;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Hold the most recent traffic seen by a monitor, as raw bytes with a
+ * timestamp, in a bounded amount of memory.
+ * <p>
+ * Entries are kept in primitive arrays used as ring buffers: the bytes of all
+ * entries share one byte array, and each entry has its time, kind, length and
+ * position in parallel arrays. The arrays start small and double as they fill
+ * up to the capacities of the store, so a monitor that sees little traffic
+ * uses little memory. Once the arrays are at full size nothing is allocated
+ * as entries are added, so millions of messages can be kept without adding
+ * work for the garbage collector, and once either the entries or the bytes
+ * are full the oldest entries are overwritten.
+ * <p>
+ * Each entry has a sequence number, starting at 0 and increasing by one for
+ * each entry added, that identifies it while it's held. Entries from
+ * {@link #getFirst()} up to, but not including, {@link #getNext()} are held.
+ * <p>
+ * Entries are added by the thread that receives the traffic and read by the
+ * thread displaying it. Reads of several values of an entry that must be
+ * consistent, e.g. checking {@link #contains(long)} before reading, should
+ * synchronize on the store.
+ */
+public class MonitorStore {
+
+    /**
+     * The kind of an entry holding a message.
+     */
+    public static final int MESSAGE = 0;
+
+    /**
+     * The kind of an entry holding a line of text, e.g. added by the user,
+     * encoded as UTF-8.
+     */
+    public static final int NOTE = 1;
+
+    /**
+     * The default number of entries held.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 20;
+
+    /**
+     * The default number of bytes of traffic held.
+     */
+    public static final int DEFAULT_DATA_CAPACITY = 1 << 23;
+
+    // the arrays first hold this many entries and bytes, or the capacities
+    // if less
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int INITIAL_DATA_CAPACITY = 1 << 14;
+
+    private final int capacity;
+    private final int dataCapacity;
+    private long[] times;
+    private long[] positions;
+    private int[] lengths;
+    private byte[] kinds;
+    private byte[] data;
+
+    // sequence numbers of the oldest held entry and the next entry
+    private long first = 0;
+    private long next = 0;
+    // total number of bytes ever added
+    private long dataNext = 0;
+
+    public MonitorStore() {
+        this(DEFAULT_CAPACITY, DEFAULT_DATA_CAPACITY);
+    }
+
+    /**
+     * Create a store.
+     *
+     * @param capacity     the number of entries to hold
+     * @param dataCapacity the number of bytes to hold
+     * @throws IllegalArgumentException if either capacity is less than 1
+     */
+    public MonitorStore(int capacity, int dataCapacity) {
+        if (capacity < 1 || dataCapacity < 1) {
+            throw new IllegalArgumentException("capacities must be at least 1");
+        }
+        this.capacity = capacity;
+        this.dataCapacity = dataCapacity;
+        int initial = Math.min(capacity, INITIAL_CAPACITY);
+        times = new long[initial];
+        positions = new long[initial];
+        lengths = new int[initial];
+        kinds = new byte[initial];
+        data = new byte[Math.min(dataCapacity, INITIAL_DATA_CAPACITY)];
+    }
+
+    /**
+     * Get the number of entries the store can hold.
+     *
+     * @return the number of entries
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Add a message.
+     *
+     * @param time    the time the message was seen, in milliseconds since
+     *                the epoch
+     * @param message the message
+     * @return the sequence number of the entry
+     */
+    public synchronized long add(long time, @Nonnull Message message) {
+        int length = Math.min(message.getNumDataElements(), dataCapacity);
+        long position = reserve(time, MESSAGE, length);
+        int p = (int) (position % data.length);
+        for (int i = 0; i < length; i++) {
+            data[p] = (byte) message.getElement(i);
+            if (++p == data.length) {
+                p = 0;
+            }
+        }
+        return next++;
+    }
+
+    /**
+     * Add an entry.
+     *
+     * @param time   the time, in milliseconds since the epoch
+     * @param kind   the kind of entry, {@link #MESSAGE}, {@link #NOTE} or a
+     *               value from 2 to 127 with a meaning for the monitor
+     * @param bytes  the bytes of the entry
+     * @param offset the offset of the entry in bytes
+     * @param length the number of bytes; bytes past the store's data
+     *               capacity are dropped
+     * @return the sequence number of the entry
+     */
+    public synchronized long add(long time, int kind, @Nonnull byte[] bytes, int offset, int length) {
+        length = Math.min(length, dataCapacity);
+        long position = reserve(time, kind, length);
+        int p = (int) (position % data.length);
+        int n = Math.min(length, data.length - p);
+        System.arraycopy(bytes, offset, data, p, n);
+        System.arraycopy(bytes, offset + n, data, 0, length - n);
+        return next++;
+    }
+
+    // grow the arrays or drop the entries whose space is needed, and record
+    // the new entry
+    private long reserve(long time, int kind, int length) {
+        if (next - first == times.length) {
+            if (times.length < capacity) {
+                growEntries();
+            } else {
+                first++;
+            }
+        }
+        long held = dataNext - (first < next ? positions[index(first)] : dataNext);
+        if (held + length > data.length && data.length < dataCapacity) {
+            growData(held + length);
+        }
+        long position = dataNext;
+        dataNext += length;
+        while (first < next && positions[index(first)] < dataNext - data.length) {
+            first++;
+        }
+        int i = index(next);
+        times[i] = time;
+        positions[i] = position;
+        lengths[i] = length;
+        kinds[i] = (byte) kind;
+        return position;
+    }
+
+    // an entry's index is its sequence number modulo the array length, so
+    // each held entry is moved to its index in the larger arrays
+    private void growEntries() {
+        int length = (int) Math.min(capacity, 2L * times.length);
+        long[] newTimes = new long[length];
+        long[] newPositions = new long[length];
+        int[] newLengths = new int[length];
+        byte[] newKinds = new byte[length];
+        for (long seq = first; seq < next; seq++) {
+            int i = index(seq);
+            int j = (int) (seq % length);
+            newTimes[j] = times[i];
+            newPositions[j] = positions[i];
+            newLengths[j] = lengths[i];
+            newKinds[j] = kinds[i];
+        }
+        times = newTimes;
+        positions = newPositions;
+        lengths = newLengths;
+        kinds = newKinds;
+    }
+
+    // as for entries, held bytes are moved to their position modulo the
+    // array length
+    private void growData(long needed) {
+        long length = data.length;
+        while (length < needed && length < dataCapacity) {
+            length *= 2;
+        }
+        byte[] newData = new byte[(int) Math.min(dataCapacity, length)];
+        for (long p = first < next ? positions[index(first)] : dataNext; p < dataNext; p++) {
+            newData[(int) (p % newData.length)] = data[(int) (p % data.length)];
+        }
+        data = newData;
+    }
+
+    private int index(long seq) {
+        return (int) (seq % times.length);
+    }
+
+    private int checkedIndex(long seq) {
+        if (seq < first || seq >= next) {
+            throw new IndexOutOfBoundsException("entry " + seq + " is not held");
+        }
+        return index(seq);
+    }
+
+    /**
+     * Remove all entries. Sequence numbers continue from where they were.
+     */
+    public synchronized void clear() {
+        first = next;
+    }
+
+    /**
+     * Get the sequence number of the oldest entry held.
+     *
+     * @return the sequence number, equal to {@link #getNext()} if the store
+     *         is empty
+     */
+    public synchronized long getFirst() {
+        return first;
+    }
+
+    /**
+     * Get the sequence number the next entry added will have.
+     *
+     * @return the sequence number
+     */
+    public synchronized long getNext() {
+        return next;
+    }
+
+    /**
+     * Get the number of entries held.
+     *
+     * @return the number of entries
+     */
+    public synchronized int size() {
+        return (int) (next - first);
+    }
+
+    /**
+     * Check if an entry is still held.
+     *
+     * @param seq the sequence number of the entry
+     * @return true if held; false if it hasn't been added or was overwritten
+     */
+    public synchronized boolean contains(long seq) {
+        return seq >= first && seq < next;
+    }
+
+    /**
+     * Get the time of an entry.
+     *
+     * @param seq the sequence number of the entry
+     * @return the time in milliseconds since the epoch
+     * @throws IndexOutOfBoundsException if the entry isn't held
+     */
+    public synchronized long getTime(long seq) {
+        return times[checkedIndex(seq)];
+    }
+
+    /**
+     * Get the kind of an entry.
+     *
+     * @param seq the sequence number of the entry
+     * @return the kind
+     * @throws IndexOutOfBoundsException if the entry isn't held
+     */
+    public synchronized int getKind(long seq) {
+        return kinds[checkedIndex(seq)];
+    }
+
+    /**
+     * Get the number of bytes in an entry.
+     *
+     * @param seq the sequence number of the entry
+     * @return the number of bytes
+     * @throws IndexOutOfBoundsException if the entry isn't held
+     */
+    public synchronized int getLength(long seq) {
+        return lengths[checkedIndex(seq)];
+    }
+
+    /**
+     * Get one byte of an entry.
+     *
+     * @param seq   the sequence number of the entry
+     * @param index the index of the byte in the entry
+     * @return the byte, from 0 to 255
+     * @throws IndexOutOfBoundsException if the entry isn't held or is too
+     *                                   short
+     */
+    public synchronized int getByte(long seq, int index) {
+        int i = checkedIndex(seq);
+        if (index < 0 || index >= lengths[i]) {
+            throw new IndexOutOfBoundsException("index " + index + " of entry with length " + lengths[i]);
+        }
+        return data[(int) ((positions[i] + index) % data.length)] & 0xFF;
+    }
+
+    /**
+     * Get the bytes of an entry.
+     *
+     * @param seq the sequence number of the entry
+     * @return a copy of the bytes
+     * @throws IndexOutOfBoundsException if the entry isn't held
+     */
+    @Nonnull
+    public synchronized byte[] getBytes(long seq) {
+        int i = checkedIndex(seq);
+        byte[] bytes = new byte[lengths[i]];
+        int p = (int) (positions[i] % data.length);
+        int n = Math.min(bytes.length, data.length - p);
+        System.arraycopy(data, p, bytes, 0, n);
+        System.arraycopy(data, 0, bytes, n, bytes.length - n);
+        return bytes;
+    }
+
+    /**
+     * Find the first entry of a kind containing a sequence of bytes, without
+     * copying the entries.
+     *
+     * @param from    the sequence number to start at; if it's no longer held,
+     *                the search starts at the oldest entry
+     * @param kind    the kind of entry to search
+     * @param pattern the bytes to find
+     * @return the sequence number of the entry, or -1 if no entry from
+     *         {@code from} on contains the bytes
+     */
+    public synchronized long find(long from, int kind, @Nonnull byte[] pattern) {
+        for (long seq = Math.max(from, first); seq < next; seq++) {
+            int i = index(seq);
+            if (kinds[i] == kind && contains(i, pattern)) {
+                return seq;
+            }
+        }
+        return -1;
+    }
+
+    private boolean contains(int i, byte[] pattern) {
+        int length = lengths[i];
+        long start = positions[i];
+        for (int j = 0; j <= length - pattern.length; j++) {
+            int k = 0;
+            while (k < pattern.length && data[(int) ((start + j + k) % data.length)] == pattern[k]) {
+                k++;
+            }
+            if (k == pattern.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,274 @@
+package jmri.jmrix;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongPredicate;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Show the entries of a {@link MonitorStore} in a table, one row per entry.
+ * <p>
+ * Entries are only formatted when a row is shown, so a table of millions of
+ * entries costs no more than the few rows on screen; the text of recently
+ * shown rows is cached so repainting doesn't format them again. The rows are
+ * brought up to date with the store by {@link #refresh()}, so new traffic
+ * costs nothing until the display is next refreshed.
+ * <p>
+ * A filter selects which entries are shown. With no filter, the rows are the
+ * entries held by the store; otherwise the sequence numbers of the entries
+ * shown are kept in a primitive array, extended as new entries are added.
+ * <p>
+ * Only used on the Swing thread.
+ */
+public class MonitorTableModel extends AbstractTableModel {
+
+    /**
+     * Formats an entry of the store.
+     */
+    @FunctionalInterface
+    public interface Formatter {
+
+        /**
+         * Format an entry. Called while synchronized on the store, with an
+         * entry that's held.
+         *
+         * @param store the store
+         * @param seq   the sequence number of the entry
+         * @return the text, with a line end after each line
+         */
+        @Nonnull
+        String format(@Nonnull MonitorStore store, long seq);
+    }
+
+    private static final int CACHE_SIZE = 512;
+
+    private final MonitorStore store;
+    private final Formatter formatter;
+    private LongPredicate filter = null;
+
+    // without a filter, the entries shown
+    private long viewFirst = 0;
+    private long viewNext = 0;
+    // with a filter, the sequence numbers of the entries shown
+    private long[] matches = new long[64];
+    private int matchStart = 0;
+    private int matchEnd = 0;
+    // next entry to check against the filter
+    private long scanned = 0;
+
+    private final Map<Long, String> cache = new LinkedHashMap<Long, String>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    public MonitorTableModel(@Nonnull MonitorStore store, @Nonnull Formatter formatter) {
+        this.store = store;
+        this.formatter = formatter;
+    }
+
+    @Nonnull
+    public MonitorStore getStore() {
+        return store;
+    }
+
+    /**
+     * Set which entries are shown, and show the entries held by the store
+     * that pass.
+     *
+     * @param filter called with the sequence number of each entry while
+     *               synchronized on the store, returning true if the entry
+     *               is shown; null to show all entries
+     */
+    public void setFilter(@CheckForNull LongPredicate filter) {
+        this.filter = filter;
+        synchronized (store) {
+            viewFirst = viewNext = scanned = store.getFirst();
+        }
+        matchStart = matchEnd = 0;
+        fireTableDataChanged();
+        refresh();
+    }
+
+    /**
+     * Show the entries added to the store since the last refresh, and drop
+     * those overwritten or cleared.
+     *
+     * @return the number of rows added
+     */
+    public int refresh() {
+        long first;
+        long next;
+        synchronized (store) {
+            first = store.getFirst();
+            next = store.getNext();
+        }
+        if (filter == null) {
+            int dropped = (int) Math.min(viewNext - viewFirst, Math.max(0, first - viewFirst));
+            if (dropped > 0) {
+                fireTableRowsDeleted(0, dropped - 1);
+            }
+            int added = (int) (next - Math.max(viewNext, first));
+            viewFirst = first;
+            viewNext = next;
+            if (added > 0) {
+                fireTableRowsInserted(getRowCount() - added, getRowCount() - 1);
+            }
+            return added;
+        }
+        int dropped = 0;
+        while (matchStart + dropped < matchEnd && matches[matchStart + dropped] < first) {
+            dropped++;
+        }
+        if (dropped > 0) {
+            matchStart += dropped;
+            fireTableRowsDeleted(0, dropped - 1);
+        }
+        int oldRows = getRowCount();
+        synchronized (store) {
+            for (long seq = Math.max(scanned, store.getFirst()); seq < next; seq++) {
+                if (filter.test(seq)) {
+                    addMatch(seq);
+                }
+            }
+        }
+        scanned = next;
+        int added = getRowCount() - oldRows;
+        if (added > 0) {
+            fireTableRowsInserted(oldRows, getRowCount() - 1);
+        }
+        return added;
+    }
+
+    private void addMatch(long seq) {
+        if (matchEnd == matches.length) {
+            int rows = matchEnd - matchStart;
+            if (rows > matches.length / 2) {
+                matches = Arrays.copyOf(matches, Math.min(matches.length * 2, Math.max(store.getCapacity(), 64)));
+            }
+            if (matchEnd == matches.length) {
+                System.arraycopy(matches, matchStart, matches, 0, rows);
+                matchStart = 0;
+                matchEnd = rows;
+            }
+        }
+        matches[matchEnd++] = seq;
+    }
+
+    /**
+     * Drop the cached text of the rows, e.g. after a change to how entries
+     * are formatted, and redisplay them.
+     */
+    public void invalidate() {
+        cache.clear();
+        fireTableDataChanged();
+    }
+
+    /**
+     * Get the sequence number of the entry in a row.
+     *
+     * @param row the row
+     * @return the sequence number
+     */
+    public long getSequence(int row) {
+        return filter == null ? viewFirst + row : matches[matchStart + row];
+    }
+
+    /**
+     * Get the row showing an entry.
+     *
+     * @param seq the sequence number of the entry
+     * @return the row, or -1 if the entry isn't shown
+     */
+    public int getRow(long seq) {
+        if (filter == null) {
+            return seq >= viewFirst && seq < viewNext ? (int) (seq - viewFirst) : -1;
+        }
+        int i = Arrays.binarySearch(matches, matchStart, matchEnd, seq);
+        return i < 0 ? -1 : i - matchStart;
+    }
+
+    /**
+     * Find the first row at or after a row with a message containing a
+     * sequence of bytes, searching the raw bytes in the store.
+     *
+     * @param row     the row to start at
+     * @param pattern the bytes to find
+     * @return the row, or -1 if not found
+     */
+    public int find(int row, @Nonnull byte[] pattern) {
+        if (row >= getRowCount()) {
+            return -1;
+        }
+        long seq = getSequence(Math.max(row, 0));
+        while ((seq = store.find(seq, MonitorStore.MESSAGE, pattern)) >= 0) {
+            int found = getRow(seq);
+            if (found >= 0) {
+                return found;
+            }
+            if (seq >= (filter == null ? viewNext : scanned)) {
+                return -1; // not yet shown
+            }
+            seq++;
+        }
+        return -1;
+    }
+
+    /**
+     * Get the text of a row.
+     *
+     * @param row the row
+     * @return the formatted entry, with a line end after each line, or an
+     *         empty string if it's no longer held by the store
+     */
+    @Nonnull
+    public String getText(int row) {
+        long seq = getSequence(row);
+        String text = cache.get(seq);
+        if (text == null) {
+            synchronized (store) {
+                if (!store.contains(seq)) {
+                    return "";
+                }
+                text = formatter.format(store, seq);
+            }
+            cache.put(seq, text);
+        }
+        return text;
+    }
+
+    @Override
+    public int getRowCount() {
+        return filter == null ? (int) (viewNext - viewFirst) : matchEnd - matchStart;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return 1;
+    }
+
+    @Override
+    public Class<?> getColumnClass(int col) {
+        return String.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Shows the text of the row on one line.
+     */
+    @Override
+    public Object getValueAt(int row, int col) {
+        String text = getText(row);
+        int end = text.length();
+        while (end > 0 && text.charAt(end - 1) == '\n') {
+            end--;
+        }
+        return text.substring(0, end).replace('\n', ' ');
+    }
+
+}
@@ -0,0 +1,371 @@
+package jmri.jmrix;
+
+import java.util.EnumMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Queue of messages waiting to be transmitted by an
+ * {@link AbstractMRTrafficController}.
+ * <p>
+ * Messages are held in priority lanes, so that e.g. an emergency stop doesn't
+ * wait behind a long route setup. The transmit thread always takes the oldest
+ * message from the highest priority lane that isn't empty. Within a lane,
+ * messages are sent in the order they were queued.
+ * <p>
+ * Each lane is a lock-free queue, so threads queueing messages never block
+ * each other or the transmit thread. Only the transmit thread takes messages
+ * from the queue.
+ * <p>
+ * A message can be queued with a coalescing key, e.g. the locomotive address
+ * of a speed and direction message. If a message with the same key is still
+ * waiting in the same lane, the new message replaces it in place, keeping the
+ * queue position of the old one, as there is no point sending a speed that has
+ * already been superseded. Adding a message with a key takes a short lock on
+ * the key; messages without a key never lock. A waiting message with a key
+ * can also be dropped, e.g. when an emergency stop for the same locomotive
+ * goes ahead of it in a higher priority lane.
+ * <p>
+ * The depth of each lane, and the time messages spent waiting in it, are kept
+ * for display.
+ */
+public class TransmitQueue {
+
+    /**
+     * The lanes of the queue, in priority order.
+     */
+    public enum Lane {
+        /**
+         * Emergency stop and emergency power off.
+         */
+        EMERGENCY_STOP,
+        /**
+         * Throttle speed, direction and function commands.
+         */
+        THROTTLE,
+        /**
+         * Accessory and turnout commands, and any message not placed in
+         * another lane.
+         */
+        ACCESSORY,
+        /**
+         * Programming and other bulk traffic.
+         */
+        BULK
+    }
+
+    private static final Lane[] LANES = Lane.values();
+
+    /**
+     * A message waiting in the queue, with the listener to notify of its
+     * reply.
+     */
+    public static final class Entry {
+
+        private final AbstractMRMessage message;
+        private final AbstractMRListener listener;
+        private final Lane lane;
+        private final long queuedTime;
+
+        Entry(AbstractMRMessage message, AbstractMRListener listener, Lane lane, long queuedTime) {
+            this.message = message;
+            this.listener = listener;
+            this.lane = lane;
+            this.queuedTime = queuedTime;
+        }
+
+        @CheckForNull
+        public AbstractMRMessage getMessage() {
+            return message;
+        }
+
+        @CheckForNull
+        public AbstractMRListener getListener() {
+            return listener;
+        }
+
+        @Nonnull
+        public Lane getLane() {
+            return lane;
+        }
+
+        /**
+         * Get when the message was queued.
+         *
+         * @return the time, from {@link System#nanoTime()}
+         */
+        public long getQueuedTime() {
+            return queuedTime;
+        }
+    }
+
+    /**
+     * The position of an entry in a lane. The entry in it can be replaced by a
+     * newer message until the transmit thread takes it.
+     */
+    private static final class Slot extends AtomicReference<Entry> {
+
+        final Object key;
+
+        Slot(Entry entry, Object key) {
+            super(entry);
+            this.key = key;
+        }
+    }
+
+    private final EnumMap<Lane, LaneQueue> lanes = new EnumMap<>(Lane.class);
+    private final LongAdder coalesced = new LongAdder();
+
+    public TransmitQueue() {
+        for (Lane lane : LANES) {
+            lanes.put(lane, new LaneQueue());
+        }
+    }
+
+    /**
+     * Add a message at the end of a lane.
+     *
+     * @param lane     the lane
+     * @param message  the message; may be null, as some traffic controllers
+     *                 queue null messages to wake the transmit thread
+     * @param listener the listener to notify of the reply, if any
+     */
+    public void add(@Nonnull Lane lane, @CheckForNull AbstractMRMessage message, @CheckForNull AbstractMRListener listener) {
+        add(lane, message, listener, null);
+    }
+
+    /**
+     * Add a message at the end of a lane, or in place of a waiting message
+     * with the same coalescing key.
+     *
+     * @param lane     the lane
+     * @param message  the message
+     * @param listener the listener to notify of the reply, if any
+     * @param key      the coalescing key, or null to always add the message
+     *                 at the end of the lane
+     * @return true if the message replaced a waiting message
+     */
+    public boolean add(@Nonnull Lane lane, @CheckForNull AbstractMRMessage message,
+            @CheckForNull AbstractMRListener listener, @CheckForNull Object key) {
+        LaneQueue q = lanes.get(lane);
+        if (key == null) {
+            q.deque.addLast(new Slot(new Entry(message, listener, lane, System.nanoTime()), null));
+            q.depth.incrementAndGet();
+            return false;
+        }
+        boolean[] replaced = new boolean[1];
+        q.pending.compute(key, (k, slot) -> {
+            if (slot != null) {
+                Entry old = slot.get();
+                // if the transmit thread has taken the old entry, the CAS fails
+                if (old != null && slot.compareAndSet(old, new Entry(message, listener, lane, old.queuedTime))) {
+                    replaced[0] = true;
+                    return slot;
+                }
+            }
+            Slot added = new Slot(new Entry(message, listener, lane, System.nanoTime()), k);
+            q.deque.addLast(added);
+            q.depth.incrementAndGet();
+            return added;
+        });
+        if (replaced[0]) {
+            coalesced.increment();
+        }
+        return replaced[0];
+    }
+
+    /**
+     * Drop the message waiting with a coalescing key, if any, so that it is
+     * not sent.
+     *
+     * @param lane the lane the message waits in
+     * @param key  the coalescing key
+     * @return true if a waiting message was dropped
+     */
+    public boolean remove(@Nonnull Lane lane, @Nonnull Object key) {
+        LaneQueue q = lanes.get(lane);
+        boolean[] removed = new boolean[1];
+        q.pending.computeIfPresent(key, (k, slot) -> {
+            Entry old = slot.get();
+            // if the transmit thread has taken the entry, the CAS fails;
+            // otherwise the empty slot is skipped when it reaches the head
+            if (old != null && slot.compareAndSet(old, null)) {
+                q.depth.decrementAndGet();
+                removed[0] = true;
+            }
+            return null;
+        });
+        return removed[0];
+    }
+
+    /**
+     * Put an entry taken from the queue back at the head of its lane, e.g. to
+     * retry it.
+     *
+     * @param entry the entry
+     */
+    public void addFirst(@Nonnull Entry entry) {
+        LaneQueue q = lanes.get(entry.lane);
+        // not available for coalescing, as a newer message may already be
+        // waiting behind it
+        q.deque.addFirst(new Slot(entry, null));
+        q.depth.incrementAndGet();
+    }
+
+    /**
+     * Take the next message to transmit.
+     *
+     * @return the oldest entry in the highest priority lane that isn't empty,
+     *         or null if the queue is empty
+     */
+    @CheckForNull
+    public Entry poll() {
+        for (Lane lane : LANES) {
+            LaneQueue q = lanes.get(lane);
+            Slot slot;
+            while ((slot = q.deque.pollFirst()) != null) {
+                Entry e = slot.getAndSet(null);
+                if (slot.key != null) {
+                    q.pending.remove(slot.key, slot);
+                }
+                if (e == null) {
+                    continue; // dropped while waiting
+                }
+                q.depth.decrementAndGet();
+                long wait = System.nanoTime() - e.queuedTime;
+                q.sent.increment();
+                q.totalWait.add(wait);
+                q.maxWait.accumulateAndGet(wait, Math::max);
+                return e;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Check if there are messages waiting.
+     *
+     * @return true if all lanes are empty
+     */
+    public boolean isEmpty() {
+        return getDepth() == 0;
+    }
+
+    /**
+     * Remove all waiting messages.
+     */
+    public void clear() {
+        for (Lane lane : LANES) {
+            LaneQueue q = lanes.get(lane);
+            Slot slot;
+            while ((slot = q.deque.pollFirst()) != null) {
+                if (slot.getAndSet(null) != null) {
+                    q.depth.decrementAndGet();
+                }
+                if (slot.key != null) {
+                    q.pending.remove(slot.key, slot);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the number of messages waiting in a lane.
+     *
+     * @param lane the lane
+     * @return the number of messages
+     */
+    public int getDepth(@Nonnull Lane lane) {
+        return lanes.get(lane).depth.get();
+    }
+
+    /**
+     * Get the number of messages waiting in all lanes.
+     *
+     * @return the number of messages
+     */
+    public int getDepth() {
+        int depth = 0;
+        for (Lane lane : LANES) {
+            depth += getDepth(lane);
+        }
+        return depth;
+    }
+
+    /**
+     * Get the number of messages taken from a lane to be transmitted since the
+     * statistics were last reset.
+     *
+     * @param lane the lane
+     * @return the number of messages
+     */
+    public long getSentCount(@Nonnull Lane lane) {
+        return lanes.get(lane).sent.sum();
+    }
+
+    /**
+     * Get the mean time messages taken from a lane waited in the queue.
+     *
+     * @param lane the lane
+     * @return the mean wait in nanoseconds, or 0 if no messages have been
+     *         taken
+     */
+    public long getMeanWaitNanos(@Nonnull Lane lane) {
+        LaneQueue q = lanes.get(lane);
+        long n = q.sent.sum();
+        return n == 0 ? 0 : q.totalWait.sum() / n;
+    }
+
+    /**
+     * Get the longest time a message taken from a lane waited in the queue.
+     *
+     * @param lane the lane
+     * @return the maximum wait in nanoseconds
+     */
+    public long getMaxWaitNanos(@Nonnull Lane lane) {
+        return lanes.get(lane).maxWait.get();
+    }
+
+    /**
+     * Get the number of messages that replaced a waiting message with the
+     * same coalescing key, instead of being added to the queue, since the
+     * statistics were last reset.
+     *
+     * @return the number of messages coalesced
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Reset the sent counts, wait times and coalesced count.
+     */
+    public void resetStatistics() {
+        for (Lane lane : LANES) {
+            LaneQueue q = lanes.get(lane);
+            q.sent.reset();
+            q.totalWait.reset();
+            q.maxWait.set(0);
+        }
+        coalesced.reset();
+    }
+
+    private static final class LaneQueue {
+
+        final ConcurrentLinkedDeque<Slot> deque = new ConcurrentLinkedDeque<>();
+        // waiting slots that have a coalescing key
+        final ConcurrentHashMap<Object, Slot> pending = new ConcurrentHashMap<>();
+        // ConcurrentLinkedDeque.size() walks the deque, so count separately
+        final AtomicInteger depth = new AtomicInteger();
+        final LongAdder sent = new LongAdder();
+        final LongAdder totalWait = new LongAdder();
+        final AtomicLong maxWait = new AtomicLong();
+    }
+
+}
@@ -47,6 +47,8 @@ public class CbusAddress {
     String aString = null;
     int[] aFrame = null;
     boolean match = false;
+    // true for the +/-ddd and NE forms, which name a node and event
+    boolean eventForm = false;
 
     static final int NODEFACTOR = 100000;
 
@@ -62,6 +64,7 @@ public class CbusAddress {
             if (hCode.group(1) != null) {
                 // hit on +/-ddd
                 aFrame = new int[5];
+                eventForm = true;
 
                 int n = Integer.parseInt(aString.substring(1, aString.length()));  // skip +/-
                 int node = n / NODEFACTOR;
@@ -103,6 +106,7 @@ public class CbusAddress {
             } else if (hCode.group(5) != null) {
                 // hit on EN form
                 aFrame = new int[5];
+                eventForm = true;
 
                 int node = Integer.parseInt(hCode.group(8));
                 int event = Integer.parseInt(hCode.group(9));
@@ -160,6 +164,51 @@ public class CbusAddress {
         return ret;
     }
 
+    /**
+     * Get the address used to index a bean by node and event, so the beans
+     * for the events of a node can be found without parsing system names.
+     *
+     * @param node  the node number, 0 for a short event; less than 32768
+     * @param event the event number, 0 - 65535
+     * @return the index address, node * 65536 + event
+     * @see jmri.managers.AbstractManager#getByAddressRange(int, int)
+     */
+    public static int getIndexAddress(int node, int event) {
+        return (node << 16) | event;
+    }
+
+    /**
+     * Get the index address of the node and event of this address.
+     *
+     * @return the index address, or -1 if the address is in hex form, isn't
+     *         valid, or has a node number of 32768 or more
+     * @see #getIndexAddress(int, int)
+     */
+    public int getIndexAddress() {
+        if (!eventForm || aFrame[1] > 0x7F) {
+            return -1;
+        }
+        return getIndexAddress((aFrame[1] << 8) | aFrame[2], (aFrame[3] << 8) | aFrame[4]);
+    }
+
+    /**
+     * Get the index address of the first event of a hardware address, e.g.
+     * the on event of a sensor with separate on and off events.
+     *
+     * @param address the hardware address, the system name without prefix
+     *                and type letter
+     * @return the index address, or -1 if the first event has none
+     * @see #getIndexAddress()
+     */
+    static int getIndexAddressOfFirst(@Nonnull String address) {
+        int end = address.indexOf(';');
+        try {
+            return new CbusAddress(end < 0 ? address : address.substring(0, end)).getIndexAddress();
+        } catch (NumberFormatException e) {
+            return -1; // too many digits to be a node and event
+        }
+    }
+
     public CanMessage makeMessage(int header) {
         return new CanMessage(aFrame, header);
     }
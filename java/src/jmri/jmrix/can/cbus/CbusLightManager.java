@@ -40,6 +40,22 @@ public class CbusLightManager extends AbstractLightManager {
         return (CanSystemConnectionMemo) memo;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * CBUS lights are indexed by the node and event of their first event, see
+     * {@link CbusAddress#getIndexAddress(int, int)}. Only the last registered
+     * of several lights with the same first event is indexed.
+     */
+    @Override
+    protected int getAddressForIndex(@Nonnull String systemName) {
+        String prefix = getSystemNamePrefix();
+        if (!systemName.startsWith(prefix)) {
+            return -1;
+        }
+        return CbusAddress.getIndexAddressOfFirst(systemName.substring(prefix.length()));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -10,6 +10,7 @@ import jmri.*;
 import jmri.Manager.NameValidity;
 import jmri.jmrix.AbstractNode;
 import jmri.jmrix.ConfiguringSystemConnectionMemo;
+import jmri.jmrix.ConnectionTelemetry;
 import jmri.jmrix.DefaultSystemConnectionMemo;
 import jmri.jmrix.cmri.serial.*;
 import jmri.jmrix.cmri.swing.CMRIComponentFactory;
@@ -49,6 +50,9 @@ public class CMRISystemConnectionMemo extends DefaultSystemConnectionMemo implem
      */
     public void setTrafficController(SerialTrafficController s) {
         tc = s;
+        if (s != null) {
+            store(s.getTelemetry(), ConnectionTelemetry.class);
+        }
     }
 
     /**
@@ -668,6 +672,39 @@ public class CMRISystemConnectionMemo extends DefaultSystemConnectionMemo implem
         return ua;
     }
 
+    /**
+     * Get the address used to index a C/MRI bean by node and bit, so the
+     * beans of a node can be found without parsing system names. For
+     * example, bit 257 of node 17 has index address 170257.
+     *
+     * @param node the node address, 0 - 127
+     * @param bit  the bit number, 1 - 2048
+     * @return the index address
+     * @see jmri.managers.AbstractManager#getByAddressRange(int, int)
+     */
+    public static int getIndexAddress(int node, int bit) {
+        return node * INDEX_NODE_FACTOR + bit;
+    }
+
+    /**
+     * Get the index address of a C/MRI system name.
+     *
+     * @param systemName the system name
+     * @return the index address, or -1 if the name has no valid node and bit
+     * @see #getIndexAddress(int, int)
+     */
+    public int getIndexAddressFromSystemName(String systemName) {
+        int bit = getBitFromSystemName(systemName);
+        if (bit < 1 || bit > 2048) {
+            return -1;
+        }
+        int node = getNodeAddressFromSystemName(systemName);
+        return (node < 0) ? -1 : getIndexAddress(node, bit);
+    }
+
+    // bits are numbered up to 2048, so beyond the 1000 of the numeric name form
+    private static final int INDEX_NODE_FACTOR = 10000;
+
     /**
      * See {@link jmri.NamedBean#compareSystemNameSuffix} for background.
      * 
@@ -33,6 +33,17 @@ public class SerialLightManager extends AbstractLightManager {
         return (CMRISystemConnectionMemo) memo;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * C/MRI lights are indexed by node and bit, see
+     * {@link CMRISystemConnectionMemo#getIndexAddress(int, int)}.
+     */
+    @Override
+    protected int getAddressForIndex(@Nonnull String systemName) {
+        return getMemo().getIndexAddressFromSystemName(systemName);
+    }
+
     /**
      * Create a new Light based on the system name and optional user name.
      * <p>
@@ -4,7 +4,6 @@ import java.util.Locale;
 import javax.annotation.Nonnull;
 import jmri.JmriException;
 import jmri.Sensor;
-import jmri.jmrix.AbstractNode;
 import jmri.jmrix.cmri.CMRISystemConnectionMemo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,6 +51,17 @@ public class SerialSensorManager extends jmri.managers.AbstractSensorManager
         return (CMRISystemConnectionMemo) memo;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * C/MRI sensors are indexed by node and bit, see
+     * {@link CMRISystemConnectionMemo#getIndexAddress(int, int)}.
+     */
+    @Override
+    protected int getAddressForIndex(@Nonnull String systemName) {
+        return getMemo().getIndexAddressFromSystemName(systemName);
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -132,29 +142,14 @@ public class SerialSensorManager extends jmri.managers.AbstractSensorManager
      * Method to register any orphan Sensors when a new Serial Node is created.
      * @param node the node with potential orphan sensors.
      */
-    @SuppressWarnings("deprecation") // needs careful unwinding for Set operations
     public void registerSensorsForNode(SerialNode node) {
-        // get list containing all Sensors
-        java.util.Iterator<String> iter
-                = getSystemNameList().iterator();
-        // Iterate through the sensors
-        AbstractNode tNode = null;
-        while (iter.hasNext()) {
-            String sName = iter.next();
-            if (sName == null) {
-                log.error("System name null during register Sensor");
-            } else {
-                log.debug("system name is {}", sName);
-                if ((sName.charAt(0) == 'C') && (sName.charAt(1) == 'S')) { // TODO multichar prefix
-                    // This is a C/MRI Sensor
-                    tNode = getMemo().getNodeFromSystemName(sName, getMemo().getTrafficController());
-                    if (tNode == node) {
-                        // This sensor is for this new Serial Node - register it
-                        node.registerSensor(getBySystemName(sName),
-                                (getMemo().getBitFromSystemName(sName) - 1));
-                    }
-                }
-            }
+        int ua = node.getNodeAddress();
+        // the sensors of this node, found by address rather than by parsing every name
+        for (Sensor s : getByAddressRange(CMRISystemConnectionMemo.getIndexAddress(ua, 1),
+                CMRISystemConnectionMemo.getIndexAddress(ua, 2048))) {
+            log.debug("system name is {}", s.getSystemName());
+            // This sensor is for this new Serial Node - register it
+            node.registerSensor(s, (getMemo().getBitFromSystemName(s.getSystemName()) - 1));
         }
     }
 
@@ -33,6 +33,17 @@ public class SerialTurnoutManager extends AbstractTurnoutManager {
         return (CMRISystemConnectionMemo) memo;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * C/MRI turnouts are indexed by node and bit, see
+     * {@link CMRISystemConnectionMemo#getIndexAddress(int, int)}.
+     */
+    @Override
+    protected int getAddressForIndex(@Nonnull String systemName) {
+        return getMemo().getIndexAddressFromSystemName(systemName);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1,5 +1,6 @@
 package jmri.jmrix.dccpp;
 
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Delayed;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
@@ -34,6 +35,11 @@ import org.slf4j.LoggerFactory;
  * Internally the DCCppMessage is actually stored as a String, and alongside that is kept
  * a Regex for easy extraction of the values where needed in the code.
  * <p>
+ * The Regex strings are compiled once and the compiled Patterns are kept in a cache
+ * shared by all messages. The values extracted are kept with the message, so getting
+ * several values, e.g. the address and speed of a throttle message as it is queued,
+ * matches the message once (the kept values are dropped if the message changes).
+ * <p>
  * The various getParameter() type functions are mainly for convenience in places such as the
  * port monitor where we want to be able to extract the /meaning/ of the DCCppMessage and
  * present it in a human readable form.  Using the getParameterType() methods insulates
@@ -56,6 +62,15 @@ public class DCCppMessage extends jmri.jmrix.AbstractMRMessage implements Delaye
     private String myRegex;
     private char opcode;
 
+    // data elements matched by myRegex, and the message text and Regex they
+    // were matched with
+    private String[] myValues;
+    private String myValuesMessage;
+    private String myValuesRegex;
+
+    // compiled Patterns, keyed by Regex string
+    private static final ConcurrentHashMap<String, Pattern> patterns = new ConcurrentHashMap<>();
+
     /**
      * Create a new object, representing a specific-length message.
      *
@@ -649,13 +664,39 @@ public class DCCppMessage extends jmri.jmrix.AbstractMRMessage implements Delaye
         return m.groupCount();
     }
 
+    /**
+     * Get the data elements matched by the Regex of this message, matching it
+     * only if the message or its Regex changed since it was last matched.
+     *
+     * @return the groups matched, with the whole message at index 0; null if
+     *         the message doesn't match
+     */
+    private String[] getValues() {
+        if (myValues == null || !myValuesMessage.contentEquals(myMessage) || !myValuesRegex.equals(myRegex)) {
+            String s = toString();
+            Matcher m = match(s, myRegex, "gv");
+            if (m == null) {
+                myValues = null;
+                return (null);
+            }
+            String[] values = new String[m.groupCount() + 1];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = m.group(i);
+            }
+            myValues = values;
+            myValuesMessage = s;
+            myValuesRegex = myRegex;
+        }
+        return (myValues);
+    }
+
     public String getValueString(int idx) {
-        Matcher m = match(toString(), myRegex, "gvs");
-        if (m == null) {
+        String[] values = getValues();
+        if (values == null) {
             log.error("No match!");
             return ("");
-        } else if (idx <= m.groupCount()) {
-            return (m.group(idx));
+        } else if (idx < values.length) {
+            return (values[idx]);
         } else {
             log.error("DCCppMessage value index too big. idx = {} msg = {}", idx, this);
             return ("");
@@ -663,12 +704,12 @@ public class DCCppMessage extends jmri.jmrix.AbstractMRMessage implements Delaye
     }
 
     public int getValueInt(int idx) {
-        Matcher m = match(toString(), myRegex, "gvi");
-        if (m == null) {
+        String[] values = getValues();
+        if (values == null) {
             log.error("No match!");
             return (0);
-        } else if (idx <= m.groupCount()) {
-            return (Integer.parseInt(m.group(idx)));
+        } else if (idx < values.length) {
+            return (Integer.parseInt(values[idx]));
         } else {
             log.error("DCCppMessage value index too big. idx = {} msg = {}", idx, this);
             return (0);
@@ -677,13 +718,13 @@ public class DCCppMessage extends jmri.jmrix.AbstractMRMessage implements Delaye
 
     public boolean getValueBool(int idx) {
         log.debug("msg = {}, regex = {}", this, myRegex);
-        Matcher m = match(toString(), myRegex, "gvi");
+        String[] values = getValues();
 
-        if (m == null) {
+        if (values == null) {
             log.error("No Match!");
             return (false);
-        } else if (idx <= m.groupCount()) {
-            return (!m.group(idx).equals("0"));
+        } else if (idx < values.length) {
+            return (!values[idx].equals("0"));
         } else {
             log.error("DCCppMessage value index too big. idx = {} msg = {}", idx, this);
             return (false);
@@ -752,7 +793,7 @@ public class DCCppMessage extends jmri.jmrix.AbstractMRMessage implements Delaye
      */
     private static Matcher match(String s, String pat, String name) {
         try {
-            Pattern p = Pattern.compile(pat);
+            Pattern p = patterns.computeIfAbsent(pat, Pattern::compile);
             Matcher m = p.matcher(s);
             if (!m.matches()) {
                 log.debug("No Match {} Command: {} Pattern: {}", name, s, pat);
@@ -1,5 +1,6 @@
 package jmri.jmrix.dccpp;
 
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -24,6 +25,11 @@ import org.slf4j.LoggerFactory;
  * The information is stored as a String, along with a Regex string that allows
  * the individual data elements to be extracted when needed.
  *
+ * The Regex strings are compiled once and the compiled Patterns are kept in a
+ * cache shared by all replies. When a reply is parsed, the data elements found
+ * by the matching Regex are kept with the reply, so the getters don't have to
+ * match again (the cached values are dropped if the reply text changes).
+ *
  * Listeners and other higher level code should first check to make sure the
  * DCCppReply is of the correct type by calling the relevant isMessageType() method.
  * Then, call the various getThisDataElement() method to retrieve the data of
@@ -45,6 +51,13 @@ public class DCCppReply extends jmri.jmrix.AbstractMRReply {
     protected String myRegex;
     protected StringBuilder myReply;
 
+    // data elements matched by myRegex, and the reply text they were matched in
+    private String[] myValues;
+    private String myValuesReply;
+
+    // compiled Patterns, keyed by Regex string
+    private static final ConcurrentHashMap<String, Pattern> patterns = new ConcurrentHashMap<>();
+
     // Create a new reply.
     public DCCppReply() {
         super();
@@ -59,6 +72,8 @@ public class DCCppReply extends jmri.jmrix.AbstractMRReply {
         setBinary(false);
         myRegex = reply.myRegex;
         myReply = reply.myReply;
+        myValues = reply.myValues;
+        myValuesReply = reply.myValuesReply;
     }
 
     // Create a new reply from a string
@@ -224,6 +239,8 @@ public class DCCppReply extends jmri.jmrix.AbstractMRReply {
         if (r != null) {
             this.myRegex = r.myRegex;
             this.myReply = r.myReply;
+            this.myValues = r.myValues;
+            this.myValuesReply = r.myValuesReply;
             this._nDataChars = r._nDataChars;
             log.debug("copied: this: {}", this.toString());
         }
@@ -247,91 +264,66 @@ public class DCCppReply extends jmri.jmrix.AbstractMRReply {
         DCCppReply r = new DCCppReply(s);
         switch(s.charAt(0)) {
             case DCCppConstants.STATUS_REPLY:
-                if (s.matches(DCCppConstants.STATUS_REPLY_ESP32_REGEX)) {
-                    log.debug("Status Reply: {}", r.toString());
-                    r.myRegex = DCCppConstants.STATUS_REPLY_ESP32_REGEX;
-                } else if (s.matches(DCCppConstants.STATUS_REPLY_REGEX)) {
-                    log.debug("Status Reply: {}", r.toString());
-                    r.myRegex = DCCppConstants.STATUS_REPLY_REGEX;
-                } 
+                if (r.matchRegex(DCCppConstants.STATUS_REPLY_ESP32_REGEX)
+                        || r.matchRegex(DCCppConstants.STATUS_REPLY_REGEX)) {
+                    log.debug("Status Reply: {}", r);
+                }
                 return(r);
             case DCCppConstants.THROTTLE_REPLY:
-                if (s.matches(DCCppConstants.THROTTLE_REPLY_REGEX)) {
-                   log.debug("Throttle Reply: {}", r.toString());
-                   r.myRegex = DCCppConstants.THROTTLE_REPLY_REGEX;
+                if (r.matchRegex(DCCppConstants.THROTTLE_REPLY_REGEX)) {
+                   log.debug("Throttle Reply: {}", r);
                 }
                 return(r);
             case DCCppConstants.TURNOUT_REPLY:
                 // the order of checking the reply here is critical as both the TURNOUT_DEF_REPLY
                 // and TURNOUT_REPLY regex strings start with the same strings but have different
                 // meanings.
-                if (s.matches(DCCppConstants.TURNOUT_DEF_REPLY_REGEX)) {
-                    r.myRegex = DCCppConstants.TURNOUT_DEF_REPLY_REGEX;
-                } else if (s.matches(DCCppConstants.TURNOUT_REPLY_REGEX)) {
-                    r.myRegex = DCCppConstants.TURNOUT_REPLY_REGEX;
-                } else if (s.matches(DCCppConstants.MADC_FAIL_REPLY_REGEX)) {
-                    r.myRegex = DCCppConstants.MADC_FAIL_REPLY_REGEX;
+                if (!r.matchRegex(DCCppConstants.TURNOUT_DEF_REPLY_REGEX)
+                        && !r.matchRegex(DCCppConstants.TURNOUT_REPLY_REGEX)) {
+                    r.matchRegex(DCCppConstants.MADC_FAIL_REPLY_REGEX);
                 }
-                log.debug("Parsed Reply: {} length {}", r.toString(), r._nDataChars);
+                log.debug("Parsed Reply: {} length {}", r, r._nDataChars);
                 return(r);
             case DCCppConstants.OUTPUT_REPLY:
-                if (s.matches(DCCppConstants.OUTPUT_LIST_REPLY_REGEX)) {
-                    r.myRegex = DCCppConstants.OUTPUT_LIST_REPLY_REGEX;
-                } else if (s.matches(DCCppConstants.OUTPUT_REPLY_REGEX)) {
-                    r.myRegex = DCCppConstants.OUTPUT_REPLY_REGEX;
+                if (!r.matchRegex(DCCppConstants.OUTPUT_LIST_REPLY_REGEX)) {
+                    r.matchRegex(DCCppConstants.OUTPUT_REPLY_REGEX);
                 }
-                log.debug("Parsed Reply: {} length {}", r.toString(), r._nDataChars);
+                log.debug("Parsed Reply: {} length {}", r, r._nDataChars);
                 return(r);
             case DCCppConstants.PROGRAM_REPLY:
-                if (s.matches(DCCppConstants.PROGRAM_BIT_REPLY_REGEX)) {
+                if (r.matchRegex(DCCppConstants.PROGRAM_BIT_REPLY_REGEX)) {
                     log.debug("Matches ProgBitReply");
-                    r.myRegex = DCCppConstants.PROGRAM_BIT_REPLY_REGEX;
-                } else if (s.matches(DCCppConstants.PROGRAM_REPLY_REGEX)) {
+                } else if (r.matchRegex(DCCppConstants.PROGRAM_REPLY_REGEX)) {
                     log.debug("Matches ProgReply");
-                    r.myRegex = DCCppConstants.PROGRAM_REPLY_REGEX;
                 } else {
                     log.debug("Does not match ProgReply Regex");
                 }
                 return(r);
             case DCCppConstants.POWER_REPLY:
-                if (s.matches(DCCppConstants.TRACK_POWER_REPLY_REGEX)) {
-                    r.myRegex = DCCppConstants.TRACK_POWER_REPLY_REGEX;
-                } else if (s.matches(DCCppConstants.TRACK_POWER_REPLY_NAMED_REGEX)) {
-                    r.myRegex = DCCppConstants.TRACK_POWER_REPLY_NAMED_REGEX;
+                if (!r.matchRegex(DCCppConstants.TRACK_POWER_REPLY_REGEX)) {
+                    r.matchRegex(DCCppConstants.TRACK_POWER_REPLY_NAMED_REGEX);
                 }
                 return(r);
             case DCCppConstants.CURRENT_REPLY:
-                if (s.matches(DCCppConstants.CURRENT_REPLY_REGEX)) {
-                    r.myRegex = DCCppConstants.CURRENT_REPLY_REGEX;
-                } else if (s.matches(DCCppConstants.CURRENT_REPLY_NAMED_REGEX)) {
-                    r.myRegex = DCCppConstants.CURRENT_REPLY_NAMED_REGEX;
+                if (!r.matchRegex(DCCppConstants.CURRENT_REPLY_REGEX)) {
+                    r.matchRegex(DCCppConstants.CURRENT_REPLY_NAMED_REGEX);
                 }
                 return(r);
             case DCCppConstants.MAXNUMSLOTS_REPLY:
-                if (s.matches(DCCppConstants.MAXNUMSLOTS_REPLY_REGEX)) {
-                    r.myRegex = DCCppConstants.MAXNUMSLOTS_REPLY_REGEX;
-                }
+                r.matchRegex(DCCppConstants.MAXNUMSLOTS_REPLY_REGEX);
                 return(r);
             case DCCppConstants.WRITE_EEPROM_REPLY:
-                if (s.matches(DCCppConstants.WRITE_EEPROM_REPLY_REGEX)) {
-                    r.myRegex = DCCppConstants.WRITE_EEPROM_REPLY_REGEX;
-                }
+                r.matchRegex(DCCppConstants.WRITE_EEPROM_REPLY_REGEX);
                 return(r);
             case DCCppConstants.MEMORY_REPLY:
-                if (s.matches(DCCppConstants.FREE_MEMORY_REPLY_REGEX)) {
-                    r.myRegex = DCCppConstants.FREE_MEMORY_REPLY_REGEX;
-                }
+                r.matchRegex(DCCppConstants.FREE_MEMORY_REPLY_REGEX);
                 return(r);
             case DCCppConstants.SENSOR_REPLY_H:
-                if (s.matches(DCCppConstants.SENSOR_INACTIVE_REPLY_REGEX)) {
-                    r.myRegex = DCCppConstants.SENSOR_INACTIVE_REPLY_REGEX;
-                }
+                r.matchRegex(DCCppConstants.SENSOR_INACTIVE_REPLY_REGEX);
                 return(r);
             case DCCppConstants.SENSOR_REPLY_L:
-                if (s.matches(DCCppConstants.SENSOR_ACTIVE_REPLY_REGEX)) {
-                    r.myRegex = DCCppConstants.SENSOR_ACTIVE_REPLY_REGEX;
-                } else if (s.matches(DCCppConstants.SENSOR_DEF_REPLY_REGEX)) {
-                    r.myRegex = DCCppConstants.SENSOR_DEF_REPLY_REGEX;
+                if (!r.matchRegex(DCCppConstants.SENSOR_ACTIVE_REPLY_REGEX)) {
+                    r.matchRegex(DCCppConstants.SENSOR_DEF_REPLY_REGEX);
                 }
                 return(r);
             case DCCppConstants.MADC_FAIL_REPLY:
@@ -348,6 +340,53 @@ public class DCCppReply extends jmri.jmrix.AbstractMRReply {
         }
     }
 
+    /**
+     * Check the reply against a Regex. If it matches, make that the Regex of
+     * this reply and keep the data elements found.
+     *
+     * @param regex the Regex to check
+     * @return true if the reply matches
+     */
+    private boolean matchRegex(String regex) {
+        String s = myReply.toString();
+        Matcher m = match(s, regex, "Parser");
+        if (m == null) {
+            return(false);
+        }
+        myRegex = regex;
+        setValues(m, s);
+        return(true);
+    }
+
+    private void setValues(Matcher m, String s) {
+        String[] values = new String[m.groupCount() + 1];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = m.group(i);
+        }
+        myValues = values;
+        myValuesReply = s;
+    }
+
+    /**
+     * Get the data elements matched by the Regex of this reply, matching it
+     * only if the reply text changed since it was last matched.
+     *
+     * @return the groups matched, with the whole reply at index 0; null if the
+     *         reply doesn't match
+     */
+    private String[] getValues() {
+        if (myValues == null || !myValuesReply.contentEquals(myReply)) {
+            String s = myReply.toString();
+            Matcher m = DCCppReply.match(s, myRegex, "gv");
+            if (m == null) {
+                myValues = null;
+                return(null);
+            }
+            setValues(m, s);
+        }
+        return(myValues);
+    }
+
     /**
      * 
      * Not really used inside of DCC++.  Just here
@@ -416,9 +455,9 @@ public class DCCppReply extends jmri.jmrix.AbstractMRReply {
     }
 
     public boolean getValueBool(int idx) {
-        Matcher m = DCCppReply.match(myReply.toString(), myRegex, "gvi");
-        if ((m != null) && (idx <= m.groupCount())) {
-            return(!m.group(idx).equals("0"));
+        String[] v = getValues();
+        if ((v != null) && (idx < v.length)) {
+            return(!v[idx].equals("0"));
         } else {
             log.error("DCCppReply value index too big. idx = {} msg = {}", idx, this.toString());
             return(false);
@@ -426,9 +465,9 @@ public class DCCppReply extends jmri.jmrix.AbstractMRReply {
     }
 
     public String getValueString(int idx) {
-        Matcher m = DCCppReply.match(myReply.toString(), myRegex, "gvs");
-        if ((m != null) && (idx <= m.groupCount())) {
-            return(m.group(idx));
+        String[] v = getValues();
+        if ((v != null) && (idx < v.length)) {
+            return(v[idx]);
         } else {
             log.error("DCCppReply value index too big. idx = {} msg = {}", idx, this.toString());
             return("");
@@ -436,9 +475,9 @@ public class DCCppReply extends jmri.jmrix.AbstractMRReply {
     }
 
     public int getValueInt(int idx) {
-        Matcher m = DCCppReply.match(myReply.toString(), myRegex, "gvi");
-        if ((m != null) && (idx <= m.groupCount())) {
-            return(Integer.parseInt(m.group(idx)));
+        String[] v = getValues();
+        if ((v != null) && (idx < v.length)) {
+            return(Integer.parseInt(v[idx]));
         } else {
             log.error("DCCppReply value index too big. idx = {} msg = {}", idx, this.toString());
             return(0);
@@ -503,7 +542,7 @@ public class DCCppReply extends jmri.jmrix.AbstractMRReply {
 
     protected static Matcher match(String s, String pat, String name) {
         try {
-            Pattern p = Pattern.compile(pat);
+            Pattern p = patterns.computeIfAbsent(pat, Pattern::compile);
             Matcher m = p.matcher(s);
             if (!m.matches()) {
                 //log.debug("No Match {} Command: {} pattern {}",name, s, pat);
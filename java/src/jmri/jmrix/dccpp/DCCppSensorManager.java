@@ -75,6 +75,16 @@ public class DCCppSensorManager extends jmri.managers.AbstractSensorManager impl
         return new DCCppSensor(getSystemNamePrefix() + addr, userName, tc);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * DCC++ sensors are indexed by their number.
+     */
+    @Override
+    protected int getAddressForIndex(@Nonnull String systemName) {
+        return getNumberFromSystemName(systemName);
+    }
+
     /**
      * Listen for sensors, creating them as needed.
      * 
@@ -97,20 +107,16 @@ public class DCCppSensorManager extends jmri.managers.AbstractSensorManager impl
             }
         }
         if (addr >= 0) {
-            String s = getSystemNamePrefix() + (addr);
-            if (null == getBySystemName(s)) {
+            Sensor sen = getByAddress(addr);
+            if (sen == null) {
                 // The sensor doesn't exist.  We need to create a 
                 // new sensor, and forward this message to it.
+                String s = getSystemNamePrefix() + (addr);
                 ((DCCppSensor) provideSensor(s)).initmessage(l);
             } else {
                 // The sensor exists.  We need to forward this 
                 // message to it.
-                Sensor sen = getBySystemName(s);
-                if (sen == null) {
-                    log.error("Failed to get sensor for {}", s);
-                } else {
-                    ((DCCppSensor) sen).message(l);
-                }
+                ((DCCppSensor) sen).message(l);
             }
         }
     }
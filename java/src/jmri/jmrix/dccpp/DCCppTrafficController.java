@@ -6,6 +6,8 @@ import jmri.jmrix.AbstractMRListener;
 import jmri.jmrix.AbstractMRMessage;
 import jmri.jmrix.AbstractMRReply;
 import jmri.jmrix.AbstractMRTrafficController;
+import jmri.jmrix.ConnectionTelemetry;
+import jmri.jmrix.TransmitQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -182,6 +184,78 @@ public abstract class DCCppTrafficController extends AbstractMRTrafficController
         return null;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Emergency stops and track power go ahead of throttle commands, which go
+     * ahead of accessory, turnout and other messages. Track power on and off
+     * share a lane, so are sent in the order they were queued. Programming and
+     * EEPROM commands wait until other traffic has been sent.
+     */
+    @Override
+    protected TransmitQueue.Lane getTransmitLane(AbstractMRMessage m) {
+        if (!(m instanceof DCCppMessage) || m.getNumDataElements() < 1) {
+            return TransmitQueue.Lane.ACCESSORY;
+        }
+        DCCppMessage msg = (DCCppMessage) m;
+        switch (msg.getOpCodeChar()) {
+            case DCCppConstants.THROTTLE_CMD:
+                // speed -1 is an emergency stop
+                return msg.getSpeedInt() < 0 ? TransmitQueue.Lane.EMERGENCY_STOP : TransmitQueue.Lane.THROTTLE;
+            case DCCppConstants.TRACK_POWER_OFF:
+            case DCCppConstants.TRACK_POWER_ON:
+                return TransmitQueue.Lane.EMERGENCY_STOP;
+            case DCCppConstants.FUNCTION_CMD:
+                return TransmitQueue.Lane.THROTTLE;
+            case DCCppConstants.PROG_WRITE_CV_BYTE:
+            case DCCppConstants.PROG_WRITE_CV_BIT:
+            case DCCppConstants.PROG_READ_CV:
+            case DCCppConstants.OPS_WRITE_CV_BYTE:
+            case DCCppConstants.OPS_WRITE_CV_BIT:
+            case DCCppConstants.WRITE_TO_EEPROM_CMD:
+            case DCCppConstants.CLEAR_EEPROM_CMD:
+                return TransmitQueue.Lane.BULK;
+            default:
+                return TransmitQueue.Lane.ACCESSORY;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Throttle messages for the same cab address are coalesced, except
+     * emergency stops.
+     */
+    @Override
+    protected Object getCoalescingKey(AbstractMRMessage m) {
+        if (m instanceof DCCppMessage && m.getNumDataElements() > 0
+                && ((DCCppMessage) m).isThrottleMessage()) {
+            DCCppMessage msg = (DCCppMessage) m;
+            if (msg.getSpeedInt() >= 0) {
+                return msg.getAddressInt();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * An emergency stop drops a throttle message still waiting for the same
+     * cab address, which would otherwise be sent after the stop.
+     */
+    @Override
+    protected Object getSupersededKey(AbstractMRMessage m) {
+        if (m instanceof DCCppMessage && m.getNumDataElements() > 0
+                && ((DCCppMessage) m).isThrottleMessage()) {
+            DCCppMessage msg = (DCCppMessage) m;
+            if (msg.getSpeedInt() < 0) {
+                return msg.getAddressInt();
+            }
+        }
+        return null;
+    }
+
     @Override
     public synchronized void addDCCppListener(int mask, DCCppListener l) {
         addListener(l);
@@ -342,6 +416,9 @@ public abstract class DCCppTrafficController extends AbstractMRTrafficController
      */
     public void setSystemConnectionMemo(DCCppSystemConnectionMemo m) {
         mMemo = m;
+        if (m != null) {
+            m.store(getTelemetry(), ConnectionTelemetry.class);
+        }
     }
 
     private DCCppTurnoutReplyCache _TurnoutReplyCache = null;
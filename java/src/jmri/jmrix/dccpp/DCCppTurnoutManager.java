@@ -61,6 +61,16 @@ public class DCCppTurnoutManager extends jmri.managers.AbstractTurnoutManager im
         return t;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * DCC++ turnouts are indexed by their number.
+     */
+    @Override
+    protected int getAddressForIndex(@Nonnull String systemName) {
+        return getNumberFromSystemName(systemName);
+    }
+
     /**
      * {@inheritDoc}
      * Listen for turnouts, creating them as needed.
@@ -79,11 +89,11 @@ public class DCCppTurnoutManager extends jmri.managers.AbstractTurnoutManager im
                 log.debug("message has address: {}", addr);
                 // reach here for switch command; make sure we know 
                 // about this one
-                String s = getSystemNamePrefix() + addr;
-                DCCppTurnout found = (DCCppTurnout) getBySystemName(s);
-                if ( found == null) {
+                DCCppTurnout found = (DCCppTurnout) getByAddress(addr);
+                if (found == null) {
                     // need to create a new one, and send the message on 
                     // to the newly created object.
+                    String s = getSystemNamePrefix() + addr;
                     ((DCCppTurnout) provideTurnout(s)).setFeedbackMode(Turnout.MONITORING);
                     ((DCCppTurnout) provideTurnout(s)).initmessage(l);
                 } else {
@@ -101,11 +111,11 @@ public class DCCppTurnoutManager extends jmri.managers.AbstractTurnoutManager im
                 log.debug("message has address: {}", addr);
                 // reach here for switch command; make sure we know 
                 // about this one
-                String s = getSystemNamePrefix() + addr;
-                DCCppTurnout found = (DCCppTurnout) getBySystemName(s);
+                DCCppTurnout found = (DCCppTurnout) getByAddress(addr);
                 if (found == null) {
                     // need to create a new one, and send the message on 
                     // to the newly created object.
+                    String s = getSystemNamePrefix() + addr;
                     ((DCCppTurnout) provideTurnout(s)).setFeedbackMode(Turnout.EXACT);
                     ((DCCppTurnout) provideTurnout(s)).initmessage(l);
                 } else {
@@ -6,6 +6,7 @@ import javax.annotation.Nonnull;
 
 import jmri.*;
 import jmri.jmrix.ConfiguringSystemConnectionMemo;
+import jmri.jmrix.ConnectionTelemetry;
 import jmri.jmrix.DefaultSystemConnectionMemo;
 import jmri.managers.DefaultProgrammerManager;
 import jmri.util.NamedBeanComparator;
@@ -80,6 +81,7 @@ public class EasyDccSystemConnectionMemo extends DefaultSystemConnectionMemo imp
         // in addition to setting the TrafficController in this object,
         // set the systemConnectionMemo in the traffic controller
         et.setSystemConnectionMemo(this);
+        store(et.getTelemetry(), ConnectionTelemetry.class);
     }
 
     /**
@@ -261,8 +261,7 @@ public class XBeeTrafficController extends IEEE802154TrafficController implement
      */
     @Override
     synchronized protected void sendMessage(AbstractMRMessage m, AbstractMRListener reply) {
-        msgQueue.addLast(m);
-        listenerQueue.addLast(reply);
+        transmitQueue.add(getTransmitLane(m), m, reply);
         if (m != null) {
             log.debug("just notified transmit thread with message {}", m.toString());
         }
@@ -70,6 +70,17 @@ public class XNetSensorManager extends jmri.managers.AbstractSensorManager imple
         return new XNetSensor(sName, userName, tc, getSystemPrefix());
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * XpressNet sensors are indexed by their number, so the eight sensors of
+     * a feedback encoder are found without building their system names.
+     */
+    @Override
+    protected int getAddressForIndex(@Nonnull String systemName) {
+        return getNumberFromSystemName(systemName);
+    }
+
     // listen for sensors, creating them as needed
     @Override
     public void message(XNetReply l) {
@@ -87,20 +98,16 @@ public class XNetSensorManager extends jmri.managers.AbstractSensorManager imple
                     // Each Feedback encoder includes 8 addresses, so register 
                     // a sensor for each address.
                     for (int j = 0; j < 8; j++) {
-                        String s = getSystemNamePrefix() + (firstaddress + j);
-                        if (null == getBySystemName(s)) {
+                        Sensor xns = getByAddress(firstaddress + j);
+                        if (xns == null) {
                             // The sensor doesn't exist.  We need to create a 
                             // new sensor, and forward this message to it.
+                            String s = getSystemNamePrefix() + (firstaddress + j);
                             ((XNetSensor) provideSensor(s)).initmessage(l);
                         } else {
                             // The sensor exists.  We need to forward this 
                             // message to it.
-                            Sensor xns = getBySystemName(s);
-                            if (xns == null) {
-                                log.error("Failed to get sensor for {}", s);
-                            } else {
-                                ((XNetSensor) xns).message(l);
-                            }
+                            ((XNetSensor) xns).message(l);
                         }
                     }
                 }
@@ -6,6 +6,8 @@ import jmri.jmrix.AbstractMRListener;
 import jmri.jmrix.AbstractMRMessage;
 import jmri.jmrix.AbstractMRReply;
 import jmri.jmrix.AbstractMRTrafficController;
+import jmri.jmrix.ConnectionTelemetry;
+import jmri.jmrix.TransmitQueue;
 import net.jcip.annotations.GuardedBy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -174,6 +176,71 @@ public abstract class XNetTrafficController extends AbstractMRTrafficController
         return null;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Emergency stop, emergency off and resume messages go ahead of
+     * locomotive operations, which go ahead of accessory and other messages.
+     * Emergency off and resume share a lane, so are sent in the order they
+     * were queued. Service mode programming waits until other traffic has
+     * been sent.
+     */
+    @Override
+    protected TransmitQueue.Lane getTransmitLane(AbstractMRMessage m) {
+        if (m == null || m.getNumDataElements() < 1) {
+            return TransmitQueue.Lane.ACCESSORY;
+        }
+        int opCode = m.getElement(0);
+        if (opCode == XNetConstants.ALL_ESTOP
+                || opCode == XNetConstants.EMERGENCY_STOP
+                || opCode == XNetConstants.EMERGENCY_STOP_XNETV1V2
+                || (opCode == XNetConstants.CS_REQUEST && m.getNumDataElements() > 1
+                && (m.getElement(1) == XNetConstants.EMERGENCY_OFF
+                || m.getElement(1) == XNetConstants.RESUME_OPS))) {
+            return TransmitQueue.Lane.EMERGENCY_STOP;
+        } else if (opCode == XNetConstants.LOCO_OPER_REQ
+                || opCode == XNetConstants.LOCO_OPER_REQ_V1
+                || opCode == XNetConstants.LOCO_OPER_REQ_V2) {
+            return TransmitQueue.Lane.THROTTLE;
+        } else if (m.getNeededMode() == PROGRAMINGMODE) {
+            return TransmitQueue.Lane.BULK;
+        }
+        return TransmitQueue.Lane.ACCESSORY;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Speed and direction messages for the same locomotive address are
+     * coalesced.
+     */
+    @Override
+    protected Object getCoalescingKey(AbstractMRMessage m) {
+        if (m != null && m.getNumDataElements() > 3
+                && m.getElement(0) == XNetConstants.LOCO_OPER_REQ
+                && m.getElement(1) >= XNetConstants.LOCO_SPEED_14
+                && m.getElement(1) <= XNetConstants.LOCO_SPEED_128) {
+            return (m.getElement(2) << 8) | m.getElement(3);
+        }
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * An emergency stop for a locomotive address drops a speed and direction
+     * message still waiting for the same address, which would otherwise be
+     * sent after the stop.
+     */
+    @Override
+    protected Object getSupersededKey(AbstractMRMessage m) {
+        if (m != null && m.getNumDataElements() > 2
+                && m.getElement(0) == XNetConstants.EMERGENCY_STOP) {
+            return (m.getElement(1) << 8) | m.getElement(2);
+        }
+        return null;
+    }
+
     @Override
     public synchronized void addXNetListener(int mask, XNetListener l) {
         addListener(l);
@@ -317,6 +384,9 @@ public abstract class XNetTrafficController extends AbstractMRTrafficController
      */
     public void setSystemConnectionMemo(XNetSystemConnectionMemo m) {
         mMemo = m;
+        if (m != null) {
+            m.store(getTelemetry(), ConnectionTelemetry.class);
+        }
     }
 
     private XNetFeedbackMessageCache _FeedbackCache = null;
@@ -77,19 +77,37 @@ public class XNetTurnoutManager extends jmri.managers.AbstractTurnoutManager imp
                 if (addr >= 0) {
                     log.debug("message has address: {}", addr);
                     // forward to the specified turnout.
-                    String s = getSystemNamePrefix() + addr;
-                    forwardMessageToTurnout(s, l);
+                    forwardMessageToTurnout(addr, l);
                     if (addr % 2 != 0) {
                         // if the address is odd, also send the feedback
                         // message to the even turnout.
-                        s = getSystemNamePrefix() + (addr + 1);
-                        forwardMessageToTurnout(s, l);
+                        forwardMessageToTurnout(addr + 1, l);
                     }
                 }
             }
         }
     }
 
+    // a turnout that exists is found by address, without building its name
+    private void forwardMessageToTurnout(int addr, XNetReply l) {
+        XNetTurnout t = (XNetTurnout) getByAddress(addr);
+        if (t == null) {
+            forwardMessageToTurnout(getSystemNamePrefix() + addr, l);
+        } else {
+            t.message(l);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * XpressNet turnouts are indexed by their number.
+     */
+    @Override
+    protected int getAddressForIndex(@Nonnull String systemName) {
+        return getNumberFromSystemName(systemName);
+    }
+
     protected void forwardMessageToTurnout(String s, XNetReply l){
         XNetTurnout t = (XNetTurnout) getBySystemName(s);
         if ( null == t ) {
@@ -0,0 +1,172 @@
+package jmri.jmrix.loconet;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Frame LocoNet messages from bytes received in bulk.
+ * <p>
+ * Bytes are read from the connection into a reusable buffer as many at a time
+ * as are available, and complete messages are then framed by opcode length and
+ * checksum directly from the buffer. The bytes of a message that hasn't been
+ * completely received stay in the buffer until the rest arrive.
+ * <p>
+ * Like the byte-at-a-time receive loop this replaces, bytes before an opcode
+ * are skipped, a message interrupted by an opcode is dropped and framing
+ * restarts at that opcode, and messages with a bad checksum are dropped.
+ * <p>
+ * Not thread safe; it's meant to be used by a single receive thread.
+ */
+public class LnFrameDecoder {
+
+    /**
+     * The default buffer size, in bytes.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    // longest possible message, as the length is in the 7 bit second byte
+    private static final int MAX_MESSAGE_LENGTH = 0x7F;
+
+    private final ByteBuffer buffer;
+
+    public LnFrameDecoder() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a decoder.
+     *
+     * @param capacity the size of the receive buffer in bytes; must be at
+     *                 least 128 so a message of any length fits
+     * @throws IllegalArgumentException if capacity is too small
+     */
+    public LnFrameDecoder(int capacity) {
+        if (capacity <= MAX_MESSAGE_LENGTH) {
+            throw new IllegalArgumentException("capacity must be at least " + (MAX_MESSAGE_LENGTH + 1));
+        }
+        buffer = ByteBuffer.allocate(capacity);
+    }
+
+    /**
+     * Get the receive buffer, e.g. to read into it from a channel. Bytes are
+     * added at the buffer position; don't change it otherwise.
+     *
+     * @return the buffer
+     */
+    @Nonnull
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Read the bytes available from a stream into the buffer, blocking until
+     * at least one is available.
+     *
+     * @param stream the stream to read
+     * @return the number of bytes read, 0 if the read timed out, or -1 at the
+     *         end of the stream
+     * @throws IOException if the stream fails
+     */
+    public int read(@Nonnull InputStream stream) throws IOException {
+        int n = stream.read(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        if (n > 0) {
+            buffer.position(buffer.position() + n);
+        }
+        return n;
+    }
+
+    /**
+     * Frame the complete messages in the buffer.
+     *
+     * @param consumer called with each message, in the order received
+     * @return the number of messages framed
+     */
+    public int decode(@Nonnull Consumer<LocoNetMessage> consumer) {
+        byte[] bytes = buffer.array();
+        int start = buffer.arrayOffset();
+        int end = start + buffer.position();
+        int p = start;
+        int count = 0;
+        frames:
+        while (p < end) {
+            int opCode = bytes[p] & 0xFF;
+            if ((opCode & 0x80) == 0) {
+                if (log.isTraceEnabled()) { // avoid building string
+                    log.trace("Skipping: {}", Integer.toHexString(opCode)); // NOI18N
+                }
+                p++;
+                continue;
+            }
+            if (p + 1 == end) {
+                break; // wait for the second byte
+            }
+            int byte2 = bytes[p + 1] & 0xFF;
+            int len;
+            switch ((opCode & 0x60) >> 5) {
+                case 0:
+                    len = 2;
+                    break;
+                case 1:
+                    len = 4;
+                    break;
+                case 2:
+                    len = 6;
+                    break;
+                default:
+                    len = byte2;
+                    break;
+            }
+            // check for an opcode within the message, even if it's not all here
+            int available = Math.min(len, end - p);
+            for (int i = 1; i < available; i++) {
+                int b = bytes[p + i] & 0xFF;
+                if ((b & 0x80) != 0) {
+                    log.warn("LocoNet message with opCode: {} ended early. Expected length: {} seen length: {} unexpected byte: {}", Integer.toHexString(opCode), len, i, Integer.toHexString(b)); // NOI18N
+                    p += i;
+                    continue frames;
+                }
+            }
+            if (len < 2) {
+                log.error("LocoNet message length invalid: {} opcode: {}", byte2, Integer.toHexString(opCode)); // NOI18N
+                p++;
+                continue;
+            }
+            if (available < len) {
+                break; // wait for the rest of the message
+            }
+            LocoNetMessage msg = new LocoNetMessage(bytes, p, len);
+            if (!checkParity(bytes, p, len, msg)) {
+                log.warn("Ignore LocoNet packet with bad checksum: {}", msg);
+            } else {
+                consumer.accept(msg);
+                count++;
+            }
+            p += len;
+        }
+        // keep the bytes of an incomplete message
+        buffer.limit(end - start);
+        buffer.position(p - start);
+        buffer.compact();
+        return count;
+    }
+
+    private static boolean checkParity(byte[] bytes, int offset, int len, LocoNetMessage msg) {
+        if ((bytes[offset] & 0xFF) == LnConstants.RE_OPC_PR3_MODE && len > 6) {
+            return msg.checkParity(); // the D3 header has its own checksum
+        }
+        // the checksum makes the exclusive or of all bytes 0xFF
+        int sum = 0;
+        for (int i = offset; i < offset + len; i++) {
+            sum ^= bytes[i];
+        }
+        return (sum & 0xFF) == 0xFF;
+    }
+
+    private final static Logger log = LoggerFactory.getLogger(LnFrameDecoder.class);
+
+}
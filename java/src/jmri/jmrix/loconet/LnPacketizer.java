@@ -2,8 +2,12 @@ package jmri.jmrix.loconet;
 
 import java.io.DataInputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
+import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import javax.annotation.CheckForNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,6 +45,8 @@ public class LnPacketizer extends LnTrafficController {
         // set the memo to point here
         memo = m;
         m.setLnTrafficController(this);
+        // a throttle's speed supersedes its last one
+        setCoalesced(LnConstants.OPC_LOCO_SPD, true);
     }
 
     // The methods to implement the LocoNetInterface
@@ -58,6 +64,58 @@ public class LnPacketizer extends LnTrafficController {
      */
     protected LinkedList<byte[]> xmtList = new LinkedList<byte[]>();
 
+    /**
+     * Opcodes of the messages that are coalesced: a message with one of these
+     * opcodes replaces a waiting message with the same opcode and slot,
+     * keeping its place in the transmit queue. Only OPC_LOCO_SPD by default.
+     */
+    private final boolean[] coalescedOpCodes = new boolean[128];
+
+    /**
+     * Set whether messages with an opcode are coalesced. If they are, a
+     * message replaces a message with the same opcode and slot number (the
+     * second byte) that is still waiting to be transmitted, keeping its
+     * place in the queue, instead of being queued itself. A waiting message
+     * is only replaced if no other message for the same slot was queued after
+     * it, so messages for a slot are always sent in the order they were
+     * queued. Only use this for messages that completely supersede earlier
+     * ones, e.g. OPC_LOCO_SPD while a throttle slider is dragged, which is
+     * the only opcode coalesced by default.
+     *
+     * @param opCode   the opcode
+     * @param coalesce true to coalesce messages with the opcode
+     */
+    public void setCoalesced(int opCode, boolean coalesce) {
+        coalescedOpCodes[opCode & 0x7F] = coalesce;
+    }
+
+    /**
+     * Check whether messages with an opcode are coalesced.
+     *
+     * @param opCode the opcode
+     * @return true if messages with the opcode are coalesced
+     * @see #setCoalesced(int, boolean)
+     */
+    public boolean isCoalesced(int opCode) {
+        return coalescedOpCodes[opCode & 0x7F];
+    }
+
+    private volatile LocoNetListener captureListener = null;
+
+    /**
+     * Set a listener to be sent each received message as soon as it's
+     * framed, on the receive thread, before it's queued for the other
+     * listeners on the layout thread. This is meant for capturing traffic with
+     * accurate times, e.g. with a
+     * {@link jmri.jmrix.loconet.hexfile.LnCaptureWriter}; the listener must
+     * be quick, as it holds up receiving.
+     *
+     * @param listener the listener, or null to stop sending messages to it
+     */
+    public void setCaptureListener(@CheckForNull LocoNetListener listener) {
+        captureListener = listener;
+    }
+
     /**
      * XmtHandler (a local class) object to implement the transmit thread.
      * <p>
@@ -83,9 +141,6 @@ public class LnPacketizer extends LnTrafficController {
     @Override
     public void sendLocoNetMessage(LocoNetMessage m) {
 
-        // update statistics
-        transmittedMsgCount++;
-
         // set the error correcting code byte(s) before transmittal
         m.setParity();
 
@@ -102,7 +157,16 @@ public class LnPacketizer extends LnTrafficController {
         // queued up.
         try {
             synchronized (xmtHandler) {
+                if (len > 1 && coalescedOpCodes[msg[0] & 0x7F] && replaceWaiting(msg)) {
+                    telemetry.recordCoalesced();
+                    log.debug("replaced waiting message with {}", m);
+                    return;
+                }
                 xmtList.addLast(msg);
+                // update statistics; a message that replaced one isn't counted again
+                telemetry.recordQueued();
+                transmittedMsgCount++;
+                telemetry.recordQueueDepth(xmtList.size());
                 xmtHandler.notifyAll(); 
             }
         } catch (RuntimeException e) {
@@ -110,6 +174,53 @@ public class LnPacketizer extends LnTrafficController {
         }
     }
 
+    /**
+     * Replace the last waiting message for the same slot as a message, if it
+     * has the same opcode. Must be called while synchronized on the
+     * xmtHandler.
+     *
+     * @param msg the new message
+     * @return true if a waiting message was replaced
+     */
+    private boolean replaceWaiting(byte[] msg) {
+        ListIterator<byte[]> it = xmtList.listIterator(xmtList.size());
+        while (it.hasPrevious()) {
+            byte[] waiting = it.previous();
+            if (isForSlot(waiting, msg[1])) {
+                // never move a message ahead of a later one for the same slot
+                if (waiting.length == msg.length && waiting[0] == msg[0]) {
+                    it.set(msg);
+                    return true;
+                }
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check if a message may refer to a slot. This errs on the side of
+     * caution, as a message that doesn't refer to the slot only stops a
+     * message being coalesced.
+     */
+    private static boolean isForSlot(byte[] msg, byte slot) {
+        if (msg.length > 1 && msg[1] == slot) {
+            return true;
+        }
+        if (msg.length > 2) {
+            switch (msg[0] & 0xFF) {
+                case LnConstants.OPC_WR_SL_DATA:
+                case LnConstants.OPC_MOVE_SLOTS:
+                case LnConstants.OPC_LINK_SLOTS:
+                case LnConstants.OPC_UNLINK_SLOTS:
+                    return msg[2] == slot;
+                default:
+                    break;
+            }
+        }
+        return false;
+    }
+
     /**
      * Implement abstract method to signal if there's a backlog of information
      * waiting to be sent.
@@ -167,6 +278,9 @@ public class LnPacketizer extends LnTrafficController {
     /**
      * Read a single byte, protecting against various timeouts, etc.
      * <p>
+     * This is used by subclasses that read a byte at a time; the receive
+     * handler here reads in bulk.
+     * <p>
      * When a port is set to have a receive timeout (via the
      * enableReceiveTimeout() method), some will return zero bytes or an
      * EOFException at the end of the timeout. In that case, the read should be
@@ -210,103 +324,21 @@ public class LnPacketizer extends LnTrafficController {
          * input messages in character form on the stream connected to the
          * LnPortController via <code>connectPort</code>. Terminates with the
          * input stream breaking out of the try block.
+         * <p>
+         * Characters are read as many at a time as are available, and framed
+         * into messages by an {@link LnFrameDecoder}.
          */
         @Override
         public void run() {
 
-            int opCode;
+            LnFrameDecoder decoder = new LnFrameDecoder();
             while (!threadStopRequest) {   // loop until asked to stop
                 try {
-                    // start by looking for command -  skip if bit not set
-                    while (((opCode = (readByteProtected(istream) & 0xFF)) & 0x80) == 0) { // the real work is in the loop check
-                        if (log.isTraceEnabled()) { // avoid building string 
-                            log.trace("Skipping: {}", Integer.toHexString(opCode)); // NOI18N
-                        }
-                    }
-                    // here opCode is OK. Create output message
-                    if (log.isTraceEnabled()) { // avoid building string 
-                        log.trace(" (RcvHandler) Start message with opcode: {}", Integer.toHexString(opCode)); // NOI18N
-                    }
-                    LocoNetMessage msg = null;
-                    while (msg == null) {
-                        try {
-                            // Capture 2nd byte, always present
-                            int byte2 = readByteProtected(istream) & 0xFF;
-                            if (log.isTraceEnabled()) { // avoid building string 
-                                log.trace("Byte2: {}", Integer.toHexString(byte2)); // NOI18N
-                            }                            // Decide length
-                            int len = 2;
-                            switch ((opCode & 0x60) >> 5) {
-                                case 0:
-                                    /* 2 byte message */
-
-                                    len = 2;
-                                    break;
-
-                                case 1:
-                                    /* 4 byte message */
-
-                                    len = 4;
-                                    break;
-
-                                case 2:
-                                    /* 6 byte message */
-
-                                    len = 6;
-                                    break;
-
-                                case 3:
-                                    /* N byte message */
-
-                                    if (byte2 < 2) {
-                                        log.error("LocoNet message length invalid: {} opcode: {}", byte2, Integer.toHexString(opCode)); // NOI18N
-                                    }
-                                    len = byte2;
-                                    break;
-                                default:
-                                    log.warn("Unhandled code: {}", (opCode & 0x60) >> 5);
-                                    break;
-                            }
-                            msg = new LocoNetMessage(len);
-                            // message exists, now fill it
-                            msg.setOpCode(opCode);
-                            msg.setElement(1, byte2);
-                            log.trace("len: {}", len); // NOI18N
-                            for (int i = 2; i < len; i++) {
-                                // check for message-blocking error
-                                int b = readByteProtected(istream) & 0xFF;
-                                if (log.isTraceEnabled()) {
-                                    log.trace("char {} is: {}", i, Integer.toHexString(b)); // NOI18N
-                                }
-                                if ((b & 0x80) != 0) {
-                                    log.warn("LocoNet message with opCode: {} ended early. Expected length: {} seen length: {} unexpected byte: {}", Integer.toHexString(opCode), len, i, Integer.toHexString(b)); // NOI18N
-                                    opCode = b;
-                                    throw new LocoNetMessageException();
-                                }
-                                msg.setElement(i, b);
-                            }
-                        } catch (LocoNetMessageException e) {
-                            // retry by destroying the existing message
-                            // opCode is set for the newly-started packet
-                            msg = null;
-                        }
+                    // some ports return zero bytes at the end of a receive
+                    // timeout; just read again
+                    if (decoder.read(istream) > 0) {
+                        decoder.decode(this::dispatch);
                     }
-                    // check parity
-                    if (!msg.checkParity()) {
-                        log.warn("Ignore LocoNet packet with bad checksum: {}", msg);
-                        throw new LocoNetMessageException();
-                    }
-                    // message is complete, dispatch it !!
-                    {
-                        log.debug("queue message for notification: {}", msg);
-
-                        jmri.util.ThreadingUtil.runOnLayoutEventually(new RcvMemo(msg, trafficController));
-                    }
-
-                    // done with this one
-                } catch (LocoNetMessageException e) {
-                    // just let it ride for now
-                    log.warn("run: unexpected LocoNetMessageException: {}", e); // NOI18N
                 } catch (java.io.EOFException e) {
                     // posted from idle port when enableReceiveTimeout used
                     log.trace("EOFException, is LocoNet serial I/O using timeouts?"); // NOI18N
@@ -323,6 +355,15 @@ public class LnPacketizer extends LnTrafficController {
                 }
             } // end of permanent loop
         }
+
+        private void dispatch(LocoNetMessage msg) {
+            LocoNetListener capture = captureListener;
+            if (capture != null) {
+                capture.message(msg);
+            }
+            log.debug("queue message for notification: {}", msg);
+            jmri.util.ThreadingUtil.runOnLayoutEventually(new RcvMemo(msg, trafficController));
+        }
     }
 
     /**
@@ -348,9 +389,16 @@ public class LnPacketizer extends LnTrafficController {
 
     /**
      * Captive class to handle transmission.
+     * <p>
+     * All the messages waiting when the transmit thread wakes are copied into
+     * one reusable buffer and written to the stream together, with a single
+     * flush.
      */
     class XmtHandler implements Runnable {
 
+        private final byte[] xmtBuffer = new byte[XMT_BUFFER_SIZE];
+        private final ArrayList<byte[]> batch = new ArrayList<>();
+
         /**
          * Loops forever, looking for message to send and processing them.
          */
@@ -362,9 +410,21 @@ public class LnPacketizer extends LnTrafficController {
                 try {
                     // get content; failure is a NoSuchElementException
                     log.trace("check for input"); // NOI18N
-                    byte msg[] = null;
+                    int len;
                     synchronized (this) {
-                        msg = xmtList.removeFirst();
+                        byte[] msg = xmtList.removeFirst();
+                        batch.add(msg);
+                        len = msg.length;
+                        while (!xmtList.isEmpty() && len + xmtList.getFirst().length <= xmtBuffer.length) {
+                            msg = xmtList.removeFirst();
+                            batch.add(msg);
+                            len += msg.length;
+                        }
+                    }
+                    int offset = 0;
+                    for (byte[] msg : batch) {
+                        System.arraycopy(msg, 0, xmtBuffer, offset, msg.length);
+                        offset += msg.length;
                     }
 
                     // input - now send
@@ -372,20 +432,22 @@ public class LnPacketizer extends LnTrafficController {
                         if (ostream != null) {
                             if (log.isDebugEnabled()) { // avoid work if not needed
                                 if (isXmtBusy()) log.debug("LocoNet port not ready to receive"); // NOI18N
-                                log.debug("start write to stream: {}", jmri.util.StringUtil.hexStringFromBytes(msg)); // NOI18N
+                                log.debug("start write of {} messages to stream: {}", batch.size(), jmri.util.StringUtil.hexStringFromBytes(Arrays.copyOf(xmtBuffer, len))); // NOI18N
                             }
-                            ostream.write(msg);
+                            ostream.write(xmtBuffer, 0, len);
                             ostream.flush();
-                            if (log.isTraceEnabled()) { // avoid String building if not needed
-                                log.trace("end write to stream: {}", jmri.util.StringUtil.hexStringFromBytes(msg)); // NOI18N
+                            log.trace("end write to stream"); // NOI18N
+                            for (byte[] msg : batch) {
+                                messageTransmitted(msg);
                             }
-                            messageTransmitted(msg);
                         } else {
                             // no stream connected
                             log.warn("sendLocoNetMessage: no connection established"); // NOI18N
                         }
                     } catch (java.io.IOException e) {
                         log.warn("sendLocoNetMessage: IOException: {}", e.toString()); // NOI18N
+                    } finally {
+                        batch.clear();
                     }
                 } catch (NoSuchElementException e) {
                     // message queue was empty, wait for input
@@ -399,6 +461,12 @@ public class LnPacketizer extends LnTrafficController {
         }
     }
 
+    /**
+     * The most bytes written to the stream at once; several LocoNet messages,
+     * and at least the longest one.
+     */
+    static final int XMT_BUFFER_SIZE = 512;
+
     /**
      * When a message is finally transmitted, forward it to listeners if echoing
      * is needed.
@@ -407,6 +475,7 @@ public class LnPacketizer extends LnTrafficController {
      */
     protected void messageTransmitted(byte[] msg) {
         log.debug("message transmitted (echo {})", echo);
+        telemetry.recordSent(msg.length);
         if (!echo) {
             return;
         }
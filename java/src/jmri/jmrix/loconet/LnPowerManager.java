@@ -27,7 +27,7 @@ public class LnPowerManager extends AbstractPowerManager<LocoNetSystemConnection
             return;
         }
         this.tc = memo.getLnTrafficController();
-        tc.addLocoNetListener(~0, this);
+        tc.addLocoNetListener(LocoNetInterface.POWER | LocoNetInterface.SLOTINFO, this);
 
         updateTrackPowerStatus();  // this delays a while then reads slot 0 to get current track status
     }
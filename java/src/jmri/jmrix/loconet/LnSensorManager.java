@@ -26,7 +26,7 @@ public class LnSensorManager extends jmri.managers.AbstractSensorManager impleme
             return;
         }
         // ctor has to register for LocoNet events
-        tc.addLocoNetListener(~0, this);
+        tc.addLocoNetListener(LocoNetInterface.SENSORS, this);
 
         // start the update sequence. Until JMRI 2.9.4, this waited
         // until files have been read, but starts automatically
@@ -72,36 +72,62 @@ public class LnSensorManager extends jmri.managers.AbstractSensorManager impleme
         return new LnSensor(systemName, userName, tc, getSystemPrefix());
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * LocoNet sensors are indexed by their number in the 1-4096 space.
+     */
+    @Override
+    protected int getAddressForIndex(@Nonnull String systemName) {
+        int bit = getBitFromSystemName(systemName);
+        return (bit != 0) ? bit : -1;
+    }
+
     // listen for sensors, creating them as needed
     @Override
     public void message(LocoNetMessage l) {
         // parse message type
-        LnSensorAddress a;
-        LnSensor ns;
+        int address;
         switch (l.getOpCode()) {
             case LnConstants.OPC_INPUT_REP:                /* page 9 of LocoNet PE */
 
                 int sw1 = l.getElement(1);
                 int sw2 = l.getElement(2);
-                a = new LnSensorAddress(sw1, sw2, getSystemPrefix());
-                log.debug("INPUT_REP received with address {}", a);
+                address = address(sw1, sw2);
+                if (log.isDebugEnabled()) {
+                    log.debug("INPUT_REP received with address {}", new LnSensorAddress(sw1, sw2, getSystemPrefix()));
+                }
                 break;
             default:  // here we didn't find an interesting command
                 return;
         }
         // reach here for LocoNet sensor input command; make sure we know about this one
-        String s = a.getNumericAddress();
-        ns = (LnSensor) getBySystemName(s);
+        LnSensor ns = (LnSensor) getByAddress(address);
         if (ns == null) {
-            // need to store a new one
-            if (log.isDebugEnabled()) {
+            String s = getSystemNamePrefix() + address;
+            ns = (LnSensor) getBySystemName(s);
+            if (ns == null) {
+                // need to store a new one
                 log.debug("Create new LnSensor as {}", s);
+                ns = (LnSensor) newSensor(s, null);
             }
-            ns = (LnSensor) newSensor(s, null);
         }
         ns.messageFromManager(l);  // have it update state
     }
 
+    /**
+     * Get the sensor number in the 1-4096 space from the address bytes of an
+     * OPC_INPUT_REP message, as {@link LnSensorAddress#getNumericAddress()}
+     * does, without creating any objects.
+     *
+     * @param sw1 byte 1 of the message
+     * @param sw2 byte 2 of the message
+     * @return the sensor number
+     */
+    static int address(int sw1, int sw2) {
+        return (sw2 & 0x0F) * 256 + (sw1 & 0x7F) * 2 + ((sw2 & 0x20) != 0 ? 1 : 0) + 1;
+    }
+
     volatile LnSensorUpdateThread thread;
 
     /**
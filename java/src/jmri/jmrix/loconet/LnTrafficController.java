@@ -1,8 +1,11 @@
 package jmri.jmrix.loconet;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Vector;
+import java.util.concurrent.atomic.LongAdder;
 import javax.annotation.Nonnull;
+import jmri.jmrix.ConnectionTelemetry;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -75,12 +78,39 @@ public abstract class LnTrafficController implements LocoNetInterface {
     // relies on Vector being a synchronized class
     protected Vector<LocoNetListener> listeners = new Vector<LocoNetListener>();
 
+    /**
+     * Registration mask of each listener in {@link #listeners}, the OR of all
+     * masks it was registered with.
+     */
+    private final HashMap<LocoNetListener, Integer> listenerMasks = new HashMap<>();
+
+    /**
+     * Listeners to be notified, indexed by the opcode of the message with the
+     * top bit removed. The table is replaced (never modified) when a listener
+     * is added or removed, so {@link #notify(LocoNetMessage)} can use it
+     * without locking or copying.
+     */
+    private volatile LocoNetListener[][] dispatchTable = new LocoNetListener[128][0];
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The mask is used to skip listeners that can't be interested in a
+     * message; see {@link #getOpCodeMask(int)} for the mapping of opcodes to
+     * mask values. A mask of 0 is treated as {@link LocoNetInterface#ALL} for
+     * compatibility with older clients.
+     */
     @Override
     public synchronized void addLocoNetListener(int mask, @Nonnull LocoNetListener l) {
         java.util.Objects.requireNonNull(l);
         if (!listeners.contains(l)) {
             listeners.addElement(l);
         }
+        if (mask == 0) {
+            mask = LocoNetInterface.ALL;
+        }
+        listenerMasks.merge(l, mask, (a, b) -> a | b);
+        updateDispatchTable();
     }
 
     @Override
@@ -88,11 +118,79 @@ public abstract class LnTrafficController implements LocoNetInterface {
         java.util.Objects.requireNonNull(l);
         if (listeners.contains(l)) {
             listeners.removeElement(l);
+            listenerMasks.remove(l);
+            updateDispatchTable();
+        }
+    }
+
+    /**
+     * Rebuild the opcode dispatch table from the current listeners, keeping
+     * registration order. Opcodes with the same mask share one array.
+     */
+    private void updateDispatchTable() {
+        LocoNetListener[][] table = new LocoNetListener[128][];
+        HashMap<Integer, LocoNetListener[]> byMask = new HashMap<>();
+        for (int i = 0; i < table.length; i++) {
+            int opCodeMask = getOpCodeMask(0x80 | i);
+            table[i] = byMask.computeIfAbsent(opCodeMask, m -> {
+                ArrayList<LocoNetListener> a = new ArrayList<>();
+                for (LocoNetListener l : listeners) {
+                    if ((listenerMasks.getOrDefault(l, LocoNetInterface.ALL) & m) != 0) {
+                        a.add(l);
+                    }
+                }
+                return a.toArray(new LocoNetListener[a.size()]);
+            });
+        }
+        dispatchTable = table;
+    }
+
+    /**
+     * Get the listener mask value(s) a LocoNet opcode belongs to.
+     * <p>
+     * Opcodes that don't clearly belong to one of the mask values defined in
+     * {@link LocoNetInterface} (e.g. OPC_LONG_ACK, OPC_PEER_XFER) return
+     * {@link LocoNetInterface#ALL}, so they are forwarded to every listener.
+     *
+     * @param opCode the LocoNet opcode
+     * @return the OR of the mask values for the opcode
+     */
+    public static int getOpCodeMask(int opCode) {
+        switch (opCode) {
+            case LnConstants.OPC_GPON:
+            case LnConstants.OPC_GPOFF:
+            case LnConstants.OPC_IDLE:
+                return LocoNetInterface.POWER;
+            case LnConstants.OPC_INPUT_REP:
+                return LocoNetInterface.SENSORS;
+            case LnConstants.OPC_SW_REQ:
+            case LnConstants.OPC_SW_REP:
+            case LnConstants.OPC_SW_STATE:
+            case LnConstants.OPC_SW_ACK:
+                return LocoNetInterface.TURNOUTS;
+            case LnConstants.OPC_LOCO_SPD:
+            case LnConstants.OPC_LOCO_DIRF:
+            case LnConstants.OPC_LOCO_SND:
+            case LnConstants.OPC_SLOT_STAT1:
+            case LnConstants.OPC_CONSIST_FUNC:
+            case LnConstants.OPC_UNLINK_SLOTS:
+            case LnConstants.OPC_LINK_SLOTS:
+            case LnConstants.OPC_MOVE_SLOTS:
+            case LnConstants.OPC_RQ_SL_DATA:
+            case LnConstants.OPC_LOCO_ADR:
+                return LocoNetInterface.SLOTINFO;
+            case LnConstants.OPC_SL_RD_DATA:
+            case LnConstants.OPC_WR_SL_DATA:
+                // also used for the programming slot
+                return LocoNetInterface.SLOTINFO | LocoNetInterface.PROGRAMMING;
+            default:
+                return LocoNetInterface.ALL;
         }
     }
 
     /**
-     * Forward a LocoNetMessage to all registered listeners.
+     * Forward a LocoNetMessage to all registered listeners interested in its
+     * opcode.
      * <p>
      * Needs to have public access, as
      * {@link jmri.jmrix.loconet.loconetovertcp.LnOverTcpPacketizer} and
@@ -103,16 +201,15 @@ public abstract class LnTrafficController implements LocoNetInterface {
      */
     public void notify(LocoNetMessage m) {
         // record statistics
+        telemetry.recordReceived(m.getNumDataElements());
         receivedMsgCount++;
         receivedByteCount += m.getNumDataElements();
 
-        // make a copy of the listener vector for notifications; synchronized not needed once copied
-        ArrayList<LocoNetListener> v;
-        synchronized (this) {
-            v = new ArrayList<LocoNetListener>(listeners);
-        }
+        // the dispatch table is never modified once published, so no copy is needed
+        LocoNetListener[] v = dispatchTable[m.getOpCode() & 0x7F];
+        listenerInvocationCount.add(v.length);
 
-        // forward to all listeners
+        // forward to all interested listeners
         log.debug("notify of incoming LocoNet packet: {}", m);
         for (LocoNetListener client : v) {
             log.trace("  notify {} of incoming LocoNet packet: {}", client, m);
@@ -131,12 +228,30 @@ public abstract class LnTrafficController implements LocoNetInterface {
 
     /**
      * Reset statistics (received message count, transmitted message count,
-     * received byte count).
+     * received byte count, listener invocation count, and the rest of the
+     * connection telemetry).
      */
     public void resetStatistics() {
+        telemetry.reset();
         receivedMsgCount = 0;
         transmittedMsgCount = 0;
         receivedByteCount = 0;
+        listenerInvocationCount.reset();
+    }
+
+    /**
+     * Traffic statistics for this connection. The message counts below are
+     * kept here.
+     */
+    protected final ConnectionTelemetry telemetry = new ConnectionTelemetry();
+
+    /**
+     * Get the traffic statistics for this connection.
+     *
+     * @return the statistics
+     */
+    public ConnectionTelemetry getTelemetry() {
+        return telemetry;
     }
 
     /**
@@ -155,6 +270,7 @@ public abstract class LnTrafficController implements LocoNetInterface {
     public int getReceivedMsgCount() {
         return receivedMsgCount;
     }
+    // counted alongside the telemetry
     protected int receivedMsgCount = 0;
 
     /**
@@ -166,6 +282,7 @@ public abstract class LnTrafficController implements LocoNetInterface {
     public int getReceivedByteCount() {
         return receivedByteCount;
     }
+    // counted alongside the telemetry
     protected int receivedByteCount = 0;
 
     /**
@@ -176,8 +293,31 @@ public abstract class LnTrafficController implements LocoNetInterface {
     public int getTransmittedMsgCount() {
         return transmittedMsgCount;
     }
+    // counted alongside the telemetry by subclasses when they queue a message
     protected int transmittedMsgCount = 0;
 
+    /**
+     * Monitor the number of calls made to LocoNetListeners for received
+     * messages. Divide by {@link #getReceivedMsgCount()} to get the number of
+     * listener invocations per packet.
+     *
+     * @return the number of listener invocations
+     */
+    public long getListenerInvocationCount() {
+        return listenerInvocationCount.sum();
+    }
+    protected final LongAdder listenerInvocationCount = new LongAdder();
+
+    /**
+     * Monitor the number of LocoNet messages that replaced an earlier message
+     * still waiting to be transmitted, instead of being queued.
+     *
+     * @return the number of messages coalesced
+     */
+    public int getCoalescedMsgCount() {
+        return (int) telemetry.getCoalescedCount();
+    }
+
     private final static Logger log = LoggerFactory.getLogger(LnTrafficController.class);
 
 }
@@ -46,6 +46,7 @@ public class LnTrafficRouter extends LnTrafficController implements LocoNetListe
     @Override
     public void sendLocoNetMessage(LocoNetMessage m) {
         // update statistics
+        telemetry.recordQueued();
         transmittedMsgCount++;
 
         // forward message
@@ -54,7 +54,7 @@ public class LnTurnoutManager extends AbstractTurnoutManager implements LocoNetL
         this.mTurnoutNoRetry = mTurnoutNoRetry;
 
         if (fastcontroller != null) {
-            fastcontroller.addLocoNetListener(~0, this);
+            fastcontroller.addLocoNetListener(LocoNetInterface.TURNOUTS, this);
         } else {
             log.error("No layout connection, turnout manager can't function");
         }
@@ -123,7 +123,6 @@ public class LnTurnoutManager extends AbstractTurnoutManager implements LocoNetL
     @Override
     public void message(LocoNetMessage l) {
         log.debug("LnTurnoutManager message {}", l);
-        String prefix = getSystemPrefix();
         // parse message type
         int addr;
         switch (l.getOpCode()) {
@@ -141,7 +140,9 @@ public class LnTurnoutManager extends AbstractTurnoutManager implements LocoNetL
                 if (((sw1 & 0xFC) == 0x78) && ((sw2 & 0xCF) == 0x07)) {
                     return;  // turnout interrogate msg
                 }
-                log.debug("SW_REQ received with address {}", addr);
+                if (log.isDebugEnabled()) {
+                    log.debug("SW_REQ received with address {}", addr);
+                }
                 break;
             }
             case LnConstants.OPC_SW_REP: {                /* page 9 of LocoNet PE */
@@ -154,7 +155,9 @@ public class LnTurnoutManager extends AbstractTurnoutManager implements LocoNetL
                 int sw1 = l.getElement(1);
                 int sw2 = l.getElement(2);
                 addr = address(sw1, sw2);
-                log.debug("SW_REP received with address {}", addr);
+                if (log.isDebugEnabled()) {
+                    log.debug("SW_REP received with address {}", addr);
+                }
                 break;
             }
             case LnConstants.OPC_LONG_ACK: {
@@ -175,8 +178,14 @@ public class LnTurnoutManager extends AbstractTurnoutManager implements LocoNetL
                 return;
         }
         // reach here for LocoNet switch command; make sure that a Turnout with this name exists
+        LnTurnout lnT = (LnTurnout) getByAddress(addr);
+        if (lnT != null) {
+            lnT.messageFromManager(l);
+            return;
+        }
+        String prefix = getSystemPrefix();
         String s = prefix + "T" + addr; // NOI18N
-        LnTurnout lnT = (LnTurnout) getBySystemName(s);
+        lnT = (LnTurnout) getBySystemName(s);
         if (lnT == null) {
             // no turnout with this address, is there a light?
             String sx = prefix + "L" + addr; // NOI18N
@@ -192,6 +201,17 @@ public class LnTurnoutManager extends AbstractTurnoutManager implements LocoNetL
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * LocoNet turnouts are indexed by their number in the 1-4096 space.
+     */
+    @Override
+    protected int getAddressForIndex(@Nonnull String systemName) {
+        int bit = getBitFromSystemName(systemName);
+        return (bit != 0) ? bit : -1;
+    }
+
     private int address(int a1, int a2) {
         // the "+ 1" in the following converts to throttle-visible numbering
         return (((a2 & 0x0f) * 128) + (a1 & 0x7f) + 1);
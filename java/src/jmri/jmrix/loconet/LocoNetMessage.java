@@ -146,6 +146,21 @@ public class LocoNetMessage extends AbstractMessage implements Serializable {
         }
     }
 
+    /**
+     * Create a message from part of a receive buffer.
+     *
+     * @param bytes  the buffer
+     * @param offset the index of the opcode
+     * @param len    the message length, at least 2
+     */
+    LocoNetMessage(byte[] bytes, int offset, int len) {
+        _nDataChars = len;
+        _dataChars = new int[len];
+        for (int i = 0; i < len; i++) {
+            _dataChars[i] = bytes[offset + i] & 0xFF;
+        }
+    }
+
     public LocoNetMessage(LocoNetMessage original) {
         Objects.requireNonNull(original,
                 "Unable to create message by copying a null message"); // NOI18N
@@ -1,8 +1,7 @@
 package jmri.jmrix.loconet;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -10,7 +9,9 @@ import org.slf4j.LoggerFactory;
  * Represents the contents of a single slot in the LocoNet command station.
  * <p>
  * A SlotListener can be registered to hear of changes in this slot. All changes
- * in values will result in notification.
+ * in values will result in notification. A slot read or write that leaves
+ * every value as it was, as when the command station refreshes a slot, is not
+ * notified.
  * <p>
  * Strictly speaking, functions 9 through 28 are not in the actual slot, but
  * it's convenient to imagine there's an "extended slot" and keep track of them
@@ -775,18 +776,36 @@ public class LocoNetSlot {
                 if (slot != l.getElement(2)) {
                     log.error("Asked to handle message not for this slot ({}) {}", slot, l);
                 }
-                stat = l.getElement(3);
-                _pcmd = l.getElement(4);
-                addr = l.getElement(4) + 128 * l.getElement(9);
-                spd = l.getElement(5);
-                dirf = l.getElement(6);
-                trk = l.getElement(7);
-                ss2 = l.getElement(8);
+                int newStat = l.getElement(3);
+                int newPcmd = l.getElement(4);
+                int newAddr = l.getElement(4) + 128 * l.getElement(9);
+                int newSpd = l.getElement(5);
+                int newDirf = l.getElement(6);
+                int newTrk = l.getElement(7);
+                int newSs2 = l.getElement(8);
                 // item 9 is in add2
-                snd = l.getElement(10);
-                id = l.getElement(11) + 128 * l.getElement(12);
-
-                notifySlotListeners();
+                int newSnd = l.getElement(10);
+                int newId = l.getElement(11) + 128 * l.getElement(12);
+
+                // command stations refresh slots far more often than they
+                // change, so only tell the listeners when something did
+                boolean changed = newStat != stat || newPcmd != _pcmd || newAddr != addr
+                        || newSpd != spd || newDirf != dirf || newTrk != trk
+                        || newSs2 != ss2 || newSnd != snd || newId != id;
+                stat = newStat;
+                _pcmd = newPcmd;
+                addr = newAddr;
+                spd = newSpd;
+                dirf = newDirf;
+                trk = newTrk;
+                ss2 = newSs2;
+                snd = newSnd;
+                id = newId;
+
+                if (changed || !contentsSet) {
+                    contentsSet = true;
+                    notifySlotListeners();
+                }
                 return;
             }
             case LnConstants.OPC_SLOT_STAT1:
@@ -1049,19 +1068,20 @@ public class LocoNetSlot {
 
     private long lastUpdateTime; // Time of last update for detecting stale slots
 
+    // set once the slot has been filled from a slot read or write
+    private boolean contentsSet = false;
+
     // data members to hold contact with the slot listeners
-    final private List<SlotListener> slotListeners = new ArrayList<>();
+    final private CopyOnWriteArrayList<SlotListener> slotListeners = new CopyOnWriteArrayList<>();
 
     /**
      * Registers a slot listener if it is not already registered.
      *
      * @param l  a slot listener
      */
-    public synchronized void addSlotListener(SlotListener l) {
+    public void addSlotListener(SlotListener l) {
         // add only if not already registered
-        if (!slotListeners.contains(l)) {
-            slotListeners.add(l);
-        }
+        slotListeners.addIfAbsent(l);
     }
 
     /**
@@ -1069,10 +1089,8 @@ public class LocoNetSlot {
      *
      * @param l  a slot listener
      */
-    public synchronized void removeSlotListener(SlotListener l) {
-        if (slotListeners.contains(l)) {
-            slotListeners.remove(l);
-        }
+    public void removeSlotListener(SlotListener l) {
+        slotListeners.remove(l);
     }
 
     /**
@@ -1089,16 +1107,9 @@ public class LocoNetSlot {
      * Notifies all listeners that this slot has been changed in some way.
      */
     public void notifySlotListeners() {
-        // make a copy of the listener list to synchronized not needed for transmit
-        List<SlotListener> v;
-        synchronized (this) {
-            v = new ArrayList<>(slotListeners);
-        }
-        log.debug("notify {} SlotListeners",v.size()); // NOI18N
-        // forward to all listeners
-        int cnt = v.size();
-        for (int i = 0; i < cnt; i++) {
-            SlotListener client = v.get(i);
+        log.debug("notify {} SlotListeners", slotListeners.size()); // NOI18N
+        // iterates over a snapshot of the listeners, so needs no lock
+        for (SlotListener client : slotListeners) {
             client.notifyChangedSlot(this);
         }
     }
@@ -6,6 +6,7 @@ import javax.annotation.Nonnull;
 
 import jmri.*;
 import jmri.jmrix.ConfiguringSystemConnectionMemo;
+import jmri.jmrix.ConnectionTelemetry;
 import jmri.jmrix.DefaultSystemConnectionMemo;
 import jmri.jmrix.debugthrottle.DebugThrottleManager;
 import jmri.jmrix.loconet.swing.LnComponentFactory;
@@ -36,6 +37,9 @@ public class LocoNetSystemConnectionMemo extends DefaultSystemConnectionMemo imp
     public LocoNetSystemConnectionMemo(LnTrafficController lt, SlotManager sm) {
         super("L", "LocoNet"); // NOI18N
         this.lt = lt;
+        if (lt != null) {
+            store(lt.getTelemetry(), ConnectionTelemetry.class);
+        }
 
         this.sm = sm; // doesn't full register, but fine for this purpose.
 
@@ -105,6 +109,9 @@ public class LocoNetSystemConnectionMemo extends DefaultSystemConnectionMemo imp
 
     public void setLnTrafficController(LnTrafficController lt) {
         this.lt = lt;
+        if (lt != null) {
+            store(lt.getTelemetry(), ConnectionTelemetry.class);
+        }
     }
 
     public LnMessageManager getLnMessageManager() {
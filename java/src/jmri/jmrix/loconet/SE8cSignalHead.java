@@ -51,7 +51,7 @@ public class SE8cSignalHead extends DefaultSignalHead implements LocoNetListener
         mNumber = pNumber;
         mAppearance = DARK;  // start turned off
         // At construction, register for messages
-        tc.addLocoNetListener(~0, this);
+        tc.addLocoNetListener(LocoNetInterface.TURNOUTS, this);
         updateOutput();
     }
 
@@ -4,7 +4,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Hashtable;
 import java.util.List;
-import java.util.Vector;
+import java.util.concurrent.CopyOnWriteArrayList;
 import javax.annotation.Nonnull;
 import jmri.CommandStation;
 import jmri.ProgListener;
@@ -97,7 +97,7 @@ public class SlotManager extends AbstractProgrammer implements LocoNetListener,
         loadSlots();
 
         // listen to the LocoNet
-        tc.addLocoNetListener(~0, this);
+        tc.addLocoNetListener(LocoNetInterface.SLOTINFO | LocoNetInterface.PROGRAMMING, this);
 
         // We will scan the slot table every 0.3 s for in-use slots that are stale
         final int slotScanDelay = 300; // Must be short enough that 128 can be scanned in 90 seconds, see checkStaleSlots()
@@ -290,20 +290,22 @@ public class SlotManager extends AbstractProgrammer implements LocoNetListener,
     Hashtable<Integer, SlotListener> mLocoAddrHash = new Hashtable<>();
 
     // data members to hold contact with the slot listeners
-    final private Vector<SlotListener> slotListeners = new Vector<>();
+    final private CopyOnWriteArrayList<SlotListener> slotListeners = new CopyOnWriteArrayList<>();
 
     /**
      * Add a slot listener, if it is not already registered
      * <p>
-     * The slot listener will be invoked every time a slot changes state.
+     * The slot listener will be invoked every time a message for any slot is
+     * received, even if it changed nothing, so is meant for monitors and
+     * other listeners that watch every slot. A listener interested in one
+     * slot should register with that {@link LocoNetSlot}, and will then only
+     * hear of changes to it.
      *
      * @param l Slot Listener to be added
      */
-    public synchronized void addSlotListener(SlotListener l) {
+    public void addSlotListener(SlotListener l) {
         // add only if not already registered
-        if (!slotListeners.contains(l)) {
-            slotListeners.addElement(l);
-        }
+        slotListeners.addIfAbsent(l);
     }
 
     /**
@@ -314,10 +316,8 @@ public class SlotManager extends AbstractProgrammer implements LocoNetListener,
      *
      * @param l Slot Listener to be removed
      */
-    public synchronized void removeSlotListener(SlotListener l) {
-        if (slotListeners.contains(l)) {
-            slotListeners.removeElement(l);
-        }
+    public void removeSlotListener(SlotListener l) {
+        slotListeners.remove(l);
     }
 
     /**
@@ -325,19 +325,11 @@ public class SlotManager extends AbstractProgrammer implements LocoNetListener,
      *
      * @param s The changed slot to notify.
      */
-    @SuppressWarnings("unchecked")
     protected void notify(LocoNetSlot s) {
-        // make a copy of the listener vector to synchronized not needed for transmit
-        Vector<SlotListener> v;
-        synchronized (this) {
-            v = (Vector<SlotListener>) slotListeners.clone();
-        }
         log.debug("notify {} SlotListeners about slot {}", // NOI18N
-                v.size(), s.getSlot());
-        // forward to all listeners
-        int cnt = v.size();
-        for (int i = 0; i < cnt; i++) {
-            SlotListener client = v.elementAt(i);
+                slotListeners.size(), s.getSlot());
+        // forward to all listeners; iterates over a snapshot, so needs no lock
+        for (SlotListener client : slotListeners) {
             client.notifyChangedSlot(s);
         }
     }
@@ -0,0 +1,294 @@
+package jmri.jmrix.loconet.hexfile;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import javax.annotation.Nonnull;
+import jmri.jmrix.LatencyHistogram;
+import jmri.jmrix.loconet.LnTrafficController;
+import jmri.jmrix.loconet.LocoNetMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Replay a LocoNet hex file to the listeners of a traffic controller, without
+ * a connection or a window, e.g. to put the load of an operating session on the
+ * managers in a test.
+ * <p>
+ * A file written by an {@link LnCaptureWriter} is replayed with its original
+ * timing, or faster or slower with {@link #setSpeed(double)}; lines without a
+ * time are replayed {@link #DEFAULT_INTERVAL} apart, as {@link LnHexFilePort}
+ * does by default. The whole file is read before replaying, so reading it
+ * doesn't affect the timing.
+ * <p>
+ * Messages are delivered to the listeners on the thread running the replay.
+ * How late each message was delivered, and how long the listeners took with
+ * it, are kept so the cost of the listeners under that load can be measured.
+ */
+public class LnCaptureReplay implements Runnable {
+
+    /**
+     * The speed to replay messages without waiting between them.
+     */
+    public static final double AS_FAST_AS_POSSIBLE = Double.POSITIVE_INFINITY;
+
+    /**
+     * The interval between messages without times, in nanoseconds.
+     */
+    public static final long DEFAULT_INTERVAL = 100000000L;
+
+    private final LnTrafficController tc;
+    private final long[] times; // nanoseconds from the first message
+    private final LocoNetMessage[] messages;
+    private volatile double speed = 1.0;
+    private volatile boolean loop = false;
+    private volatile boolean stopRequested = false;
+
+    private final LatencyHistogram lateness = new LatencyHistogram();
+    private final LatencyHistogram processingTime = new LatencyHistogram();
+    private final AtomicLong replayedCount = new AtomicLong();
+    private final AtomicLong cpuTime = new AtomicLong();
+
+    /**
+     * Read a file to replay.
+     *
+     * @param tc   the traffic controller whose listeners are sent the messages
+     * @param file the file
+     * @throws IOException if the file can't be read or has a line that isn't
+     *                     a message
+     */
+    public LnCaptureReplay(@Nonnull LnTrafficController tc, @Nonnull File file) throws IOException {
+        this(tc, new InputStreamReader(new FileInputStream(file), StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Read the contents of a file to replay.
+     *
+     * @param tc     the traffic controller whose listeners are sent the
+     *               messages
+     * @param reader the contents; closed when read
+     * @throws IOException if the contents can't be read or have a line that
+     *                     isn't a message
+     */
+    public LnCaptureReplay(@Nonnull LnTrafficController tc, @Nonnull Reader reader) throws IOException {
+        this.tc = tc;
+        List<LocoNetMessage> m = new ArrayList<>();
+        List<Long> t = new ArrayList<>();
+        try (BufferedReader in = new BufferedReader(reader)) {
+            String line;
+            int lineNumber = 0;
+            long first = -1;
+            long last = -DEFAULT_INTERVAL;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.charAt(0) == LnCaptureWriter.COMMENT) {
+                    continue;
+                }
+                try {
+                    long time = getTime(line);
+                    if (time < 0) {
+                        time = last + DEFAULT_INTERVAL;
+                    } else {
+                        if (first < 0) {
+                            first = time;
+                        }
+                        time -= first;
+                    }
+                    m.add(new LocoNetMessage(getBytes(line)));
+                    t.add(time);
+                    last = time;
+                } catch (IllegalArgumentException | StringIndexOutOfBoundsException ex) {
+                    throw new IOException("Line " + lineNumber + " is not a LocoNet message: " + line, ex);
+                }
+            }
+        }
+        messages = m.toArray(new LocoNetMessage[m.size()]);
+        times = new long[t.size()];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = t.get(i);
+        }
+    }
+
+    /**
+     * Get the time of a line of a hex file.
+     *
+     * @param line the line
+     * @return the time in nanoseconds, or -1 if the line has no time
+     * @throws NumberFormatException if the time is invalid
+     */
+    static long getTime(@Nonnull String line) {
+        if (line.charAt(0) != LnCaptureWriter.TIMESTAMP) {
+            return -1;
+        }
+        int end = line.indexOf(' ');
+        return Long.parseLong(end < 0 ? line.substring(1) : line.substring(1, end));
+    }
+
+    /**
+     * Get the bytes of a line of a hex file.
+     *
+     * @param line the line
+     * @return the bytes
+     * @throws IllegalArgumentException if a byte is invalid or there are
+     *                                  fewer than two
+     */
+    static int[] getBytes(@Nonnull String line) {
+        if (line.charAt(0) == LnCaptureWriter.TIMESTAMP) {
+            line = line.substring(line.indexOf(' ') + 1).trim();
+        }
+        String[] hex = line.split("\\s+");
+        if (hex.length < 2) {
+            throw new IllegalArgumentException("too short");
+        }
+        int[] bytes = new int[hex.length];
+        for (int i = 0; i < hex.length; i++) {
+            bytes[i] = Integer.parseInt(hex[i], 16);
+        }
+        return bytes;
+    }
+
+    /**
+     * Set how fast to replay: 1.0 for the original timing, 2.0 for twice as
+     * fast, and so on.
+     *
+     * @param speed the speed; {@link #AS_FAST_AS_POSSIBLE} to not wait
+     *              between messages
+     * @throws IllegalArgumentException if speed is not positive
+     */
+    public void setSpeed(double speed) {
+        if (!(speed > 0)) {
+            throw new IllegalArgumentException("speed must be positive");
+        }
+        this.speed = speed;
+    }
+
+    public double getSpeed() {
+        return speed;
+    }
+
+    /**
+     * Set whether to start again at the first message after the last.
+     *
+     * @param loop true to replay until stopped
+     */
+    public void setLoop(boolean loop) {
+        this.loop = loop;
+    }
+
+    public boolean isLoop() {
+        return loop;
+    }
+
+    /**
+     * Stop replaying after the message being delivered.
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    /**
+     * Get the number of messages read from the file.
+     *
+     * @return the number of messages
+     */
+    public int getMessageCount() {
+        return messages.length;
+    }
+
+    /**
+     * Replay the messages, returning when all have been replayed, or when
+     * stopped or interrupted if looping.
+     */
+    @Override
+    public void run() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        boolean cpuTimeSupported = threads.isCurrentThreadCpuTimeSupported();
+        long cpuStart = cpuTimeSupported ? threads.getCurrentThreadCpuTime() : 0;
+        stopRequested = false;
+        replay:
+        do {
+            long start = System.nanoTime();
+            for (int i = 0; i < messages.length; i++) {
+                if (stopRequested || Thread.currentThread().isInterrupted()) {
+                    break replay;
+                }
+                double s = speed;
+                if (s != AS_FAST_AS_POSSIBLE) {
+                    long due = start + (long) (times[i] / s);
+                    long wait;
+                    while ((wait = due - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(wait);
+                        if (stopRequested || Thread.currentThread().isInterrupted()) {
+                            break replay;
+                        }
+                    }
+                    lateness.record(-wait);
+                }
+                long before = System.nanoTime();
+                tc.notify(messages[i]);
+                processingTime.record(System.nanoTime() - before);
+                replayedCount.incrementAndGet();
+            }
+        } while (loop && messages.length > 0);
+        if (cpuTimeSupported) {
+            cpuTime.addAndGet(threads.getCurrentThreadCpuTime() - cpuStart);
+        }
+        log.debug("replayed {} messages", replayedCount.get());
+    }
+
+    /**
+     * Get the number of messages replayed.
+     *
+     * @return the number of messages
+     */
+    public long getReplayedCount() {
+        return replayedCount.get();
+    }
+
+    /**
+     * Get how late messages were delivered compared to their time in the
+     * file, e.g. because the listeners took longer with earlier messages than
+     * the time between them.
+     *
+     * @return the histogram of times, in nanoseconds; empty when replaying
+     *         {@link #AS_FAST_AS_POSSIBLE}
+     */
+    @Nonnull
+    public LatencyHistogram getLateness() {
+        return lateness;
+    }
+
+    /**
+     * Get how long the listeners took with each message.
+     *
+     * @return the histogram of times, in nanoseconds
+     */
+    @Nonnull
+    public LatencyHistogram getProcessingTime() {
+        return processingTime;
+    }
+
+    /**
+     * Get the CPU time used by the thread replaying, including the listeners,
+     * once the replay has finished.
+     *
+     * @return the time in nanoseconds, or 0 if the JVM can't measure it
+     */
+    public long getCpuTime() {
+        return cpuTime.get();
+    }
+
+    private final static Logger log = LoggerFactory.getLogger(LnCaptureReplay.class);
+
+}
@@ -0,0 +1,106 @@
+package jmri.jmrix.loconet.hexfile;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import javax.annotation.Nonnull;
+import jmri.jmrix.loconet.LocoNetListener;
+import jmri.jmrix.loconet.LocoNetMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Capture LocoNet traffic to a hex file, with the time each message was
+ * received.
+ * <p>
+ * The file has one message per line, as read by {@link LnHexFilePort}, with
+ * each line prefixed by {@code @} and the time in nanoseconds since the capture
+ * started:
+ * <pre>
+ * # LocoNet capture
+ * &#64;0 B2 12 50 0F
+ * &#64;1520000 A0 03 10 4C
+ * </pre>
+ * Lines starting with {@code #} are comments. The file can be replayed with
+ * its original timing by an {@link LnCaptureReplay}.
+ * <p>
+ * To capture messages when they're framed, rather than when they reach the
+ * layout thread, use this as the capture listener of an
+ * {@link jmri.jmrix.loconet.LnPacketizer}; it can also be added as a listener
+ * to any {@link jmri.jmrix.loconet.LnTrafficController}.
+ */
+public class LnCaptureWriter implements LocoNetListener, Closeable {
+
+    static final char TIMESTAMP = '@';
+    static final char COMMENT = '#';
+
+    private final Writer writer;
+    private final long start = System.nanoTime();
+    private boolean failed = false;
+
+    /**
+     * Capture to a file, replacing its contents.
+     *
+     * @param file the file
+     * @throws IOException if the file can't be written
+     */
+    public LnCaptureWriter(@Nonnull File file) throws IOException {
+        this(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Capture to a writer.
+     *
+     * @param writer the writer; closed by {@link #close()}
+     * @throws IOException if the writer fails
+     */
+    public LnCaptureWriter(@Nonnull Writer writer) throws IOException {
+        this.writer = new BufferedWriter(writer);
+        this.writer.write(COMMENT + " LocoNet capture\n");
+    }
+
+    /**
+     * Write a message, with the time since the capture started.
+     *
+     * @param msg the message
+     */
+    @Override
+    public synchronized void message(LocoNetMessage msg) {
+        if (failed) {
+            return;
+        }
+        try {
+            writer.write(TIMESTAMP);
+            writer.write(Long.toString(System.nanoTime() - start));
+            writer.write(' ');
+            writer.write(msg.toString());
+            writer.write('\n');
+        } catch (IOException ex) {
+            // report once, rather than for every message
+            failed = true;
+            log.error("Unable to write LocoNet capture: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Write the messages captured so far.
+     *
+     * @throws IOException if the writer fails
+     */
+    public synchronized void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    private final static Logger log = LoggerFactory.getLogger(LnCaptureWriter.class);
+
+}
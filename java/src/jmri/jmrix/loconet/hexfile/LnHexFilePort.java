@@ -24,7 +24,10 @@ import org.slf4j.LoggerFactory;
  *
  * The input file is expected to have one message per line. Each line can
  * contain as many bytes as needed, each represented by two Hex characters and
- * separated by a space. Variable whitespace is not (yet) supported.
+ * separated by whitespace. A line captured by {@link LnCaptureWriter} starts
+ * with the time it was received, and is sent at the same interval after the
+ * one before it instead of waiting the delay; lines starting with # are
+ * ignored.
  *
  * @author Bob Jacobsen Copyright (C) 2001
  */
@@ -120,23 +123,33 @@ public class LnHexFilePort extends LnPortController implements Runnable {
                 sFile = null;
 
                 String s;
+                long lastTime = -1;
                 while ((s = currFile.readLine()) != null) {
                     // this loop reads one line per turn
                     // ErrLog.msg(ErrLog.debugging, "LnHexFilePort", "run", "string=<" + s + ">");
-                    int len = s.length();
-                    for (int i = 0; i < len; i += 3) {
-                        // parse as hex into integer, then convert to byte
-                        int ival = Integer.valueOf(s.substring(i, i + 2), 16).intValue();
+                    s = s.trim();
+                    if (s.isEmpty() || s.charAt(0) == LnCaptureWriter.COMMENT) {
+                        continue;
+                    }
+                    // a line captured by LnCaptureWriter keeps its original timing
+                    long time = LnCaptureReplay.getTime(s);
+                    if (time >= 0 && lastTime >= 0 && time > lastTime) {
+                        long gap = time - lastTime;
+                        Thread.sleep(gap / 1000000, (int) (gap % 1000000));
+                    }
+                    for (int b : LnCaptureReplay.getBytes(s)) {
                         // send each byte to the output pipe (input to consumer)
-                        byte bval = (byte) ival;
-                        outpipe.writeByte(bval);
+                        outpipe.writeByte(b);
                     }
 
                     // flush the pipe so other threads can see the message
                     outpipe.flush();
 
                     // finished that line, wait
-                    Thread.sleep(delay);
+                    if (time < 0) {
+                        Thread.sleep(delay);
+                    }
+                    lastTime = time;
                 }
 
                 // here we're done processing the file
@@ -2,6 +2,7 @@ package jmri.jmrix.loconet.locomon;
 
 import jmri.InstanceManager;
 import jmri.TurnoutManager;
+import jmri.jmrix.MonitorStore;
 import jmri.jmrix.loconet.LocoNetListener;
 import jmri.jmrix.loconet.LocoNetMessage;
 import jmri.jmrix.loconet.LocoNetSystemConnectionMemo;
@@ -83,18 +84,31 @@ public class LocoMonPane extends jmri.jmrix.AbstractMonPane implements LocoNetLi
         systemConnectionPrefix = memo.getSystemPrefix();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * LocoNet traffic is kept as raw bytes, and only interpreted when shown.
+     */
     @Override
-    public synchronized void message(LocoNetMessage l) { // receive a LocoNet message and log it
-        // send the raw data, to display if requested
-        String raw = l.toString();
-        // format the message text, expect it to provide consistent \n after each line
-        String formatted = l.toMonitorString(systemConnectionPrefix);
+    protected MonitorStore createMessageStore() {
+        return new MonitorStore();
+    }
 
-        // display the formatted data in the monitor pane
-        nextLine(formatted, raw);
+    @Override
+    public void message(LocoNetMessage l) { // receive a LocoNet message and log it
+        nextMessage(l);
 
         // include LocoNet monitoring in session.log if TRACE enabled
-        if (log.isTraceEnabled()) log.trace(formatted.substring(0, formatted.length() - 1));  // remove trailing newline
+        if (log.isTraceEnabled()) {
+            String formatted = l.toMonitorString(systemConnectionPrefix);
+            log.trace(formatted.substring(0, formatted.length() - 1));  // remove trailing newline
+        }
+    }
+
+    @Override
+    protected String formatMessage(byte[] bytes) {
+        // format the message text, expect it to provide consistent \n after each line
+        return new LocoNetMessage(bytes).toMonitorString(systemConnectionPrefix);
     }
 
     /**
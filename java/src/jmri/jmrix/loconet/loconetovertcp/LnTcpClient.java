@@ -0,0 +1,485 @@
+package jmri.jmrix.loconet.loconetovertcp;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.StringTokenizer;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import jmri.jmrix.LatencyHistogram;
+import jmri.jmrix.loconet.LnConstants;
+import jmri.jmrix.loconet.LnTrafficController;
+import jmri.jmrix.loconet.LocoNetMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A client connected to the {@link LnTcpServer}.
+ * <p>
+ * Lines to send to the client wait in a queue bounded by
+ * {@link LnTcpServer#getClientBufferSize()} bytes, so a client that can't keep
+ * up doesn't hold up the others; when the queue is full the
+ * {@link LnTcpServer.SlowClientPolicy} decides what happens. The time lines
+ * wait before being written to the client is kept, to find clients that are
+ * lagging.
+ * <p>
+ * Reads and writes are done by the server's selector thread. Lines are queued
+ * by the thread that receives LocoNet messages.
+ */
+public final class LnTcpClient {
+
+    private static final int READ_BUFFER_SIZE = 1024;
+    private static final int WRITE_BUFFER_SIZE = 8192;
+    static final int NO_KEY = -1;
+    static final int NO_GROUP = -1;
+    private static final int SLOT_GROUP = 1 << 16;
+    private static final int SWITCH_GROUP = 2 << 16;
+    private static final int SENSOR_GROUP = 3 << 16;
+    // messages that may refer to any slot, like slot moves
+    private static final int ANY_SLOT = SLOT_GROUP | 0xFFFF;
+    private static final byte[] SENT_OK = "SENT OK\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final LnTcpServer server;
+    private final SocketChannel channel;
+    private final String remoteAddress;
+    private final LnTrafficController tc;
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    // lines being written; only used by the selector thread
+    private final ByteBuffer writeBuffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+
+    // guarded by this
+    private final ArrayDeque<Line> queue = new ArrayDeque<>();
+    private final HashMap<Integer, Line> waiting = new HashMap<>();
+    private int queuedBytes = 0;
+    private int queueHighWater = 0;
+    private long sentCount = 0;
+    private long droppedCount = 0;
+    private long coalescedCount = 0;
+    private boolean writePending = false;
+    private boolean closeRequested = false;
+
+    private final LatencyHistogram lag = new LatencyHistogram();
+    // the last message the client sent, to acknowledge when its echo is heard
+    private volatile LocoNetMessage lastSentMessage = null;
+
+    private static final class Line {
+
+        byte[] bytes;
+        final int key;
+        final int group;
+        final long queuedTime;
+
+        Line(byte[] bytes, int key, int group, long queuedTime) {
+            this.bytes = bytes;
+            this.key = key;
+            this.group = group;
+            this.queuedTime = queuedTime;
+        }
+    }
+
+    LnTcpClient(@Nonnull LnTcpServer server, @Nonnull SocketChannel channel, @Nonnull String remoteAddress,
+            @Nonnull LnTrafficController tc) {
+        this.server = server;
+        this.channel = channel;
+        this.remoteAddress = remoteAddress;
+        this.tc = tc;
+    }
+
+    SocketChannel getChannel() {
+        return channel;
+    }
+
+    /**
+     * Get the address of the client.
+     *
+     * @return the remote socket address
+     */
+    @Nonnull
+    public String getRemoteAddress() {
+        return remoteAddress;
+    }
+
+    /**
+     * Get the key used to coalesce a message: when the queue is full and the
+     * policy is {@link LnTcpServer.SlowClientPolicy#COALESCE}, a message
+     * replaces a waiting message with the same key, as it completely
+     * supersedes it.
+     *
+     * @param msg the message
+     * @return the key, or {@link #NO_KEY} if the message is never coalesced
+     */
+    static int getCoalescingKey(@Nonnull LocoNetMessage msg) {
+        int opCode = msg.getOpCode();
+        switch (opCode) {
+            case LnConstants.OPC_LOCO_SPD:
+            case LnConstants.OPC_LOCO_DIRF:
+            case LnConstants.OPC_LOCO_SND:
+                // slot number
+                return (opCode << 16) | msg.getElement(1);
+            case LnConstants.OPC_SL_RD_DATA:
+                return (opCode << 16) | msg.getElement(2);
+            case LnConstants.OPC_INPUT_REP:
+                // address, including the switch input bit, but not the level
+                return (opCode << 16) | ((msg.getElement(2) & 0x2F) << 7) | msg.getElement(1);
+            case LnConstants.OPC_SW_REP:
+                // address and report type, but not the state
+                return (opCode << 16) | ((msg.getElement(2) & 0x4F) << 7) | msg.getElement(1);
+            default:
+                return NO_KEY;
+        }
+    }
+
+    /**
+     * Get the slot or address a message is about. Messages about the same
+     * slot or address are always sent in the order they were received, even
+     * when one of them is coalesced.
+     *
+     * @param msg the message
+     * @return the group, or {@link #NO_GROUP} if the message isn't about a
+     *         slot or address
+     */
+    static int getOrderingGroup(@Nonnull LocoNetMessage msg) {
+        switch (msg.getOpCode()) {
+            case LnConstants.OPC_LOCO_SPD:
+            case LnConstants.OPC_LOCO_DIRF:
+            case LnConstants.OPC_LOCO_SND:
+            case LnConstants.OPC_SLOT_STAT1:
+            case LnConstants.OPC_RQ_SL_DATA:
+                return SLOT_GROUP | msg.getElement(1);
+            case LnConstants.OPC_SL_RD_DATA:
+            case LnConstants.OPC_WR_SL_DATA:
+                return SLOT_GROUP | msg.getElement(2);
+            case LnConstants.OPC_MOVE_SLOTS:
+            case LnConstants.OPC_LINK_SLOTS:
+            case LnConstants.OPC_UNLINK_SLOTS:
+            case LnConstants.OPC_LOCO_ADR:
+            case LnConstants.OPC_EXP_REQ_SLOT:
+            case LnConstants.OPC_EXP_SLOT_MOVE:
+            case LnConstants.OPC_EXP_RD_SL_DATA:
+            case LnConstants.OPC_EXP_WR_SL_DATA:
+            case LnConstants.OPC_EXP_SEND_FUNCTION_OR_SPEED_AND_DIR:
+                return ANY_SLOT;
+            case LnConstants.OPC_SW_REQ:
+            case LnConstants.OPC_SW_REP:
+            case LnConstants.OPC_SW_STATE:
+            case LnConstants.OPC_SW_ACK:
+                return SWITCH_GROUP | ((msg.getElement(2) & 0x0F) << 7) | msg.getElement(1);
+            case LnConstants.OPC_INPUT_REP:
+                return SENSOR_GROUP | ((msg.getElement(2) & 0x2F) << 7) | msg.getElement(1);
+            default:
+                return NO_GROUP;
+        }
+    }
+
+    private static boolean isSameGroup(int a, int b) {
+        if (a == NO_GROUP || b == NO_GROUP) {
+            return false;
+        }
+        return a == b || ((a & ~0xFFFF) == SLOT_GROUP && (b & ~0xFFFF) == SLOT_GROUP && (a == ANY_SLOT || b == ANY_SLOT));
+    }
+
+    /**
+     * Queue a line to send to the client, applying the slow client policy if
+     * the queue is full.
+     *
+     * @param line the line, including the line end
+     * @param key  the coalescing key, or {@link #NO_KEY}
+     * @param msg  the message the line carries, to acknowledge the client's
+     *             own messages; null if the line isn't a message
+     * @return true if the selector needs to be woken to write to or close
+     *         the client
+     */
+    synchronized boolean offer(@Nonnull byte[] line, int key, @CheckForNull LocoNetMessage msg) {
+        if (closeRequested) {
+            return false;
+        }
+        boolean ack = false;
+        if (msg != null) {
+            LocoNetMessage sent = lastSentMessage;
+            if (sent != null && sent.equals(msg)) {
+                lastSentMessage = null;
+                ack = true;
+            }
+        }
+        int group = msg != null ? getOrderingGroup(msg) : NO_GROUP;
+        int needed = line.length + (ack ? SENT_OK.length : 0);
+        if (queuedBytes + needed > server.getClientBufferSize()) {
+            switch (server.getSlowClientPolicy()) {
+                case DROP:
+                    droppedCount++;
+                    log.debug("client {} is full, dropped {}", remoteAddress, msg);
+                    return false;
+                case COALESCE:
+                    if (key != NO_KEY && replace(line, key, group)) {
+                        if (ack) {
+                            // an acknowledgement is small; let it exceed the bound
+                            add(SENT_OK, NO_KEY, NO_GROUP);
+                        }
+                        return false;
+                    }
+                    // nothing to replace, so the client must catch up some other way
+                    log.warn("LocoNet over TCP client {} is {} ms behind; disconnecting", remoteAddress, getLag() / 1000000);
+                    return requestClose();
+                case DISCONNECT:
+                default:
+                    log.warn("LocoNet over TCP client {} is {} ms behind; disconnecting", remoteAddress, getLag() / 1000000);
+                    return requestClose();
+            }
+        }
+        add(line, key, group);
+        if (ack) {
+            add(SENT_OK, NO_KEY, NO_GROUP);
+        }
+        if (!writePending) {
+            writePending = true;
+            return true;
+        }
+        return false;
+    }
+
+    // guarded by this
+    private void add(byte[] line, int key, int group) {
+        Line l = new Line(line, key, group, System.nanoTime());
+        queue.addLast(l);
+        if (key != NO_KEY) {
+            waiting.put(key, l);
+        }
+        queuedBytes += line.length;
+        queueHighWater = Math.max(queueHighWater, queuedBytes);
+    }
+
+    // guarded by this
+    private boolean replace(byte[] line, int key, int group) {
+        Line l = waiting.get(key);
+        if (l == null) {
+            return false;
+        }
+        // don't move the line ahead of a later one about the same slot or address
+        Iterator<Line> it = queue.descendingIterator();
+        Line later;
+        while ((later = it.next()) != l) {
+            if (isSameGroup(later.group, group)) {
+                return false;
+            }
+        }
+        queuedBytes += line.length - l.bytes.length;
+        l.bytes = line;
+        coalescedCount++;
+        return true;
+    }
+
+    // guarded by this
+    private boolean requestClose() {
+        closeRequested = true;
+        queue.clear();
+        waiting.clear();
+        queuedBytes = 0;
+        return true;
+    }
+
+    synchronized boolean isCloseRequested() {
+        return closeRequested;
+    }
+
+    /**
+     * Write waiting lines to the client, as many as it will take. Only called
+     * by the selector thread.
+     *
+     * @return true if all waiting lines were written
+     * @throws IOException if the connection fails
+     */
+    boolean write() throws IOException {
+        synchronized (this) {
+            long now = System.nanoTime();
+            Line l;
+            while ((l = queue.peekFirst()) != null && l.bytes.length <= writeBuffer.remaining()) {
+                queue.removeFirst();
+                if (l.key != NO_KEY) {
+                    waiting.remove(l.key, l);
+                }
+                queuedBytes -= l.bytes.length;
+                writeBuffer.put(l.bytes);
+                lag.record(now - l.queuedTime);
+                sentCount++;
+            }
+        }
+        writeBuffer.flip();
+        channel.write(writeBuffer);
+        writeBuffer.compact();
+        synchronized (this) {
+            if (writeBuffer.position() == 0 && queue.isEmpty()) {
+                writePending = false;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Read from the client and send the messages in complete lines to the
+     * layout. Only called by the selector thread.
+     *
+     * @return false if the client closed the connection
+     * @throws IOException if the connection fails
+     */
+    boolean read() throws IOException {
+        if (channel.read(readBuffer) < 0) {
+            return false;
+        }
+        byte[] bytes = readBuffer.array();
+        int end = readBuffer.position();
+        int start = 0;
+        for (int i = 0; i < end; i++) {
+            if (bytes[i] == '\n') {
+                handleLine(new String(bytes, start, i - start, StandardCharsets.US_ASCII).trim());
+                start = i + 1;
+            }
+        }
+        if (start == 0 && end == bytes.length) {
+            log.warn("Discarding line longer than {} characters from {}", bytes.length, remoteAddress);
+            readBuffer.clear();
+            return true;
+        }
+        readBuffer.flip();
+        readBuffer.position(start);
+        readBuffer.compact();
+        return true;
+    }
+
+    private void handleLine(String line) {
+        log.debug("Received: {}", line);
+        StringTokenizer st = new StringTokenizer(line);
+        if (!st.hasMoreTokens() || !st.nextToken().equals("SEND")) {
+            return;
+        }
+        try {
+            int opCode = Integer.parseInt(st.nextToken(), 16);
+            int byte2 = Integer.parseInt(st.nextToken(), 16);
+            int len;
+            // Decide length
+            switch ((opCode & 0x60) >> 5) {
+                case 0:
+                    len = 2;
+                    break;
+                case 1:
+                    len = 4;
+                    break;
+                case 2:
+                    len = 6;
+                    break;
+                default:
+                    len = byte2;
+                    break;
+            }
+            if (len < 2) {
+                log.error("LocoNet message length invalid: {} opcode: {}", byte2, Integer.toHexString(opCode));
+                return;
+            }
+            LocoNetMessage msg = new LocoNetMessage(len);
+            msg.setOpCode(opCode);
+            msg.setElement(1, byte2);
+            for (int i = 2; i < len; i++) {
+                msg.setElement(i, Integer.parseInt(st.nextToken(), 16));
+            }
+            // Keep the message so we can ACK it when we hear the echo from
+            // the LocoBuffer
+            lastSentMessage = msg;
+            tc.sendLocoNetMessage(msg);
+        } catch (NumberFormatException | NoSuchElementException ex) {
+            log.warn("Ignoring malformed line from {}: {}", remoteAddress, line);
+        }
+    }
+
+    /**
+     * Get the number of bytes waiting to be sent to the client.
+     *
+     * @return the number of bytes
+     */
+    public synchronized int getQueuedBytes() {
+        return queuedBytes;
+    }
+
+    /**
+     * Get the largest number of bytes that have been waiting to be sent to
+     * the client.
+     *
+     * @return the number of bytes
+     */
+    public synchronized int getQueueHighWater() {
+        return queueHighWater;
+    }
+
+    /**
+     * Get the number of lines written to the client.
+     *
+     * @return the number of lines
+     */
+    public synchronized long getSentCount() {
+        return sentCount;
+    }
+
+    /**
+     * Get the number of messages not sent to the client because its queue was
+     * full.
+     *
+     * @return the number of messages
+     */
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Get the number of messages that replaced a waiting message to the
+     * client.
+     *
+     * @return the number of messages
+     */
+    public synchronized long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    /**
+     * Get how far behind the client is: how long the oldest line waiting for
+     * it has waited.
+     *
+     * @return the time in nanoseconds, or 0 if nothing is waiting
+     */
+    public synchronized long getLag() {
+        Line l = queue.peekFirst();
+        return l == null ? 0 : System.nanoTime() - l.queuedTime;
+    }
+
+    /**
+     * Get the times lines waited before being written to the client.
+     *
+     * @return the histogram of times
+     */
+    @Nonnull
+    public LatencyHistogram getLagHistogram() {
+        return lag;
+    }
+
+    /**
+     * Close the connection to the client.
+     */
+    void close() {
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            log.debug("Exception closing connection to {}", remoteAddress, ex);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return remoteAddress;
+    }
+
+    private final static Logger log = LoggerFactory.getLogger(LnTcpClient.class);
+
+}
@@ -2,14 +2,25 @@ package jmri.jmrix.loconet.loconetovertcp;
 
 import java.beans.PropertyChangeEvent;
 import java.io.IOException;
-import java.net.ServerSocket;
-import java.net.Socket;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.annotation.Nonnull;
 import jmri.InstanceManager;
 import jmri.ShutDownManager;
 import jmri.jmrix.loconet.LnTrafficController;
+import jmri.jmrix.loconet.LocoNetListener;
+import jmri.jmrix.loconet.LocoNetMessage;
 import jmri.jmrix.loconet.LocoNetSystemConnectionMemo;
 import jmri.util.zeroconf.ZeroConfService;
 import org.slf4j.Logger;
@@ -17,20 +28,59 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Implementation of the LocoNetOverTcp LbServer Server Protocol.
+ * <p>
+ * All clients are served by a single thread using non-blocking sockets. Each
+ * LocoNet message is formatted once and queued to every client; the lines
+ * queued to a client are bounded by {@link #getClientBufferSize()} bytes, and
+ * {@link #getSlowClientPolicy()} decides what happens when a client doesn't
+ * read them quickly enough to stay within that bound.
  *
  * @author Alex Shepherd Copyright (C) 2006
  */
 public class LnTcpServer {
 
-    private final List<ClientRxHandler> clients = new LinkedList<>();
+    /**
+     * What to do with a message for a client whose queue is full.
+     */
+    public enum SlowClientPolicy {
+        /**
+         * Don't send the message to the client.
+         */
+        DROP,
+        /**
+         * Disconnect the client.
+         */
+        DISCONNECT,
+        /**
+         * Replace a waiting message the new message supersedes, such as an
+         * earlier speed of the same slot or state of the same sensor, unless
+         * a later message about the same slot or address is waiting behind
+         * it; disconnect the client if there isn't one.
+         */
+        COALESCE
+    }
+
+    /**
+     * The default number of bytes that can wait to be sent to each client,
+     * about 2 seconds of a saturated LocoNet.
+     */
+    public static final int DEFAULT_CLIENT_BUFFER_SIZE = 65536;
+
+    private final List<LnTcpClient> clients = new CopyOnWriteArrayList<>();
+    private final List<ClientRxHandler> legacyClients = new LinkedList<>();
+    // clients with lines to write or to close, for the selector thread
+    private final ConcurrentLinkedQueue<LnTcpClient> pendingClients = new ConcurrentLinkedQueue<>();
     private Thread socketListener;
-    private ServerSocket serverSocket;
+    private volatile Selector selector;
     private final List<LnTcpServerListener> stateListeners = new ArrayList<>();
     private boolean settingsChanged = false;
     private final Runnable shutDownTask = this::disable;
     private ZeroConfService service = null;
+    private volatile int clientBufferSize = DEFAULT_CLIENT_BUFFER_SIZE;
+    private volatile SlowClientPolicy slowClientPolicy = SlowClientPolicy.COALESCE;
+    private final LocoNetListener listener = this::message;
 
-    private int portNumber;
+    private volatile int portNumber;
     private LnTrafficController tc;
 
     private LnTcpServer(LocoNetSystemConnectionMemo memo) {
@@ -52,6 +102,12 @@ public class LnTcpServer {
         });
     }
 
+    // for testing
+    LnTcpServer(LnTrafficController tc, int port) {
+        this.tc = tc;
+        portNumber = port;
+    }
+
     /**
      * Get the default server instance, creating it if necessary.
      *
@@ -94,20 +150,15 @@ public class LnTcpServer {
         if (socketListener != null) {
             socketListener.interrupt();
             socketListener = null;
-            try {
-                if (serverSocket != null) {
-                    serverSocket.close();
-                }
-            } catch (IOException ex) {
-            }
 
             updateServerStateListeners();
 
-            // Now close all the client connections
+            // the selector thread closes its clients as it exits; close any
+            // clients connected the old way here
             Object[] clientsArray;
 
-            synchronized (clients) {
-                clientsArray = clients.toArray();
+            synchronized (legacyClients) {
+                clientsArray = legacyClients.toArray();
             }
             for (int i = 0; i < clientsArray.length; i++) {
                 ((ClientRxHandler) clientsArray[i]).close();
@@ -152,48 +203,211 @@ public class LnTcpServer {
         return this.portNumber;
     }
 
+    /**
+     * Set the number of bytes that can wait to be sent to each client.
+     *
+     * @param size the number of bytes
+     * @throws IllegalArgumentException if size is not positive
+     */
+    public void setClientBufferSize(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        clientBufferSize = size;
+    }
+
+    /**
+     * Get the number of bytes that can wait to be sent to each client.
+     *
+     * @return the number of bytes
+     */
+    public int getClientBufferSize() {
+        return clientBufferSize;
+    }
+
+    /**
+     * Set what to do with a message for a client that has fallen so far
+     * behind that its queue is full.
+     *
+     * @param policy the policy
+     */
+    public void setSlowClientPolicy(@Nonnull SlowClientPolicy policy) {
+        slowClientPolicy = policy;
+    }
+
+    /**
+     * Get what is done with a message for a client that has fallen so far
+     * behind that its queue is full.
+     *
+     * @return the policy
+     */
+    @Nonnull
+    public SlowClientPolicy getSlowClientPolicy() {
+        return slowClientPolicy;
+    }
+
+    /**
+     * Get the connected clients, e.g. to see how far behind they are.
+     *
+     * @return the clients
+     */
+    @Nonnull
+    public List<LnTcpClient> getClients() {
+        return Collections.unmodifiableList(new ArrayList<>(clients));
+    }
+
+    /**
+     * Format a message once, and queue it to each client.
+     *
+     * @param msg the message
+     */
+    private void message(LocoNetMessage msg) {
+        if (clients.isEmpty()) {
+            return;
+        }
+        byte[] line = ("RECEIVE " + msg.toString() + "\r\n").getBytes(StandardCharsets.US_ASCII);
+        log.debug("Send: {}", msg);
+        int key = LnTcpClient.getCoalescingKey(msg);
+        boolean wakeup = false;
+        for (LnTcpClient client : clients) {
+            if (client.offer(line, key, msg)) {
+                pendingClients.add(client);
+                wakeup = true;
+            }
+        }
+        Selector s = selector;
+        if (wakeup && s != null) {
+            s.wakeup();
+        }
+    }
+
     class ClientListener implements Runnable {
 
         @Override
         public void run() {
-            Socket newClientConnection;
-            String remoteAddress;
-            try {
-                serverSocket = new ServerSocket(portNumber);
-                serverSocket.setReuseAddress(true);
-                while (!socketListener.isInterrupted()) {
-                    newClientConnection = serverSocket.accept();
-                    remoteAddress = newClientConnection.getRemoteSocketAddress().toString();
-                    log.info("Server: Connection from: {}", remoteAddress);
-                    addClient(new ClientRxHandler(remoteAddress, newClientConnection, tc));
+            try (Selector s = Selector.open(); ServerSocketChannel serverChannel = ServerSocketChannel.open()) {
+                serverChannel.socket().setReuseAddress(true);
+                serverChannel.bind(new InetSocketAddress(portNumber));
+                serverChannel.configureBlocking(false);
+                serverChannel.register(s, SelectionKey.OP_ACCEPT);
+                portNumber = serverChannel.socket().getLocalPort();
+                selector = s;
+                tc.addLocoNetListener(~0, listener);
+                // interrupting this thread also wakes the selector
+                while (!Thread.currentThread().isInterrupted()) {
+                    s.select();
+                    LnTcpClient client;
+                    while ((client = pendingClients.poll()) != null) {
+                        SelectionKey key = client.getChannel().keyFor(s);
+                        if (key == null || !key.isValid()) {
+                            continue;
+                        }
+                        if (client.isCloseRequested()) {
+                            closeClient(client);
+                        } else {
+                            key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                        }
+                    }
+                    Iterator<SelectionKey> keys = s.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        if (key.isValid() && key.isAcceptable()) {
+                            accept(serverChannel, s);
+                        } else if (key.isValid()) {
+                            service(key, (LnTcpClient) key.attachment());
+                        }
+                    }
                 }
-                serverSocket.close();
             } catch (IOException ex) {
-                if (!ex.toString().toLowerCase().contains("socket closed")) {
-                    log.error("Server: IO Exception: ", ex);
+                log.error("Server: IO Exception: ", ex);
+            } finally {
+                tc.removeLocoNetListener(~0, listener);
+                selector = null;
+                for (LnTcpClient client : clients) {
+                    closeClient(client);
+                }
+                pendingClients.clear();
+            }
+        }
+
+        private void accept(ServerSocketChannel serverChannel, Selector s) throws IOException {
+            SocketChannel channel = serverChannel.accept();
+            if (channel == null) {
+                return;
+            }
+            LnTcpClient client;
+            try {
+                String remoteAddress = channel.getRemoteAddress().toString();
+                log.info("Server: Connection from: {}", remoteAddress);
+                channel.configureBlocking(false);
+                client = new LnTcpClient(LnTcpServer.this, channel, remoteAddress, tc);
+                client.offer(("VERSION JMRI Server " + jmri.Version.name() + "\r\n").getBytes(StandardCharsets.US_ASCII),
+                        LnTcpClient.NO_KEY, null);
+                channel.register(s, SelectionKey.OP_READ | SelectionKey.OP_WRITE, client);
+            } catch (IOException ex) {
+                log.warn("Server: unable to accept connection: {}", ex.getMessage());
+                channel.close();
+                return;
+            }
+            clients.add(client);
+            updateClientStateListeners();
+        }
+
+        private void service(SelectionKey key, LnTcpClient client) {
+            try {
+                if (key.isReadable() && !client.read()) {
+                    log.debug("Remote Connection Closed: {}", client);
+                    closeClient(client);
+                    return;
                 }
+                if (key.isValid() && key.isWritable() && client.write()) {
+                    // a line queued from now on puts the client back in
+                    // pendingClients and wakes the selector
+                    key.interestOps(SelectionKey.OP_READ);
+                }
+            } catch (IOException ex) {
+                log.debug("IO Exception with {}: ", client, ex);
+                closeClient(client);
             }
-            serverSocket = null;
         }
     }
 
+    private void closeClient(LnTcpClient client) {
+        client.close();
+        if (clients.remove(client)) {
+            log.info("Server: Connection closed: {}", client);
+            updateClientStateListeners();
+        }
+    }
+
+    /**
+     * Add a client connected with a {@link ClientRxHandler}.
+     *
+     * @param handler the client
+     */
     protected void addClient(ClientRxHandler handler) {
-        synchronized (clients) {
-            clients.add(handler);
+        synchronized (legacyClients) {
+            legacyClients.add(handler);
         }
         updateClientStateListeners();
     }
 
+    /**
+     * Remove a client connected with a {@link ClientRxHandler}.
+     *
+     * @param handler the client
+     */
     protected void removeClient(ClientRxHandler handler) {
-        synchronized (clients) {
-            clients.remove(handler);
+        synchronized (legacyClients) {
+            legacyClients.remove(handler);
         }
         updateClientStateListeners();
     }
 
     public int getClientCount() {
-        synchronized (clients) {
-            return clients.size();
+        synchronized (legacyClients) {
+            return clients.size() + legacyClients.size();
         }
     }
 
@@ -47,6 +47,7 @@ public class LnMessageClient extends LnTrafficRouter {
     @Override
     public void sendLocoNetMessage(LocoNetMessage m) {
         // update statistics
+        telemetry.recordQueued();
         transmittedMsgCount++;
 
         // attempt to forward message
@@ -0,0 +1,234 @@
+package jmri.jmrix.loconet.messageinterp;
+
+import java.util.Objects;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import jmri.InstanceManager;
+import jmri.NamedBean;
+import jmri.SensorManager;
+import jmri.TurnoutManager;
+import jmri.jmrix.loconet.LnConstants;
+import jmri.jmrix.loconet.LocoNetMessage;
+
+/**
+ * The interpretation of a LocoNet message: what kind of message it is and the
+ * main values it carries, with the human-readable text of
+ * {@link LocoNetMessageInterpret#interpretMessage} only built when asked for.
+ * <p>
+ * The text includes the user name of the turnout or sensor a message refers
+ * to, so when an interpretation is reused the user name is checked again, and
+ * the text rebuilt if it has changed.
+ *
+ * @see LocoNetMessageInterpret#interpret
+ */
+public final class LocoNetInterpretation {
+
+    /**
+     * The kinds of LocoNet message.
+     */
+    public enum Category {
+        /** Global power and idle. */
+        POWER,
+        /** Speed, direction, functions and sound of a loco in a slot. */
+        LOCO,
+        /** Slot requests, reads, writes, moves and links. */
+        SLOT,
+        /** Turnout requests and reports. */
+        SWITCH,
+        /** Sensor reports. */
+        SENSOR,
+        /** Transponding and power management reports. */
+        MULTI_SENSE,
+        /** Long acknowledgements. */
+        ACKNOWLEDGE,
+        /** Peer to peer transfers, e.g. to configure devices. */
+        PEER_TRANSFER,
+        /** DCC packets to send to the track. */
+        DCC_PACKET,
+        /** Anything else. */
+        OTHER
+    }
+
+    private final LocoNetMessage message;
+    private final String turnoutPrefix;
+    private final String sensorPrefix;
+    private final String reporterPrefix;
+    private final Category category;
+    private final int slot;
+    private final int address;
+    private final String systemName;
+
+    // guarded by this
+    private String text = null;
+    private String userName = null;
+
+    LocoNetInterpretation(@Nonnull LocoNetMessage message, @Nonnull String turnoutPrefix,
+            @Nonnull String sensorPrefix, @Nonnull String reporterPrefix) {
+        this.message = message;
+        this.turnoutPrefix = turnoutPrefix;
+        this.sensorPrefix = sensorPrefix;
+        this.reporterPrefix = reporterPrefix;
+        int opCode = message.getOpCode();
+        int slotNum = -1;
+        int addr = -1;
+        String name = null;
+        Category c;
+        switch (opCode) {
+            case LnConstants.OPC_GPON:
+            case LnConstants.OPC_GPOFF:
+            case LnConstants.OPC_IDLE:
+            case LnConstants.OPC_GPBUSY:
+                c = Category.POWER;
+                break;
+            case LnConstants.OPC_LOCO_SPD:
+            case LnConstants.OPC_LOCO_DIRF:
+            case LnConstants.OPC_LOCO_SND:
+                c = Category.LOCO;
+                slotNum = message.getElement(1);
+                break;
+            case LnConstants.OPC_SL_RD_DATA:
+            case LnConstants.OPC_WR_SL_DATA:
+                c = Category.SLOT;
+                if (message.getNumDataElements() > 2) {
+                    slotNum = message.getElement(2);
+                }
+                break;
+            case LnConstants.OPC_RQ_SL_DATA:
+            case LnConstants.OPC_SLOT_STAT1:
+            case LnConstants.OPC_CONSIST_FUNC:
+            case LnConstants.OPC_MOVE_SLOTS:
+            case LnConstants.OPC_LINK_SLOTS:
+            case LnConstants.OPC_UNLINK_SLOTS:
+                c = Category.SLOT;
+                slotNum = message.getElement(1);
+                break;
+            case LnConstants.OPC_LOCO_ADR:
+            case LnConstants.OPC_EXP_REQ_SLOT:
+                c = Category.SLOT;
+                break;
+            case LnConstants.OPC_SW_REQ:
+            case LnConstants.OPC_SW_REP:
+            case LnConstants.OPC_SW_ACK:
+            case LnConstants.OPC_SW_STATE:
+                c = Category.SWITCH;
+                addr = address(message);
+                name = turnoutPrefix + addr;
+                break;
+            case LnConstants.OPC_INPUT_REP:
+                c = Category.SENSOR;
+                int in2 = message.getElement(2);
+                addr = (address(message) - 1) * 2 + ((in2 & LnConstants.OPC_INPUT_REP_SW) != 0 ? 2 : 1);
+                name = sensorPrefix + addr;
+                break;
+            case LnConstants.OPC_MULTI_SENSE:
+                c = Category.MULTI_SENSE;
+                break;
+            case LnConstants.OPC_LONG_ACK:
+                c = Category.ACKNOWLEDGE;
+                break;
+            case LnConstants.OPC_PEER_XFER:
+                c = Category.PEER_TRANSFER;
+                break;
+            case LnConstants.OPC_IMM_PACKET:
+                c = Category.DCC_PACKET;
+                break;
+            default:
+                c = Category.OTHER;
+                break;
+        }
+        category = c;
+        slot = slotNum;
+        address = addr;
+        systemName = name;
+    }
+
+    // 1-based turnout or sensor address, as used in system names
+    private static int address(LocoNetMessage message) {
+        return ((message.getElement(2) & 0x0F) * 128) + (message.getElement(1) & 0x7F) + 1;
+    }
+
+    /**
+     * Get the message interpreted.
+     *
+     * @return the message; not to be changed
+     */
+    @Nonnull
+    public LocoNetMessage getMessage() {
+        return message;
+    }
+
+    public int getOpCode() {
+        return message.getOpCode();
+    }
+
+    @Nonnull
+    public Category getCategory() {
+        return category;
+    }
+
+    /**
+     * Get the slot the message refers to.
+     *
+     * @return the slot number, or -1 if the message doesn't refer to a slot
+     */
+    public int getSlot() {
+        return slot;
+    }
+
+    /**
+     * Get the address of the turnout or sensor the message refers to.
+     *
+     * @return the address, as used in the system name, or -1 if the message
+     *         doesn't refer to a turnout or sensor
+     */
+    public int getAddress() {
+        return address;
+    }
+
+    /**
+     * Get the system name of the turnout or sensor the message refers to.
+     *
+     * @return the system name, or null if the message doesn't refer to a
+     *         turnout or sensor
+     */
+    @CheckForNull
+    public String getSystemName() {
+        return systemName;
+    }
+
+    /**
+     * Get the human-readable text of the message, building it if needed.
+     *
+     * @return the text, as returned by
+     *         {@link LocoNetMessageInterpret#interpretMessage}
+     */
+    @Nonnull
+    public synchronized String getText() {
+        String currentUserName = getUserName();
+        if (text == null || !Objects.equals(userName, currentUserName)) {
+            userName = currentUserName;
+            text = LocoNetMessageInterpret.formatMessage(message, turnoutPrefix, sensorPrefix, reporterPrefix);
+        }
+        return text;
+    }
+
+    // user name of the turnout or sensor, which is part of the text
+    private String getUserName() {
+        if (systemName == null) {
+            return null;
+        }
+        NamedBean bean;
+        if (category == Category.SENSOR) {
+            bean = InstanceManager.getDefault(SensorManager.class).getSensor(systemName);
+        } else {
+            bean = InstanceManager.getDefault(TurnoutManager.class).getTurnout(systemName);
+        }
+        return bean == null ? null : bean.getUserName();
+    }
+
+    @Override
+    public String toString() {
+        return getText();
+    }
+
+}
@@ -8,6 +8,12 @@ package jmri.jmrix.loconet.messageinterp;
 
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import javax.annotation.Nonnull;
 import jmri.InstanceManager;
 import jmri.NmraPacket;
 import jmri.Reporter;
@@ -82,6 +88,111 @@ public class LocoNetMessageInterpret {
      * @return String representation of the interpretation of the message
      */
     public static String interpretMessage(LocoNetMessage l, String turnoutPrefix, String sensorPrefix, String reporterPrefix) {
+        return interpret(l, turnoutPrefix, sensorPrefix, reporterPrefix).getText();
+    }
+
+    /**
+     * Interpret a message, without building its text until it's asked for.
+     * <p>
+     * The same messages, e.g. slot reads and sensor reports, are seen over and
+     * over again, so the interpretations of the most recent distinct messages
+     * are kept and reused, with their text.
+     *
+     * @param l Message to interpret
+     * @param turnoutPrefix "System Name+ prefix which designates the connection's
+     *          Turnouts, such as "LT"
+     * @param sensorPrefix "System Name+ prefix which designates the connection's
+     *          Sensors, such as "LS"
+     * @param reporterPrefix "System Name+ prefix which designates the connection's
+     *          Reporters, such as "LR"
+     * @return the interpretation
+     */
+    @Nonnull
+    public static LocoNetInterpretation interpret(@Nonnull LocoNetMessage l, @Nonnull String turnoutPrefix,
+            @Nonnull String sensorPrefix, @Nonnull String reporterPrefix) {
+        switch (l.getOpCode()) {
+            case LnConstants.OPC_MULTI_SENSE:
+            case LnConstants.OPC_PEER_XFER:
+                // the text can include reporter user names; not worth checking
+                return new LocoNetInterpretation(new LocoNetMessage(l), turnoutPrefix, sensorPrefix, reporterPrefix);
+            default:
+                break;
+        }
+        CacheKey key = new CacheKey(l, turnoutPrefix, sensorPrefix, reporterPrefix);
+        synchronized (CACHE) {
+            LocoNetInterpretation result = CACHE.get(key);
+            if (result == null) {
+                result = new LocoNetInterpretation(new LocoNetMessage(l), turnoutPrefix, sensorPrefix, reporterPrefix);
+                CACHE.put(key, result);
+            }
+            return result;
+        }
+    }
+
+    private static final int CACHE_SIZE = 256;
+
+    // most recently used last
+    private static final Map<CacheKey, LocoNetInterpretation> CACHE = new LinkedHashMap<CacheKey, LocoNetInterpretation>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CacheKey, LocoNetInterpretation> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    /**
+     * The message bytes and everything else the text depends on.
+     */
+    private static final class CacheKey {
+
+        private final int[] bytes;
+        private final String turnoutPrefix;
+        private final String sensorPrefix;
+        private final String reporterPrefix;
+        private final Locale locale;
+        private final int hash;
+
+        CacheKey(LocoNetMessage l, String turnoutPrefix, String sensorPrefix, String reporterPrefix) {
+            bytes = new int[l.getNumDataElements()];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = l.getElement(i);
+            }
+            this.turnoutPrefix = turnoutPrefix;
+            this.sensorPrefix = sensorPrefix;
+            this.reporterPrefix = reporterPrefix;
+            locale = Locale.getDefault();
+            hash = Arrays.hashCode(bytes) * 31 + Objects.hash(turnoutPrefix, sensorPrefix, reporterPrefix, locale);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey k = (CacheKey) o;
+            return hash == k.hash && Arrays.equals(bytes, k.bytes) && turnoutPrefix.equals(k.turnoutPrefix)
+                    && sensorPrefix.equals(k.sensorPrefix) && reporterPrefix.equals(k.reporterPrefix)
+                    && locale.equals(k.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Forget the kept interpretations.
+     */
+    static void clearCache() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+    }
+
+    /**
+     * Build the text of a message; see {@link #interpretMessage}.
+     */
+    static String formatMessage(LocoNetMessage l, String turnoutPrefix, String sensorPrefix, String reporterPrefix) {
 
         String result;
 
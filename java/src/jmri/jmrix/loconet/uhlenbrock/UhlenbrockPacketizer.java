@@ -61,6 +61,7 @@ public class UhlenbrockPacketizer extends LnPacketizer {
     public void sendLocoNetMessage(LocoNetMessage m) {
         log.debug("add to queue message {}", m.toString());
         // update statistics
+        telemetry.recordQueued();
         transmittedMsgCount++;
 
         // set the error correcting code byte(s) before transmittal
@@ -5,6 +5,7 @@ import java.util.ResourceBundle;
 
 import jmri.*;
 import jmri.jmrix.ConfiguringSystemConnectionMemo;
+import jmri.jmrix.ConnectionTelemetry;
 import jmri.jmrix.DefaultSystemConnectionMemo;
 import jmri.util.NamedBeanComparator;
 
@@ -68,6 +69,7 @@ public class NceSystemConnectionMemo extends DefaultSystemConnectionMemo impleme
         nceTrafficController = tc;
         if (tc != null) {
             tc.setAdapterMemo(this);
+            store(tc.getTelemetry(), ConnectionTelemetry.class);
         }
     }
 
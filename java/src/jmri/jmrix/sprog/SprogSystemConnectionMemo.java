@@ -5,6 +5,7 @@ import java.util.ResourceBundle;
 
 import jmri.*;
 import jmri.jmrix.ConfiguringSystemConnectionMemo;
+import jmri.jmrix.ConnectionTelemetry;
 import jmri.jmrix.DefaultSystemConnectionMemo;
 import jmri.jmrix.sprog.SprogConstants.SprogMode;
 import jmri.jmrix.sprog.update.SprogType;
@@ -33,6 +34,7 @@ public class SprogSystemConnectionMemo extends DefaultSystemConnectionMemo imple
             log.debug("SprogSystemConnectionMemo, prefix='{}'", st.getController().getSystemConnectionMemo().getSystemPrefix());
         }
         this.st = st;
+        store(st.getTelemetry(), ConnectionTelemetry.class);
         init(sm, new SprogType(SprogType.UNKNOWN));
     }
 
@@ -118,6 +120,9 @@ public class SprogSystemConnectionMemo extends DefaultSystemConnectionMemo imple
 
     public void setSprogTrafficController(SprogTrafficController st) {
         this.st = st;
+        if (st != null) {
+            store(st.getTelemetry(), ConnectionTelemetry.class);
+        }
     }
 
     private SprogTrafficController st;
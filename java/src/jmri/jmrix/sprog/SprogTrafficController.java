@@ -10,6 +10,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jmri.jmrix.AbstractPortController;
+import jmri.jmrix.ConnectionTelemetry;
 import jmri.jmrix.sprog.SprogConstants.SprogState;
 import jmri.jmrix.sprog.serialdriver.SerialDriverAdapter;
 import purejavacomm.SerialPort;
@@ -67,6 +68,18 @@ public class SprogTrafficController implements SprogInterface, SerialPortEventLi
 
     protected Vector<SprogListener> cmdListeners = new Vector<SprogListener>();
 
+    private final ConnectionTelemetry telemetry = new ConnectionTelemetry();
+    private volatile long lastSentTime;
+
+    /**
+     * Get the traffic statistics for this connection.
+     *
+     * @return the statistics
+     */
+    public ConnectionTelemetry getTelemetry() {
+        return telemetry;
+    }
+
     @Override
     public boolean status() {
         return (ostream != null && istream != null);
@@ -257,6 +270,8 @@ public class SprogTrafficController implements SprogInterface, SerialPortEventLi
         log.debug("Add message to queue: [{}] id: {}", m.toString(isSIIBootMode()), m.getId());
         try {
             sendQueue.add(new MessageTuple(m, null));
+            telemetry.recordQueued();
+            telemetry.recordQueueDepth(sendQueue.size());
         } catch (Exception e) {
             log.error("Could not add message to queue {}", e);
         }
@@ -273,6 +288,8 @@ public class SprogTrafficController implements SprogInterface, SerialPortEventLi
         log.debug("Add message to queue: [{}] id: {}", m.toString(isSIIBootMode()), m.getId());
         try {
             sendQueue.add(new MessageTuple(m, replyTo));
+            telemetry.recordQueued();
+            telemetry.recordQueueDepth(sendQueue.size());
         } catch (Exception e) {
             log.error("Could not add message to queue {}", e);
         }
@@ -314,6 +331,7 @@ public class SprogTrafficController implements SprogInterface, SerialPortEventLi
             }
             if (!replyAvailable) {
                 // Timed out
+                telemetry.recordTimeout();
                 log.warn("Timeout waiting for reply from hardware in SprogState {}", sprogState);
             } else {
                 log.debug("Notified of reply");
@@ -330,7 +348,10 @@ public class SprogTrafficController implements SprogInterface, SerialPortEventLi
         // stream to port in single write, as that's needed by serial
         try {
             if (ostream != null) {
-                ostream.write(m.getFormattedMessage(sprogState));
+                byte[] msg = m.getFormattedMessage(sprogState);
+                ostream.write(msg);
+                lastSentTime = System.nanoTime();
+                telemetry.recordSent(msg.length);
                 log.debug("sendSprogMessage written to ostream");
             } else {
                 // no stream connected
@@ -486,6 +507,10 @@ public class SprogTrafficController implements SprogInterface, SerialPortEventLi
         }
         // Insert the id
         reply.setId(lastId);
+        telemetry.recordReceived(reply.getNumDataElements());
+        if (!unsolicited) {
+            telemetry.recordReplyLatency(System.nanoTime() - lastSentTime);
+        }
         notifyReply(reply, lastSender);
         log.debug("Notify() wait");
         replyAvailable = true;
@@ -0,0 +1,199 @@
+package jmri.jmrix.swing;
+
+import java.awt.BorderLayout;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.JButton;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.Timer;
+import javax.swing.table.AbstractTableModel;
+import jmri.InstanceManager;
+import jmri.SystemConnectionMemo;
+import jmri.jmrix.ConnectionTelemetry;
+import jmri.jmrix.LatencyHistogram;
+import jmri.util.swing.JmriPanel;
+
+/**
+ * Show the traffic statistics of each connection to the layout, updated every
+ * second.
+ *
+ * @see ConnectionTelemetry
+ */
+public class ConnectionTelemetryPane extends JmriPanel {
+
+    private static final int REFRESH_INTERVAL = 1000; // milliseconds
+
+    private final TelemetryTableModel model = new TelemetryTableModel();
+    private Timer timer;
+
+    @Override
+    public String getTitle() {
+        return Bundle.getMessage("TitleConnectionTelemetry");
+    }
+
+    @Override
+    public void initComponents() {
+        setLayout(new BorderLayout());
+        JTable table = new JTable(model);
+        table.setAutoCreateRowSorter(true);
+        add(new JScrollPane(table), BorderLayout.CENTER);
+
+        JButton reset = new JButton(Bundle.getMessage("ButtonResetTelemetry"));
+        reset.addActionListener(e -> model.reset());
+        JPanel buttons = new JPanel();
+        buttons.add(reset);
+        add(buttons, BorderLayout.SOUTH);
+
+        model.refresh();
+        timer = new Timer(REFRESH_INTERVAL, e -> model.refresh());
+        timer.start();
+    }
+
+    @Override
+    public void dispose() {
+        if (timer != null) {
+            timer.stop();
+            timer = null;
+        }
+        super.dispose();
+    }
+
+    TelemetryTableModel getModel() {
+        return model;
+    }
+
+    static class TelemetryTableModel extends AbstractTableModel {
+
+        static final int NAME_COLUMN = 0;
+        static final int SENT_RATE_COLUMN = 1;
+        static final int SENT_BYTE_RATE_COLUMN = 2;
+        static final int RECEIVED_RATE_COLUMN = 3;
+        static final int RECEIVED_BYTE_RATE_COLUMN = 4;
+        static final int SENT_COLUMN = 5;
+        static final int RECEIVED_COLUMN = 6;
+        static final int COALESCED_COLUMN = 7;
+        static final int HIGH_WATER_COLUMN = 8;
+        static final int QUEUE_P50_COLUMN = 9;
+        static final int QUEUE_P99_COLUMN = 10;
+        static final int REPLY_P50_COLUMN = 11;
+        static final int REPLY_P99_COLUMN = 12;
+        static final int RETRANSMIT_COLUMN = 13;
+        static final int TIMEOUT_COLUMN = 14;
+
+        private static final String[] COLUMN_KEYS = {
+            "ColumnConnection", "ColumnSentRate", "ColumnSentByteRate", "ColumnReceivedRate",
+            "ColumnReceivedByteRate", "ColumnSent", "ColumnReceived", "ColumnCoalesced",
+            "ColumnQueueHighWater", "ColumnQueueLatency50", "ColumnQueueLatency99",
+            "ColumnReplyLatency50", "ColumnReplyLatency99", "ColumnRetransmits", "ColumnTimeouts"};
+
+        private final List<SystemConnectionMemo> memos = new ArrayList<>();
+        private final List<ConnectionTelemetry> telemetry = new ArrayList<>();
+
+        /**
+         * Find the connections with statistics again, and redisplay them.
+         */
+        void refresh() {
+            memos.clear();
+            telemetry.clear();
+            for (SystemConnectionMemo memo : InstanceManager.getList(SystemConnectionMemo.class)) {
+                ConnectionTelemetry t = memo.get(ConnectionTelemetry.class);
+                if (t != null) {
+                    memos.add(memo);
+                    telemetry.add(t);
+                }
+            }
+            fireTableDataChanged();
+        }
+
+        void reset() {
+            telemetry.forEach(ConnectionTelemetry::reset);
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return memos.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMN_KEYS.length;
+        }
+
+        @Override
+        public String getColumnName(int col) {
+            return Bundle.getMessage(COLUMN_KEYS[col]);
+        }
+
+        @Override
+        public Class<?> getColumnClass(int col) {
+            switch (col) {
+                case NAME_COLUMN:
+                    return String.class;
+                case SENT_RATE_COLUMN:
+                case SENT_BYTE_RATE_COLUMN:
+                case RECEIVED_RATE_COLUMN:
+                case RECEIVED_BYTE_RATE_COLUMN:
+                case QUEUE_P50_COLUMN:
+                case QUEUE_P99_COLUMN:
+                case REPLY_P50_COLUMN:
+                case REPLY_P99_COLUMN:
+                    return Double.class;
+                case HIGH_WATER_COLUMN:
+                    return Integer.class;
+                default:
+                    return Long.class;
+            }
+        }
+
+        @Override
+        public Object getValueAt(int row, int col) {
+            ConnectionTelemetry t = telemetry.get(row);
+            switch (col) {
+                case NAME_COLUMN:
+                    return memos.get(row).getUserName();
+                case SENT_RATE_COLUMN:
+                    return round(t.getSentRate());
+                case SENT_BYTE_RATE_COLUMN:
+                    return round(t.getSentByteRate());
+                case RECEIVED_RATE_COLUMN:
+                    return round(t.getReceivedRate());
+                case RECEIVED_BYTE_RATE_COLUMN:
+                    return round(t.getReceivedByteRate());
+                case SENT_COLUMN:
+                    return t.getSentCount();
+                case RECEIVED_COLUMN:
+                    return t.getReceivedCount();
+                case COALESCED_COLUMN:
+                    return t.getCoalescedCount();
+                case HIGH_WATER_COLUMN:
+                    return t.getQueueHighWater();
+                case QUEUE_P50_COLUMN:
+                    return millis(t.getQueueLatency(), 50.0);
+                case QUEUE_P99_COLUMN:
+                    return millis(t.getQueueLatency(), 99.0);
+                case REPLY_P50_COLUMN:
+                    return millis(t.getReplyLatency(), 50.0);
+                case REPLY_P99_COLUMN:
+                    return millis(t.getReplyLatency(), 99.0);
+                case RETRANSMIT_COLUMN:
+                    return t.getRetransmitCount();
+                case TIMEOUT_COLUMN:
+                    return t.getTimeoutCount();
+                default:
+                    return null;
+            }
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 10.0) / 10.0;
+        }
+
+        private static double millis(LatencyHistogram h, double percentile) {
+            return round(h.getValueAtPercentile(percentile) / 1e6);
+        }
+    }
+
+}
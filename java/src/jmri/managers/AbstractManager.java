@@ -43,12 +43,15 @@ public abstract class AbstractManager<E extends NamedBean> extends VetoableChang
     // * The manager also maintains synchronized maps from SystemName -> NamedBean (_tsys) and UserName -> NamedBean (_tuser)
     //      These are not made available: get access through the manager calls
     //      These use regular HashMaps instead of some sorted form for efficiency
+    // * Managers for hardware with numeric addresses can also maintain an AddressIndex from
+    //      address -> NamedBean (_taddr) by overriding getAddressForIndex(String)
     // * Caches for the List<String> getSystemNameList() and List<E> getNamedBeanList() calls
 
     protected final SystemConnectionMemo memo;
     protected final TreeSet<E> _beans;
     protected final Hashtable<String, E> _tsys = new Hashtable<>();   // stores known E (NamedBean, i.e. Turnout) instances by system name
     protected final Hashtable<String, E> _tuser = new Hashtable<>();  // stores known E (NamedBean, i.e. Turnout) instances by user name
+    protected final AddressIndex<E> _taddr = new AddressIndex<>();     // stores known E (NamedBean, i.e. Turnout) instances by hardware address
     protected final Map<String, Boolean> silencedProperties = new HashMap<>();
     protected final Set<String> silenceableProperties = new HashSet<>();
 
@@ -115,6 +118,7 @@ public abstract class AbstractManager<E extends NamedBean> extends VetoableChang
         _beans.clear();
         _tsys.clear();
         _tuser.clear();
+        _taddr.clear();
     }
 
     /**
@@ -151,6 +155,77 @@ public abstract class AbstractManager<E extends NamedBean> extends VetoableChang
         return _tsys.get(systemName);
     }
 
+    /**
+     * Get a NamedBean by its hardware address, without creating a system name.
+     * <p>
+     * Only beans for which {@link #getAddressForIndex(String)} returns an
+     * address are found.
+     *
+     * @param address the hardware address
+     * @return the bean, or null if there is no bean at that address
+     */
+    @CheckForNull
+    public E getByAddress(int address) {
+        return _taddr.get(address);
+    }
+
+    /**
+     * Get the beans at a range of hardware addresses, e.g. all inputs of one
+     * board, without building or parsing system names.
+     * <p>
+     * Only beans for which {@link #getAddressForIndex(String)} returns an
+     * address are found.
+     *
+     * @param first the first hardware address of the range
+     * @param last  the last hardware address of the range, inclusive
+     * @return the beans, in address order; empty if there are none
+     */
+    @Nonnull
+    public List<E> getByAddressRange(int first, int last) {
+        return _taddr.getRange(first, last);
+    }
+
+    /**
+     * Get the hardware address used to find a bean with
+     * {@link #getByAddress(int)}.
+     * <p>
+     * The default implementation returns -1, so beans are not indexed by
+     * address. Managers for hardware that addresses beans by number override
+     * this.
+     *
+     * @param systemName the system name of the bean
+     * @return the non-negative hardware address, or -1 if the bean has none
+     */
+    protected int getAddressForIndex(@Nonnull String systemName) {
+        return -1;
+    }
+
+    /**
+     * Get the number that follows the prefix and type letter of a system name,
+     * e.g. 12 from "XS12", for managers whose system names are the prefix and
+     * the hardware address. Nothing is logged for other names.
+     *
+     * @param systemName the system name
+     * @return the number, or -1 if the rest of the name isn't a decimal number
+     *         that fits in an int
+     */
+    protected int getNumberFromSystemName(@Nonnull String systemName) {
+        String prefix = getSystemNamePrefix();
+        int length = systemName.length();
+        if (!systemName.startsWith(prefix) || length == prefix.length() || length - prefix.length() > 9) {
+            return -1;
+        }
+        int number = 0;
+        for (int i = prefix.length(); i < length; i++) {
+            char c = systemName.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number;
+    }
+
     /**
      * Protected method used by subclasses to over-ride the default behavior of
      * getBySystemName when a simple string lookup is not sufficient.
@@ -243,6 +318,10 @@ public abstract class AbstractManager<E extends NamedBean> extends VetoableChang
         // save this bean
         _beans.add(s);
         _tsys.put(systemName, s);
+        int address = getAddressForIndex(systemName);
+        if (address >= 0) {
+            _taddr.put(address, s);
+        }
         registerUserName(s);
 
         // notifications
@@ -316,6 +395,7 @@ public abstract class AbstractManager<E extends NamedBean> extends VetoableChang
         String systemName = s.getSystemName();
         _beans.remove(s);
         _tsys.remove(systemName);
+        _taddr.remove(getAddressForIndex(systemName), s);
         String userName = s.getUserName();
         if (userName != null) {
             _tuser.remove(userName);
@@ -1,10 +1,12 @@
 package jmri.managers;
 
+import java.beans.IndexedPropertyChangeEvent;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyVetoException;
 import java.beans.VetoableChangeListener;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.CheckReturnValue;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
@@ -30,6 +32,12 @@ import org.slf4j.LoggerFactory;
  * Internally, this is done by using an ordered list of all non-Internal
  * managers, plus a separate reference to the internal manager and default
  * manager.
+ * <p>
+ * Beans are found by user name through an index of the user names in all
+ * managers, so a lookup, and in particular a miss, costs one map probe however
+ * many managers there are. The index, and the merged set returned by
+ * {@link #getNamedBeanSet()}, are kept in step with the managers through their
+ * "beans" and "DisplayListName" property changes and data listener events.
  *
  * @param <E> the supported type of NamedBean
  * @author Bob Jacobsen Copyright (C) 2003, 2010, 2018
@@ -123,8 +131,14 @@ abstract public class AbstractProxyManager<E extends NamedBean> extends Vetoable
                 .forEach(n -> Arrays.stream(getVetoableChangeListeners(n))
                 .forEach(l -> m.addVetoableChangeListener(n, l)));
         m.addPropertyChangeListener("beans", this);
+        m.addPropertyChangeListener("DisplayListName", this);
         m.addDataListener(this);
+        if (!(m instanceof AbstractManager)) {
+            // may not report user name changes, so misses must be checked
+            userNameIndexComplete = false;
+        }
         recomputeNamedBeanSet();
+        rebuildUserNameIndex();
         log.debug("added manager {}", m.getClass());
     }
 
@@ -213,15 +227,109 @@ abstract public class AbstractProxyManager<E extends NamedBean> extends Vetoable
     @CheckReturnValue
     @CheckForNull
     public E getByUserName(@Nonnull String userName) {
+        String normalizedUserName = NamedBean.normalizeUserName(userName);
+        if (normalizedUserName != null) {
+            E b = userNames.get(normalizedUserName);
+            if (b != null && normalizedUserName.equals(b.getUserName())) {
+                return b;
+            }
+            if (b == null && userNameIndexComplete) {
+                return null;
+            }
+        }
+        // not indexed, or the index is out of date: ask each manager
         for (Manager<E> m : this.mgrs) {
             E b = m.getByUserName(userName);
             if (b != null) {
+                indexUserName(b);
                 return b;
             }
         }
         return null;
     }
 
+    // user name to bean, for the beans of all managers; a bean of an earlier
+    // manager in mgrs takes precedence, as when the managers are searched
+    private final Map<String, E> userNames = new ConcurrentHashMap<>();
+    // false if a manager that might not report user name changes was added
+    private volatile boolean userNameIndexComplete = true;
+
+    private void rebuildUserNameIndex() {
+        synchronized (userNames) {
+            userNames.clear();
+            mgrs.forEach(m -> m.getNamedBeanSet().forEach(b -> {
+                String userName = b.getUserName();
+                if (userName != null) {
+                    userNames.putIfAbsent(userName, b);
+                }
+            }));
+        }
+    }
+
+    private void indexUserName(@Nonnull E bean) {
+        String userName = bean.getUserName();
+        if (userName == null) {
+            return;
+        }
+        synchronized (userNames) {
+            E existing = userNames.putIfAbsent(userName, bean);
+            if (existing != null && existing != bean) {
+                if (userName.equals(existing.getUserName())) {
+                    // the same user name in two managers
+                    resolveUserName(userName);
+                } else {
+                    userNames.put(userName, bean);
+                }
+            }
+        }
+    }
+
+    // drop a name no longer used by the bean it is indexed to
+    private void unindexUserName(@Nonnull String userName, @CheckForNull E bean) {
+        synchronized (userNames) {
+            E indexed = userNames.get(userName);
+            if (indexed != null && (indexed == bean || !userName.equals(indexed.getUserName()))) {
+                resolveUserName(userName);
+            }
+        }
+    }
+
+    // index a user name to the bean the managers have for it, if any
+    private void resolveUserName(@Nonnull String userName) {
+        for (Manager<E> m : mgrs) {
+            E b = m.getByUserName(userName);
+            if (b != null) {
+                userNames.put(userName, b);
+                return;
+            }
+        }
+        userNames.remove(userName);
+    }
+
+    // a bean has been added to or removed from one of the managers
+    private void beanAdded(@Nonnull E bean) {
+        if (namedBeanSet != null) {
+            namedBeanSet.add(bean);
+        }
+        indexUserName(bean);
+    }
+
+    private void beanRemoved(@Nonnull E bean) {
+        if (namedBeanSet != null) {
+            namedBeanSet.remove(bean);
+        }
+        String userName = bean.getUserName();
+        if (userName != null) {
+            unindexUserName(userName, bean);
+        }
+    }
+
+    // the contents of a manager have changed in ways not reported in detail
+    private void beansChanged() {
+        recomputeNamedBeanSet();
+        rebuildUserNameIndex();
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -302,6 +410,7 @@ abstract public class AbstractProxyManager<E extends NamedBean> extends Vetoable
     public void dispose() {
         mgrs.forEach(m -> m.dispose());
         mgrs.clear();
+        userNames.clear();
         if (internalManager != null) {
             internalManager.dispose(); // don't make if not made yet
         }
@@ -509,9 +618,32 @@ abstract public class AbstractProxyManager<E extends NamedBean> extends Vetoable
      * {@inheritDoc}
      */
     @Override
+    @SuppressWarnings("unchecked") // only managers of E are added
     public void propertyChange(PropertyChangeEvent event) {
+        if (event.getPropertyName().equals("DisplayListName")) {
+            // a bean's user name changed; listeners of this manager are also
+            // listeners of each manager, so have already heard of it
+            String oldName = (String) event.getOldValue();
+            String newName = (String) event.getNewValue();
+            if (oldName != null) {
+                unindexUserName(oldName, null);
+            }
+            if (newName != null && event.getSource() instanceof Manager) {
+                E bean = ((Manager<E>) event.getSource()).getByUserName(newName);
+                if (bean != null) {
+                    indexUserName(bean);
+                }
+            }
+            return;
+        }
         if (event.getPropertyName().equals("beans")) {
-            recomputeNamedBeanSet();
+            if (event instanceof IndexedPropertyChangeEvent && event.getOldValue() == null && event.getNewValue() != null) {
+                beanAdded((E) event.getNewValue());
+            } else if (event instanceof IndexedPropertyChangeEvent && event.getOldValue() != null && event.getNewValue() == null) {
+                beanRemoved((E) event.getOldValue());
+            } else {
+                beansChanged();
+            }
         }
         event.setPropagationId(this);
         if (!silencedProperties.getOrDefault(event.getPropertyName(), false)) {
@@ -658,6 +790,7 @@ abstract public class AbstractProxyManager<E extends NamedBean> extends Vetoable
     @Override
     @Deprecated
     public void contentsChanged(Manager.ManagerDataEvent<E> e) {
+        beansChanged();
     }
 
     /**
@@ -669,11 +802,11 @@ abstract public class AbstractProxyManager<E extends NamedBean> extends Vetoable
     @Deprecated
     @SuppressWarnings("deprecation")
     public void intervalAdded(AbstractProxyManager.ManagerDataEvent<E> e) {
-        if (namedBeanSet != null && e.getIndex0() == e.getIndex1()) {
+        if (e.getIndex0() == e.getIndex1() && e.getChangedBean() != null) {
             // just one element added, and we have the object reference
-            namedBeanSet.add(e.getChangedBean());
+            beanAdded(e.getChangedBean());
         } else {
-            recomputeNamedBeanSet();
+            beansChanged();
         }
 
         if (muted) return;
@@ -698,7 +831,11 @@ abstract public class AbstractProxyManager<E extends NamedBean> extends Vetoable
     @Deprecated
     @SuppressWarnings("deprecation")
     public void intervalRemoved(AbstractProxyManager.ManagerDataEvent<E> e) {
-        recomputeNamedBeanSet();
+        if (e.getIndex0() == e.getIndex1() && e.getChangedBean() != null) {
+            beanRemoved(e.getChangedBean());
+        } else {
+            beansChanged();
+        }
 
         if (muted) return;
 
@@ -0,0 +1,222 @@
+package jmri.managers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import jmri.NamedBean;
+
+/**
+ * Map from a non-negative integer hardware address to a NamedBean.
+ * <p>
+ * This is an open-addressing hash table with linear probing, keyed on a
+ * primitive int, so that lookups done for every message received from the
+ * layout don't create a system name String or box the address. It's kept by
+ * {@link AbstractManager} alongside the system and user name maps.
+ * <p>
+ * Like the Hashtable used for those maps, all methods are synchronized.
+ *
+ * @param <E> the type of NamedBean stored
+ */
+public final class AddressIndex<E extends NamedBean> {
+
+    private static final int EMPTY = -1;
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] keys;
+    private Object[] values;
+    private int size = 0;
+
+    public AddressIndex() {
+        allocate(MIN_CAPACITY);
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = new Object[capacity];
+    }
+
+    private static int hash(int key, int mask) {
+        // spread the low bits, as hardware addresses are often sequential
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * Get the bean at an address.
+     *
+     * @param address the hardware address
+     * @return the bean, or null if there is no bean at the address
+     */
+    @CheckForNull
+    @SuppressWarnings("unchecked") // only E values are stored
+    public synchronized E get(int address) {
+        if (address < 0) {
+            return null;
+        }
+        int mask = keys.length - 1;
+        for (int i = hash(address, mask); keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == address) {
+                return (E) values[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Store a bean at an address, replacing any bean already there.
+     *
+     * @param address the hardware address; must not be negative
+     * @param bean    the bean
+     * @throws IllegalArgumentException if address is negative
+     */
+    public synchronized void put(int address, @Nonnull E bean) {
+        if (address < 0) {
+            throw new IllegalArgumentException("address must not be negative: " + address);
+        }
+        if ((size + 1) * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        int mask = keys.length - 1;
+        int i = hash(address, mask);
+        while (keys[i] != EMPTY) {
+            if (keys[i] == address) {
+                values[i] = bean;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = address;
+        values[i] = bean;
+        size++;
+    }
+
+    /**
+     * Remove the bean at an address, if it is the given bean.
+     *
+     * @param address the hardware address
+     * @param bean    the bean expected at the address
+     * @return true if the bean was removed
+     */
+    public synchronized boolean remove(int address, @Nonnull E bean) {
+        if (address < 0) {
+            return false;
+        }
+        int mask = keys.length - 1;
+        int i = hash(address, mask);
+        while (keys[i] != address) {
+            if (keys[i] == EMPTY) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        if (values[i] != bean) {
+            return false;
+        }
+        // backward shift deletion, so no tombstones are needed
+        int gap = i;
+        for (int j = (gap + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+            int home = hash(keys[j], mask);
+            // move the entry at j into the gap if its home slot is not
+            // cyclically in (gap, j]
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        keys[gap] = EMPTY;
+        values[gap] = null;
+        size--;
+        return true;
+    }
+
+    /**
+     * Get the beans at a range of addresses, in address order.
+     * <p>
+     * A range no larger than the table is looked up address by address;
+     * a larger one is found with a single pass over the table, so the cost
+     * is bounded by the smaller of the range and the number of beans.
+     *
+     * @param first the first address of the range
+     * @param last  the last address of the range, inclusive
+     * @return the beans at addresses from first to last; empty if there are
+     *         none or last is less than first
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked") // only E values are stored
+    public synchronized List<E> getRange(int first, int last) {
+        first = Math.max(first, 0);
+        List<E> beans = new ArrayList<>();
+        if (last < first || size == 0) {
+            return beans;
+        }
+        int mask = keys.length - 1;
+        if ((long) last - first < keys.length) {
+            for (long a = first; a <= last; a++) {
+                int address = (int) a;
+                for (int i = hash(address, mask); keys[i] != EMPTY; i = (i + 1) & mask) {
+                    if (keys[i] == address) {
+                        beans.add((E) values[i]);
+                        break;
+                    }
+                }
+            }
+            return beans;
+        }
+        int[] found = new int[size];
+        int n = 0;
+        for (int key : keys) {
+            if (key >= first && key <= last) {
+                found[n++] = key;
+            }
+        }
+        Arrays.sort(found, 0, n);
+        for (int k = 0; k < n; k++) {
+            for (int i = hash(found[k], mask); ; i = (i + 1) & mask) {
+                if (keys[i] == found[k]) {
+                    beans.add((E) values[i]);
+                    break;
+                }
+            }
+        }
+        return beans;
+    }
+
+    /**
+     * Remove all entries.
+     */
+    public synchronized void clear() {
+        allocate(MIN_CAPACITY);
+        size = 0;
+    }
+
+    /**
+     * Get the number of addresses stored.
+     *
+     * @return the number of entries
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int k = 0; k < oldKeys.length; k++) {
+            if (oldKeys[k] != EMPTY) {
+                int i = hash(oldKeys[k], mask);
+                while (keys[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[k];
+                values[i] = oldValues[k];
+            }
+        }
+    }
+
+}
@@ -77,6 +77,13 @@ public class ProxyIdTagManager extends AbstractProxyManager<IdTag>
         return super.getNamedBean(name);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public IdTag getByUserName(@Nonnull String userName) {
+        init();
+        return super.getByUserName(userName);
+    }
+
     /** {@inheritDoc} */
     @Override
     @Nonnull
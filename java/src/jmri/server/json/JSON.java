@@ -34,7 +34,7 @@ public final class JSON {
      * this is a semantic version string; prior to that, it is just an X.Y
      * version string.
      */
-    public static final String V5_PROTOCOL_VERSION = "5.4.0"; // NOI18N
+    public static final String V5_PROTOCOL_VERSION = "5.5.0"; // NOI18N
 
     /**
      * JMRI JSON protocol version. See {@link jmri.server.json} for the version
@@ -792,6 +792,12 @@ public final class JSON {
      * @since 2.0
      */
     public static final String SYSTEM_CONNECTIONS = "systemConnections"; // NOI18N
+    /**
+     * {@value #TELEMETRY}
+     *
+     * @since 5.5.0
+     */
+    public static final String TELEMETRY = "telemetry"; // NOI18N
 
     /* JSON Schema */
     /**
@@ -17,6 +17,7 @@ import jmri.InstanceManager;
 import jmri.JmriException;
 import jmri.NamedBean;
 import jmri.ReporterManager;
+import jmri.util.LayoutEventBus;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,6 +35,8 @@ public class JsonNamedBeanSocketService<T extends NamedBean, H extends JsonNamed
 
     protected final HashMap<T, NamedBeanListener> beanListeners = new HashMap<>();
     protected final ManagerListener managerListener = new ManagerListener();
+    // if set, changes of the beans come through this, merged once per tick
+    private final LayoutEventBus eventBus = LayoutEventBus.isEnabled() ? new LayoutEventBus() : null;
     private static final Logger log = LoggerFactory.getLogger(JsonNamedBeanSocketService.class);
 
     public JsonNamedBeanSocketService(JsonConnection connection, H service) {
@@ -86,7 +89,7 @@ public class JsonNamedBeanSocketService<T extends NamedBean, H extends JsonNamed
 
     @Override
     public void onClose() {
-        beanListeners.values().stream().forEach(listener -> listener.bean.removePropertyChangeListener(listener));
+        beanListeners.values().stream().forEach(this::removeListenerFromBean);
         beanListeners.clear();
         service.getManager().removePropertyChangeListener(managerListener);
     }
@@ -98,11 +101,22 @@ public class JsonNamedBeanSocketService<T extends NamedBean, H extends JsonNamed
     protected void addListenerToBean(T bean) {
         if (bean != null) {
             NamedBeanListener listener = new NamedBeanListener(bean);
-            bean.addPropertyChangeListener(listener);
+            if (eventBus != null) {
+                eventBus.subscribe(bean, listener);
+            } else {
+                bean.addPropertyChangeListener(listener);
+            }
             this.beanListeners.put(bean, listener);
         }
     }
 
+    private void removeListenerFromBean(NamedBeanListener listener) {
+        if (eventBus != null) {
+            eventBus.unsubscribe(listener.bean, listener);
+        }
+        listener.bean.removePropertyChangeListener(listener);
+    }
+
     protected void removeListenersFromRemovedBeans() {
         for (T bean : new HashSet<>(beanListeners.keySet())) {
             if (service.getManager().getBySystemName(bean.getSystemName()) == null) {
@@ -127,7 +141,7 @@ public class JsonNamedBeanSocketService<T extends NamedBean, H extends JsonNamed
                     IOException |
                     JsonException ex) {
                 // if we get an error, unregister as listener
-                this.bean.removePropertyChangeListener(this);
+                removeListenerFromBean(this);
                 beanListeners.remove(this.bean);
             }
         }
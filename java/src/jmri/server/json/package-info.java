@@ -166,6 +166,14 @@
  * <a href="https://semver.org">semantic version rules</a>,
  * prior to that the version is just a major.minor version.
  * <dl>
+ * <dt>5.5.0 (JMRI 4.21.1)</dt>
+ * <dd>
+ * <ul>
+ * <li>Adds the {@code telemetry} type to get the traffic statistics of each
+ * system connection, e.g. messages and bytes sent and received per second, and
+ * the times messages wait to be sent and for their replies.</li>
+ * </ul>
+ * </dd>
  * <dt>5.4.0 (JMRI 4.19.5)</dt>
  * <dd>
  * <ul>
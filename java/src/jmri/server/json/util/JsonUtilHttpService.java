@@ -38,6 +38,8 @@ import jmri.jmrit.display.layoutEditor.LayoutEditor;
 import jmri.jmrit.display.switchboardEditor.SwitchboardEditor;
 import jmri.jmrix.ConnectionConfig;
 import jmri.jmrix.ConnectionConfigManager;
+import jmri.jmrix.ConnectionTelemetry;
+import jmri.jmrix.LatencyHistogram;
 import jmri.SystemConnectionMemo;
 import jmri.jmrix.internal.InternalSystemConnectionMemo;
 import jmri.profile.Profile;
@@ -98,6 +100,11 @@ public class JsonUtilHttpService extends JsonHttpService {
                     return this.getSystemConnections(request);
                 }
                 return this.getSystemConnection(name, request);
+            case JSON.TELEMETRY:
+                if (name == null) {
+                    return this.getTelemetry(request);
+                }
+                return this.getTelemetry(name, request);
             case JSON.CONFIG_PROFILE:
             case JSON.CONFIG_PROFILES:
                 if (name == null) {
@@ -126,6 +133,8 @@ public class JsonUtilHttpService extends JsonHttpService {
             case JSON.SYSTEM_CONNECTION:
             case JSON.SYSTEM_CONNECTIONS:
                 return this.getSystemConnections(request);
+            case JSON.TELEMETRY:
+                return this.getTelemetry(request);
             case JSON.CONFIG_PROFILE:
             case JSON.CONFIG_PROFILES:
                 return this.getConfigProfiles(request);
@@ -573,6 +582,80 @@ public class JsonUtilHttpService extends JsonHttpService {
         return getSystemConnections(new JsonRequest(locale, JSON.V5, JSON.GET, id));
     }
 
+    /**
+     * Get the traffic statistics of a system connection.
+     *
+     * @param name    the system connection name or prefix
+     * @param request the JSON request
+     * @return the JSON telemetry message
+     * @throws JsonException if the connection is not found or doesn't keep
+     *                       statistics
+     */
+    public JsonNode getTelemetry(@Nonnull String name, @Nonnull JsonRequest request) throws JsonException {
+        for (SystemConnectionMemo memo : InstanceManager.getList(SystemConnectionMemo.class)) {
+            if (name.equals(memo.getUserName()) || name.equals(memo.getSystemPrefix())) {
+                ConnectionTelemetry telemetry = memo.get(ConnectionTelemetry.class);
+                if (telemetry != null) {
+                    return getTelemetry(memo, telemetry, request);
+                }
+            }
+        }
+        throw new JsonException(HttpServletResponse.SC_NOT_FOUND,
+                Bundle.getMessage(request.locale, JsonException.ERROR_NOT_FOUND, JSON.TELEMETRY, name),
+                request.id);
+    }
+
+    /**
+     * Get the traffic statistics of all system connections that keep them.
+     *
+     * @param request the JSON request
+     * @return the JSON telemetry messages
+     */
+    public ArrayNode getTelemetry(@Nonnull JsonRequest request) {
+        ArrayNode root = mapper.createArrayNode();
+        for (SystemConnectionMemo memo : InstanceManager.getList(SystemConnectionMemo.class)) {
+            ConnectionTelemetry telemetry = memo.get(ConnectionTelemetry.class);
+            if (telemetry != null) {
+                root.add(getTelemetry(memo, telemetry, request));
+            }
+        }
+        return root;
+    }
+
+    private JsonNode getTelemetry(@Nonnull SystemConnectionMemo memo, @Nonnull ConnectionTelemetry telemetry,
+            @Nonnull JsonRequest request) {
+        ObjectNode data = mapper.createObjectNode();
+        data.put(JSON.NAME, memo.getUserName());
+        data.put(JSON.PREFIX, memo.getSystemPrefix());
+        data.put("queued", telemetry.getQueuedCount());
+        data.put("coalesced", telemetry.getCoalescedCount());
+        data.put("sent", telemetry.getSentCount());
+        data.put("sentBytes", telemetry.getSentBytes());
+        data.put("received", telemetry.getReceivedCount());
+        data.put("receivedBytes", telemetry.getReceivedBytes());
+        data.put("sentRate", telemetry.getSentRate());
+        data.put("sentByteRate", telemetry.getSentByteRate());
+        data.put("receivedRate", telemetry.getReceivedRate());
+        data.put("receivedByteRate", telemetry.getReceivedByteRate());
+        data.put("queueHighWater", telemetry.getQueueHighWater());
+        data.put("retransmits", telemetry.getRetransmitCount());
+        data.put("timeouts", telemetry.getTimeoutCount());
+        data.set("queueLatency", getLatency(telemetry.getQueueLatency()));
+        data.set("replyLatency", getLatency(telemetry.getReplyLatency()));
+        return message(JSON.TELEMETRY, data, request.id);
+    }
+
+    private ObjectNode getLatency(@Nonnull LatencyHistogram histogram) {
+        ObjectNode latency = mapper.createObjectNode();
+        latency.put("count", histogram.getCount());
+        latency.put("mean", histogram.getMean());
+        latency.put("p50", histogram.getValueAtPercentile(50.0));
+        latency.put("p90", histogram.getValueAtPercentile(90.0));
+        latency.put("p99", histogram.getValueAtPercentile(99.0));
+        latency.put("max", histogram.getMax());
+        return latency;
+    }
+
     /**
      * Get a JSON message containing the requested configuration profile.
      * 
@@ -718,6 +801,12 @@ public class JsonUtilHttpService extends JsonHttpService {
                             "jmri/server/json/util/systemConnection-server.json",
                             "jmri/server/json/util/systemConnection-client.json",
                             id);
+                case JSON.TELEMETRY:
+                    return doSchema(type,
+                            server,
+                            RESOURCE_PATH + "telemetry-server.json",
+                            RESOURCE_PATH + "telemetry-client.json",
+                            id);
                 case JsonException.ERROR:
                 case JSON.LIST:
                 case JSON.PONG:
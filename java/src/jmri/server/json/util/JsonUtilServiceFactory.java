@@ -26,6 +26,7 @@ public class JsonUtilServiceFactory implements JsonServiceFactory<JsonUtilHttpSe
                 JSON.RAILROAD,
                 JSON.SYSTEM_CONNECTION,
                 JSON.SYSTEM_CONNECTIONS,
+                JSON.TELEMETRY,
                 JSON.CONFIG_PROFILE,
                 JSON.CONFIG_PROFILES,
                 JSON.VERSION
@@ -0,0 +1,400 @@
+package jmri.util;
+
+import java.beans.IndexedPropertyChangeEvent;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import jmri.NamedBean;
+import jmri.beans.PropertyChangeProvider;
+
+/**
+ * Gathers PropertyChangeEvents for a short time, the tick, and delivers them
+ * together on the layout thread, merging the changes to each property of each
+ * source into one.
+ * <p>
+ * When power is turned on or a connection is restored, thousands of sensors,
+ * blocks and signals may report changes at once. A listener that updates a
+ * display for each change, e.g. a panel, a bean table or a JSON client, then
+ * does thousands of updates that are mostly overwritten within milliseconds.
+ * Adding a bus as the listener to the beans, instead of the display, lets the
+ * display do one update per tick for all the changes in it.
+ * <p>
+ * Changes of the same property of the same source within a tick are merged
+ * into one event with the old value of the first change and the new value of
+ * the last, even if they're equal. Events are delivered in the order the first
+ * change to each property was received.
+ * {@link java.beans.IndexedPropertyChangeEvent}s are never merged, as each
+ * describes a different change to a list.
+ * <p>
+ * A bus with a tick of 0 merges only the changes received before the layout
+ * thread gets to deliver them.
+ * <p>
+ * A display can also {@link #subscribe} to a source through a bus, so that it
+ * receives the merged changes of that source as ordinary PropertyChangeEvents
+ * on the GUI thread. Each subscriber is listed as a listener of the source, so
+ * a bean still knows who refers to it. Panels, bean tables and the JSON server
+ * do this when {@link #isEnabled()} is true.
+ */
+@ThreadSafe
+public class LayoutEventBus implements PropertyChangeListener {
+
+    /**
+     * The default tick, in milliseconds.
+     */
+    public static final int DEFAULT_TICK = 50;
+
+    /**
+     * Name of the system property that, if "true", makes panels, bean tables
+     * and the JSON server listen to beans through a bus.
+     * {@value #ENABLED_PROPERTY}
+     */
+    public static final String ENABLED_PROPERTY = "jmri.layoutEventBus"; // NOI18N
+    private static volatile boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    /**
+     * Receives the events delivered by a bus.
+     */
+    @FunctionalInterface
+    public interface BatchListener {
+
+        /**
+         * Handle the changes received during a tick. Called on the layout
+         * thread.
+         *
+         * @param events the merged events, in the order received; not to be
+         *               changed
+         */
+        void propertyChanges(@Nonnull List<PropertyChangeEvent> events);
+    }
+
+    private final List<BatchListener> listeners = new CopyOnWriteArrayList<>();
+
+    // guarded by this
+    private final Map<Object, Change> pending = new LinkedHashMap<>();
+    private final Map<PropertyChangeProvider, List<Subscription>> subscribers = new IdentityHashMap<>();
+    private boolean scheduled = false;
+    private int tick;
+    private long receivedCount = 0;
+    private long deliveredCount = 0;
+
+    public LayoutEventBus() {
+        this(DEFAULT_TICK);
+    }
+
+    /**
+     * Create a bus.
+     *
+     * @param tick the time changes are gathered for before being delivered,
+     *             in milliseconds
+     * @throws IllegalArgumentException if tick is negative
+     */
+    public LayoutEventBus(int tick) {
+        setTick(tick);
+    }
+
+    /**
+     * Check if panels, bean tables and the JSON server listen to beans through
+     * a bus.
+     *
+     * @return true if they use a bus
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Set if panels, bean tables and the JSON server listen to beans through a
+     * bus, so that a burst of changes is displayed once per tick. Defaults to
+     * the value of the {@value #ENABLED_PROPERTY} system property. Applies to
+     * panel items, tables and JSON connections created afterwards.
+     *
+     * @param enable true to use a bus
+     */
+    public static void setEnabled(boolean enable) {
+        enabled = enable;
+    }
+
+    /**
+     * Set the time changes are gathered for before being delivered.
+     *
+     * @param tick the time in milliseconds; 0 to deliver as soon as the layout
+     *             thread can
+     * @throws IllegalArgumentException if tick is negative
+     */
+    public synchronized void setTick(int tick) {
+        if (tick < 0) {
+            throw new IllegalArgumentException("tick must not be negative: " + tick);
+        }
+        this.tick = tick;
+    }
+
+    public synchronized int getTick() {
+        return tick;
+    }
+
+    /**
+     * Add a listener to the changes delivered by this bus.
+     *
+     * @param listener the listener
+     */
+    public void addBatchListener(@Nonnull BatchListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeBatchListener(@Nonnull BatchListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Listen to the changes of a source through this bus. The merged changes
+     * of the source are passed to the listener on the GUI thread after the
+     * end of each tick. They are not passed to the batch listeners.
+     *
+     * @param source   the source, e.g. a bean
+     * @param listener the listener
+     */
+    public void subscribe(@Nonnull PropertyChangeProvider source, @Nonnull PropertyChangeListener listener) {
+        source.addPropertyChangeListener(addSubscription(source, listener));
+    }
+
+    /**
+     * Listen to the changes of a bean through this bus, as
+     * {@link #subscribe(PropertyChangeProvider, PropertyChangeListener)} does,
+     * listed as a listener of the bean with the name and reference given,
+     * e.g. for the warnings given when a bean in use is deleted.
+     *
+     * @param bean     the bean
+     * @param listener the listener
+     * @param name     the name the listener refers to the bean by
+     * @param ref      where the listener is
+     */
+    public void subscribe(@Nonnull NamedBean bean, @Nonnull PropertyChangeListener listener, String name, String ref) {
+        bean.addPropertyChangeListener(addSubscription(bean, listener), name, ref);
+    }
+
+    private synchronized Subscription addSubscription(PropertyChangeProvider source, PropertyChangeListener listener) {
+        Subscription subscription = new Subscription(listener);
+        subscribers.computeIfAbsent(source, k -> new ArrayList<>()).add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Stop listening to a source through this bus.
+     *
+     * @param source   the source
+     * @param listener the listener
+     */
+    public void unsubscribe(@Nonnull PropertyChangeProvider source, @Nonnull PropertyChangeListener listener) {
+        Subscription removed = null;
+        synchronized (this) {
+            List<Subscription> list = subscribers.get(source);
+            if (list != null) {
+                for (Subscription subscription : list) {
+                    if (subscription.listener == listener) {
+                        removed = subscription;
+                        break;
+                    }
+                }
+                if (removed != null) {
+                    list.remove(removed);
+                    removed.active = false;
+                    if (list.isEmpty()) {
+                        subscribers.remove(source);
+                    }
+                }
+            }
+        }
+        if (removed != null) {
+            source.removePropertyChangeListener(removed);
+        }
+    }
+
+    /**
+     * Receive a change, to be delivered at the end of the tick.
+     *
+     * @param event the change
+     */
+    @Override
+    public void propertyChange(PropertyChangeEvent event) {
+        receive(null, event);
+    }
+
+    // a change for a subscriber is merged only with other changes for it
+    private void receive(Subscription to, PropertyChangeEvent event) {
+        int delay;
+        synchronized (this) {
+            receivedCount++;
+            if (event instanceof IndexedPropertyChangeEvent) {
+                pending.put(new Object(), new Change(to, event));
+            } else {
+                Key key = new Key(to != null ? to : event.getSource(), event.getPropertyName());
+                Change earlier = pending.get(key);
+                pending.put(key, new Change(to, earlier == null ? event : merge(earlier.event, event)));
+            }
+            if (scheduled) {
+                return;
+            }
+            scheduled = true;
+            delay = tick;
+        }
+        if (delay > 0) {
+            ThreadingUtil.runOnLayoutDelayed(this::flush, delay);
+        } else {
+            ThreadingUtil.runOnLayoutEventually(this::flush);
+        }
+    }
+
+    private static PropertyChangeEvent merge(PropertyChangeEvent earlier, PropertyChangeEvent later) {
+        PropertyChangeEvent merged = new PropertyChangeEvent(later.getSource(), later.getPropertyName(),
+                earlier.getOldValue(), later.getNewValue());
+        merged.setPropagationId(later.getPropagationId());
+        return merged;
+    }
+
+    /**
+     * Deliver the changes received so far now, instead of at the end of the
+     * tick. Batch listeners are called on the calling thread; subscribers are
+     * called later on the GUI thread.
+     */
+    public void flush() {
+        List<PropertyChangeEvent> events = new ArrayList<>();
+        List<Change> subscribed = new ArrayList<>();
+        synchronized (this) {
+            scheduled = false;
+            if (pending.isEmpty()) {
+                return;
+            }
+            for (Change change : pending.values()) {
+                if (change.to == null) {
+                    events.add(change.event);
+                } else {
+                    subscribed.add(change);
+                }
+            }
+            pending.clear();
+            deliveredCount += events.size() + subscribed.size();
+        }
+        if (!events.isEmpty()) {
+            List<PropertyChangeEvent> batch = Collections.unmodifiableList(events);
+            for (BatchListener listener : listeners) {
+                try {
+                    listener.propertyChanges(batch);
+                } catch (RuntimeException ex) {
+                    log.error("Exception delivering {} changes to {}", batch.size(), listener, ex);
+                }
+            }
+        }
+        if (!subscribed.isEmpty()) {
+            // subscribers are displays, so are updated on the GUI thread
+            ThreadingUtil.runOnGUIEventually(() -> {
+                for (Change change : subscribed) {
+                    change.to.deliver(change.event);
+                }
+            });
+        }
+    }
+
+    /**
+     * Get the number of changes received.
+     *
+     * @return the number of changes
+     */
+    public synchronized long getReceivedCount() {
+        return receivedCount;
+    }
+
+    /**
+     * Get the number of events delivered. This is less than the number of
+     * changes received by the number merged, and by the number still waiting
+     * to be delivered.
+     *
+     * @return the number of events
+     */
+    public synchronized long getDeliveredCount() {
+        return deliveredCount;
+    }
+
+    // a listener subscribed to a source, listening to it for the bus
+    private final class Subscription implements PropertyChangeListener {
+
+        private final PropertyChangeListener listener;
+        private volatile boolean active = true;
+
+        Subscription(PropertyChangeListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void propertyChange(PropertyChangeEvent event) {
+            receive(this, event);
+        }
+
+        void deliver(PropertyChangeEvent event) {
+            if (!active) {
+                return; // unsubscribed since the change
+            }
+            try {
+                listener.propertyChange(event);
+            } catch (RuntimeException ex) {
+                log.error("Exception delivering change of {} to {}", event.getPropertyName(), listener, ex);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return listener.toString();
+        }
+    }
+
+    // a change and the subscription it's for, or null if for the batch
+    // listeners
+    private static final class Change {
+
+        private final Subscription to;
+        private final PropertyChangeEvent event;
+
+        Change(Subscription to, PropertyChangeEvent event) {
+            this.to = to;
+            this.event = event;
+        }
+    }
+
+    // the property of a source; sources are compared by identity, as a bean
+    // may be equal to another bean
+    private static final class Key {
+
+        private final Object source;
+        private final String propertyName;
+
+        Key(Object source, String propertyName) {
+            this.source = source;
+            this.propertyName = propertyName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key k = (Key) o;
+            return source == k.source && Objects.equals(propertyName, k.propertyName);
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(source) * 31 + Objects.hashCode(propertyName);
+        }
+    }
+
+    private final static org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(LayoutEventBus.class);
+
+}
@@ -0,0 +1,223 @@
+package jmri.util;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import jmri.jmrix.LatencyHistogram;
+
+/**
+ * A layout thread of its own: a single thread that runs layout tasks in turn,
+ * apart from the Swing event dispatch thread, so that layout logic, e.g.
+ * signals, warrants and Logix, doesn't wait for windows to be painted.
+ * <p>
+ * The executor keeps track of how it's keeping up: the number of tasks
+ * waiting, the time tasks wait before running, and tasks that run for longer
+ * than {@link #getLongTaskThreshold()}, which are logged as they hold up all
+ * other layout tasks.
+ * <p>
+ * Layout tasks that need to change the GUI should hand the change to the GUI
+ * thread with {@link ThreadingUtil#runOnGUIEventually}; waiting for the GUI
+ * thread from the layout thread, while the GUI thread waits for the layout
+ * thread, would deadlock.
+ *
+ * @see ThreadingUtil#runOnLayout
+ */
+@ThreadSafe
+public class LayoutExecutor {
+
+    /**
+     * The default time, in milliseconds, beyond which a task is logged as
+     * having run for too long.
+     */
+    public static final int DEFAULT_LONG_TASK_THRESHOLD = 100;
+
+    private final ScheduledThreadPoolExecutor executor;
+    private volatile Thread thread = null;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger queueHighWater = new AtomicInteger();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong longTaskCount = new AtomicLong();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private volatile long longTaskThreshold = TimeUnit.MILLISECONDS.toNanos(DEFAULT_LONG_TASK_THRESHOLD);
+
+    /**
+     * Create an executor with a thread of the given name in the JMRI thread
+     * group.
+     *
+     * @param name the name of the thread
+     */
+    public LayoutExecutor(@Nonnull String name) {
+        executor = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = ThreadingUtil.newThread(r, name);
+            t.setDaemon(true);
+            thread = t;
+            return t;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Check if called on this executor's thread.
+     *
+     * @return true if on the layout thread
+     */
+    public boolean isExecutorThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * Run a task on the layout thread after the tasks already waiting.
+     *
+     * @param task the task
+     * @return the future of the task
+     */
+    @Nonnull
+    public Future<?> submit(@Nonnull Runnable task) {
+        long queuedAt = System.nanoTime();
+        queueHighWater.accumulateAndGet(queued.incrementAndGet(), Math::max);
+        return executor.submit(() -> run(task, queuedAt));
+    }
+
+    /**
+     * Run a task on the layout thread after a delay.
+     *
+     * @param task  the task
+     * @param delay the delay in milliseconds
+     * @return the future of the task, to cancel it
+     */
+    @Nonnull
+    public ScheduledFuture<?> schedule(@Nonnull Runnable task, int delay) {
+        return executor.schedule(() -> {
+            queued.incrementAndGet();
+            run(task, System.nanoTime());
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Run a task on the layout thread, waiting for it to finish. If called on
+     * the layout thread, the task is run at once.
+     *
+     * @param task the task
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void runAndWait(@Nonnull Runnable task) throws InterruptedException {
+        if (isExecutorThread()) {
+            task.run();
+            return;
+        }
+        try {
+            submit(task).get();
+        } catch (ExecutionException ex) {
+            // run() logs and drops exceptions, so there's nothing more to say
+            log.debug("Task failed on layout thread", ex.getCause());
+        }
+    }
+
+    private void run(Runnable task, long queuedAt) {
+        queued.decrementAndGet();
+        long start = System.nanoTime();
+        latency.record(start - queuedAt);
+        try {
+            task.run();
+        } catch (RuntimeException ex) {
+            log.error("Error while on layout thread", ex);
+        }
+        long duration = System.nanoTime() - start;
+        completedCount.incrementAndGet();
+        if (duration > longTaskThreshold) {
+            longTaskCount.incrementAndGet();
+            log.warn("Layout thread task {} ran for {} ms, holding up other layout tasks", task,
+                    TimeUnit.NANOSECONDS.toMillis(duration));
+        }
+    }
+
+    /**
+     * Get the number of tasks waiting to run, not counting delayed tasks that
+     * aren't yet due.
+     *
+     * @return the number of tasks
+     */
+    public int getQueueDepth() {
+        return queued.get();
+    }
+
+    /**
+     * Get the largest number of tasks that have been waiting to run at once.
+     *
+     * @return the number of tasks
+     */
+    public int getQueueHighWater() {
+        return queueHighWater.get();
+    }
+
+    /**
+     * Get the number of tasks run.
+     *
+     * @return the number of tasks
+     */
+    public long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    /**
+     * Get the number of tasks that ran for longer than the long task
+     * threshold.
+     *
+     * @return the number of tasks
+     */
+    public long getLongTaskCount() {
+        return longTaskCount.get();
+    }
+
+    /**
+     * Get the times tasks waited before they ran.
+     *
+     * @return the histogram of times, in nanoseconds
+     */
+    @Nonnull
+    public LatencyHistogram getLatencyHistogram() {
+        return latency;
+    }
+
+    /**
+     * Get the time beyond which a task is logged as having run for too long.
+     *
+     * @return the time in milliseconds
+     */
+    public long getLongTaskThreshold() {
+        return TimeUnit.NANOSECONDS.toMillis(longTaskThreshold);
+    }
+
+    public void setLongTaskThreshold(long millis) {
+        longTaskThreshold = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    /**
+     * Stop the executor once the tasks already waiting have run. Delayed
+     * tasks that aren't due are dropped.
+     */
+    public void shutdown() {
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        executor.shutdown();
+    }
+
+    /**
+     * Wait for the executor to stop after {@link #shutdown()}.
+     *
+     * @param millis the longest time to wait, in milliseconds
+     * @return true if stopped; false if the time ran out
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitTermination(long millis) throws InterruptedException {
+        return executor.awaitTermination(millis, TimeUnit.MILLISECONDS);
+    }
+
+    private final static org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(LayoutExecutor.class);
+
+}
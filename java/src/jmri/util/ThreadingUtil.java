@@ -2,10 +2,12 @@ package jmri.util;
 
 import java.awt.event.ActionEvent;
 import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.atomic.AtomicReference;
 
 import javax.swing.SwingUtilities;
 import javax.swing.Timer;
+import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -16,14 +18,50 @@ import javax.annotation.concurrent.ThreadSafe;
  * <a href="http://jmri.org/help/en/html/doc/Technical/Threads.shtml">http://jmri.org/help/en/html/doc/Technical/Threads.shtml</a>
  * <p>
  * Note this distinguishes "on layout", for example, Setting a sensor, from "on
- * GUI", for example, manipulating the Swing GUI. That may not be an important
- * distinction now, but it might be later, so we build it into the calls.
+ * GUI", for example, manipulating the Swing GUI. By default both are the Swing
+ * event dispatch thread. If the system property {@value #LAYOUT_THREAD_PROPERTY}
+ * is set to {@value #DEDICATED_LAYOUT_THREAD}, layout code runs on a thread of
+ * its own, a {@link LayoutExecutor}, so it doesn't wait for the GUI to be
+ * painted, and an application without a GUI, e.g. one running only the JSON
+ * server and a LocoNet connection, doesn't need Swing to run layout code.
  *
  * @author Bob Jacobsen Copyright 2015
  */
 @ThreadSafe
 public class ThreadingUtil {
 
+    /**
+     * The system property that selects the layout thread.
+     */
+    public static final String LAYOUT_THREAD_PROPERTY = "jmri.layoutThread"; // NOI18N
+
+    /**
+     * The value of {@value #LAYOUT_THREAD_PROPERTY} that gives layout code a
+     * thread of its own.
+     */
+    public static final String DEDICATED_LAYOUT_THREAD = "dedicated"; // NOI18N
+
+    // null if the layout thread is the GUI thread
+    private static volatile LayoutExecutor layoutExecutor =
+            DEDICATED_LAYOUT_THREAD.equals(System.getProperty(LAYOUT_THREAD_PROPERTY))
+            ? new LayoutExecutor("JMRI layout") : null; // NOI18N
+
+    /**
+     * Get the executor running the layout thread, e.g. to see how it's
+     * keeping up.
+     *
+     * @return the executor, or null if the layout thread is the GUI thread
+     */
+    @CheckForNull
+    static public LayoutExecutor getLayoutExecutor() {
+        return layoutExecutor;
+    }
+
+    // for testing
+    static void setLayoutExecutor(@CheckForNull LayoutExecutor executor) {
+        layoutExecutor = executor;
+    }
+
     /**
      * Run some layout-specific code before returning.
      * <p>
@@ -37,7 +75,21 @@ public class ThreadingUtil {
      * @param ta What to run, usually as a lambda expression
      */
     static public void runOnLayout(@Nonnull ThreadAction ta) {
-        runOnGUI(ta);
+        LayoutExecutor executor = layoutExecutor;
+        if (executor == null) {
+            runOnGUI(ta);
+        } else if (executor.isExecutorThread()) {
+            // run now
+            ta.run();
+        } else {
+            warnLocks();
+            try {
+                executor.runAndWait(ta);
+            } catch (InterruptedException e) {
+                log.debug("Interrupted while running on layout thread");
+                Thread.currentThread().interrupt();
+            }
+        }
     }
 
     /**
@@ -56,7 +108,12 @@ public class ThreadingUtil {
      * @param ta What to run, usually as a lambda expression
      */
     static public void runOnLayoutEventually(@Nonnull ThreadAction ta) {
-        runOnGUIEventually(ta);
+        LayoutExecutor executor = layoutExecutor;
+        if (executor == null) {
+            runOnGUIEventually(ta);
+        } else {
+            executor.submit(ta);
+        }
     }
 
     /**
@@ -78,7 +135,57 @@ public class ThreadingUtil {
      */
     @Nonnull 
     static public Timer runOnLayoutDelayed(@Nonnull ThreadAction ta, int delay) {
-        return runOnGUIDelayed(ta, delay);
+        LayoutExecutor executor = layoutExecutor;
+        if (executor == null) {
+            return runOnGUIDelayed(ta, delay);
+        }
+        Timer timer = new LayoutTimer(executor, ta, delay);
+        timer.start();
+        return timer;
+    }
+
+    /**
+     * A Timer that runs its action on the layout executor instead of the GUI
+     * thread, so that {@link #runOnLayoutDelayed} doesn't need Swing.
+     */
+    private static class LayoutTimer extends Timer {
+
+        private final transient LayoutExecutor executor;
+        private final transient ThreadAction ta;
+        private transient ScheduledFuture<?> future = null;
+
+        LayoutTimer(LayoutExecutor executor, ThreadAction ta, int delay) {
+            super(delay, null);
+            this.executor = executor;
+            this.ta = ta;
+            setRepeats(false);
+        }
+
+        @Override
+        public synchronized void start() {
+            if (!isRunning()) {
+                future = executor.schedule(ta, getInitialDelay());
+            }
+        }
+
+        @Override
+        public synchronized void stop() {
+            if (future != null) {
+                future.cancel(false);
+                future = null;
+            }
+        }
+
+        @Override
+        public synchronized void restart() {
+            stop();
+            start();
+        }
+
+        @Override
+        public synchronized boolean isRunning() {
+            return future != null && !future.isDone();
+        }
     }
 
     /**
@@ -87,7 +194,8 @@ public class ThreadingUtil {
      * @return true if on the layout-operation thread
      */
     static public boolean isLayoutThread() {
-        return isGUIThread();
+        LayoutExecutor executor = layoutExecutor;
+        return executor == null ? isGUIThread() : executor.isExecutorThread();
     }
 
     /**
@@ -297,7 +405,7 @@ public class ThreadingUtil {
      * Check that a call is on the GUI thread. Warns (once) if not.
      * Intended to be the run-time check mechanism for {@code @InvokeOnGuiThread}
      * <p>
-     * In this implementation, this is the same as {@link #requireLayoutThread(org.slf4j.Logger)}
+     * Unless the layout thread is dedicated, this is the same as {@link #requireLayoutThread(org.slf4j.Logger)}
      * @param logger The logger object from the calling class, usually "log"
      */
     static public void requireGuiThread(org.slf4j.Logger logger) {
@@ -311,7 +419,7 @@ public class ThreadingUtil {
      * Check that a call is on the Layout thread. Warns (once) if not.
      * Intended to be the run-time check mechanism for {@code @InvokeOnLayoutThread}
      * <p>
-     * In this implementation, this is the same as {@link #requireGuiThread(org.slf4j.Logger)}
+     * Unless the layout thread is dedicated, this is the same as {@link #requireGuiThread(org.slf4j.Logger)}
      * @param logger The logger object from the calling class, usually "log"
      */
     static public void requireLayoutThread(org.slf4j.Logger logger) {
@@ -1,5 +1,12 @@
 package jmri;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import jmri.jmrit.display.layoutEditor.LayoutBlockManager;
 import jmri.jmrit.logix.OBlockManager;
 import jmri.jmrit.logix.WarrantManager;
@@ -376,6 +383,84 @@ public class InstanceManagerTest {
         Assert.assertFalse("Should be empty", InstanceManager.containsDefault(OkAutoCreate.class));
     }
 
+    @Test
+    public void testDefaultCacheFollowsChanges() {
+        OkAutoCreate first = new OkAutoCreate();
+        OkAutoCreate second = new OkAutoCreate();
+        InstanceManager.store(first, OkAutoCreate.class);
+        Assert.assertEquals(first, InstanceManager.getDefault(OkAutoCreate.class));
+        long cached = InstanceManager.getDefault().getCachedLookupCount();
+        Assert.assertEquals(first, InstanceManager.getDefault(OkAutoCreate.class));
+        Assert.assertEquals("second lookup cached", cached + 1, InstanceManager.getDefault().getCachedLookupCount());
+        InstanceManager.store(second, OkAutoCreate.class);
+        Assert.assertEquals(second, InstanceManager.getDefault(OkAutoCreate.class));
+        InstanceManager.setDefault(OkAutoCreate.class, first);
+        Assert.assertEquals(first, InstanceManager.getDefault(OkAutoCreate.class));
+        InstanceManager.deregister(first, OkAutoCreate.class);
+        Assert.assertEquals(second, InstanceManager.getDefault(OkAutoCreate.class));
+        InstanceManager.reset(OkAutoCreate.class);
+        Assert.assertNull(InstanceManager.getDefault().getInstances(OkAutoCreate.class).stream()
+                .filter(o -> o == first || o == second).findAny().orElse(null));
+        Assert.assertNotEquals("new default created", second, InstanceManager.getDefault(OkAutoCreate.class));
+    }
+
+    @Test
+    public void testConcurrentRegistration() throws InterruptedException {
+        int writers = 4;
+        int readers = 4;
+        int rounds = 2000;
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger nulls = new AtomicInteger();
+        AtomicInteger foreign = new AtomicInteger();
+        Set<OkAutoCreate> stored = ConcurrentHashMap.newKeySet();
+        InstanceManager.store(new OkAutoCreate(), OkAutoCreate.class);
+        stored.addAll(InstanceManager.getList(OkAutoCreate.class));
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < readers; i++) {
+            threads.add(new Thread(() -> {
+                while (running.get()) {
+                    OkAutoCreate o = InstanceManager.getNullableDefault(OkAutoCreate.class);
+                    if (o == null) {
+                        nulls.incrementAndGet();
+                    } else if (!stored.contains(o)) {
+                        foreign.incrementAndGet();
+                    }
+                }
+            }, "reader " + i));
+        }
+        List<Thread> writerThreads = new ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            writerThreads.add(new Thread(() -> {
+                for (int j = 0; j < rounds; j++) {
+                    OkAutoCreate o = new OkAutoCreate();
+                    stored.add(o);
+                    if (j % 2 == 0) {
+                        InstanceManager.store(o, OkAutoCreate.class);
+                    } else {
+                        InstanceManager.setDefault(OkAutoCreate.class, o);
+                    }
+                }
+            }, "writer " + i));
+        }
+        threads.forEach(Thread::start);
+        writerThreads.forEach(Thread::start);
+        for (Thread t : writerThreads) {
+            t.join();
+        }
+        running.set(false);
+        for (Thread t : threads) {
+            t.join();
+        }
+        Assert.assertEquals("readers always found a default", 0, nulls.get());
+        Assert.assertEquals("readers only found stored objects", 0, foreign.get());
+        List<OkAutoCreate> list = InstanceManager.getList(OkAutoCreate.class);
+        Assert.assertEquals(1 + writers * rounds, list.size());
+        Assert.assertSame("default is the last in the list", list.get(list.size() - 1),
+                InstanceManager.getDefault(OkAutoCreate.class));
+        Assert.assertTrue(InstanceManager.getDefault().getLockedLookupCount() > 0);
+        InstanceManager.reset(OkAutoCreate.class);
+    }
+
     @BeforeEach
     public void setUp() {
         JUnitUtil.setUp();
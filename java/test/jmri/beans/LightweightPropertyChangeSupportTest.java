@@ -0,0 +1,127 @@
+package jmri.beans;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeListenerProxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jmri.util.JUnitUtil;
+
+public class LightweightPropertyChangeSupportTest {
+
+    private LightweightPropertyChangeSupport instance;
+    private TestPropertyChangeListener listener;
+    private static final String PROPERTY = "property";
+
+    @Test
+    public void testAddAndRemovePropertyChangeListener() {
+        assertThat(instance.getPropertyChangeListeners()).isEmpty();
+        assertThat(instance.hasListeners(PROPERTY)).isFalse();
+        instance.addPropertyChangeListener(listener);
+        assertThat(instance.getPropertyChangeListeners()).containsExactly(listener);
+        assertThat(instance.getPropertyChangeListeners(PROPERTY)).isEmpty();
+        assertThat(instance.hasListeners(null)).isTrue();
+        instance.addPropertyChangeListener(listener);
+        assertThat(instance.getListenerCount()).isEqualTo(2);
+        instance.removePropertyChangeListener(listener);
+        assertThat(instance.getPropertyChangeListeners()).containsExactly(listener);
+        instance.removePropertyChangeListener(listener);
+        assertThat(instance.getPropertyChangeListeners()).isEmpty();
+        instance.addPropertyChangeListener(null);
+        instance.removePropertyChangeListener(null);
+        assertThat(instance.getListenerCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void testAddAndRemovePropertyChangeListener_String() {
+        instance.addPropertyChangeListener(PROPERTY, listener);
+        PropertyChangeListener listener2 = instance.getPropertyChangeListeners()[0];
+        assertThat(listener2).isExactlyInstanceOf(PropertyChangeListenerProxy.class);
+        assertThat(((PropertyChangeListenerProxy) listener2).getListener()).isEqualTo(listener);
+        assertThat(((PropertyChangeListenerProxy) listener2).getPropertyName()).isEqualTo(PROPERTY);
+        assertThat(instance.getPropertyChangeListeners(PROPERTY)).containsExactly(listener);
+        assertThat(instance.hasListeners(PROPERTY)).isTrue();
+        assertThat(instance.hasListeners("other")).isFalse();
+        // removing the proxy removes the listener to the property
+        instance.removePropertyChangeListener(listener2);
+        assertThat(instance.getPropertyChangeListeners()).isEmpty();
+        assertThat(instance.hasListeners(PROPERTY)).isFalse();
+        instance.addPropertyChangeListener(listener2);
+        assertThat(instance.getPropertyChangeListeners(PROPERTY)).containsExactly(listener);
+        instance.removePropertyChangeListener(PROPERTY, listener);
+        assertThat(instance.getPropertyChangeListeners(PROPERTY)).isEmpty();
+    }
+
+    @Test
+    public void testFirePropertyChange() {
+        List<String> order = new ArrayList<>();
+        instance.addPropertyChangeListener(PROPERTY, e -> order.add("named"));
+        instance.addPropertyChangeListener(e -> order.add("all"));
+        instance.addPropertyChangeListener(listener);
+        Object object1 = new Object();
+        Object object2 = new Object();
+        instance.firePropertyChange(PROPERTY, object1, object2);
+        assertThat(order).containsExactly("all", "named");
+        PropertyChangeEvent event = listener.getLastEvent();
+        assertThat(event.getSource()).isEqualTo(this);
+        assertThat(event.getPropertyName()).isEqualTo(PROPERTY);
+        assertThat(event.getOldValue()).isEqualTo(object1);
+        assertThat(event.getNewValue()).isEqualTo(object2);
+        listener.clear();
+        instance.firePropertyChange(PROPERTY, object1, object1);
+        assertThat(listener.getEvents()).isEmpty();
+        instance.firePropertyChange(PROPERTY, null, null);
+        assertThat(listener.getEvents().size()).isEqualTo(1);
+        instance.firePropertyChange("other", 1, 2);
+        assertThat(listener.getEvents().size()).isEqualTo(2);
+        assertThat(order).containsExactly("all", "named", "all", "named", "all");
+    }
+
+    @Test
+    public void testFirePropertyChange_PropertyChangeEvent() {
+        instance.addPropertyChangeListener(PROPERTY, listener);
+        PropertyChangeEvent sent = new PropertyChangeEvent(this, PROPERTY, 1, 2);
+        instance.firePropertyChange(sent);
+        assertThat(listener.getLastEvent()).isSameAs(sent);
+        listener.clear();
+        instance.firePropertyChange(new PropertyChangeEvent(this, PROPERTY, 1, 1));
+        assertThat(listener.getEvents()).isEmpty();
+    }
+
+    @Test
+    public void testListenerRemovedWhileFiring() {
+        PropertyChangeListener remover = new PropertyChangeListener() {
+            @Override
+            public void propertyChange(PropertyChangeEvent evt) {
+                instance.removePropertyChangeListener(this);
+                instance.removePropertyChangeListener(listener);
+            }
+        };
+        instance.addPropertyChangeListener(remover);
+        instance.addPropertyChangeListener(listener);
+        // the change is fired to the listeners there were when it was fired
+        instance.firePropertyChange(PROPERTY, 1, 2);
+        assertThat(listener.getEvents().size()).isEqualTo(1);
+        assertThat(instance.getPropertyChangeListeners()).isEmpty();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+        instance = new LightweightPropertyChangeSupport(this);
+        listener = new TestPropertyChangeListener();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JUnitUtil.tearDown();
+    }
+
+}
@@ -0,0 +1,99 @@
+package jmri.configurexml;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import jmri.jmrit.XmlFile;
+import jmri.util.FileUtil;
+import jmri.util.JUnitUtil;
+
+import org.jdom2.Attribute;
+import org.jdom2.CDATA;
+import org.jdom2.Comment;
+import org.jdom2.Element;
+import org.jdom2.Namespace;
+import org.jdom2.ProcessingInstruction;
+import org.jdom2.output.XMLOutputter;
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ConfigSnapshotTest {
+
+    private ConfigSnapshot snapshot;
+    private URL source;
+
+    @Test
+    public void testRoundTrip() {
+        Namespace xsi = Namespace.getNamespace("xsi", "http://www.w3.org/2001/XMLSchema-instance");
+        Element root = new Element("layout-config");
+        root.addNamespaceDeclaration(xsi);
+        root.setAttribute("noNamespaceSchemaLocation", "http://jmri.org/xml/schema/layout.xsd", xsi);
+        Element sensors = new Element("sensors").setAttribute("class", "jmri.managers.configurexml.InternalSensorManagerXml");
+        Attribute defaulted = new Attribute("inverted", "false");
+        defaulted.setSpecified(false);
+        for (int i = 0; i < 3; i++) {
+            Element sensor = new Element("sensor").setAttribute("inverted", "false");
+            sensor.addContent(new Element("systemName").setText("IS" + i));
+            sensors.addContent(sensor);
+        }
+        sensors.getChildren().get(0).setAttribute(defaulted);
+        root.addContent(sensors);
+        root.addContent(new Comment(" a comment "));
+        root.addContent(new Element("memory").addContent(new CDATA("<value>")));
+        root.addContent(new ProcessingInstruction("target", "data"));
+        root.addContent(new Element("comment").setText("été"));
+
+        snapshot.write(source, "key", root);
+        Element read = snapshot.read(source, "key");
+        Assert.assertNotNull(read);
+        XMLOutputter out = new XMLOutputter();
+        Assert.assertEquals(out.outputString(root), out.outputString(read));
+        Assert.assertNotNull("in a document", read.getDocument());
+        Assert.assertFalse(read.getChild("sensors").getChildren().get(0).getAttribute("inverted").isSpecified());
+        Assert.assertTrue(read.getChild("sensors").getChildren().get(1).getAttribute("inverted").isSpecified());
+    }
+
+    @Test
+    public void testDiscardedWhenKeyDiffers() {
+        snapshot.write(source, "key", new Element("root"));
+        File file = snapshot.snapshotFile(source);
+        Assert.assertTrue(file.exists());
+        Assert.assertNull(snapshot.read(source, "other key"));
+        Assert.assertFalse("discarded", file.exists());
+        Assert.assertNull(snapshot.read(source, "key"));
+    }
+
+    @Test
+    public void testKey() {
+        byte[] content = "<root/>".getBytes(StandardCharsets.UTF_8);
+        String key = ConfigSnapshot.key(content, XmlFile.Validate.None);
+        Assert.assertEquals(key, ConfigSnapshot.key(content.clone(), XmlFile.Validate.None));
+        Assert.assertNotEquals(key, ConfigSnapshot.key(content, XmlFile.Validate.CheckDtdThenSchema));
+        Assert.assertNotEquals(key, ConfigSnapshot.key("<root />".getBytes(StandardCharsets.UTF_8), XmlFile.Validate.None));
+    }
+
+    @Test
+    public void testUnreadableSnapshot() throws IOException {
+        Files.write(snapshot.snapshotFile(source).toPath(), new byte[]{1, 2, 3});
+        Assert.assertNull(snapshot.read(source, "key"));
+        jmri.util.JUnitAppender.assertWarnMessageStartingWith("Unable to read snapshot");
+        Assert.assertFalse(snapshot.snapshotFile(source).exists());
+    }
+
+    @BeforeEach
+    public void setUp(@TempDir File folder) {
+        JUnitUtil.setUp();
+        snapshot = new ConfigSnapshot(folder);
+        source = FileUtil.fileToURL(new File(folder, "panel.xml"));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JUnitUtil.tearDown();
+    }
+
+}
@@ -6,11 +6,28 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.net.URL;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import jmri.InstanceManager;
+import jmri.Manager;
+import jmri.MemoryManager;
+import jmri.SensorManager;
+import jmri.SignalHeadManager;
+import jmri.TurnoutManager;
+import jmri.jmrit.XmlFile;
+import jmri.managers.ProxyTurnoutManager;
+import jmri.managers.configurexml.AbstractNamedBeanManagerConfigXML;
 import jmri.util.FileUtil;
 import jmri.util.JUnitUtil;
 
+import org.jdom2.Element;
+import org.jdom2.JDOMException;
+import org.jdom2.output.XMLOutputter;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.Assert;
 
 /**
@@ -166,6 +183,150 @@ public class ConfigXmlManagerTest {
         f.delete();  // make sure it's gone again
     }
 
+    @Test
+    public void testParallelLoad() throws JmriConfigureXmlException {
+        initManagers();
+        ConfigXmlManager configxmlmanager = new ConfigXmlManager();
+        Assert.assertFalse("sequential by default", configxmlmanager.isParallelLoad());
+        configxmlmanager.setParallelLoad(true);
+
+        Assert.assertTrue(configxmlmanager.load(new File("java/test/jmri/configurexml/load/LoadMultipleSystems.xml")));
+        Assert.assertNotNull(InstanceManager.getDefault(SensorManager.class).getSensor("IS4"));
+        Assert.assertNotNull(InstanceManager.getDefault(TurnoutManager.class).getTurnout("IT10"));
+        Assert.assertNotNull(InstanceManager.getDefault(MemoryManager.class).getMemory("IM0"));
+        Assert.assertNotNull(InstanceManager.getDefault(SignalHeadManager.class).getSignalHead("IH9"));
+        Map<String, Long> times = configxmlmanager.getLoadTimes();
+        Assert.assertTrue(times.containsKey("jmri.jmrix.internal.configurexml.InternalSensorManagerXml"));
+        Assert.assertTrue(times.containsKey("jmri.managers.configurexml.AbstractSignalHeadManagerXml"));
+    }
+
+    @Test
+    public void testParallelLoadConnections(@TempDir File folder) throws IOException, JmriConfigureXmlException {
+        initManagers();
+        // sensors and turnouts of two connections, and memories
+        Element root = new Element("layout-config");
+        for (String c : new String[]{"SensorsXml", "TurnoutsXml", "OtherSensorsXml", "OtherTurnoutsXml", "MemoriesXml"}) {
+            root.addContent(new Element("section").setAttribute("class", ConfigXmlManagerTest.class.getName() + "$" + c));
+        }
+        File panel = new File(folder, "connections.xml");
+        Files.write(panel.toPath(), new XMLOutputter().outputString(root).getBytes("UTF-8"));
+        ConfigXmlManager configxmlmanager = new ConfigXmlManager();
+        configxmlmanager.setValidate(XmlFile.Validate.None);
+        configxmlmanager.setParallelLoad(true);
+
+        SectionXml.reset();
+        Assert.assertTrue(configxmlmanager.load(panel));
+        Assert.assertEquals(5, SectionXml.loaded.get());
+        Assert.assertEquals("one connection's sections of a type at a time", 1, SectionXml.mostAtOnce.get());
+    }
+
+    // Records how many sections of the same load order are loaded at once
+    public static abstract class SectionXml extends AbstractNamedBeanManagerConfigXML {
+
+        static final AtomicInteger loaded = new AtomicInteger();
+        static final AtomicInteger mostAtOnce = new AtomicInteger();
+        static final Map<Integer, AtomicInteger> loading = new ConcurrentHashMap<>();
+
+        static void reset() {
+            loaded.set(0);
+            mostAtOnce.set(0);
+            loading.clear();
+        }
+
+        @Override
+        public Element store(Object o) {
+            return null;
+        }
+
+        @Override
+        public boolean load(Element shared, Element perNode) {
+            AtomicInteger count = loading.computeIfAbsent(loadOrder(), o -> new AtomicInteger());
+            mostAtOnce.accumulateAndGet(count.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            count.decrementAndGet();
+            loaded.incrementAndGet();
+            return true;
+        }
+    }
+
+    public static class SensorsXml extends SectionXml {
+
+        @Override
+        public int loadOrder() {
+            return Manager.SENSORS;
+        }
+    }
+
+    public static class TurnoutsXml extends SectionXml {
+
+        @Override
+        public int loadOrder() {
+            return Manager.TURNOUTS;
+        }
+    }
+
+    // a second connection's adapters
+    public static class OtherSensorsXml extends SensorsXml {
+    }
+
+    public static class OtherTurnoutsXml extends TurnoutsXml {
+    }
+
+    public static class MemoriesXml extends SectionXml {
+
+        @Override
+        public int loadOrder() {
+            return Manager.MEMORIES;
+        }
+    }
+
+    @Test
+    public void testSnapshot(@TempDir File folder) throws IOException, JDOMException, JmriConfigureXmlException {
+        initManagers();
+        File panel = new File(folder, "panel.xml");
+        Files.copy(new File("java/test/jmri/configurexml/load/LoadMultipleSystems.xml").toPath(), panel.toPath());
+        ConfigXmlManager configxmlmanager = new ConfigXmlManager();
+        Assert.assertNull("not used by default", configxmlmanager.getSnapshot());
+        ConfigSnapshot snapshot = new ConfigSnapshot(new File(folder, "cache"));
+        configxmlmanager.setSnapshot(snapshot);
+        URL url = FileUtil.fileToURL(panel);
+
+        // written after the first load, and then read in place of the file
+        Assert.assertTrue(configxmlmanager.load(panel));
+        Element parsed = configxmlmanager.rootFromFile(panel);
+        Element read = snapshot.read(url, ConfigSnapshot.key(Files.readAllBytes(panel.toPath()), configxmlmanager.getValidate()));
+        Assert.assertNotNull(read);
+        XMLOutputter out = new XMLOutputter();
+        Assert.assertEquals("snapshot as parsed", out.outputString(parsed), out.outputString(read));
+        JUnitUtil.resetInstanceManager();
+        initManagers();
+        Assert.assertTrue(configxmlmanager.load(panel));
+        Assert.assertNotNull(InstanceManager.getDefault(SignalHeadManager.class).getSignalHead("IH9"));
+
+        // written from what was stored, and loads as the file does
+        configxmlmanager.registerConfig(((ProxyTurnoutManager) InstanceManager.getDefault(TurnoutManager.class)).getInternalManager(), Manager.TURNOUTS);
+        configxmlmanager.registerConfig(InstanceManager.getDefault(SignalHeadManager.class), Manager.SIGNALHEADS);
+        Assert.assertTrue(configxmlmanager.storeConfig(panel));
+        Assert.assertNotNull(snapshot.read(url, ConfigSnapshot.key(Files.readAllBytes(panel.toPath()), configxmlmanager.getValidate())));
+        JUnitUtil.resetInstanceManager();
+        initManagers();
+        Assert.assertTrue(configxmlmanager.load(panel));
+        Assert.assertNotNull(InstanceManager.getDefault(SignalHeadManager.class).getSignalHead("IH9"));
+        Assert.assertNotNull(InstanceManager.getDefault(TurnoutManager.class).getTurnout("IT10"));
+    }
+
+    private void initManagers() {
+        JUnitUtil.initConfigureManager();
+        JUnitUtil.initInternalTurnoutManager();
+        JUnitUtil.initInternalLightManager();
+        JUnitUtil.initInternalSensorManager();
+        JUnitUtil.initMemoryManager();
+    }
+
     @BeforeEach
     public void setUp() {
         JUnitUtil.setUp();
@@ -0,0 +1,76 @@
+package jmri.jmrit;
+
+import java.io.File;
+
+import jmri.util.JUnitUtil;
+
+import org.apache.xerces.impl.xs.XSDDescription;
+import org.apache.xerces.xni.grammars.Grammar;
+import org.apache.xerces.xni.grammars.XMLGrammarDescription;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+public class SchemaCacheTest {
+
+    @Test
+    public void testSchemasReused() throws Exception {
+        XmlFile.clearSchemaCache();
+        XmlFile xf = new XmlFile() {
+        };
+        xf.setValidate(XmlFile.Validate.CheckDtdThenSchema);
+        xf.rootFromFile(new File("java/test/jmri/configurexml/load/LoadMultipleSystems.xml"));
+        int size = XmlFile.getSchemaCacheSize();
+        Assert.assertTrue("schemas kept", size > 0);
+
+        // a file with the same schema adds nothing
+        xf.rootFromFile(new File("java/test/jmri/configurexml/load/LoadFileTest.xml"));
+        Assert.assertEquals(size, XmlFile.getSchemaCacheSize());
+
+        // a file with another schema is still validated against its own
+        xf.rootFromFile(new File("xml/decoders/0NMRA.xml"));
+        Assert.assertTrue("decoder schema added", XmlFile.getSchemaCacheSize() > size);
+
+        XmlFile.clearSchemaCache();
+        Assert.assertEquals(0, XmlFile.getSchemaCacheSize());
+    }
+
+    @Test
+    public void testInvalidFileWithCachedSchema() throws Exception {
+        XmlFile xf = new XmlFile() {
+        };
+        xf.setValidate(XmlFile.Validate.CheckDtdThenSchema);
+        xf.rootFromFile(new File("java/test/jmri/configurexml/load/LoadMultipleSystems.xml"));
+        Assert.assertThrows(org.jdom2.JDOMException.class,
+                () -> xf.rootFromFile(new File("java/test/jmri/configurexml/invalid/SchemaFail.xml")));
+    }
+
+    @Test
+    public void testSameRelativeUrl() {
+        SchemaCache cache = new SchemaCache();
+        XSDDescription a = description("types/sensors.xsd", "file:/a/types/sensors.xsd");
+        XSDDescription b = description("types/sensors.xsd", "file:/b/types/sensors.xsd");
+        Grammar grammar = () -> a;
+        cache.cacheGrammars(XMLGrammarDescription.XML_SCHEMA, new Grammar[]{grammar});
+        Assert.assertSame(grammar, cache.retrieveGrammar(description("types/sensors.xsd", "file:/a/types/sensors.xsd")));
+        Assert.assertNull("schema in another place", cache.retrieveGrammar(b));
+    }
+
+    private XSDDescription description(String literal, String expanded) {
+        XSDDescription d = new XSDDescription();
+        d.setLiteralSystemId(literal);
+        d.setExpandedSystemId(expanded);
+        return d;
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JUnitUtil.tearDown();
+    }
+
+}
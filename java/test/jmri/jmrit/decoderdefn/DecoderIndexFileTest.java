@@ -1,15 +1,19 @@
 package jmri.jmrit.decoderdefn;
 
+import java.io.File;
 import java.util.List;
 
 import javax.swing.JComboBox;
 
+import jmri.profile.NullProfile;
+import jmri.util.FileUtil;
 import jmri.util.JUnitUtil;
 
 import org.jdom2.DocType;
 import org.jdom2.Document;
 import org.jdom2.Element;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.Assert;
 
 /**
@@ -180,6 +184,62 @@ public class DecoderIndexFileTest {
         Assert.assertEquals("Found with version 25 ", 0, l3.size());
     }
 
+    @Test
+    public void testMatchingProductID() {
+        DecoderIndexFile di = new DecoderIndexFile();
+        setupDoc();
+        di.readFamily(family2);
+        List<DecoderFile> l = di.matchingDecoderList(null, null, null, null, "7", null);
+        Assert.assertEquals("one of several IDs", 1, l.size());
+        Assert.assertEquals("DN142", l.get(0).getModel());
+        // the family entry has the IDs of its first model
+        l = di.matchingDecoderList(null, null, null, null, "3", null);
+        Assert.assertEquals("only ID", 2, l.size());
+        Assert.assertEquals("FX2 family", l.get(0).getModel());
+        Assert.assertEquals("DH142", l.get(1).getModel());
+        l = di.matchingDecoderList(null, null, null, null, "5,7", null);
+        Assert.assertEquals("whole list", 1, l.size());
+        Assert.assertEquals("DN142", l.get(0).getModel());
+        Assert.assertTrue("part of an ID", di.matchingDecoderList(null, null, null, null, "5,", null).isEmpty());
+        Assert.assertTrue("no such ID", di.matchingDecoderList(null, null, null, null, "4", null).isEmpty());
+        l = di.matchingDecoderList(null, "FX2 family", null, "23", "7", null);
+        Assert.assertEquals("ID and version", 1, l.size());
+        Assert.assertTrue("ID not in version", di.matchingDecoderList(null, null, null, "21", "7", null).isEmpty());
+    }
+
+    @Test
+    public void testMatchingAfterReadingMore() throws org.jdom2.JDOMException, java.io.IOException {
+        DecoderIndexFile di = new DecoderIndexFile();
+        setupDoc();
+        di.readMfgSection();
+        di.readFamily(family1);
+        Assert.assertTrue(di.matchingDecoderList("Digitrax", null, null, null, null, null).isEmpty());
+        Assert.assertEquals(3, di.matchingDecoderList("NMRA", null, null, null, null, null).size());
+        // entries read after a lookup are found
+        di.readFamily(family2);
+        List<DecoderFile> l = di.matchingDecoderList("Digitrax", null, "129", null, null, null);
+        Assert.assertEquals(3, l.size());
+        Assert.assertEquals("in index order", "FX2 family", l.get(0).getModel());
+        Assert.assertEquals("in index order", "DN142", l.get(2).getModel());
+        Assert.assertEquals("full set", di.matchingDecoderList(null, null, null, null, null, "full set").get(0).getModel());
+    }
+
+    @Test
+    public void testWriteFile(@TempDir File folder) throws org.jdom2.JDOMException, java.io.IOException {
+        JUnitUtil.resetProfileManager(new NullProfile(folder));
+        DecoderIndexFile old = new DecoderIndexFile();
+        old.readMfgSection();
+        String[] files = {"0NMRA.xml", "0NMRA_accessory.xml", "0NMRA_registers.xml"};
+        new DecoderIndexFile().writeFile("testIndex.xml", old, files);
+
+        Element written = new DecoderIndexFile().rootFromFile(new File(FileUtil.getUserFilesPath() + "testIndex.xml"));
+        List<Element> families = written.getChild("decoderIndex").getChild("familyList").getChildren("family");
+        Assert.assertEquals("all files", 3, families.size());
+        Assert.assertEquals("in file order", "0NMRA.xml", families.get(0).getAttributeValue("file"));
+        Assert.assertEquals("in file order", "0NMRA_accessory.xml", families.get(1).getAttributeValue("file"));
+        Assert.assertEquals("in file order", "0NMRA_registers.xml", families.get(2).getAttributeValue("file"));
+    }
+
     // static variables for the test XML structures
     Element root = null;
     Document doc = null;
@@ -225,12 +285,14 @@ public class DecoderIndexFileTest {
                                 .setAttribute("file", "DH142.xml")
                                 .addContent(new Element("model")
                                         .setAttribute("model", "DH142")
+                                        .setAttribute("productID", "3")
                                         .setAttribute("numFns", "4")
                                         .setAttribute("numOuts", "2")
                                         .setAttribute("lowVersionID", "21")
                                 )
                                 .addContent(new Element("model")
                                         .setAttribute("model", "DN142")
+                                        .setAttribute("productID", "5,7")
                                         .setAttribute("numFns", "5")
                                         .setAttribute("numOuts", "1")
                                         .addContent(new Element("versionCV")
@@ -0,0 +1,150 @@
+package jmri.jmrit.display.layoutEditor;
+
+import java.util.Arrays;
+
+import jmri.InstanceManager;
+import jmri.jmrit.display.layoutEditor.LayoutBlockConnectivityTools.Metric;
+import jmri.util.JUnitUtil;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+public class LayoutBlockRoutingGraphTest {
+
+    private LayoutBlockRoutingGraph graph;
+
+    private LayoutBlock block(String name) {
+        LayoutBlock lb = InstanceManager.getDefault(LayoutBlockManager.class).createNewLayoutBlock(null, name);
+        Assert.assertNotNull(lb);
+        lb.initializeLayoutBlock();
+        return lb;
+    }
+
+    // a through path both ways, as for track that can be used in either direction
+    private void both(LayoutBlock block, LayoutBlock a, LayoutBlock b) {
+        graph.addThroughPath(block, a, b);
+        graph.addThroughPath(block, b, a);
+    }
+
+    @Test
+    public void testLine() {
+        LayoutBlock a = block("A");
+        LayoutBlock b = block("B");
+        LayoutBlock c = block("C");
+        LayoutBlock d = block("D");
+        both(b, a, c);
+        both(c, b, d);
+
+        Assert.assertEquals(Arrays.asList(a, b, c, d), graph.getRoute(a, b, d, Metric.METRIC, null));
+        Assert.assertEquals(Arrays.asList(d, c, b, a), graph.getRoute(d, c, a, Metric.METRIC, null));
+        Assert.assertEquals("protecting block is the destination", Arrays.asList(a, b), graph.getRoute(a, b, b, Metric.METRIC, null));
+        Assert.assertNull("wrong way", graph.getRoute(b, a, d, Metric.METRIC, null));
+        Assert.assertEquals(3, graph.getHopCount(a, b, d));
+        Assert.assertEquals(1, graph.getHopCount(a, b, b));
+        Assert.assertEquals(-1, graph.getHopCount(c, b, d));
+        Assert.assertTrue(graph.isRouteToDestValid(a, b, d));
+        Assert.assertFalse(graph.isRouteToDestValid(d, c, d));
+        Assert.assertEquals(4, graph.getBlockCount());
+    }
+
+    @Test
+    public void testBestRoute() {
+        // A - B < C > E - F, and B < D > E
+        LayoutBlock a = block("A");
+        LayoutBlock b = block("B");
+        LayoutBlock c = block("C");
+        LayoutBlock d = block("D");
+        LayoutBlock e = block("E");
+        LayoutBlock f = block("F");
+        both(b, a, c);
+        both(b, a, d);
+        both(c, b, e);
+        both(d, b, e);
+        both(e, c, f);
+        both(e, d, f);
+        c.setBlockMetric(50);
+        d.setBlockMetric(200);
+
+        Assert.assertEquals(Arrays.asList(a, b, c, e, f), graph.getRoute(a, b, f, Metric.METRIC, null));
+        d.setBlockMetric(20);
+        Assert.assertEquals("metric read as routes are found", Arrays.asList(a, b, d, e, f), graph.getRoute(a, b, f, Metric.METRIC, null));
+        Assert.assertEquals(Arrays.asList(a, b, c, e, f),
+                graph.getRoute(a, b, f, Metric.METRIC, (previous, current, next) -> next != d));
+        Assert.assertNull(graph.getRoute(a, b, f, Metric.METRIC, (previous, current, next) -> next != d && next != c));
+        Assert.assertEquals(4, graph.getHopCount(a, b, f));
+    }
+
+    @Test
+    public void testLargeCosts() {
+        // A - B < C - G - H > F, and B < D > F; the route through G and H
+        // costs more than fits in an int
+        LayoutBlock a = block("A");
+        LayoutBlock b = block("B");
+        LayoutBlock c = block("C");
+        LayoutBlock d = block("D");
+        LayoutBlock g = block("G");
+        LayoutBlock h = block("H");
+        LayoutBlock f = block("F");
+        both(b, a, c);
+        both(b, a, d);
+        both(c, b, g);
+        both(g, c, h);
+        both(h, g, f);
+        both(d, b, f);
+        c.setBlockMetric(1);
+        d.setBlockMetric(2);
+        g.setBlockMetric(Integer.MAX_VALUE);
+        h.setBlockMetric(Integer.MAX_VALUE);
+        f.setBlockMetric(1);
+
+        Assert.assertEquals(Arrays.asList(a, b, d, f), graph.getRoute(a, b, f, Metric.METRIC, null));
+    }
+
+    @Test
+    public void testThroughPaths() {
+        // a turnout in B joins A to both C and D, but C and D aren't joined
+        LayoutBlock a = block("A");
+        LayoutBlock b = block("B");
+        LayoutBlock c = block("C");
+        LayoutBlock d = block("D");
+        LayoutBlock e = block("E");
+        both(b, a, c);
+        both(b, a, d);
+        both(c, b, e);
+
+        Assert.assertNull(graph.getRoute(d, b, e, Metric.HOPCOUNT, null));
+        Assert.assertEquals(Arrays.asList(a, b, c, e), graph.getRoute(a, b, e, Metric.HOPCOUNT, null));
+        // a one way path
+        graph.addThroughPath(b, d, c);
+        Assert.assertEquals(Arrays.asList(d, b, c, e), graph.getRoute(d, b, e, Metric.HOPCOUNT, null));
+        Assert.assertNull("one way", graph.getRoute(e, c, d, Metric.HOPCOUNT, null));
+        // checks are told which way the train entered the block
+        Assert.assertNull(graph.getRoute(a, b, e, Metric.HOPCOUNT, (previous, current, next) -> previous != a));
+        Assert.assertEquals(Arrays.asList(d, b, c, e),
+                graph.getRoute(d, b, e, Metric.HOPCOUNT, (previous, current, next) -> previous != a));
+    }
+
+    @Test
+    public void testManagerGraph() {
+        LayoutBlockManager lbm = InstanceManager.getDefault(LayoutBlockManager.class);
+        Assert.assertSame(lbm.getRoutingGraph(), lbm.getRoutingGraph());
+        long version = lbm.getRoutingTopologyVersion();
+        lbm.routingTopologyChanged();
+        Assert.assertNotEquals(version, lbm.getRoutingTopologyVersion());
+        block("A");
+        Assert.assertEquals("no through paths without panels", 0, lbm.getRoutingGraph().getBlockCount());
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+        graph = new LayoutBlockRoutingGraph();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JUnitUtil.deregisterBlockManagerShutdownTask();
+        JUnitUtil.tearDown();
+    }
+
+}
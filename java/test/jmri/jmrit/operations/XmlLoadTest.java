@@ -40,6 +40,20 @@ public class XmlLoadTest extends OperationsTestCase {
         runTest("java/test/jmri/jmrit/operations/xml/DemoFilesWithBuiltTrains/", 12, 12, 10, 210, 19);
     }
 
+    // stream the car, engine and location files
+    @Test
+    public void testDemoStreamingLoad() {
+        OperationsXml.setStreamingRead(true);
+        try {
+            runTest("java/test/jmri/jmrit/operations/xml/DemoFilesWithBuiltTrains/", 12, 12, 10, 210, 19);
+        } finally {
+            OperationsXml.setStreamingRead(false);
+        }
+        // kernels are loaded before the cars that refer to them
+        Assert.assertEquals("Cars in kernel", 15,
+                InstanceManager.getDefault(CarManager.class).getKernelByName("Coal Empty").getCars().size());
+    }
+
     /*
      * Private function to actually run the test
      *
@@ -12,9 +12,13 @@ import java.util.Set;
 import javax.swing.JComboBox;
 
 import jmri.jmrit.roster.swing.RosterEntryComboBox;
+import jmri.jmrit.symbolicprog.CvTableModel;
+import jmri.jmrit.symbolicprog.VariableTableModel;
 import jmri.util.FileUtil;
+import jmri.util.JUnitAppender;
 import jmri.util.JUnitUtil;
 
+import org.jdom2.Element;
 import org.junit.Assert;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.io.TempDir;
@@ -312,6 +316,126 @@ public class RosterTest {
 
     }
 
+    @Test
+    public void testIndexFollowsChanges() {
+        Roster r = new Roster();
+        RosterEntry e1 = new RosterEntry();
+        e1.setId("SP123");
+        e1.setDccAddress("123");
+        r.addEntry(e1);
+        RosterEntry e2 = new RosterEntry();
+        e2.setId("UP456");
+        e2.setDccAddress("456");
+        r.addEntry(e2);
+        Assert.assertEquals(e1, r.getEntryForId("SP123"));
+        Assert.assertEquals(1, r.getEntriesByDccAddress("123").size());
+
+        e1.setId("WP789");
+        Assert.assertNull("old ID", r.getEntryForId("SP123"));
+        Assert.assertEquals("new ID", e1, r.getEntryForId("WP789"));
+        Assert.assertEquals("reordered", e2, r.getEntry(0));
+        e1.setDccAddress("789");
+        Assert.assertTrue("old address", r.getEntriesByDccAddress("123").isEmpty());
+        Assert.assertEquals("new address", e1, r.getEntriesByDccAddress("789").get(0));
+        Assert.assertEquals("by criteria", e1, r.matchingList(null, null, "789", null, null, null, null).get(0));
+
+        e2.putAttribute("key a", "value a");
+        Assert.assertEquals(e2, r.getEntriesWithAttributeKeyValue("key a", "value a").get(0));
+        Assert.assertTrue(r.getAllAttributeKeys().contains("key a"));
+        e2.deleteAttribute("key a");
+        Assert.assertTrue(r.getEntriesWithAttributeKey("key a").isEmpty());
+        Assert.assertTrue(r.getAllAttributeKeys().isEmpty());
+
+        r.addRosterGroup("group");
+        e2.putAttribute(Roster.getRosterGroupProperty("group"), "yes");
+        Assert.assertEquals(e2, r.getEntriesInGroup("group").get(0));
+        Assert.assertEquals(1, r.getEntriesMatchingCriteria(null, null, null, null, null, null, null, "group").size());
+
+        r.removeEntry(e2);
+        Assert.assertNull(r.getEntryForId("UP456"));
+        Assert.assertTrue(r.getEntriesInGroup("group").isEmpty());
+    }
+
+    @Test
+    public void testWriteChangedEntries() throws Exception {
+        Roster r = jmri.util.RosterTestUtil.createTestRoster(new File(Roster.getDefault().getRosterLocation()), "rosterTest.xml");
+        RosterEntry e = r.getEntryForId("SP123");
+        e.setComment("first\nsecond");
+        int[] events = new int[1];
+        e.addPropertyChangeListener(RosterEntry.COMMENT, evt -> events[0]++);
+        r.writeFile(r.getRosterIndexPath());
+        Assert.assertEquals("comment not changed while writing", 0, events[0]);
+        Assert.assertEquals("first\nsecond", e.getComment());
+        Element loco = new Roster().rootFromName(r.getRosterIndexPath()).getChild("roster").getChildren("locomotive").get(1);
+        Assert.assertEquals("SP123", loco.getAttributeValue("id"));
+        Assert.assertEquals("first<?p?>second", loco.getAttributeValue("comment"));
+
+        // written again, with the change
+        e.setRoadName("Southern Pacific");
+        r.writeFile(r.getRosterIndexPath());
+        Roster t = new Roster();
+        t.readFile(r.getRosterIndexPath());
+        Assert.assertEquals("Southern Pacific", t.getEntryForId("SP123").getRoadName());
+        Assert.assertEquals("first\nsecond", t.getEntryForId("SP123").getComment());
+        Assert.assertEquals("UP", t.getEntryForId("UP123").getRoadName());
+    }
+
+    @Test
+    public void testWriteLoadedLabels() throws Exception {
+        Roster r = jmri.util.RosterTestUtil.createTestRoster(new File(Roster.getDefault().getRosterLocation()), "rosterTest.xml");
+        RosterEntry e = r.getEntryForId("SP123");
+        r.writeFile(r.getRosterIndexPath());
+        int[] events = new int[1];
+        e.addPropertyChangeListener(RosterEntry.FUNCTION_LABELS, evt -> events[0]++);
+
+        // labels loaded from a decoder definition, as when programming
+        e.loadFunctions(new Element("functionlabels").addContent(new Element(RosterEntry.FUNCTION_LABEL)
+                .setAttribute("num", "3").setAttribute("lockable", "true").setText("Bell")), "model");
+        e.loadSounds(new Element("soundlabels").addContent(new Element(RosterEntry.SOUND_LABEL)
+                .setAttribute("num", "1").setText("Whistle")), "model");
+        Assert.assertEquals(1, events[0]);
+        r.writeFile(r.getRosterIndexPath());
+        Roster t = new Roster();
+        t.readFile(r.getRosterIndexPath());
+        Assert.assertEquals("Bell", t.getEntryForId("SP123").getFunctionLabel(3));
+        Assert.assertTrue(t.getEntryForId("SP123").getFunctionLockable(3));
+        Assert.assertEquals("Whistle", t.getEntryForId("SP123").getSoundLabel(1));
+    }
+
+    @Test
+    public void testLazyDetail() throws Exception {
+        File rosterDir = new File(Roster.getDefault().getRosterLocation());
+        Roster r = jmri.util.RosterTestUtil.createTestRoster(rosterDir, "rosterTest.xml");
+        // the entry's own file and the roster index differ, to show which is read
+        RosterEntry e = r.getEntryForId("SP123");
+        e.setFunctionLabel(2, "Horn");
+        CvTableModel cvTable = new CvTableModel(null, null);
+        VariableTableModel varTable = new VariableTableModel(null, new String[]{"Name", "Value"}, cvTable);
+        jmri.util.RosterTestUtil.loadDecoderFromLoco(e, varTable);
+        e.writeFile(cvTable, varTable);
+        e.setFunctionLabel(2, "Whistle");
+        // an entry with no file of its own
+        RosterEntry e2 = r.getEntryForId("UP123");
+        e2.setSoundLabel(1, "Bell");
+        Assert.assertTrue(new File(r.getRosterFilesLocation() + e2.getFileName()).delete());
+        r.writeFile(r.getRosterIndexPath());
+
+        Roster.setLazyDetail(true);
+        Roster t = new Roster();
+        t.setRosterLocation(rosterDir.getAbsolutePath());
+        t.setRosterIndexFileName("rosterTest.xml");
+        t.readFile(t.getRosterIndexPath());
+        Assert.assertEquals("read from own file", "Horn", t.getEntryForId("SP123").getFunctionLabel(2));
+        Assert.assertEquals("read from index", "Bell", t.getEntryForId("UP123").getSoundLabel(1));
+        JUnitAppender.assertWarnMessageStartingWith("Unable to read");
+        Assert.assertNull(t.getEntryForId("ATSF123").getFunctionLabel(2));
+
+        Roster.setLazyDetail(false);
+        t = new Roster();
+        t.readFile(r.getRosterIndexPath());
+        Assert.assertEquals("read from index", "Whistle", t.getEntryForId("SP123").getFunctionLabel(2));
+    }
+
     @Test
     public void testDefaultLocation() {
         Assert.assertTrue("creates a default", Roster.getDefault() != null);
@@ -407,6 +531,7 @@ public class RosterTest {
 
     @AfterEach
     public void tearDown() {
+        Roster.setLazyDetail(false);
         JUnitUtil.tearDown();
     }
 
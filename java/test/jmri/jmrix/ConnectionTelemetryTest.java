@@ -0,0 +1,92 @@
+package jmri.jmrix;
+
+import jmri.util.JUnitUtil;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests for ConnectionTelemetry.
+ */
+public class ConnectionTelemetryTest {
+
+    private ConnectionTelemetry telemetry;
+
+    @Test
+    public void testCounts() {
+        telemetry.recordQueued();
+        telemetry.recordQueued();
+        telemetry.recordCoalesced();
+        telemetry.recordSent(5);
+        telemetry.recordSent(3);
+        telemetry.recordReceived(4);
+        telemetry.recordRetransmit();
+        telemetry.recordTimeout();
+        Assert.assertEquals(2, telemetry.getQueuedCount());
+        Assert.assertEquals(1, telemetry.getCoalescedCount());
+        Assert.assertEquals(2, telemetry.getSentCount());
+        Assert.assertEquals(8, telemetry.getSentBytes());
+        Assert.assertEquals(1, telemetry.getReceivedCount());
+        Assert.assertEquals(4, telemetry.getReceivedBytes());
+        Assert.assertEquals(1, telemetry.getRetransmitCount());
+        Assert.assertEquals(1, telemetry.getTimeoutCount());
+    }
+
+    @Test
+    public void testQueueHighWater() {
+        telemetry.recordQueueDepth(3);
+        telemetry.recordQueueDepth(7);
+        telemetry.recordQueueDepth(2);
+        Assert.assertEquals(7, telemetry.getQueueHighWater());
+    }
+
+    @Test
+    public void testLatency() {
+        telemetry.recordQueueLatency(1000);
+        telemetry.recordReplyLatency(2000);
+        telemetry.recordReplyLatency(4000);
+        Assert.assertEquals(1, telemetry.getQueueLatency().getCount());
+        Assert.assertEquals(2, telemetry.getReplyLatency().getCount());
+        Assert.assertEquals(3000, telemetry.getReplyLatency().getMean());
+    }
+
+    @Test
+    public void testRates() {
+        Assert.assertEquals(0.0, telemetry.getSentRate(), 0.0);
+        telemetry.recordSent(10);
+        telemetry.recordReceived(20);
+        JUnitUtil.waitFor(() -> telemetry.getSentRate() > 0.0, "rate measured");
+        // one message in an interval of at least a second
+        Assert.assertTrue(telemetry.getSentRate() <= 1.0);
+        Assert.assertEquals(10.0 * telemetry.getSentRate(), telemetry.getSentByteRate(), 0.001);
+        Assert.assertEquals(telemetry.getSentRate(), telemetry.getReceivedRate(), 0.001);
+        Assert.assertEquals(20.0 * telemetry.getSentRate(), telemetry.getReceivedByteRate(), 0.001);
+    }
+
+    @Test
+    public void testReset() {
+        telemetry.recordQueued();
+        telemetry.recordSent(5);
+        telemetry.recordQueueDepth(4);
+        telemetry.recordReplyLatency(2000);
+        telemetry.reset();
+        Assert.assertEquals(0, telemetry.getQueuedCount());
+        Assert.assertEquals(0, telemetry.getSentBytes());
+        Assert.assertEquals(0, telemetry.getQueueHighWater());
+        Assert.assertEquals(0, telemetry.getReplyLatency().getCount());
+        Assert.assertEquals(0.0, telemetry.getSentRate(), 0.0);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+        telemetry = new ConnectionTelemetry();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        telemetry = null;
+        JUnitUtil.tearDown();
+    }
+
+}
@@ -0,0 +1,87 @@
+package jmri.jmrix;
+
+import jmri.util.JUnitUtil;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests for LatencyHistogram.
+ */
+public class LatencyHistogramTest {
+
+    private LatencyHistogram histogram;
+
+    @Test
+    public void testEmpty() {
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getMean());
+        Assert.assertEquals(0, histogram.getMax());
+        Assert.assertEquals(0, histogram.getValueAtPercentile(50.0));
+    }
+
+    @Test
+    public void testBuckets() {
+        // small values have a bucket each
+        for (long v = 0; v < 2 * LatencyHistogram.SUB_BUCKETS; v++) {
+            int i = LatencyHistogram.bucketIndex(v);
+            Assert.assertEquals(v, LatencyHistogram.bucketLowestValue(i));
+            Assert.assertEquals(v, LatencyHistogram.bucketHighestValue(i));
+        }
+        // each value is in a bucket that contains it, and buckets are contiguous
+        long[] values = {32, 33, 47, 48, 63, 64, 1000, 999999, 1000000, 123456789L, Long.MAX_VALUE};
+        for (long v : values) {
+            int i = LatencyHistogram.bucketIndex(v);
+            Assert.assertTrue("lowest " + v, LatencyHistogram.bucketLowestValue(i) <= v);
+            Assert.assertTrue("highest " + v, LatencyHistogram.bucketHighestValue(i) >= v);
+            Assert.assertTrue("resolution " + v,
+                    LatencyHistogram.bucketHighestValue(i) - LatencyHistogram.bucketLowestValue(i) <= v / LatencyHistogram.SUB_BUCKETS);
+            if (v != Long.MAX_VALUE) {
+                Assert.assertEquals(LatencyHistogram.bucketHighestValue(i) + 1,
+                        LatencyHistogram.bucketLowestValue(i + 1));
+            }
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000000L); // 1 to 100 ms
+        }
+        Assert.assertEquals(100, histogram.getCount());
+        Assert.assertEquals(50500000L, histogram.getMean());
+        Assert.assertEquals(100000000L, histogram.getMax());
+        assertClose(50000000L, histogram.getValueAtPercentile(50.0));
+        assertClose(99000000L, histogram.getValueAtPercentile(99.0));
+        Assert.assertEquals(100000000L, histogram.getValueAtPercentile(100.0));
+        assertClose(1000000L, histogram.getValueAtPercentile(0.0));
+    }
+
+    @Test
+    public void testNegativeAndReset() {
+        histogram.record(-5);
+        Assert.assertEquals(1, histogram.getCount());
+        Assert.assertEquals(0, histogram.getMax());
+        histogram.reset();
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getValueAtPercentile(99.0));
+    }
+
+    private static void assertClose(long expected, long actual) {
+        Assert.assertTrue("expected " + expected + " got " + actual,
+                actual >= expected && actual <= expected + expected / LatencyHistogram.SUB_BUCKETS);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+        histogram = new LatencyHistogram();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        histogram = null;
+        JUnitUtil.tearDown();
+    }
+
+}
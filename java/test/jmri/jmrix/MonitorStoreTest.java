@@ -0,0 +1,139 @@
+package jmri.jmrix;
+
+import jmri.util.JUnitUtil;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests for MonitorStore.
+ */
+public class MonitorStoreTest {
+
+    private static byte[] bytes(int... values) {
+        byte[] b = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            b[i] = (byte) values[i];
+        }
+        return b;
+    }
+
+    @Test
+    public void testAdd() {
+        MonitorStore store = new MonitorStore(4, 64);
+        Assert.assertEquals("empty", 0, store.size());
+        long seq = store.add(1000L, MonitorStore.MESSAGE, bytes(0xA0, 0x07, 0x00, 0x58), 0, 4);
+        Assert.assertEquals("first sequence number", 0, seq);
+        Assert.assertEquals("size", 1, store.size());
+        Assert.assertTrue("contains", store.contains(0));
+        Assert.assertFalse("not yet added", store.contains(1));
+        Assert.assertEquals("time", 1000L, store.getTime(0));
+        Assert.assertEquals("kind", MonitorStore.MESSAGE, store.getKind(0));
+        Assert.assertEquals("length", 4, store.getLength(0));
+        Assert.assertEquals("byte", 0xA0, store.getByte(0, 0));
+        Assert.assertArrayEquals("bytes", bytes(0xA0, 0x07, 0x00, 0x58), store.getBytes(0));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> store.getBytes(1));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> store.getByte(0, 4));
+    }
+
+    @Test
+    public void testAddMessage() {
+        MonitorStore store = new MonitorStore(4, 64);
+        store.add(1000L, new AbstractMRMessage("ABC") {
+        });
+        Assert.assertEquals("kind", MonitorStore.MESSAGE, store.getKind(0));
+        Assert.assertArrayEquals("bytes", bytes('A', 'B', 'C'), store.getBytes(0));
+    }
+
+    @Test
+    public void testEntriesOverwritten() {
+        MonitorStore store = new MonitorStore(4, 64);
+        for (int i = 0; i < 10; i++) {
+            store.add(i, MonitorStore.MESSAGE, bytes(i, i + 1), 0, 2);
+        }
+        Assert.assertEquals("size", 4, store.size());
+        Assert.assertEquals("first", 6, store.getFirst());
+        Assert.assertEquals("next", 10, store.getNext());
+        Assert.assertFalse("overwritten", store.contains(5));
+        Assert.assertEquals("time", 9L, store.getTime(9));
+        Assert.assertArrayEquals("bytes", bytes(6, 7), store.getBytes(6));
+    }
+
+    @Test
+    public void testBytesOverwritten() {
+        // 10 bytes hold 3 messages of 3 bytes
+        MonitorStore store = new MonitorStore(100, 10);
+        for (int i = 0; i < 5; i++) {
+            store.add(i, MonitorStore.MESSAGE, bytes(i, i, i), 0, 3);
+        }
+        Assert.assertEquals("size", 3, store.size());
+        Assert.assertEquals("first", 2, store.getFirst());
+        // the last message wraps around the end of the byte array
+        Assert.assertArrayEquals("wrapped bytes", bytes(4, 4, 4), store.getBytes(4));
+        Assert.assertEquals("wrapped byte", 4, store.getByte(4, 2));
+    }
+
+    @Test
+    public void testGrows() {
+        // the arrays start smaller than the capacities and grow as they fill
+        MonitorStore store = new MonitorStore(3000, 50000);
+        for (int i = 0; i < 4000; i++) {
+            store.add(i, MonitorStore.MESSAGE, bytes(i, i >> 8, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, i), 0, 17);
+            if (i == 1500) {
+                // nothing dropped while growing
+                Assert.assertEquals("first while growing", 0, store.getFirst());
+                Assert.assertArrayEquals("bytes while growing", bytes(0, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 0), store.getBytes(0));
+            }
+        }
+        Assert.assertEquals("capacity", 3000, store.getCapacity());
+        // 50000 bytes hold 2941 messages of 17 bytes
+        Assert.assertEquals("size", 2941, store.size());
+        for (long seq = store.getFirst(); seq < store.getNext(); seq++) {
+            int i = (int) seq;
+            Assert.assertEquals("time", i, store.getTime(seq));
+            Assert.assertEquals("byte", i & 0xFF, store.getByte(seq, 16));
+            Assert.assertEquals("byte", (i >> 8) & 0xFF, store.getByte(seq, 1));
+        }
+    }
+
+    @Test
+    public void testClear() {
+        MonitorStore store = new MonitorStore(4, 64);
+        store.add(0, MonitorStore.NOTE, bytes('a'), 0, 1);
+        store.clear();
+        Assert.assertEquals("size", 0, store.size());
+        Assert.assertEquals("numbering continues", 1, store.add(0, MonitorStore.NOTE, bytes('b'), 0, 1));
+    }
+
+    @Test
+    public void testFind() {
+        MonitorStore store = new MonitorStore(4, 10);
+        store.add(0, MonitorStore.MESSAGE, bytes(1, 2, 3), 0, 3);
+        store.add(0, MonitorStore.NOTE, bytes(2, 3), 0, 2);
+        store.add(0, MonitorStore.MESSAGE, bytes(3, 2, 3), 0, 3);
+        Assert.assertEquals("first match", 0, store.find(0, MonitorStore.MESSAGE, bytes(2, 3)));
+        Assert.assertEquals("skips other kinds", 2, store.find(1, MonitorStore.MESSAGE, bytes(2, 3)));
+        Assert.assertEquals("note", 1, store.find(0, MonitorStore.NOTE, bytes(2, 3)));
+        Assert.assertEquals("not found", -1, store.find(0, MonitorStore.MESSAGE, bytes(3, 1)));
+        // wraps around the end of the byte array
+        store.add(0, MonitorStore.MESSAGE, bytes(7, 8, 9), 0, 3);
+        Assert.assertEquals("wrapped", 3, store.find(0, MonitorStore.MESSAGE, bytes(8, 9)));
+    }
+
+    @Test
+    public void testCapacities() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> new MonitorStore(0, 10));
+        Assert.assertThrows(IllegalArgumentException.class, () -> new MonitorStore(10, 0));
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JUnitUtil.tearDown();
+    }
+
+}
@@ -0,0 +1,111 @@
+package jmri.jmrix;
+
+import jmri.util.JUnitUtil;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests for MonitorTableModel.
+ */
+public class MonitorTableModelTest {
+
+    private MonitorStore store;
+    private MonitorTableModel model;
+    private int formatted;
+
+    private void add(int... values) {
+        byte[] b = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            b[i] = (byte) values[i];
+        }
+        store.add(0, MonitorStore.MESSAGE, b, 0, b.length);
+    }
+
+    @Test
+    public void testRefresh() {
+        add(1, 2);
+        add(3, 4);
+        Assert.assertEquals("not shown until refreshed", 0, model.getRowCount());
+        Assert.assertEquals("added", 2, model.refresh());
+        Assert.assertEquals("rows", 2, model.getRowCount());
+        Assert.assertEquals("text", "01 02\n", model.getText(0));
+        Assert.assertEquals("value on one line", "03 04", model.getValueAt(1, 0));
+        for (int i = 0; i < 5; i++) {
+            add(i);
+        }
+        model.refresh();
+        Assert.assertEquals("rows limited to store", 4, model.getRowCount());
+        Assert.assertEquals("oldest row", 3, model.getSequence(0));
+        Assert.assertEquals("text", "01\n", model.getText(0));
+    }
+
+    @Test
+    public void testFormattedOnce() {
+        add(1, 2);
+        model.refresh();
+        model.getValueAt(0, 0);
+        model.getValueAt(0, 0);
+        Assert.assertEquals("cached", 1, formatted);
+        model.invalidate();
+        model.getValueAt(0, 0);
+        Assert.assertEquals("formatted again", 2, formatted);
+    }
+
+    @Test
+    public void testFilter() {
+        add(1, 2);
+        add(3, 4);
+        add(1, 5);
+        model.setFilter(seq -> store.getByte(seq, 0) != 1);
+        Assert.assertEquals("rows", 1, model.getRowCount());
+        Assert.assertEquals("text", "03 04\n", model.getText(0));
+        Assert.assertEquals("row of entry", 0, model.getRow(1));
+        Assert.assertEquals("hidden entry", -1, model.getRow(0));
+        for (int i = 0; i < 4; i++) {
+            add(i + 2);
+        }
+        model.refresh();
+        Assert.assertEquals("filtered rows limited to store", 4, model.getRowCount());
+        Assert.assertEquals("first row", 3, model.getSequence(0));
+        model.setFilter(null);
+        Assert.assertEquals("unfiltered", 4, model.getRowCount());
+    }
+
+    @Test
+    public void testFind() {
+        add(1, 2);
+        add(3, 4);
+        add(1, 2);
+        model.setFilter(seq -> seq != 0);
+        Assert.assertEquals("hidden entry not found", 1, model.find(0, new byte[]{1, 2}));
+        Assert.assertEquals("from row", 0, model.find(0, new byte[]{4}));
+        Assert.assertEquals("not found", -1, model.find(2, new byte[]{1, 2}));
+    }
+
+    @Test
+    public void testClear() {
+        add(1, 2);
+        model.refresh();
+        store.clear();
+        model.refresh();
+        Assert.assertEquals("rows", 0, model.getRowCount());
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+        store = new MonitorStore(4, 64);
+        formatted = 0;
+        model = new MonitorTableModel(store, (s, seq) -> {
+            formatted++;
+            return jmri.util.StringUtil.hexStringFromBytes(s.getBytes(seq)).trim() + "\n";
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JUnitUtil.tearDown();
+    }
+
+}
@@ -0,0 +1,191 @@
+package jmri.jmrix;
+
+import jmri.util.JUnitUtil;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests for TransmitQueue.
+ */
+public class TransmitQueueTest {
+
+    private TransmitQueue queue;
+
+    private static AbstractMRMessage message(int value) {
+        AbstractMRMessage m = new AbstractMRMessage(1) {
+        };
+        m.setElement(0, value);
+        return m;
+    }
+
+    @Test
+    public void testEmpty() {
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertNull(queue.poll());
+        Assert.assertEquals(0, queue.getDepth());
+        Assert.assertEquals(0, queue.getMeanWaitNanos(TransmitQueue.Lane.THROTTLE));
+    }
+
+    @Test
+    public void testFifoWithinLane() {
+        AbstractMRMessage m1 = message(1);
+        AbstractMRMessage m2 = message(2);
+        queue.add(TransmitQueue.Lane.ACCESSORY, m1, null);
+        queue.add(TransmitQueue.Lane.ACCESSORY, m2, null);
+        Assert.assertEquals(2, queue.getDepth(TransmitQueue.Lane.ACCESSORY));
+        Assert.assertSame(m1, queue.poll().getMessage());
+        Assert.assertSame(m2, queue.poll().getMessage());
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertEquals(2, queue.getSentCount(TransmitQueue.Lane.ACCESSORY));
+    }
+
+    @Test
+    public void testPriority() {
+        AbstractMRMessage bulk = message(1);
+        AbstractMRMessage accessory = message(2);
+        AbstractMRMessage throttle = message(3);
+        AbstractMRMessage estop = message(4);
+        queue.add(TransmitQueue.Lane.BULK, bulk, null);
+        queue.add(TransmitQueue.Lane.ACCESSORY, accessory, null);
+        queue.add(TransmitQueue.Lane.THROTTLE, throttle, null);
+        queue.add(TransmitQueue.Lane.EMERGENCY_STOP, estop, null);
+        Assert.assertEquals(4, queue.getDepth());
+
+        Assert.assertSame(estop, queue.poll().getMessage());
+        Assert.assertSame(throttle, queue.poll().getMessage());
+        Assert.assertSame(accessory, queue.poll().getMessage());
+        Assert.assertSame(bulk, queue.poll().getMessage());
+        Assert.assertNull(queue.poll());
+    }
+
+    @Test
+    public void testAddFirst() {
+        AbstractMRListener l = new AbstractMRListener() {
+        };
+        AbstractMRMessage m1 = message(1);
+        AbstractMRMessage m2 = message(2);
+        queue.add(TransmitQueue.Lane.THROTTLE, m1, l);
+        queue.add(TransmitQueue.Lane.THROTTLE, m2, null);
+        TransmitQueue.Entry e = queue.poll();
+        Assert.assertSame(l, e.getListener());
+        Assert.assertEquals(TransmitQueue.Lane.THROTTLE, e.getLane());
+        queue.addFirst(e);
+        Assert.assertEquals(2, queue.getDepth(TransmitQueue.Lane.THROTTLE));
+        Assert.assertSame(m1, queue.poll().getMessage());
+        Assert.assertSame(m2, queue.poll().getMessage());
+    }
+
+    @Test
+    public void testCoalesce() {
+        AbstractMRMessage speed1 = message(1);
+        AbstractMRMessage other = message(2);
+        AbstractMRMessage speed2 = message(3);
+        AbstractMRMessage speed3 = message(4);
+        Assert.assertFalse(queue.add(TransmitQueue.Lane.THROTTLE, speed1, null, 1234));
+        Assert.assertFalse(queue.add(TransmitQueue.Lane.THROTTLE, other, null, 99));
+        Assert.assertTrue(queue.add(TransmitQueue.Lane.THROTTLE, speed2, null, 1234));
+        Assert.assertEquals(2, queue.getDepth(TransmitQueue.Lane.THROTTLE));
+        Assert.assertEquals(1, queue.getCoalescedCount());
+
+        // the newest message is sent in the place of the first
+        Assert.assertSame(speed2, queue.poll().getMessage());
+        // once taken, a message can't be replaced
+        Assert.assertFalse(queue.add(TransmitQueue.Lane.THROTTLE, speed3, null, 1234));
+        Assert.assertSame(other, queue.poll().getMessage());
+        Assert.assertSame(speed3, queue.poll().getMessage());
+        Assert.assertNull(queue.poll());
+
+        // messages without a key are never coalesced
+        queue.add(TransmitQueue.Lane.THROTTLE, speed1, null, null);
+        Assert.assertFalse(queue.add(TransmitQueue.Lane.THROTTLE, speed2, null, null));
+        Assert.assertEquals(2, queue.getDepth(TransmitQueue.Lane.THROTTLE));
+        queue.resetStatistics();
+        Assert.assertEquals(0, queue.getCoalescedCount());
+    }
+
+    @Test
+    public void testRemove() {
+        AbstractMRMessage speed1 = message(1);
+        AbstractMRMessage other = message(2);
+        AbstractMRMessage speed2 = message(3);
+        queue.add(TransmitQueue.Lane.THROTTLE, speed1, null, 1234);
+        queue.add(TransmitQueue.Lane.THROTTLE, other, null, 99);
+        Assert.assertFalse("wrong lane", queue.remove(TransmitQueue.Lane.ACCESSORY, 1234));
+        Assert.assertTrue(queue.remove(TransmitQueue.Lane.THROTTLE, 1234));
+        Assert.assertFalse(queue.remove(TransmitQueue.Lane.THROTTLE, 1234));
+        Assert.assertEquals(1, queue.getDepth(TransmitQueue.Lane.THROTTLE));
+
+        // a message added after the removal is not coalesced into the dropped one
+        Assert.assertFalse(queue.add(TransmitQueue.Lane.THROTTLE, speed2, null, 1234));
+        Assert.assertSame(other, queue.poll().getMessage());
+        Assert.assertSame(speed2, queue.poll().getMessage());
+        Assert.assertNull(queue.poll());
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertEquals(2, queue.getSentCount(TransmitQueue.Lane.THROTTLE));
+
+        // once taken, a message can't be removed
+        queue.add(TransmitQueue.Lane.THROTTLE, speed1, null, 1234);
+        queue.poll();
+        Assert.assertFalse(queue.remove(TransmitQueue.Lane.THROTTLE, 1234));
+    }
+
+    @Test
+    public void testStatistics() throws InterruptedException {
+        queue.add(TransmitQueue.Lane.BULK, message(1), null);
+        Thread.sleep(5);
+        queue.poll();
+        Assert.assertEquals(1, queue.getSentCount(TransmitQueue.Lane.BULK));
+        Assert.assertTrue(queue.getMeanWaitNanos(TransmitQueue.Lane.BULK) >= 5000000L);
+        Assert.assertEquals(queue.getMeanWaitNanos(TransmitQueue.Lane.BULK), queue.getMaxWaitNanos(TransmitQueue.Lane.BULK));
+        queue.resetStatistics();
+        Assert.assertEquals(0, queue.getSentCount(TransmitQueue.Lane.BULK));
+        Assert.assertEquals(0, queue.getMaxWaitNanos(TransmitQueue.Lane.BULK));
+    }
+
+    @Test
+    public void testClear() {
+        queue.add(TransmitQueue.Lane.BULK, message(1), null);
+        queue.add(TransmitQueue.Lane.EMERGENCY_STOP, null, null);
+        queue.clear();
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertEquals(0, queue.getDepth());
+    }
+
+    @Test
+    public void testConcurrentAdd() throws InterruptedException {
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            TransmitQueue.Lane lane = TransmitQueue.Lane.values()[t];
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    queue.add(lane, message(i & 0xFF), null);
+                }
+            }, "TransmitQueueTest " + t);
+            threads[t].start();
+        }
+        int taken = 0;
+        while (taken < 4000) {
+            if (queue.poll() != null) {
+                taken++;
+            }
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertEquals(0, queue.getDepth());
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+        queue = new TransmitQueue();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JUnitUtil.tearDown();
+    }
+
+}
@@ -50,6 +50,19 @@ public class CbusAddressTest {
         Assert.assertTrue(new CbusAddress("+N12e35").check());
     }
 
+    @Test
+    public void testGetIndexAddress() {
+        Assert.assertEquals("short event", 12, new CbusAddress("+12").getIndexAddress());
+        Assert.assertEquals("decimal form", CbusAddress.getIndexAddress(27, 12), new CbusAddress("-2700012").getIndexAddress());
+        Assert.assertEquals("NE form", CbusAddress.getIndexAddress(17, 257), new CbusAddress("+N17E257").getIndexAddress());
+        Assert.assertEquals("NE form without sign", CbusAddress.getIndexAddress(17, 257), new CbusAddress("n17e257").getIndexAddress());
+        Assert.assertEquals("hex form", -1, new CbusAddress("X9001020304").getIndexAddress());
+        Assert.assertEquals("large node", -1, new CbusAddress("+N40000E1").getIndexAddress());
+        Assert.assertEquals("not valid", -1, new CbusAddress("ABC").getIndexAddress());
+        Assert.assertEquals("first of two", CbusAddress.getIndexAddress(1, 77),
+                CbusAddress.getIndexAddressOfFirst("+N1E77;-N1E45"));
+    }
+
     @Test
     public void testCbusAddressNotOK() {
         Assert.assertTrue(!new CbusAddress("+0A1").check());
@@ -418,6 +418,18 @@ public class CbusSensorManagerTest extends jmri.managers.AbstractSensorMgrTestBa
         }
     }
     
+    @Test
+    public void testGetByAddressRange() {
+        Sensor s1 = l.provideSensor("MS+N17E1;-N17E2");
+        Sensor s2 = l.provideSensor("MS+N17E3");
+        l.provideSensor("MS+N18E1");
+        l.provideSensor("MSX0A;+N17E5");
+        CbusSensorManager m = (CbusSensorManager) l;
+        Assert.assertEquals("node 17", java.util.Arrays.asList(s1, s2),
+                m.getByAddressRange(CbusAddress.getIndexAddress(17, 0), CbusAddress.getIndexAddress(17, 65535)));
+        Assert.assertSame("by address", s2, m.getByAddress(CbusAddress.getIndexAddress(17, 3)));
+    }
+
     @Test
     @Override
     public void testAutoSystemNames() {
@@ -2,6 +2,7 @@ package jmri.jmrix.cmri.serial;
 
 import jmri.Manager.NameValidity;
 import jmri.Sensor;
+import jmri.jmrix.cmri.CMRISystemConnectionMemo;
 import jmri.util.JUnitUtil;
 
 import org.junit.Assert;
@@ -85,6 +86,21 @@ public class SerialSensorManagerTest extends jmri.managers.AbstractSensorMgrTest
                 SerialNode.MAXSENSORS + 1);
     }
 
+    @Test
+    public void testGetByAddressRange() {
+        SerialSensorManager m = (SerialSensorManager) l;
+        Sensor s1 = l.provideSensor("1001");
+        Sensor s2 = l.provideSensor("1B17");
+        l.provideSensor("17");
+        l.provideSensor("2017");
+        Assert.assertEquals("node 1", java.util.Arrays.asList(s1, s2),
+                m.getByAddressRange(CMRISystemConnectionMemo.getIndexAddress(1, 1),
+                        CMRISystemConnectionMemo.getIndexAddress(1, 2048)));
+        Assert.assertSame("by address", s2, m.getByAddress(CMRISystemConnectionMemo.getIndexAddress(1, 17)));
+        Assert.assertEquals("node 2", 1, m.getByAddressRange(CMRISystemConnectionMemo.getIndexAddress(2, 1),
+                CMRISystemConnectionMemo.getIndexAddress(2, 2048)).size());
+    }
+
     @Override
     @BeforeEach
     public void setUp() {
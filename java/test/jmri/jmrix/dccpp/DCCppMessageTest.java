@@ -594,6 +594,19 @@ public class DCCppMessageTest extends jmri.jmrix.AbstractMessageTestBase {
         Assert.assertEquals("10th byte", '1', msg.getElement(10) & 0xFF);
     }
 
+    @Test
+    public void testValuesMatchedAgainAfterChange() {
+        msg = DCCppMessage.makeSpeedAndDirectionMsg(5, 24, 0.5f, false);
+        Assert.assertEquals(24, msg.getAddressInt());
+        Assert.assertEquals(63, msg.getSpeedInt());
+        Assert.assertEquals(24, msg.getAddressInt());
+        // change the speed from 63 to 53
+        msg.setElement(7, '5');
+        Assert.assertEquals(53, msg.getSpeedInt());
+        Assert.assertEquals(24, msg.getAddressInt());
+        Assert.assertEquals("t 5 24 53 0", msg.getValueString(0));
+    }
+
     @Test
     public void testMonitorStringSpeedAndDirectionMsg() {
         msg = DCCppMessage.makeSpeedAndDirectionMsg(5, 24, 0.5f, false);
@@ -0,0 +1,107 @@
+package jmri.jmrix.dccpp;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+
+import jmri.util.JUnitUtil;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+/**
+ * Check DCCppReply parsing against a corpus of replies and the results of
+ * parsing them recorded in a golden file.
+ */
+public class DCCppReplyCorpusTest {
+
+    static final String CORPUS = "java/test/jmri/jmrix/dccpp/replies.txt";
+    static final String GOLDEN = "java/test/jmri/jmrix/dccpp/replies.golden.txt";
+
+    @Test
+    public void testCorpus() throws IOException {
+        StringBuilder result = new StringBuilder();
+        try (BufferedReader in = new BufferedReader(new FileReader(CORPUS))) {
+            String str;
+            while ((str = in.readLine()) != null) {
+                if (str.isEmpty() || str.startsWith("# ")) {
+                    continue;
+                }
+                result.append(describe(DCCppReply.parseDCCppReply(str)));
+                // a reply built character by character, as the traffic controller does
+                DCCppReply r = new DCCppReply();
+                for (int i = 0; i < str.length(); i++) {
+                    r.setElement(i, str.charAt(i));
+                }
+                r.parseReply(r.toString());
+                Assert.assertEquals("loaded by character: " + str, describe(DCCppReply.parseDCCppReply(str)), describe(r));
+            }
+        }
+
+        // read the golden file
+        StringBuilder g = new StringBuilder();
+        try (BufferedReader in = new BufferedReader(new FileReader(GOLDEN))) {
+            String str;
+            while ((str = in.readLine()) != null) {
+                g.append(str).append("\n");
+            }
+        }
+
+        if (!result.toString().equals(g.toString())) {
+            // The next lines prints the answer in case you need
+            // to create a new golden file
+            System.out.println("--------------------");
+            System.out.print(result);
+            System.out.println("--------------------");
+        }
+
+        Assert.assertEquals("parsed corpus", g.toString(), result.toString());
+    }
+
+    static String describe(DCCppReply r) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("<").append(r.toString()).append(">\n");
+        sb.append("  flags:");
+        flag(sb, "Throttle", r.isThrottleReply());
+        flag(sb, "Turnout", r.isTurnoutReply());
+        flag(sb, "TurnoutDef", r.isTurnoutDefReply());
+        flag(sb, "Program", r.isProgramReply());
+        flag(sb, "ProgramBit", r.isProgramBitReply());
+        flag(sb, "Power", r.isPowerReply());
+        flag(sb, "NamedPower", r.isNamedPowerReply());
+        flag(sb, "Current", r.isCurrentReply());
+        flag(sb, "NamedCurrent", r.isNamedCurrentReply());
+        flag(sb, "Memory", r.isMemoryReply());
+        flag(sb, "FreeMemory", r.isFreeMemoryReply());
+        flag(sb, "Sensor", r.isSensorReply());
+        flag(sb, "SensorDef", r.isSensorDefReply());
+        flag(sb, "OutputList", r.isOutputListReply());
+        flag(sb, "OutputCmd", r.isOutputCmdReply());
+        flag(sb, "MADCFail", r.isMADCFailReply());
+        flag(sb, "MADCSuccess", r.isMADCSuccessReply());
+        flag(sb, "Status", r.isStatusReply());
+        flag(sb, "ESPStatus", r.isESPStatusReply());
+        flag(sb, "CommType", r.isCommTypeReply());
+        flag(sb, "ValidFormat", r.isValidReplyFormat());
+        sb.append("\n");
+        sb.append("  monitor: ").append(r.toMonitorString().replace("\n", "\\n").replace("\t", "\\t")).append("\n");
+        return sb.toString();
+    }
+
+    private static void flag(StringBuilder sb, String name, boolean value) {
+        if (value) {
+            sb.append(" ").append(name);
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JUnitUtil.tearDown();
+    }
+
+}
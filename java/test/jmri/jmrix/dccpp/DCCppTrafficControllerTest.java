@@ -1,7 +1,9 @@
 package jmri.jmrix.dccpp;
 
+import jmri.jmrix.TransmitQueue;
 import jmri.util.JUnitUtil;
 
+import org.junit.Assert;
 import org.junit.jupiter.api.*;
 
 /**
@@ -11,6 +13,79 @@ import org.junit.jupiter.api.*;
  */
 public class DCCppTrafficControllerTest extends jmri.jmrix.AbstractMRTrafficControllerTest {
 
+    @Test
+    public void testTransmitLane() {
+        DCCppTrafficController d = (DCCppTrafficController) tc;
+        Assert.assertEquals(TransmitQueue.Lane.EMERGENCY_STOP, d.getTransmitLane(DCCppMessage.makeAddressedEmergencyStop(1, 1234)));
+        Assert.assertEquals(TransmitQueue.Lane.EMERGENCY_STOP, d.getTransmitLane(DCCppMessage.makeTrackPowerOffMsg()));
+        Assert.assertEquals(TransmitQueue.Lane.EMERGENCY_STOP, d.getTransmitLane(DCCppMessage.makeTrackPowerOnMsg()));
+        Assert.assertEquals(TransmitQueue.Lane.THROTTLE, d.getTransmitLane(DCCppMessage.makeSpeedAndDirectionMsg(1, 1234, 0.5f, true)));
+        Assert.assertEquals(TransmitQueue.Lane.ACCESSORY, d.getTransmitLane(DCCppMessage.makeAccessoryDecoderMsg(21, true)));
+        Assert.assertEquals(TransmitQueue.Lane.BULK, d.getTransmitLane(DCCppMessage.makeReadDirectCVMsg(29)));
+        Assert.assertEquals(TransmitQueue.Lane.ACCESSORY, d.getTransmitLane(null));
+    }
+
+    @Test
+    public void testCoalescingKey() {
+        DCCppTrafficController d = (DCCppTrafficController) tc;
+        Object key = d.getCoalescingKey(DCCppMessage.makeSpeedAndDirectionMsg(1, 1234, 0.5f, true));
+        Assert.assertNotNull(key);
+        Assert.assertEquals(key, d.getCoalescingKey(DCCppMessage.makeSpeedAndDirectionMsg(1, 1234, 0.0f, false)));
+        Assert.assertNotEquals(key, d.getCoalescingKey(DCCppMessage.makeSpeedAndDirectionMsg(2, 1235, 0.5f, true)));
+        Assert.assertNull(d.getCoalescingKey(DCCppMessage.makeAddressedEmergencyStop(1, 1234)));
+        Assert.assertNull(d.getCoalescingKey(DCCppMessage.makeAccessoryDecoderMsg(21, true)));
+        Assert.assertNull(d.getCoalescingKey(null));
+    }
+
+    @Test
+    public void testQueueOrder() {
+        // queues messages without a transmit thread to send them
+        DCCppTrafficController d = new DCCppTrafficController(new DCCppCommandStation()) {
+            {
+                xmtRunnable = () -> {
+                };
+            }
+
+            @Override
+            public void sendDCCppMessage(DCCppMessage m, DCCppListener reply) {
+                sendMessage(m, reply);
+            }
+        };
+        TransmitQueue queue = d.getTransmitQueue();
+
+        // power on and off are sent in the order they were queued
+        DCCppMessage off = DCCppMessage.makeTrackPowerOffMsg();
+        DCCppMessage on = DCCppMessage.makeTrackPowerOnMsg();
+        d.sendDCCppMessage(on, null);
+        d.sendDCCppMessage(off, null);
+        Assert.assertSame(on, queue.poll().getMessage());
+        Assert.assertSame(off, queue.poll().getMessage());
+        d.sendDCCppMessage(off, null);
+        d.sendDCCppMessage(on, null);
+        Assert.assertSame(off, queue.poll().getMessage());
+        Assert.assertSame(on, queue.poll().getMessage());
+
+        // an emergency stop drops a waiting speed for the same address only
+        DCCppMessage speed = DCCppMessage.makeSpeedAndDirectionMsg(1, 1234, 0.5f, true);
+        DCCppMessage other = DCCppMessage.makeSpeedAndDirectionMsg(2, 1235, 0.5f, true);
+        DCCppMessage stop = DCCppMessage.makeAddressedEmergencyStop(1, 1234);
+        d.sendDCCppMessage(speed, null);
+        d.sendDCCppMessage(other, null);
+        d.sendDCCppMessage(stop, null);
+        Assert.assertEquals(2, queue.getDepth());
+        Assert.assertSame(stop, queue.poll().getMessage());
+        Assert.assertSame(other, queue.poll().getMessage());
+        Assert.assertTrue(queue.isEmpty());
+
+        // a speed queued after the stop is sent after it
+        d.sendDCCppMessage(stop, null);
+        d.sendDCCppMessage(speed, null);
+        Assert.assertSame(stop, queue.poll().getMessage());
+        Assert.assertSame(speed, queue.poll().getMessage());
+        Assert.assertNull(queue.poll());
+        d.terminateThreads();
+    }
+
     @Override
     @BeforeEach
     public void setUp() {
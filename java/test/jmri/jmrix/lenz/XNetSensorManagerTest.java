@@ -65,6 +65,9 @@ public class XNetSensorManagerTest extends jmri.managers.AbstractSensorMgrTestBa
 
         // see if sensor exists
         Assert.assertNotNull(l.getBySystemName("XS22"));
+        // and the other seven sensors of the encoder
+        Assert.assertEquals("encoder sensors", 8, ((XNetSensorManager) l).getByAddressRange(17, 24).size());
+        Assert.assertSame("by address", l.getBySystemName("XS22"), ((XNetSensorManager) l).getByAddress(22));
     }
 
     @Test
@@ -1,7 +1,10 @@
 package jmri.jmrix.lenz;
 
+import jmri.SpeedStepMode;
+import jmri.jmrix.TransmitQueue;
 import jmri.util.JUnitUtil;
 
+import org.junit.Assert;
 import org.junit.jupiter.api.*;
 
 /**
@@ -12,6 +15,80 @@ import org.junit.jupiter.api.*;
  */
 public class XNetTrafficControllerTest extends jmri.jmrix.AbstractMRTrafficControllerTest {
 
+    @Test
+    public void testTransmitLane() {
+        XNetTrafficController x = (XNetTrafficController) tc;
+        Assert.assertEquals(TransmitQueue.Lane.EMERGENCY_STOP, x.getTransmitLane(XNetMessage.getEmergencyStopMsg()));
+        Assert.assertEquals(TransmitQueue.Lane.EMERGENCY_STOP, x.getTransmitLane(XNetMessage.getEmergencyOffMsg()));
+        Assert.assertEquals(TransmitQueue.Lane.EMERGENCY_STOP, x.getTransmitLane(XNetMessage.getResumeOperationsMsg()));
+        Assert.assertEquals(TransmitQueue.Lane.EMERGENCY_STOP, x.getTransmitLane(XNetMessage.getAddressedEmergencyStop(1234)));
+        Assert.assertEquals(TransmitQueue.Lane.THROTTLE, x.getTransmitLane(XNetMessage.getSpeedAndDirectionMsg(1234, SpeedStepMode.NMRA_DCC_128, 0.5f, true)));
+        Assert.assertEquals(TransmitQueue.Lane.ACCESSORY, x.getTransmitLane(XNetMessage.getTurnoutCommandMsg(21, true, false, true)));
+        Assert.assertEquals(TransmitQueue.Lane.BULK, x.getTransmitLane(XNetMessage.getReadDirectCVMsg(29)));
+        Assert.assertEquals(TransmitQueue.Lane.ACCESSORY, x.getTransmitLane(null));
+    }
+
+    @Test
+    public void testCoalescingKey() {
+        XNetTrafficController x = (XNetTrafficController) tc;
+        Object key = x.getCoalescingKey(XNetMessage.getSpeedAndDirectionMsg(1234, SpeedStepMode.NMRA_DCC_128, 0.5f, true));
+        Assert.assertNotNull(key);
+        Assert.assertEquals(key, x.getCoalescingKey(XNetMessage.getSpeedAndDirectionMsg(1234, SpeedStepMode.NMRA_DCC_28, 0.0f, false)));
+        Assert.assertNotEquals(key, x.getCoalescingKey(XNetMessage.getSpeedAndDirectionMsg(1235, SpeedStepMode.NMRA_DCC_128, 0.5f, true)));
+        Assert.assertNull(x.getCoalescingKey(XNetMessage.getTurnoutCommandMsg(21, true, false, true)));
+        Assert.assertNull(x.getCoalescingKey(XNetMessage.getAddressedEmergencyStop(1234)));
+        Assert.assertNull(x.getCoalescingKey(null));
+    }
+
+    @Test
+    public void testQueueOrder() {
+        // queues messages without a transmit thread to send them
+        XNetTrafficController x = new XNetTrafficController(new LenzCommandStation()) {
+            {
+                xmtRunnable = () -> {
+                };
+            }
+
+            @Override
+            public void sendXNetMessage(XNetMessage m, XNetListener reply) {
+                sendMessage(m, reply);
+            }
+        };
+        TransmitQueue queue = x.getTransmitQueue();
+
+        // emergency off and resume are sent in the order they were queued
+        XNetMessage off = XNetMessage.getEmergencyOffMsg();
+        XNetMessage resume = XNetMessage.getResumeOperationsMsg();
+        x.sendXNetMessage(resume, null);
+        x.sendXNetMessage(off, null);
+        Assert.assertSame(resume, queue.poll().getMessage());
+        Assert.assertSame(off, queue.poll().getMessage());
+        x.sendXNetMessage(off, null);
+        x.sendXNetMessage(resume, null);
+        Assert.assertSame(off, queue.poll().getMessage());
+        Assert.assertSame(resume, queue.poll().getMessage());
+
+        // an emergency stop drops a waiting speed for the same address only
+        XNetMessage speed = XNetMessage.getSpeedAndDirectionMsg(1234, SpeedStepMode.NMRA_DCC_128, 0.5f, true);
+        XNetMessage other = XNetMessage.getSpeedAndDirectionMsg(1235, SpeedStepMode.NMRA_DCC_128, 0.5f, true);
+        XNetMessage stop = XNetMessage.getAddressedEmergencyStop(1234);
+        x.sendXNetMessage(speed, null);
+        x.sendXNetMessage(other, null);
+        x.sendXNetMessage(stop, null);
+        Assert.assertEquals(2, queue.getDepth());
+        Assert.assertSame(stop, queue.poll().getMessage());
+        Assert.assertSame(other, queue.poll().getMessage());
+        Assert.assertTrue(queue.isEmpty());
+
+        // a speed queued after the stop is sent after it
+        x.sendXNetMessage(stop, null);
+        x.sendXNetMessage(speed, null);
+        Assert.assertSame(stop, queue.poll().getMessage());
+        Assert.assertSame(speed, queue.poll().getMessage());
+        Assert.assertNull(queue.poll());
+        x.terminateThreads();
+    }
+
     @BeforeEach
     @Override
     public void setUp() {
@@ -0,0 +1,168 @@
+package jmri.jmrix.loconet;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import jmri.util.JUnitAppender;
+import jmri.util.JUnitUtil;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests for LnFrameDecoder.
+ */
+public class LnFrameDecoderTest {
+
+    private LnFrameDecoder decoder;
+    private List<LocoNetMessage> received;
+
+    // OPC_GPON, OPC_SW_REQ LT1 thrown, and an OPC_SL_RD_DATA slot read
+    private static final int[] GPON = {0x83, 0x7C};
+    private static final int[] SW_REQ = {0xB0, 0x00, 0x10, 0x5F};
+    private static final int[] SL_RD = {0xE7, 0x0E, 0x03, 0x33, 0x03, 0x00, 0x20, 0x07, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00};
+
+    static {
+        setChecksum(SL_RD);
+    }
+
+    private static void setChecksum(int[] msg) {
+        int sum = 0xFF;
+        for (int i = 0; i < msg.length - 1; i++) {
+            sum ^= msg[i];
+        }
+        msg[msg.length - 1] = sum;
+    }
+
+    private void feed(int... bytes) throws IOException {
+        byte[] b = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            b[i] = (byte) bytes[i];
+        }
+        Assert.assertEquals(b.length, decoder.read(new ByteArrayInputStream(b)));
+        decoder.decode(received::add);
+    }
+
+    private static int[] concat(int[]... parts) {
+        int len = 0;
+        for (int[] p : parts) {
+            len += p.length;
+        }
+        int[] result = new int[len];
+        int i = 0;
+        for (int[] p : parts) {
+            System.arraycopy(p, 0, result, i, p.length);
+            i += p.length;
+        }
+        return result;
+    }
+
+    private void assertReceived(int index, int[] expected) {
+        Assert.assertEquals(new LocoNetMessage(expected), received.get(index));
+    }
+
+    @Test
+    public void testCapacity() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> new LnFrameDecoder(64));
+    }
+
+    @Test
+    public void testSeveralMessages() throws IOException {
+        feed(concat(GPON, SW_REQ, SL_RD));
+        Assert.assertEquals(3, received.size());
+        assertReceived(0, GPON);
+        assertReceived(1, SW_REQ);
+        assertReceived(2, SL_RD);
+        Assert.assertEquals(0, decoder.getBuffer().position());
+    }
+
+    @Test
+    public void testSplitMessage() throws IOException {
+        int[] all = concat(SW_REQ, SL_RD);
+        // deliver a byte at a time, as a slow serial port might
+        for (int b : all) {
+            feed(b);
+        }
+        Assert.assertEquals(2, received.size());
+        assertReceived(0, SW_REQ);
+        assertReceived(1, SL_RD);
+    }
+
+    @Test
+    public void testSkipBeforeOpCode() throws IOException {
+        feed(concat(new int[]{0x01, 0x7F}, GPON));
+        Assert.assertEquals(1, received.size());
+        assertReceived(0, GPON);
+    }
+
+    @Test
+    public void testEndedEarly() throws IOException {
+        // a switch request interrupted by a power on
+        feed(concat(new int[]{0xB0, 0x00}, GPON));
+        JUnitAppender.assertWarnMessage("LocoNet message with opCode: b0 ended early. Expected length: 4 seen length: 2 unexpected byte: 83");
+        Assert.assertEquals(1, received.size());
+        assertReceived(0, GPON);
+    }
+
+    @Test
+    public void testEndedEarlyBeforeComplete() throws IOException {
+        // the interrupting opcode is found without waiting for the full length
+        feed(0xE7, 0x0E, 0x03, 0x83);
+        JUnitAppender.assertWarnMessage("LocoNet message with opCode: e7 ended early. Expected length: 14 seen length: 3 unexpected byte: 83");
+        feed(0x7C);
+        Assert.assertEquals(1, received.size());
+        assertReceived(0, GPON);
+    }
+
+    @Test
+    public void testBadChecksum() throws IOException {
+        feed(concat(new int[]{0xB0, 0x00, 0x10, 0x00}, GPON));
+        JUnitAppender.assertWarnMessage("Ignore LocoNet packet with bad checksum: B0 00 10 00");
+        Assert.assertEquals(1, received.size());
+        assertReceived(0, GPON);
+    }
+
+    @Test
+    public void testInvalidLength() throws IOException {
+        feed(concat(new int[]{0xE7, 0x01}, GPON));
+        JUnitAppender.assertErrorMessage("LocoNet message length invalid: 1 opcode: e7");
+        Assert.assertEquals(1, received.size());
+        assertReceived(0, GPON);
+    }
+
+    @Test
+    public void testLargeRead() throws IOException {
+        // more messages than fit in the buffer at once
+        int[] all = new int[0];
+        for (int i = 0; i < 400; i++) {
+            all = concat(all, SL_RD);
+        }
+        byte[] b = new byte[all.length];
+        for (int i = 0; i < all.length; i++) {
+            b[i] = (byte) all[i];
+        }
+        ByteArrayInputStream stream = new ByteArrayInputStream(b);
+        while (decoder.read(stream) > 0) {
+            decoder.decode(received::add);
+        }
+        Assert.assertEquals(400, received.size());
+        assertReceived(399, SL_RD);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+        decoder = new LnFrameDecoder(256);
+        received = new ArrayList<>();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        decoder = null;
+        received = null;
+        JUnitUtil.tearDown();
+    }
+
+}
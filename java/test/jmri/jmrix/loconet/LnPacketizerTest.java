@@ -31,6 +31,91 @@ public class LnPacketizerTest {
        Assert.assertFalse("not connected", lnp.status() );
     }
 
+    @Test
+    public void testCoalesceSpeed() {
+        // queue without a transmit thread to take the messages
+        lnp.xmtHandler = lnp.new XmtHandler();
+        Assert.assertTrue("speeds by default", lnp.isCoalesced(LnConstants.OPC_LOCO_SPD));
+        Assert.assertFalse(lnp.isCoalesced(LnConstants.OPC_LOCO_DIRF));
+        lnp.sendLocoNetMessage(new LocoNetMessage(new int[]{LnConstants.OPC_LOCO_SPD, 0x03, 0x10, 0x00}));
+        lnp.sendLocoNetMessage(new LocoNetMessage(new int[]{LnConstants.OPC_LOCO_SPD, 0x04, 0x10, 0x00}));
+        lnp.sendLocoNetMessage(new LocoNetMessage(new int[]{LnConstants.OPC_LOCO_SPD, 0x03, 0x30, 0x00}));
+
+        // the second speed for slot 3 replaced the first in place
+        Assert.assertEquals(2, lnp.xmtList.size());
+        Assert.assertEquals(0x30, lnp.xmtList.get(0)[2]);
+        Assert.assertEquals(0x04, lnp.xmtList.get(1)[1]);
+        Assert.assertEquals(1, lnp.getCoalescedMsgCount());
+        Assert.assertEquals("replaced message not counted", 2, lnp.getTransmittedMsgCount());
+        lnp.resetStatistics();
+        Assert.assertEquals(0, lnp.getCoalescedMsgCount());
+
+        // can be turned off
+        lnp.xmtList.clear();
+        lnp.setCoalesced(LnConstants.OPC_LOCO_SPD, false);
+        lnp.sendLocoNetMessage(new LocoNetMessage(new int[]{LnConstants.OPC_LOCO_SPD, 0x03, 0x10, 0x00}));
+        lnp.sendLocoNetMessage(new LocoNetMessage(new int[]{LnConstants.OPC_LOCO_SPD, 0x03, 0x20, 0x00}));
+        Assert.assertEquals(2, lnp.xmtList.size());
+    }
+
+    @Test
+    public void testCoalesceKeepsSlotOrder() {
+        lnp.xmtHandler = lnp.new XmtHandler();
+        // stop, reverse, then move off: the speed mustn't overtake the direction change
+        lnp.sendLocoNetMessage(new LocoNetMessage(new int[]{LnConstants.OPC_LOCO_SPD, 0x03, 0x00, 0x00}));
+        lnp.sendLocoNetMessage(new LocoNetMessage(new int[]{LnConstants.OPC_LOCO_DIRF, 0x03, 0x20, 0x00}));
+        lnp.sendLocoNetMessage(new LocoNetMessage(new int[]{LnConstants.OPC_LOCO_SPD, 0x03, 0x14, 0x00}));
+        Assert.assertEquals(3, lnp.xmtList.size());
+        Assert.assertEquals(0x00, lnp.xmtList.get(0)[2]);
+        Assert.assertEquals(0x20, lnp.xmtList.get(1)[2]);
+        Assert.assertEquals(0x14, lnp.xmtList.get(2)[2]);
+
+        // the last waiting message for the slot can still be replaced
+        lnp.sendLocoNetMessage(new LocoNetMessage(new int[]{LnConstants.OPC_LOCO_SPD, 0x03, 0x28, 0x00}));
+        Assert.assertEquals(3, lnp.xmtList.size());
+        Assert.assertEquals(0x28, lnp.xmtList.get(2)[2]);
+
+        // a slot write refers to its slot in the third byte
+        lnp.xmtList.clear();
+        lnp.sendLocoNetMessage(new LocoNetMessage(new int[]{LnConstants.OPC_LOCO_SPD, 0x03, 0x00, 0x00}));
+        lnp.sendLocoNetMessage(new LocoNetMessage(new int[]{LnConstants.OPC_MOVE_SLOTS, 0x03, 0x03, 0x00}));
+        lnp.sendLocoNetMessage(new LocoNetMessage(new int[]{LnConstants.OPC_LOCO_SPD, 0x05, 0x00, 0x00}));
+        lnp.sendLocoNetMessage(new LocoNetMessage(new int[]{LnConstants.OPC_MOVE_SLOTS, 0x00, 0x05, 0x00}));
+        lnp.sendLocoNetMessage(new LocoNetMessage(new int[]{LnConstants.OPC_LOCO_SPD, 0x05, 0x14, 0x00}));
+        Assert.assertEquals(5, lnp.xmtList.size());
+        Assert.assertEquals(1, lnp.getCoalescedMsgCount());
+    }
+
+    @Test
+    public void testTransmitBatch() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        lnp.ostream = out;
+        lnp.xmtHandler = lnp.new XmtHandler();
+        // queue before the thread starts, so all are sent in one write
+        lnp.sendLocoNetMessage(new LocoNetMessage(new int[]{LnConstants.OPC_GPON, 0x00}));
+        lnp.sendLocoNetMessage(new LocoNetMessage(new int[]{LnConstants.OPC_SW_REQ, 0x00, 0x10, 0x00}));
+        lnp.sendLocoNetMessage(new LocoNetMessage(new int[]{LnConstants.OPC_LOCO_SPD, 0x03, 0x10, 0x00}));
+        lnp.xmtThread = new Thread(lnp.xmtHandler, "LnPacketizerTest transmit");
+        lnp.xmtThread.start();
+        JUnitUtil.waitFor(() -> lnp.getTelemetry().getSentCount() == 3, "all messages sent");
+        lnp.terminateThreads();
+        Assert.assertArrayEquals(new byte[]{(byte) 0x83, 0x7C, (byte) 0xB0, 0x00, 0x10, 0x5F, (byte) 0xA0, 0x03, 0x10, 0x4C},
+                out.toByteArray());
+        Assert.assertEquals(10, lnp.getTelemetry().getSentBytes());
+    }
+
+    @Test
+    public void testCaptureListener() {
+        java.util.List<LocoNetMessage> captured = new java.util.concurrent.CopyOnWriteArrayList<>();
+        lnp.setCaptureListener(captured::add);
+        lnp.istream = new DataInputStream(new ByteArrayInputStream(new byte[]{(byte) 0xB2, 0x12, 0x50, 0x0F}));
+        lnp.rcvThread = new Thread(lnp.new RcvHandler(lnp), "LnPacketizerTest receive");
+        lnp.rcvThread.start();
+        JUnitUtil.waitFor(() -> captured.size() == 1, "message captured");
+        lnp.terminateThreads();
+        Assert.assertEquals("B2 12 50 0F", captured.get(0).toString());
+    }
+
     @Test
     @Disabled("may be causing hang on travis and appveyor")
     public void testStartThreads() {
@@ -65,6 +65,26 @@ public class LnSensorManagerTest extends jmri.managers.AbstractSensorMgrTestBase
         Assert.assertTrue(null != l.getBySystemName("LS44"));
     }
 
+    @Test
+    public void testAddressFromMessageBytes() {
+        for (int sw1 = 0; sw1 < 0x80; sw1++) {
+            for (int sw2 = 0; sw2 < 0x80; sw2++) {
+                Assert.assertEquals(new LnSensorAddress(sw1, sw2, "L").getNumericAddress(),
+                        "LS" + LnSensorManager.address(sw1, sw2));
+            }
+        }
+    }
+
+    @Test
+    public void testGetByAddress() {
+        Sensor t = l.newSensor("LS44", null);
+        LnSensorManager lsm = (LnSensorManager) l;
+        Assert.assertSame("indexed", t, lsm.getByAddress(44));
+        Assert.assertNull("not indexed", lsm.getByAddress(45));
+        lsm.deregister(t);
+        Assert.assertNull("removed from index", lsm.getByAddress(44));
+    }
+
     @Test
     public void testAsAbstractFactory() {
         // ask for a Sensor, and check type
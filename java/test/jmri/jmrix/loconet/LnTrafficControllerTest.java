@@ -18,6 +18,69 @@ public class LnTrafficControllerTest {
         Assert.assertNotNull("exists", memo.getLnTrafficController() );
     }
 
+    @Test
+    public void testMaskedDispatch() {
+        LocoNetInterfaceScaffold lnis = (LocoNetInterfaceScaffold) memo.getLnTrafficController();
+        java.util.List<LocoNetMessage> all = new java.util.ArrayList<>();
+        java.util.List<LocoNetMessage> sensors = new java.util.ArrayList<>();
+        java.util.List<LocoNetMessage> zero = new java.util.ArrayList<>();
+        lnis.addLocoNetListener(LocoNetInterface.ALL, all::add);
+        lnis.addLocoNetListener(LocoNetInterface.SENSORS, sensors::add);
+        lnis.addLocoNetListener(0, zero::add);
+        lnis.resetStatistics();
+
+        lnis.sendTestMessage(new LocoNetMessage(new int[]{0xB2, 0x01, 0x10, 0x00}));  // OPC_INPUT_REP
+        lnis.sendTestMessage(new LocoNetMessage(new int[]{0xB0, 0x01, 0x10, 0x00}));  // OPC_SW_REQ
+        lnis.sendTestMessage(new LocoNetMessage(new int[]{0xB4, 0x30, 0x00, 0x00}));  // OPC_LONG_ACK
+
+        Assert.assertEquals("all messages", 3, all.size());
+        Assert.assertEquals("mask 0 gets all messages", 3, zero.size());
+        Assert.assertEquals("sensor and unclassified messages", 2, sensors.size());
+        Assert.assertEquals("sensor message", 0xB2, sensors.get(0).getOpCode());
+        Assert.assertEquals("unclassified message", 0xB4, sensors.get(1).getOpCode());
+        Assert.assertEquals("invocations", 8, lnis.getListenerInvocationCount());
+        Assert.assertEquals("received", 3, lnis.getReceivedMsgCount());
+    }
+
+    @Test
+    public void testAddRemoveListener() {
+        LocoNetInterfaceScaffold lnis = (LocoNetInterfaceScaffold) memo.getLnTrafficController();
+        java.util.List<LocoNetMessage> turnouts = new java.util.ArrayList<>();
+        LocoNetListener l = turnouts::add;
+        lnis.addLocoNetListener(LocoNetInterface.TURNOUTS, l);
+        lnis.addLocoNetListener(LocoNetInterface.SENSORS, l);
+        Assert.assertEquals("registered once", 1, lnis.numListeners());
+
+        lnis.sendTestMessage(new LocoNetMessage(new int[]{0xB2, 0x01, 0x10, 0x00}));  // OPC_INPUT_REP
+        lnis.sendTestMessage(new LocoNetMessage(new int[]{0xB0, 0x01, 0x10, 0x00}));  // OPC_SW_REQ
+        lnis.sendTestMessage(new LocoNetMessage(new int[]{0x83, 0x7C}));              // OPC_GPON
+        Assert.assertEquals("combined masks", 2, turnouts.size());
+
+        lnis.removeLocoNetListener(LocoNetInterface.ALL, l);
+        Assert.assertEquals("removed", 0, lnis.numListeners());
+        lnis.sendTestMessage(new LocoNetMessage(new int[]{0xB0, 0x01, 0x10, 0x00}));  // OPC_SW_REQ
+        Assert.assertEquals("not notified after removal", 2, turnouts.size());
+    }
+
+    @Test
+    public void testCountFields() {
+        // a subclass counting messages it sends itself, as older ones do
+        LnTrafficController tc = new LocoNetInterfaceScaffold(memo) {
+            @Override
+            public void sendLocoNetMessage(LocoNetMessage m) {
+                transmittedMsgCount++;
+            }
+        };
+        tc.sendLocoNetMessage(new LocoNetMessage(new int[]{0x83, 0x7C}));  // OPC_GPON
+        tc.notify(new LocoNetMessage(new int[]{0x83, 0x7C}));
+        Assert.assertEquals(1, tc.getTransmittedMsgCount());
+        Assert.assertEquals(1, tc.getReceivedMsgCount());
+        Assert.assertEquals(2, tc.getReceivedByteCount());
+        Assert.assertEquals(1, tc.getTelemetry().getReceivedCount());
+        tc.resetStatistics();
+        Assert.assertEquals(0, tc.getTransmittedMsgCount());
+    }
+
     @BeforeEach
     public void setUp() {
         JUnitUtil.setUp();
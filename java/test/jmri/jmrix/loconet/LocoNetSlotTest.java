@@ -985,6 +985,39 @@ public class LocoNetSlotTest {
         sm.dispose();
     }
 
+    @Test
+    public void testSetSlotNotifiesOnlyChanges() throws LocoNetException {
+        LocoNetSlot t = new LocoNetSlot(1);
+        int[] count = {0};
+        SlotListener l = s -> count[0]++;
+        t.addSlotListener(l);
+        t.addSlotListener(l);
+
+        int ia[] = {0xE7, 0x0E, 0x01, 0x33, 0x28, 0x00, 0x00, 0x47,
+            0x00, 0x2B, 0x00, 0x00, 0x00, 0x60};
+        t.setSlot(new LocoNetMessage(ia));
+        Assert.assertEquals("first read notified once", 1, count[0]);
+        t.setSlot(new LocoNetMessage(ia));
+        Assert.assertEquals("unchanged read not notified", 1, count[0]);
+
+        for (int i = 3; i <= 12; i++) {
+            int[] changed = ia.clone();
+            changed[i] ^= 0x01;
+            t.setSlot(new LocoNetMessage(changed));
+            t.setSlot(new LocoNetMessage(ia));
+            Assert.assertEquals("change in byte " + i + " notified", 1 + 2 * (i - 2), count[0]);
+        }
+
+        // messages other than slot reads and writes are always notified
+        t.setSlot(new LocoNetMessage(new int[]{0xA0, 0x01, 0x00, 0x00}));
+        t.setSlot(new LocoNetMessage(new int[]{0xA0, 0x01, 0x00, 0x00}));
+        Assert.assertEquals("speed messages notified", 23, count[0]);
+
+        t.removeSlotListener(l);
+        t.setSlot(new LocoNetMessage(new int[]{0xA0, 0x01, 0x10, 0x00}));
+        Assert.assertEquals("removed listener not notified", 23, count[0]);
+    }
+
     LocoNetInterfaceScaffold lnis;
 
     @BeforeEach
@@ -1264,6 +1264,43 @@ public class SlotManagerTest {
     ProgListener lstn;
     int releaseTestDelay = 150; // probably needs to be at least 150, see SlotManager.postProgDelay
 
+    @Test
+    public void testUnchangedSlotReadOnlyNotifiesMonitors() {
+        int[] monitorCount = {0};
+        int[] slotCount = {0};
+        slotmanager.addSlotListener(l -> monitorCount[0]++);
+        slotmanager.slot(10).addSlotListener(l -> slotCount[0]++);
+
+        LocoNetMessage m = new LocoNetMessage(new int[]{0xE7, 0x0E, 0x0A, 0x33, 0x19, 0x00,
+            0x00, 0x07, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00});
+        m.setParity();
+        slotmanager.message(m);
+        Assert.assertEquals("monitor heard first read", 1, monitorCount[0]);
+        Assert.assertEquals("slot listener heard first read", 1, slotCount[0]);
+
+        // a refresh with the same contents
+        slotmanager.message(new LocoNetMessage(m));
+        Assert.assertEquals("monitor heard refresh", 2, monitorCount[0]);
+        Assert.assertEquals("slot listener not told of refresh", 1, slotCount[0]);
+
+        // a read with a new speed
+        LocoNetMessage m2 = new LocoNetMessage(m);
+        m2.setElement(5, 0x20);
+        m2.setParity();
+        slotmanager.message(m2);
+        Assert.assertEquals("monitor heard change", 3, monitorCount[0]);
+        Assert.assertEquals("slot listener heard change", 2, slotCount[0]);
+        Assert.assertEquals("speed", 0x20, slotmanager.slot(10).speed());
+
+        // a read of another slot isn't heard by the slot listener
+        LocoNetMessage m3 = new LocoNetMessage(m);
+        m3.setElement(2, 0x0B);
+        m3.setParity();
+        slotmanager.message(m3);
+        Assert.assertEquals("monitor heard other slot", 4, monitorCount[0]);
+        Assert.assertEquals("slot listener not told of other slot", 2, slotCount[0]);
+    }
+
     @BeforeEach
     public void setUp() {
         JUnitUtil.setUp();
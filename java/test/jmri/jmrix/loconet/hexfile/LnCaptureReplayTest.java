@@ -0,0 +1,117 @@
+package jmri.jmrix.loconet.hexfile;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import jmri.jmrix.loconet.LocoNetInterfaceScaffold;
+import jmri.jmrix.loconet.LocoNetMessage;
+import jmri.util.JUnitUtil;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests for LnCaptureReplay.
+ */
+public class LnCaptureReplayTest {
+
+    private LocoNetInterfaceScaffold lnis;
+    private final List<LocoNetMessage> received = new ArrayList<>();
+
+    // three messages, the last 200 ms after the first
+    private static final String CAPTURE = "# LocoNet capture\n"
+            + "@5000000 B2 12 50 0F\n"
+            + "\n"
+            + "@105000000 A0 03 10 4C\n"
+            + "@205000000 B2 12 40 1F\n";
+
+    @Test
+    public void testParse() throws IOException {
+        Assert.assertEquals(-1, LnCaptureReplay.getTime("B2 12 50 0F"));
+        Assert.assertEquals(1520, LnCaptureReplay.getTime("@1520 B2 12 50 0F"));
+        Assert.assertArrayEquals(new int[]{0xB2, 0x12, 0x50, 0x0F}, LnCaptureReplay.getBytes("@1520 B2 12 50 0F"));
+        Assert.assertArrayEquals(new int[]{0xB2, 0x12, 0x50, 0x0F}, LnCaptureReplay.getBytes("B2 12  50 0F"));
+        Assert.assertEquals(3, new LnCaptureReplay(lnis, new StringReader(CAPTURE)).getMessageCount());
+    }
+
+    @Test
+    public void testInvalidLine() {
+        IOException ex = Assert.assertThrows(IOException.class,
+                () -> new LnCaptureReplay(lnis, new StringReader("B2 12 50 0F\nB2 XX\n")));
+        Assert.assertTrue(ex.getMessage(), ex.getMessage().startsWith("Line 2 "));
+    }
+
+    @Test
+    public void testAsFastAsPossible() throws IOException {
+        LnCaptureReplay replay = new LnCaptureReplay(lnis, new StringReader(CAPTURE));
+        replay.setSpeed(LnCaptureReplay.AS_FAST_AS_POSSIBLE);
+        long start = System.nanoTime();
+        replay.run();
+        Assert.assertTrue("didn't wait", System.nanoTime() - start < 150000000L);
+        Assert.assertEquals(3, received.size());
+        Assert.assertEquals("A0 03 10 4C", received.get(1).toString());
+        Assert.assertEquals(3, replay.getReplayedCount());
+        Assert.assertEquals(3, replay.getProcessingTime().getCount());
+        Assert.assertEquals(0, replay.getLateness().getCount());
+    }
+
+    @Test
+    public void testOriginalTiming() throws IOException {
+        LnCaptureReplay replay = new LnCaptureReplay(lnis, new StringReader(CAPTURE));
+        long start = System.nanoTime();
+        replay.run();
+        Assert.assertTrue("waited", System.nanoTime() - start >= 200000000L);
+        Assert.assertEquals(3, received.size());
+        Assert.assertEquals(3, replay.getLateness().getCount());
+    }
+
+    @Test
+    public void testScaled() throws IOException {
+        LnCaptureReplay replay = new LnCaptureReplay(lnis, new StringReader(CAPTURE));
+        replay.setSpeed(10.0);
+        long start = System.nanoTime();
+        replay.run();
+        long elapsed = System.nanoTime() - start;
+        Assert.assertTrue("waited", elapsed >= 20000000L);
+        Assert.assertEquals(3, received.size());
+        Assert.assertThrows(IllegalArgumentException.class, () -> replay.setSpeed(0));
+    }
+
+    @Test
+    public void testUntimed() throws IOException {
+        LnCaptureReplay replay = new LnCaptureReplay(lnis, new StringReader("B2 12 50 0F\nB2 12 40 1F\n"));
+        replay.setSpeed(10.0);
+        long start = System.nanoTime();
+        replay.run();
+        Assert.assertTrue("waited default interval", System.nanoTime() - start >= LnCaptureReplay.DEFAULT_INTERVAL / 10);
+        Assert.assertEquals(2, received.size());
+    }
+
+    @Test
+    public void testLoop() throws IOException {
+        LnCaptureReplay replay = new LnCaptureReplay(lnis, new StringReader(CAPTURE));
+        replay.setSpeed(LnCaptureReplay.AS_FAST_AS_POSSIBLE);
+        replay.setLoop(true);
+        Thread t = new Thread(replay, "LnCaptureReplayTest");
+        t.start();
+        JUnitUtil.waitFor(() -> replay.getReplayedCount() > 10, "replayed more than once");
+        replay.stop();
+        JUnitUtil.waitFor(() -> !t.isAlive(), "stopped");
+        Assert.assertTrue(replay.getCpuTime() >= 0);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+        lnis = new LocoNetInterfaceScaffold();
+        lnis.addLocoNetListener(~0, received::add);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        lnis = null;
+        JUnitUtil.tearDown();
+    }
+
+}
@@ -0,0 +1,53 @@
+package jmri.jmrix.loconet.hexfile;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import jmri.jmrix.loconet.LocoNetInterfaceScaffold;
+import jmri.jmrix.loconet.LocoNetMessage;
+import jmri.util.JUnitUtil;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests for LnCaptureWriter.
+ */
+public class LnCaptureWriterTest {
+
+    @Test
+    public void testWrite() throws IOException {
+        StringWriter out = new StringWriter();
+        try (LnCaptureWriter writer = new LnCaptureWriter(out)) {
+            writer.message(new LocoNetMessage(new int[]{0xB2, 0x12, 0x50, 0x0F}));
+            writer.message(new LocoNetMessage(new int[]{0xA0, 0x03, 0x10, 0x4C}));
+        }
+        String[] lines = out.toString().split("\n");
+        Assert.assertEquals(3, lines.length);
+        Assert.assertEquals("# LocoNet capture", lines[0]);
+        Assert.assertTrue(lines[1], lines[1].matches("@\\d+ B2 12 50 0F"));
+        Assert.assertTrue(lines[2], lines[2].matches("@\\d+ A0 03 10 4C"));
+        Assert.assertTrue("in order", LnCaptureReplay.getTime(lines[1]) <= LnCaptureReplay.getTime(lines[2]));
+    }
+
+    @Test
+    public void testReplayCapture() throws IOException {
+        StringWriter out = new StringWriter();
+        try (LnCaptureWriter writer = new LnCaptureWriter(out)) {
+            writer.message(new LocoNetMessage(new int[]{0xB2, 0x12, 0x50, 0x0F}));
+        }
+        LnCaptureReplay replay = new LnCaptureReplay(new LocoNetInterfaceScaffold(), new StringReader(out.toString()));
+        Assert.assertEquals(1, replay.getMessageCount());
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JUnitUtil.tearDown();
+    }
+
+}
@@ -74,6 +74,35 @@ public class LocoMonPaneTest extends jmri.jmrix.AbstractMonPaneTestBase {
         assertThat(getFrameTextONGUIThread()).withFailMessage("shows message").isEqualTo("");
     }
 
+    @Test
+    public void testStoreRaw() {
+        jmri.InstanceManager.getDefault(jmri.UserPreferencesManager.class)
+                .setSimplePreferenceState(LocoMonPane.class.getName() + ".RawData", true);
+        Throwable thrown = catchThrowable( () -> GuiActionRunner.execute( () ->  pane.initComponents()));
+        assertThat(thrown).isNull();
+        assertThat(pane.getMessageStore()).isNotNull();
+
+        LocoNetMessage m = new LocoNetMessage(new int[]{0xA0, 0x07, 0x00, 0x58});
+        ((LocoMonPane)pane).message(m);
+        assertThat(pane.getMessageStore().size()).isEqualTo(1);
+        assertThat(getFrameTextONGUIThread()).withFailMessage("shows message").isEqualTo("[A0 07 00 58]  Set speed of loco in slot 7 to 0.\n");
+    }
+
+    @Test
+    public void testFilterStoredMessages() {
+        Throwable thrown = catchThrowable( () -> GuiActionRunner.execute( () ->  pane.initComponents()));
+        assertThat(thrown).isNull();
+
+        ((LocoMonPane)pane).message(new LocoNetMessage(new int[]{0xA0, 0x07, 0x00, 0x58}));
+        ((LocoMonPane)pane).message(new LocoNetMessage(new int[]{0xB2, 0x05, 0x50, 0x18}));
+        assertThat(getFrameTextONGUIThread()).contains("slot 7").contains("Sensor");
+        // the filter applies to messages already received
+        setAndCheckFilterTextEntry("A0","A0","filter set");
+        assertThat(getFrameTextONGUIThread()).doesNotContain("slot 7").contains("Sensor");
+        setAndCheckFilterTextEntry("","","filter cleared");
+        assertThat(getFrameTextONGUIThread()).contains("slot 7");
+    }
+
     // Test checking the AutoScroll checkbox.
     // for some reason the LocoMonPane has the checkbox value reversed on
     // startup compared to other AbstractMonPane derivatives.
@@ -0,0 +1,157 @@
+package jmri.jmrix.loconet.loconetovertcp;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import jmri.jmrix.loconet.LnConstants;
+import jmri.jmrix.loconet.LocoNetInterfaceScaffold;
+import jmri.jmrix.loconet.LocoNetMessage;
+import jmri.util.JUnitAppender;
+import jmri.util.JUnitUtil;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests for the queue of an LnTcpClient.
+ */
+public class LnTcpClientTest {
+
+    private LocoNetInterfaceScaffold lnis;
+    private LnTcpServer server;
+    private SocketChannel channel;
+    private LnTcpClient client;
+
+    private static byte[] line(LocoNetMessage msg) {
+        return ("RECEIVE " + msg.toString() + "\r\n").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private boolean offer(LocoNetMessage msg) {
+        return client.offer(line(msg), LnTcpClient.getCoalescingKey(msg), msg);
+    }
+
+    private static LocoNetMessage speed(int slot, int speed) {
+        return new LocoNetMessage(new int[]{LnConstants.OPC_LOCO_SPD, slot, speed, 0});
+    }
+
+    @Test
+    public void testCoalescingKey() {
+        Assert.assertEquals("same slot", LnTcpClient.getCoalescingKey(speed(3, 10)),
+                LnTcpClient.getCoalescingKey(speed(3, 20)));
+        Assert.assertNotEquals("different slot", LnTcpClient.getCoalescingKey(speed(3, 10)),
+                LnTcpClient.getCoalescingKey(speed(4, 10)));
+        // sensor level is not part of the key
+        Assert.assertEquals("same sensor", LnTcpClient.getCoalescingKey(new LocoNetMessage(new int[]{0xB2, 0x12, 0x50, 0})),
+                LnTcpClient.getCoalescingKey(new LocoNetMessage(new int[]{0xB2, 0x12, 0x40, 0})));
+        Assert.assertEquals("not coalesced", LnTcpClient.NO_KEY,
+                LnTcpClient.getCoalescingKey(new LocoNetMessage(new int[]{LnConstants.OPC_GPON, 0})));
+    }
+
+    private static LocoNetMessage slotRead(int slot) {
+        LocoNetMessage m = new LocoNetMessage(14);
+        m.setOpCode(LnConstants.OPC_SL_RD_DATA);
+        m.setElement(1, 0x0E);
+        m.setElement(2, slot);
+        return m;
+    }
+
+    @Test
+    public void testOfferQueues() {
+        Assert.assertTrue("wakes selector", offer(speed(3, 10)));
+        Assert.assertFalse("already pending", offer(speed(4, 10)));
+        int queued = client.getQueuedBytes();
+        Assert.assertFalse(offer(speed(3, 20)));
+        Assert.assertEquals("only coalesced when full", queued + line(speed(3, 20)).length, client.getQueuedBytes());
+        Assert.assertEquals(0, client.getCoalescedCount());
+    }
+
+    @Test
+    public void testDropPolicy() {
+        server.setSlowClientPolicy(LnTcpServer.SlowClientPolicy.DROP);
+        server.setClientBufferSize(line(speed(3, 10)).length);
+        offer(speed(3, 10));
+        Assert.assertFalse(offer(speed(4, 10)));
+        Assert.assertEquals(1, client.getDroppedCount());
+        Assert.assertFalse(client.isCloseRequested());
+    }
+
+    @Test
+    public void testDisconnectPolicy() {
+        server.setSlowClientPolicy(LnTcpServer.SlowClientPolicy.DISCONNECT);
+        server.setClientBufferSize(line(speed(3, 10)).length);
+        offer(speed(3, 10));
+        Assert.assertTrue("wakes selector to close", offer(speed(3, 20)));
+        Assert.assertTrue(client.isCloseRequested());
+        Assert.assertEquals(0, client.getQueuedBytes());
+        JUnitAppender.assertWarnMessageStartingWith("LocoNet over TCP client test is");
+    }
+
+    @Test
+    public void testCoalescePolicy() {
+        server.setClientBufferSize(line(speed(3, 10)).length);
+        offer(speed(3, 10));
+        Assert.assertFalse("replaced", offer(speed(3, 20)));
+        Assert.assertFalse(client.isCloseRequested());
+        Assert.assertEquals(1, client.getCoalescedCount());
+        // nothing to replace
+        Assert.assertTrue("wakes selector to close", offer(speed(4, 20)));
+        Assert.assertTrue(client.isCloseRequested());
+        JUnitAppender.assertWarnMessageStartingWith("LocoNet over TCP client test is");
+    }
+
+    @Test
+    public void testCoalesceKeepsSlotOrder() {
+        server.setClientBufferSize(line(slotRead(3)).length + line(speed(3, 10)).length);
+        offer(slotRead(3));
+        offer(speed(4, 10));
+        // a later message about another slot doesn't stop the replacement
+        Assert.assertFalse("replaced", offer(slotRead(3)));
+        Assert.assertEquals(1, client.getCoalescedCount());
+        client = new LnTcpClient(server, channel, "test", lnis);
+
+        offer(slotRead(3));
+        offer(speed(3, 10));
+        // the newer slot read mustn't overtake the speed
+        Assert.assertTrue("wakes selector to close", offer(slotRead(3)));
+        Assert.assertTrue(client.isCloseRequested());
+        Assert.assertEquals(0, client.getCoalescedCount());
+        JUnitAppender.assertWarnMessageStartingWith("LocoNet over TCP client test is");
+    }
+
+    @Test
+    public void testOrderingGroup() {
+        Assert.assertEquals(LnTcpClient.getOrderingGroup(speed(3, 10)), LnTcpClient.getOrderingGroup(slotRead(3)));
+        Assert.assertNotEquals(LnTcpClient.getOrderingGroup(speed(3, 10)), LnTcpClient.getOrderingGroup(slotRead(4)));
+        Assert.assertEquals("switch request and report", LnTcpClient.getOrderingGroup(new LocoNetMessage(new int[]{0xB0, 0x12, 0x30, 0})),
+                LnTcpClient.getOrderingGroup(new LocoNetMessage(new int[]{0xB1, 0x12, 0x20, 0})));
+        Assert.assertEquals(LnTcpClient.NO_GROUP,
+                LnTcpClient.getOrderingGroup(new LocoNetMessage(new int[]{LnConstants.OPC_GPON, 0})));
+    }
+
+    @Test
+    public void testMetrics() {
+        Assert.assertEquals(0, client.getLag());
+        offer(speed(3, 10));
+        offer(speed(4, 10));
+        Assert.assertEquals(2 * line(speed(3, 10)).length, client.getQueueHighWater());
+        Assert.assertTrue(client.getLag() >= 0);
+        Assert.assertEquals(0, client.getSentCount());
+        Assert.assertEquals(0, client.getLagHistogram().getCount());
+    }
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        JUnitUtil.setUp();
+        lnis = new LocoNetInterfaceScaffold();
+        server = new LnTcpServer(lnis, 0);
+        channel = SocketChannel.open();
+        client = new LnTcpClient(server, channel, "test", lnis);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        channel.close();
+        JUnitUtil.tearDown();
+    }
+
+}
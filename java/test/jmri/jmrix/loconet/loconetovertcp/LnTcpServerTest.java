@@ -1,7 +1,15 @@
 package jmri.jmrix.loconet.loconetovertcp;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
 import jmri.InstanceManager;
 import jmri.jmrix.loconet.LocoNetInterfaceScaffold;
+import jmri.jmrix.loconet.LocoNetMessage;
 import jmri.jmrix.loconet.LocoNetSystemConnectionMemo;
 import jmri.util.JUnitUtil;
 
@@ -24,10 +32,46 @@ public class LnTcpServerTest {
         LnTcpServer.getDefault().disable();  // turn the server off after enabled during creation.
     }
 
+    @Test
+    public void testServeClient() throws IOException {
+        LocoNetInterfaceScaffold lnis = new LocoNetInterfaceScaffold();
+        LnTcpServer server = new LnTcpServer(lnis, 0);
+        server.enable();
+        JUnitUtil.waitFor(() -> server.getPort() != 0, "server listening");
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            OutputStream out = socket.getOutputStream();
+            Assert.assertTrue(in.readLine().startsWith("VERSION JMRI Server "));
+            JUnitUtil.waitFor(() -> server.getClientCount() == 1, "client connected");
+
+            LocoNetMessage sensor = new LocoNetMessage(new int[]{0xB2, 0x12, 0x50, 0x0F});
+            lnis.sendTestMessage(sensor);
+            Assert.assertEquals("RECEIVE B2 12 50 0F", in.readLine());
+
+            out.write("SEND A0 01 10 4E\r\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            JUnitUtil.waitFor(() -> lnis.outbound.size() == 1, "message sent");
+            Assert.assertEquals("A0 01 10 4E", lnis.outbound.get(0).toString());
+            // the echo is acknowledged
+            lnis.sendTestMessage(lnis.outbound.get(0));
+            Assert.assertEquals("RECEIVE A0 01 10 4E", in.readLine());
+            Assert.assertEquals("SENT OK", in.readLine());
+
+            LnTcpClient client = server.getClients().get(0);
+            Assert.assertEquals(4, client.getSentCount());
+            Assert.assertEquals(4, client.getLagHistogram().getCount());
+        }
+        JUnitUtil.waitFor(() -> server.getClientCount() == 0, "client disconnected");
+        server.disable();
+        Assert.assertFalse(server.isEnabled());
+        JUnitUtil.waitFor(() -> lnis.numListeners() == 0, "listener removed");
+    }
+
     @BeforeEach
     public void setUp() {
         JUnitUtil.setUp();
         JUnitUtil.resetProfileManager();
+        JUnitUtil.initZeroConfServiceManager();
         memo = Mockito.mock(LocoNetSystemConnectionMemo.class);
         // ensure memo exists in order to later use InstanceManager.getDefault()
         InstanceManager.store(memo,LocoNetSystemConnectionMemo.class);
@@ -37,6 +81,7 @@ public class LnTcpServerTest {
     public void tearDown() {
         memo.dispose();
         memo = null;
+        JUnitUtil.resetZeroConfServiceManager();
         JUnitUtil.tearDown();
     }
 
@@ -0,0 +1,123 @@
+package jmri.jmrix.loconet.messageinterp;
+
+import java.util.Random;
+
+import jmri.InstanceManager;
+import jmri.Sensor;
+import jmri.SensorManager;
+import jmri.jmrix.loconet.LnConstants;
+import jmri.jmrix.loconet.LnSensorManager;
+import jmri.jmrix.loconet.LocoNetInterfaceScaffold;
+import jmri.jmrix.loconet.LocoNetMessage;
+import jmri.jmrix.loconet.LocoNetSystemConnectionMemo;
+import jmri.util.JUnitUtil;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests for LocoNetInterpretation, and the interpretations kept by
+ * LocoNetMessageInterpret.
+ */
+public class LocoNetInterpretationTest {
+
+    @Test
+    public void testFields() {
+        LocoNetInterpretation i = LocoNetMessageInterpret.interpret(
+                new LocoNetMessage(new int[]{0xA0, 0x07, 0x00, 0x58}), "LT", "LS", "LR");
+        Assert.assertEquals("opcode", LnConstants.OPC_LOCO_SPD, i.getOpCode());
+        Assert.assertEquals("category", LocoNetInterpretation.Category.LOCO, i.getCategory());
+        Assert.assertEquals("slot", 7, i.getSlot());
+        Assert.assertEquals("no address", -1, i.getAddress());
+        Assert.assertNull("no system name", i.getSystemName());
+
+        i = LocoNetMessageInterpret.interpret(
+                new LocoNetMessage(new int[]{0xB2, 0x05, 0x70, 0x00}), "LT", "LS", "LR");
+        Assert.assertEquals("category", LocoNetInterpretation.Category.SENSOR, i.getCategory());
+        Assert.assertEquals("slot", -1, i.getSlot());
+        Assert.assertEquals("address", 12, i.getAddress());
+        Assert.assertEquals("system name", "LS12", i.getSystemName());
+
+        i = LocoNetMessageInterpret.interpret(
+                new LocoNetMessage(new int[]{0xB0, 0x00, 0x30, 0x00}), "LT", "LS", "LR");
+        Assert.assertEquals("category", LocoNetInterpretation.Category.SWITCH, i.getCategory());
+        Assert.assertEquals("system name", "LT1", i.getSystemName());
+
+        i = LocoNetMessageInterpret.interpret(
+                new LocoNetMessage(new int[]{0xE7, 0x0E, 0x03, 0x33, 0x05, 0x00, 0x20, 0x07, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00}),
+                "LT", "LS", "LR");
+        Assert.assertEquals("category", LocoNetInterpretation.Category.SLOT, i.getCategory());
+        Assert.assertEquals("slot", 3, i.getSlot());
+    }
+
+    @Test
+    public void testKept() {
+        LocoNetMessage m = new LocoNetMessage(new int[]{0xA0, 0x07, 0x00, 0x58});
+        LocoNetInterpretation i = LocoNetMessageInterpret.interpret(m, "LT", "LS", "LR");
+        Assert.assertSame("same message", i,
+                LocoNetMessageInterpret.interpret(new LocoNetMessage(m), "LT", "LS", "LR"));
+        Assert.assertNotSame("other prefix", i, LocoNetMessageInterpret.interpret(m, "L2T", "L2S", "L2R"));
+
+        // later changes to the message don't change the interpretation
+        m.setElement(1, 0x08);
+        Assert.assertEquals("text", "Set speed of loco in slot 7 to 0.\n", i.getText());
+        Assert.assertEquals("changed message", "Set speed of loco in slot 8 to 0.\n",
+                LocoNetMessageInterpret.interpretMessage(m, "LT", "LS", "LR"));
+    }
+
+    @Test
+    public void testUserNameChange() {
+        LocoNetMessage m = new LocoNetMessage(new int[]{0xB2, 0x05, 0x70, 0x00});
+        String before = LocoNetMessageInterpret.interpretMessage(m, "LT", "LS", "LR");
+        LocoNetSystemConnectionMemo memo = new LocoNetSystemConnectionMemo("L", "LocoNet");
+        new LocoNetInterfaceScaffold(memo);
+        InstanceManager.setSensorManager(new LnSensorManager(memo));
+        Sensor s = InstanceManager.getDefault(SensorManager.class).provideSensor("LS12");
+        s.setUserName("Platform 2");
+        String after = LocoNetMessageInterpret.interpretMessage(m, "LT", "LS", "LR");
+        Assert.assertNotEquals("user name shown", before, after);
+        Assert.assertTrue("user name shown", after.contains("Platform 2"));
+        Assert.assertEquals("same as building the text",
+                LocoNetMessageInterpret.formatMessage(m, "LT", "LS", "LR"), after);
+        memo.dispose();
+    }
+
+    @Test
+    public void testSameText() {
+        // the messages seen most often, with random contents
+        int[] opCodes = {LnConstants.OPC_INPUT_REP, LnConstants.OPC_SW_REP, LnConstants.OPC_SW_REQ,
+            LnConstants.OPC_LOCO_SPD, LnConstants.OPC_LOCO_DIRF, LnConstants.OPC_RQ_SL_DATA,
+            LnConstants.OPC_LONG_ACK, LnConstants.OPC_SL_RD_DATA};
+        Random random = new Random(42);
+        for (int n = 0; n < 2000; n++) {
+            int opCode = opCodes[random.nextInt(opCodes.length)];
+            int[] contents = new int[opCode == LnConstants.OPC_SL_RD_DATA ? 14 : 4];
+            contents[0] = opCode;
+            for (int j = 1; j < contents.length - 1; j++) {
+                contents[j] = random.nextInt(0x80);
+            }
+            if (opCode == LnConstants.OPC_SL_RD_DATA) {
+                contents[1] = 0x0E;
+                contents[2] = random.nextInt(0x78);
+            }
+            LocoNetMessage m = new LocoNetMessage(contents);
+            m.setParity();
+            String expected = LocoNetMessageInterpret.formatMessage(m, "LT", "LS", "LR");
+            Assert.assertEquals(m.toString(), expected, LocoNetMessageInterpret.interpretMessage(m, "LT", "LS", "LR"));
+            Assert.assertEquals(m.toString(), expected, LocoNetMessageInterpret.interpretMessage(m, "LT", "LS", "LR"));
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+        JUnitUtil.initInternalSensorManager();
+        LocoNetMessageInterpret.clearCache();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JUnitUtil.tearDown();
+    }
+
+}
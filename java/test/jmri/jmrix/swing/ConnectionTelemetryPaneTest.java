@@ -0,0 +1,56 @@
+package jmri.jmrix.swing;
+
+import jmri.jmrix.ConnectionTelemetry;
+import jmri.jmrix.internal.InternalSystemConnectionMemo;
+import jmri.util.JUnitUtil;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests for ConnectionTelemetryPane.
+ */
+public class ConnectionTelemetryPaneTest extends jmri.util.swing.JmriPanelTest {
+
+    @Test
+    public void testModel() {
+        ConnectionTelemetryPane.TelemetryTableModel model = ((ConnectionTelemetryPane) panel).getModel();
+        model.refresh();
+        Assert.assertEquals(0, model.getRowCount());
+
+        InternalSystemConnectionMemo memo = new InternalSystemConnectionMemo("T", "Telemetry");
+        ConnectionTelemetry telemetry = new ConnectionTelemetry();
+        telemetry.recordSent(6);
+        telemetry.recordQueueDepth(3);
+        memo.store(telemetry, ConnectionTelemetry.class);
+        model.refresh();
+        Assert.assertEquals(1, model.getRowCount());
+        Assert.assertEquals("Telemetry", model.getValueAt(0, ConnectionTelemetryPane.TelemetryTableModel.NAME_COLUMN));
+        Assert.assertEquals(1L, model.getValueAt(0, ConnectionTelemetryPane.TelemetryTableModel.SENT_COLUMN));
+        Assert.assertEquals(3, model.getValueAt(0, ConnectionTelemetryPane.TelemetryTableModel.HIGH_WATER_COLUMN));
+        for (int col = 0; col < model.getColumnCount(); col++) {
+            Assert.assertNotNull(model.getColumnName(col));
+            Assert.assertEquals(model.getColumnClass(col), model.getValueAt(0, col).getClass());
+        }
+
+        model.reset();
+        Assert.assertEquals(0L, model.getValueAt(0, ConnectionTelemetryPane.TelemetryTableModel.SENT_COLUMN));
+        memo.dispose();
+    }
+
+    @BeforeEach
+    @Override
+    public void setUp() {
+        JUnitUtil.setUp();
+        panel = new ConnectionTelemetryPane();
+        title = "Connection Traffic";
+        helpTarget = "package.jmri.jmrix.swing.ConnectionTelemetryPane";
+    }
+
+    @AfterEach
+    @Override
+    public void tearDown() {
+        super.tearDown();
+    }
+
+}
@@ -0,0 +1,109 @@
+package jmri.managers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+import jmri.Memory;
+import jmri.implementation.DefaultMemory;
+import jmri.util.JUnitUtil;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests for the AddressIndex class.
+ */
+public class AddressIndexTest {
+
+    @Test
+    public void testPutGetRemove() {
+        AddressIndex<Memory> index = new AddressIndex<>();
+        Memory m1 = new DefaultMemory("IM1");
+        Memory m2 = new DefaultMemory("IM2");
+
+        Assert.assertNull("empty", index.get(1));
+        index.put(1, m1);
+        index.put(4096, m2);
+        Assert.assertEquals("size", 2, index.size());
+        Assert.assertSame("get 1", m1, index.get(1));
+        Assert.assertSame("get 4096", m2, index.get(4096));
+        Assert.assertNull("miss", index.get(2));
+        Assert.assertNull("negative", index.get(-1));
+
+        Assert.assertFalse("wrong bean not removed", index.remove(1, m2));
+        Assert.assertTrue("removed", index.remove(1, m1));
+        Assert.assertNull("gone", index.get(1));
+        Assert.assertSame("other kept", m2, index.get(4096));
+
+        index.put(4096, m1);
+        Assert.assertSame("replaced", m1, index.get(4096));
+        Assert.assertEquals("size", 1, index.size());
+
+        index.clear();
+        Assert.assertEquals("cleared", 0, index.size());
+        Assert.assertNull("cleared", index.get(4096));
+    }
+
+    @Test
+    public void testNegativeAddress() {
+        AddressIndex<Memory> index = new AddressIndex<>();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> index.put(-1, new DefaultMemory("IM1")));
+    }
+
+    @Test
+    public void testAgainstHashMap() {
+        AddressIndex<Memory> index = new AddressIndex<>();
+        HashMap<Integer, Memory> map = new HashMap<>();
+        Random r = new Random(17);
+        for (int i = 0; i < 20000; i++) {
+            int address = r.nextInt(2048);
+            if (r.nextBoolean()) {
+                Memory m = new DefaultMemory("IM" + address);
+                index.put(address, m);
+                map.put(address, m);
+            } else if (map.containsKey(address)) {
+                Assert.assertTrue(index.remove(address, map.remove(address)));
+            }
+        }
+        Assert.assertEquals("size", map.size(), index.size());
+        for (int address = 0; address < 2048; address++) {
+            Assert.assertSame("address " + address, map.get(address), index.get(address));
+        }
+    }
+
+    @Test
+    public void testGetRange() {
+        AddressIndex<Memory> index = new AddressIndex<>();
+        TreeMap<Integer, Memory> map = new TreeMap<>();
+        Random r = new Random(17);
+        for (int i = 0; i < 500; i++) {
+            int address = r.nextInt(100000);
+            Memory m = new DefaultMemory("IM" + address);
+            index.put(address, m);
+            map.put(address, m);
+        }
+        // ranges smaller and larger than the table
+        int[][] ranges = {{0, 0}, {257, 272}, {1000, 1500}, {0, 100000}, {-5, 40000}, {50000, Integer.MAX_VALUE}};
+        for (int[] range : ranges) {
+            Assert.assertEquals("range " + range[0] + "-" + range[1],
+                    new ArrayList<>(map.subMap(range[0], true, range[1], true).values()),
+                    index.getRange(range[0], range[1]));
+        }
+        Assert.assertTrue("reversed range", index.getRange(100, 10).isEmpty());
+        Assert.assertTrue("top of int range",
+                index.getRange(Integer.MAX_VALUE - 3, Integer.MAX_VALUE).isEmpty());
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JUnitUtil.tearDown();
+    }
+
+}
@@ -455,6 +455,38 @@ public class ProxySensorManagerTest implements Manager.ManagerDataListener<Senso
         propertyListenerLast = e.getPropertyName();
     }
 
+    @Test
+    public void testUserNameIndexFollowsChanges() {
+        Sensor tj = l.newSensor("JS1", "mine");
+        Sensor tk = l.newSensor("KS2", "yours");
+        Assert.assertNull("not known", l.getByUserName("theirs"));
+        Assert.assertEquals(tj, l.getByUserName(" mine "));
+
+        // rename, including to a name used in another manager
+        tk.setUserName("theirs");
+        Assert.assertNull("old name gone", l.getByUserName("yours"));
+        Assert.assertEquals(tk, l.getByUserName("theirs"));
+        Assert.assertEquals(tk, l.getNamedBean("theirs"));
+        tk.setUserName("mine");
+        Assert.assertNull(l.getByUserName("theirs"));
+        Assert.assertEquals("first manager wins", tj, l.getByUserName("mine"));
+        tj.setUserName(null);
+        Assert.assertEquals(tk, l.getByUserName("mine"));
+
+        // deregister
+        l.deregister(tk);
+        Assert.assertNull(l.getByUserName("mine"));
+        Assert.assertFalse(l.getNamedBeanSet().contains(tk));
+        Assert.assertEquals(1, l.getNamedBeanSet().size());
+
+        // a manager added later
+        InternalSensorManager m = new InternalSensorManager(new InternalSystemConnectionMemo("L", "Lima"));
+        Sensor tl = m.newSensor("LS1", "later");
+        l.addManager(m);
+        Assert.assertEquals(tl, l.getByUserName("later"));
+        Assert.assertTrue(l.getNamedBeanSet().contains(tl));
+    }
+
     // Data listen & audit methods
     int events;
     int lastEvent0;
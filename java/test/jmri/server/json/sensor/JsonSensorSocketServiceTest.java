@@ -15,6 +15,7 @@ import jmri.server.json.JsonException;
 import jmri.server.json.JsonMockConnection;
 import jmri.server.json.JsonRequest;
 import jmri.util.JUnitUtil;
+import jmri.util.LayoutEventBus;
 
 import org.junit.Assert;
 import org.junit.jupiter.api.*;
@@ -63,6 +64,27 @@ public class JsonSensorSocketServiceTest {
         }
     }
 
+    @Test
+    public void testSensorChangesMerged() throws Exception {
+        LayoutEventBus.setEnabled(true);
+        JsonMockConnection connection = new JsonMockConnection((DataOutputStream) null);
+        JsonNode message = connection.getObjectMapper().createObjectNode().put(JSON.NAME, "IS1");
+        JsonSensorSocketService service = new JsonSensorSocketService(connection);
+        Sensor sensor1 = InstanceManager.getDefault(SensorManager.class).provideSensor("IS1");
+        int listeners = sensor1.getNumPropertyChangeListeners();
+        service.onMessage(JsonSensor.SENSOR, message, new JsonRequest(locale, JSON.V5, JSON.POST, 42));
+        Assert.assertEquals("listens through a bus", listeners + 1, sensor1.getNumPropertyChangeListeners());
+        connection.sendMessage(null, 0);
+        sensor1.setKnownState(Sensor.ACTIVE);
+        sensor1.setKnownState(Sensor.INACTIVE);
+        sensor1.setKnownState(Sensor.ACTIVE);
+        JUnitUtil.waitFor(() -> connection.getMessages().size() > 0, "changes sent");
+        Assert.assertEquals("changes sent once", 1, connection.getMessages().size());
+        Assert.assertEquals(JSON.ACTIVE, connection.getMessage().path(JSON.DATA).path(JSON.STATE).asInt(-1));
+        service.onClose();
+        Assert.assertEquals(listeners, sensor1.getNumPropertyChangeListeners());
+    }
+
     @Test
     public void testOnMessageChange() {
         try {
@@ -113,6 +135,7 @@ public class JsonSensorSocketServiceTest {
 
     @AfterEach
     public void tearDown() throws Exception {
+        LayoutEventBus.setEnabled(false);
         JUnitUtil.tearDown();
     }
 
@@ -23,6 +23,8 @@ import jmri.Version;
 import jmri.server.json.JsonServerPreferences;
 import jmri.jmrit.display.Editor;
 import jmri.jmrit.display.switchboardEditor.SwitchboardEditor;
+import jmri.jmrix.ConnectionTelemetry;
+import jmri.jmrix.internal.InternalSystemConnectionMemo;
 import jmri.profile.NullProfile;
 import jmri.profile.Profile;
 import jmri.profile.ProfileManager;
@@ -299,6 +301,43 @@ public class JsonUtilHttpServiceTest extends JsonHttpServiceTestBase<JsonUtilHtt
         assertTrue(connection.path(JSON.DATA).path(JSON.MFG).isNull());
     }
 
+    /**
+     * Test of getTelemetry methods, of class JsonUtilHttpService.
+     *
+     * @throws jmri.server.json.JsonException if messages are not schema valid
+     */
+    @Test
+    public void testGetTelemetry() throws JsonException {
+        // the default internal connection has no statistics
+        assertEquals(0, service.getTelemetry(new JsonRequest(locale, JSON.V5, JSON.GET, 42)).size());
+        try {
+            service.getTelemetry("I", new JsonRequest(locale, JSON.V5, JSON.GET, 42));
+            fail("Expected exception not thrown");
+        } catch (JsonException ex) {
+            assertEquals(HttpServletResponse.SC_NOT_FOUND, ex.getCode());
+        }
+        InternalSystemConnectionMemo memo = new InternalSystemConnectionMemo("T", "Telemetry");
+        ConnectionTelemetry telemetry = new ConnectionTelemetry();
+        telemetry.recordSent(6);
+        telemetry.recordReplyLatency(2000000);
+        memo.store(telemetry, ConnectionTelemetry.class);
+        JsonNode result = service.getTelemetry(new JsonRequest(locale, JSON.V5, JSON.GET, 42));
+        validate(result);
+        assertEquals(1, result.size());
+        assertEquals(result.get(0), service.doGet(JSON.TELEMETRY, "T", NullNode.getInstance(), new JsonRequest(locale, JSON.V5, JSON.GET, 42)));
+        result = service.getTelemetry("Telemetry", new JsonRequest(locale, JSON.V5, JSON.GET, 42));
+        validate(result);
+        assertEquals(JSON.TELEMETRY, result.path(JSON.TYPE).asText());
+        JsonNode data = result.path(JSON.DATA);
+        assertEquals("T", data.path(JSON.PREFIX).asText());
+        assertEquals(1, data.path("sent").asLong());
+        assertEquals(6, data.path("sentBytes").asLong());
+        assertEquals(1, data.path("replyLatency").path("count").asLong());
+        assertEquals(2000000, data.path("replyLatency").path("max").asLong());
+        assertEquals(0, data.path("queueLatency").path("count").asLong());
+        memo.dispose();
+    }
+
     /**
      * Test of getNetworkService method, of class JsonUtilHttpService.
      *
@@ -17,7 +17,7 @@ public class JsonUtilServiceFactoryTest extends JsonServiceFactoryTestBase<JsonU
     @Override
     @Test
     public void testGetTypesV5() {
-        assertThat(factory.getTypes(JSON.V5)).containsExactly(JSON.GOODBYE, JSON.HELLO, JSON.METADATA, JSON.NETWORK_SERVICE, JSON.NETWORK_SERVICES, JSON.NODE, JSON.PANEL, JSON.PANELS, JSON.RAILROAD, JSON.SYSTEM_CONNECTION, JSON.SYSTEM_CONNECTIONS, JSON.CONFIG_PROFILE, JSON.CONFIG_PROFILES, JSON.VERSION);
+        assertThat(factory.getTypes(JSON.V5)).containsExactly(JSON.GOODBYE, JSON.HELLO, JSON.METADATA, JSON.NETWORK_SERVICE, JSON.NETWORK_SERVICES, JSON.NODE, JSON.PANEL, JSON.PANELS, JSON.RAILROAD, JSON.SYSTEM_CONNECTION, JSON.SYSTEM_CONNECTIONS, JSON.TELEMETRY, JSON.CONFIG_PROFILE, JSON.CONFIG_PROFILES, JSON.VERSION);
     }
 
     @Override
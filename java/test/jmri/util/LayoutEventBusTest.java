@@ -0,0 +1,147 @@
+package jmri.util;
+
+import java.beans.IndexedPropertyChangeEvent;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.List;
+
+import jmri.InstanceManager;
+import jmri.JmriException;
+import jmri.Sensor;
+import jmri.SensorManager;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+public class LayoutEventBusTest {
+
+    private final List<List<PropertyChangeEvent>> batches = new ArrayList<>();
+
+    @Test
+    public void testMergesChangesInTick() throws JmriException {
+        LayoutEventBus bus = new LayoutEventBus(20);
+        bus.addBatchListener(batches::add);
+        Sensor s1 = InstanceManager.getDefault(SensorManager.class).provideSensor("IS1");
+        Sensor s2 = InstanceManager.getDefault(SensorManager.class).provideSensor("IS2");
+        s1.addPropertyChangeListener("KnownState", bus);
+        s2.addPropertyChangeListener("KnownState", bus);
+
+        s1.setKnownState(Sensor.ACTIVE);
+        s2.setKnownState(Sensor.ACTIVE);
+        s1.setKnownState(Sensor.INACTIVE);
+        JUnitUtil.waitFor(() -> !batches.isEmpty(), "changes delivered");
+        Assert.assertEquals("one batch", 1, batches.size());
+        List<PropertyChangeEvent> events = batches.get(0);
+        Assert.assertEquals("one event per sensor", 2, events.size());
+        Assert.assertEquals("in order received", s1, events.get(0).getSource());
+        Assert.assertEquals(Sensor.UNKNOWN, events.get(0).getOldValue());
+        Assert.assertEquals("last value wins", Sensor.INACTIVE, events.get(0).getNewValue());
+        Assert.assertEquals(s2, events.get(1).getSource());
+        Assert.assertEquals(Sensor.ACTIVE, events.get(1).getNewValue());
+        Assert.assertEquals(3, bus.getReceivedCount());
+        Assert.assertEquals(2, bus.getDeliveredCount());
+
+        // a later change is delivered in another batch
+        s2.setKnownState(Sensor.INACTIVE);
+        JUnitUtil.waitFor(() -> batches.size() == 2, "second batch delivered");
+        Assert.assertEquals(1, batches.get(1).size());
+        s1.removePropertyChangeListener("KnownState", bus);
+        s2.removePropertyChangeListener("KnownState", bus);
+    }
+
+    @Test
+    public void testFlush() {
+        LayoutEventBus bus = new LayoutEventBus(60000);
+        bus.addBatchListener(batches::add);
+        Object source = new Object();
+        bus.propertyChange(new PropertyChangeEvent(source, "a", 1, 2));
+        bus.propertyChange(new IndexedPropertyChangeEvent(source, "beans", null, 1, 0));
+        bus.propertyChange(new IndexedPropertyChangeEvent(source, "beans", null, 2, 1));
+        bus.propertyChange(new PropertyChangeEvent(source, "a", 2, 3));
+        Assert.assertTrue("nothing delivered before the tick ends", batches.isEmpty());
+        bus.flush();
+        Assert.assertEquals(1, batches.size());
+        Assert.assertEquals("indexed changes not merged", 3, batches.get(0).size());
+        Assert.assertEquals(1, batches.get(0).get(0).getOldValue());
+        Assert.assertEquals(3, batches.get(0).get(0).getNewValue());
+        bus.flush();
+        Assert.assertEquals("nothing more to deliver", 1, batches.size());
+    }
+
+    @Test
+    public void testSubscribe() throws JmriException {
+        LayoutEventBus bus = new LayoutEventBus(60000);
+        bus.addBatchListener(batches::add);
+        Sensor s1 = InstanceManager.getDefault(SensorManager.class).provideSensor("IS1");
+        Sensor s2 = InstanceManager.getDefault(SensorManager.class).provideSensor("IS2");
+        int listeners = s1.getNumPropertyChangeListeners();
+        List<PropertyChangeEvent> events1 = new ArrayList<>();
+        List<PropertyChangeEvent> events2 = new ArrayList<>();
+        boolean[] offGui = new boolean[1];
+        PropertyChangeListener l1 = e -> {
+            offGui[0] |= !ThreadingUtil.isGUIThread();
+            events1.add(e);
+        };
+        PropertyChangeListener l2 = events2::add;
+        bus.subscribe(s1, l1, "IS1", "first");
+        bus.subscribe(s1, l2);
+        bus.subscribe(s2, l2);
+        Assert.assertEquals("each subscriber listens", listeners + 2, s1.getNumPropertyChangeListeners());
+        Assert.assertEquals("listed by its reference", 1, s1.getPropertyChangeListenersByReference("IS1").length);
+        Assert.assertTrue(s1.getListenerRefs().contains("first"));
+
+        s1.setKnownState(Sensor.ACTIVE);
+        s1.setKnownState(Sensor.INACTIVE);
+        s2.setKnownState(Sensor.ACTIVE);
+        Assert.assertTrue(events1.isEmpty());
+        bus.flush();
+        JUnitUtil.waitFor(() -> events1.size() == 1 && events2.size() == 2, "changes delivered");
+        Assert.assertEquals("merged", Sensor.INACTIVE, events1.get(0).getNewValue());
+        Assert.assertEquals(Sensor.UNKNOWN, events1.get(0).getOldValue());
+        Assert.assertFalse("on the GUI thread", offGui[0]);
+        Assert.assertTrue("not batched", batches.isEmpty());
+        Assert.assertEquals(3, bus.getDeliveredCount());
+
+        bus.unsubscribe(s1, l1);
+        Assert.assertEquals(listeners + 1, s1.getNumPropertyChangeListeners());
+        Assert.assertFalse(s1.getListenerRefs().contains("first"));
+        bus.unsubscribe(s1, l2);
+        Assert.assertEquals(listeners, s1.getNumPropertyChangeListeners());
+        bus.unsubscribe(s2, l2);
+        s1.setKnownState(Sensor.ACTIVE);
+        bus.flush();
+        ThreadingUtil.runOnGUI(() -> {
+        });
+        Assert.assertEquals(1, events1.size());
+    }
+
+    @Test
+    public void testEnabled() {
+        Assert.assertFalse("off by default", LayoutEventBus.isEnabled());
+        LayoutEventBus.setEnabled(true);
+        Assert.assertTrue(LayoutEventBus.isEnabled());
+        LayoutEventBus.setEnabled(false);
+    }
+
+    @Test
+    public void testSetTick() {
+        LayoutEventBus bus = new LayoutEventBus();
+        Assert.assertEquals(LayoutEventBus.DEFAULT_TICK, bus.getTick());
+        bus.setTick(0);
+        Assert.assertEquals(0, bus.getTick());
+        Assert.assertThrows(IllegalArgumentException.class, () -> bus.setTick(-1));
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+        JUnitUtil.initInternalSensorManager();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JUnitUtil.tearDown();
+    }
+
+}
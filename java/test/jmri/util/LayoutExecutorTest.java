@@ -0,0 +1,89 @@
+package jmri.util;
+
+import java.util.concurrent.ScheduledFuture;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.*;
+
+public class LayoutExecutorTest {
+
+    private LayoutExecutor executor;
+    private volatile boolean onExecutorThread;
+    private volatile int count;
+
+    @Test
+    public void testRunAndWait() throws InterruptedException {
+        Assert.assertFalse(executor.isExecutorThread());
+        executor.runAndWait(() -> {
+            onExecutorThread = executor.isExecutorThread();
+            count++;
+        });
+        Assert.assertTrue("ran on the executor thread", onExecutorThread);
+        Assert.assertEquals(1, count);
+        Assert.assertEquals(1, executor.getCompletedCount());
+        Assert.assertEquals(0, executor.getQueueDepth());
+        Assert.assertEquals(1, executor.getLatencyHistogram().getCount());
+    }
+
+    @Test
+    public void testSubmitInOrder() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        executor.submit(() -> sb.append("a"));
+        executor.submit(() -> sb.append("b"));
+        executor.submit(() -> sb.append("c")).get();
+        Assert.assertEquals("abc", sb.toString());
+        Assert.assertTrue(executor.getQueueHighWater() >= 1);
+    }
+
+    @Test
+    public void testSchedule() throws InterruptedException {
+        ScheduledFuture<?> cancelled = executor.schedule(() -> count += 10, 50);
+        executor.schedule(() -> count++, 20);
+        cancelled.cancel(false);
+        JUnitUtil.waitFor(() -> count == 1, "delayed task run");
+        Thread.sleep(100);
+        Assert.assertEquals("cancelled task not run", 1, count);
+    }
+
+    @Test
+    public void testLongTask() throws InterruptedException {
+        executor.setLongTaskThreshold(10);
+        Assert.assertEquals(10, executor.getLongTaskThreshold());
+        executor.runAndWait(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Assert.assertEquals(1, executor.getLongTaskCount());
+        JUnitAppender.assertWarnMessageStartingWith("Layout thread task");
+        executor.runAndWait(() -> count++);
+        Assert.assertEquals("short task not counted", 1, executor.getLongTaskCount());
+    }
+
+    @Test
+    public void testTaskException() throws InterruptedException {
+        executor.runAndWait(() -> {
+            throw new IllegalStateException("test");
+        });
+        JUnitAppender.assertErrorMessage("Error while on layout thread");
+        executor.runAndWait(() -> count++);
+        Assert.assertEquals("still running tasks", 1, count);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        JUnitUtil.setUp();
+        executor = new LayoutExecutor("test layout");
+        count = 0;
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1000));
+        JUnitUtil.tearDown();
+    }
+
+}
@@ -10,7 +10,7 @@ import org.junit.jupiter.api.*;
  */
 public class ThreadingUtilTest {
 
-    boolean done;
+    volatile boolean done;
     
     @Test
     public void testToLayout() {
@@ -23,6 +23,48 @@ public class ThreadingUtilTest {
         Assert.assertTrue(done);
     }
 
+    @Test
+    public void testDedicatedLayoutThread() throws InterruptedException {
+        LayoutExecutor executor = new LayoutExecutor("test layout");
+        ThreadingUtil.setLayoutExecutor(executor);
+        try {
+            Assert.assertFalse(ThreadingUtil.isLayoutThread());
+            done = false;
+            ThreadingUtil.runOnLayout(() -> {
+                done = ThreadingUtil.isLayoutThread() && !ThreadingUtil.isGUIThread();
+            });
+            Assert.assertTrue("ran on layout thread", done);
+
+            done = false;
+            ThreadingUtil.runOnLayoutEventually(() -> {
+                done = ThreadingUtil.isLayoutThread();
+            });
+            JUnitUtil.waitFor(() -> done, "eventually ran on layout thread");
+
+            done = false;
+            javax.swing.Timer timer = ThreadingUtil.runOnLayoutDelayed(() -> {
+                done = ThreadingUtil.isLayoutThread();
+            }, 20);
+            Assert.assertTrue(timer.isRunning());
+            JUnitUtil.waitFor(() -> done, "delayed ran on layout thread");
+            Assert.assertFalse(timer.isRunning());
+
+            done = false;
+            timer = ThreadingUtil.runOnLayoutDelayed(() -> {
+                done = true;
+            }, 50);
+            timer.stop();
+            Thread.sleep(100);
+            Assert.assertFalse("stopped timer did not run", done);
+            Assert.assertEquals(3, executor.getCompletedCount());
+        } finally {
+            ThreadingUtil.setLayoutExecutor(null);
+            executor.shutdown();
+            executor.awaitTermination(1000);
+        }
+        Assert.assertEquals(ThreadingUtil.isGUIThread(), ThreadingUtil.isLayoutThread());
+    }
+
     @Test
     public void testThreadGroup() {
         ThreadGroup tg = ThreadingUtil.getJmriThreadGroup();